@@ -13,6 +13,7 @@ repositories {
 dependencies {
     implementation(project(":core"))
     implementation(project(":dispatch"))
+    implementation(project(":titan-stomp"))
 
     jmh("org.openjdk.jmh:jmh-core:1.37")
     jmh("org.openjdk.jmh:jmh-generator-annprocess:1.37")
@@ -2,7 +2,9 @@ package org.traffichunter.titan.benchmark;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.LongAdder;
@@ -31,6 +33,15 @@ import org.traffichunter.titan.dispatch.DispatchGateway;
 import org.traffichunter.titan.dispatch.DispatchMode;
 import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
 
+/**
+ * Measures gateway dispatch throughput per {@link DispatchMode}.
+ *
+ * <p>{@code distribution} picks the destinations messages are routed to. {@code single} sends
+ * everything to one destination, {@code uniform} spreads messages evenly over
+ * {@code destinations}, and {@code zipf} draws them from a Zipf distribution with exponent 1, so
+ * a handful of destinations are hot and most are cold. Messages are sampled once per trial with
+ * a fixed seed, so every mode sees the same sequence.</p>
+ */
 @State(Scope.Thread)
 @BenchmarkMode(Mode.Throughput)
 @OutputTimeUnit(TimeUnit.SECONDS)
@@ -39,31 +50,34 @@ import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
 @Fork(1)
 public class FanoutGatewayBenchmark {
 
-    @Param({"platform", "virtual"})
+    private static final int SAMPLED_MESSAGES = 4096;
+    private static final long SEED = 42L;
+
+    @Param({"platform", "virtual", "scheduled", "caller-runs", "work-stealing"})
     public String mode;
 
     @Param({"64", "256"})
     public int batchSize;
 
+    @Param({"single", "uniform", "zipf"})
+    public String distribution;
+
+    @Param({"1024"})
+    public int destinations;
+
     private DispatchGateway gateway;
-    private Destination destination;
-    private Message message;
+    private Message[] messages;
+    private int next;
     private List<Message> batchMessages;
 
     @Setup(Level.Trial)
     public void setUp() throws Exception {
         LongAdder exportCount = new LongAdder();
-        destination = Destination.create("/benchmark/fanout");
-        message = Message.builder()
-                .destination(destination)
-                .createdAt(Instant.now())
-                .producerId("benchmark-producer")
-                .body("payload".getBytes(java.nio.charset.StandardCharsets.UTF_8))
-                .build();
-        batchMessages = createBatchMessages(destination, batchSize);
+        messages = createMessages(sampleDestinations(distribution, destinations, SAMPLED_MESSAGES));
+        batchMessages = createBatchMessages(messages, batchSize);
 
         gateway = DispatchMode.resolveMode(mode).dispatchGateway(new CountingNoopExporter(exportCount));
-        gateway.sparkDispatch(message).get(1, TimeUnit.SECONDS);
+        gateway.sparkDispatch(messages[0]).get(1, TimeUnit.SECONDS);
     }
 
     @TearDown(Level.Trial)
@@ -74,13 +88,13 @@ public class FanoutGatewayBenchmark {
     @Benchmark
     @Threads(1)
     public void sparkDispatchSingleThreadOneMessage() throws Exception {
-        gateway.sparkDispatch(message).get(1, TimeUnit.SECONDS);
+        gateway.sparkDispatch(nextMessage()).get(1, TimeUnit.SECONDS);
     }
 
     @Benchmark
     @Threads(16)
     public void sparkDispatchConcurrentOneMessage() throws Exception {
-        gateway.sparkDispatch(message).get(1, TimeUnit.SECONDS);
+        gateway.sparkDispatch(nextMessage()).get(1, TimeUnit.SECONDS);
     }
 
     @Benchmark
@@ -95,19 +109,77 @@ public class FanoutGatewayBenchmark {
         }
     }
 
-    private static List<Message> createBatchMessages(Destination destination, int batchSize) {
-        List<Message> messages = new ArrayList<>(batchSize);
+    private Message nextMessage() {
+        Message message = messages[next];
+        next = (next + 1) % messages.length;
+        return message;
+    }
+
+    private static List<Message> createBatchMessages(Message[] messages, int batchSize) {
+        List<Message> batch = new ArrayList<>(batchSize);
         for (int i = 0; i < batchSize; i++) {
-            messages.add(Message.builder()
-                    .destination(destination)
+            batch.add(messages[i % messages.length]);
+        }
+        return batch;
+    }
+
+    private static Message[] createMessages(Destination[] destinations) {
+        Message[] messages = new Message[destinations.length];
+        for (int i = 0; i < destinations.length; i++) {
+            messages[i] = Message.builder()
+                    .destination(destinations[i])
                     .createdAt(Instant.now())
                     .producerId("benchmark-producer-" + i)
                     .body(("payload-" + i).getBytes(java.nio.charset.StandardCharsets.UTF_8))
-                    .build());
+                    .build();
         }
         return messages;
     }
 
+    /**
+     * Draws {@code count} destinations out of {@code destinations} according to {@code distribution}.
+     */
+    private static Destination[] sampleDestinations(String distribution, int destinations, int count) {
+        Destination[] pool = new Destination[destinations];
+        for (int i = 0; i < destinations; i++) {
+            pool[i] = Destination.create("/benchmark/fanout/" + i);
+        }
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        double[] cdf = zipfCdf(destinations);
+        Destination[] sampled = new Destination[count];
+        for (int i = 0; i < count; i++) {
+            sampled[i] = switch (distribution) {
+                case "single" -> pool[0];
+                case "uniform" -> pool[random.nextInt(destinations)];
+                case "zipf" -> pool[zipfRank(cdf, random.nextDouble())];
+                default -> throw new IllegalStateException("Unexpected value: " + distribution);
+            };
+        }
+        return sampled;
+    }
+
+    /**
+     * Cumulative probabilities of ranks {@code 0..n-1} under a Zipf distribution with exponent 1.
+     */
+    private static double[] zipfCdf(int n) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / (rank + 1);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cdf[rank] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int zipfRank(double[] cdf, double u) {
+        int rank = Arrays.binarySearch(cdf, u);
+        return Math.min(rank >= 0 ? rank : -rank - 1, cdf.length - 1);
+    }
+
     @NullMarked
     private static final class CountingNoopExporter implements DispatchExporter {
         private final LongAdder count;
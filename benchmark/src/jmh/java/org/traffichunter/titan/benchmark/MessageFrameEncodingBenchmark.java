@@ -0,0 +1,87 @@
+package org.traffichunter.titan.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.traffichunter.titan.core.codec.stomp.EncodedMessageFrame;
+import org.traffichunter.titan.core.codec.stomp.StompCommand;
+import org.traffichunter.titan.core.codec.stomp.StompFrame;
+import org.traffichunter.titan.core.codec.stomp.StompHeaders;
+import org.traffichunter.titan.core.util.buffer.Buffer;
+
+/**
+ * Cost of producing the {@code MESSAGE} frames for one message fanned out to many subscriptions.
+ *
+ * <p>{@code perSubscriptionFrame} builds and encodes a full {@link StompFrame} for every
+ * subscription, the way the STOMP exporter used to. {@code encodeOnce} encodes the shared part
+ * once and emits a header prefix plus a retained body slice per subscription. Each frame is
+ * released as soon as it is produced, standing in for a completed channel write.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageFrameEncodingBenchmark {
+
+    private static final String DESTINATION = "/benchmark/frames";
+
+    @Param({"128", "10240"})
+    public int bodySize;
+
+    @Param({"1000"})
+    public int subscriptions;
+
+    private byte[] body;
+    private String[] subscriptionIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        body = new byte[bodySize];
+        subscriptionIds = new String[subscriptions];
+        for (int i = 0; i < subscriptions; i++) {
+            subscriptionIds[i] = "sub-" + i;
+        }
+    }
+
+    @Benchmark
+    public void perSubscriptionFrame(Blackhole blackhole) {
+        for (String subscription : subscriptionIds) {
+            StompFrame frame = StompFrame.create(StompHeaders.create(), StompCommand.MESSAGE, body);
+            frame.addHeader(StompHeaders.Elements.DESTINATION, DESTINATION);
+            frame.addHeader(StompHeaders.Elements.SUBSCRIPTION, subscription);
+            frame.addHeader(StompHeaders.Elements.MESSAGE_ID, subscription);
+            frame.addHeader(StompHeaders.Elements.CONTENT_LENGTH, String.valueOf(frame.body().length));
+            Buffer encoded = frame.toBuffer();
+            blackhole.consume(encoded.length());
+            encoded.release();
+        }
+    }
+
+    @Benchmark
+    public void encodeOnce(Blackhole blackhole) {
+        EncodedMessageFrame frame = EncodedMessageFrame.encode(DESTINATION, body);
+        try {
+            for (String subscription : subscriptionIds) {
+                Buffer encoded = frame.retainFrame(subscription, subscription);
+                blackhole.consume(encoded.length());
+                encoded.release();
+            }
+        } finally {
+            frame.release();
+        }
+    }
+}
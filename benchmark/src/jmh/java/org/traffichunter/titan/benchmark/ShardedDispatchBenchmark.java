@@ -0,0 +1,128 @@
+package org.traffichunter.titan.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.buffer.Buffer;
+import org.traffichunter.titan.dispatch.AggregationResult;
+import org.traffichunter.titan.dispatch.DispatchGateway;
+import org.traffichunter.titan.dispatch.DispatchMode;
+import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
+
+/**
+ * End-to-end delivery throughput of the sharded gateway against the shared-queue turn modes.
+ *
+ * <p>Every invocation sends a window of messages to random destinations and then waits until the
+ * exporter has received everything sent so far by any thread, so the score counts delivered
+ * messages rather than admissions and the backlog stays bounded. {@code scheduled} and
+ * {@code work-stealing} share locked destination queues between producers and workers, while
+ * {@code sharded} hands messages to the owning shard through its MPSC inbox.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardedDispatchBenchmark {
+
+    private static final int WINDOW = 64;
+
+    @Param({"scheduled", "work-stealing", "sharded"})
+    public String mode;
+
+    @Param({"16", "4096"})
+    public int destinations;
+
+    private DispatchGateway gateway;
+    private List<Message> messages;
+    private final LongAdder exported = new LongAdder();
+    private final AtomicLong sent = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        messages = IntStream.range(0, destinations)
+                .mapToObj(index -> Message.builder()
+                        .destination(Destination.create("/benchmark/sharded/" + index))
+                        .createdAt(Instant.now())
+                        .producerId("benchmark-producer")
+                        .body("payload".getBytes(StandardCharsets.UTF_8))
+                        .build())
+                .toList();
+
+        gateway = DispatchMode.resolveMode(mode).dispatchGateway(new CountingExporter(exported));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        gateway.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Producer {
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    @Threads(8)
+    @OperationsPerInvocation(WINDOW)
+    public void deliverConcurrent(Producer producer) {
+        for (int i = 0; i < WINDOW; i++) {
+            gateway.sparkDispatch(messages.get(producer.random.nextInt(destinations)));
+        }
+        long target = sent.addAndGet(WINDOW);
+        while (exported.sum() < target) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @NullMarked
+    private static final class CountingExporter implements DispatchExporter {
+        private final LongAdder count;
+
+        private CountingExporter(LongAdder count) {
+            this.count = count;
+        }
+
+        @Override
+        public String name() {
+            return "counting";
+        }
+
+        @Override
+        public AggregationResult export(Destination destination, Buffer payload) {
+            count.increment();
+            return AggregationResult.completed(List.of(destination), 1, 1, 0);
+        }
+
+        @Override
+        public AggregationResult exportBatch(Destination destination, List<Message> messages) {
+            count.add(messages.size());
+            return AggregationResult.completed(List.of(destination), messages.size(), messages.size(), 0);
+        }
+    }
+}
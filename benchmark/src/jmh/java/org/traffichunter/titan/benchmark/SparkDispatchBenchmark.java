@@ -0,0 +1,128 @@
+package org.traffichunter.titan.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import org.jspecify.annotations.NullMarked;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.buffer.Buffer;
+import org.traffichunter.titan.dispatch.AggregationResult;
+import org.traffichunter.titan.dispatch.DispatchGateway;
+import org.traffichunter.titan.dispatch.DispatchMode;
+import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
+
+/**
+ * Ingress cost of one {@code sparkDispatch} call per dispatch mode.
+ *
+ * <p>The executor modes hop to a pool thread and allocate two futures per message, while
+ * {@code caller-runs} routes on the calling thread and returns a shared completed future. The
+ * exporter only counts messages, so the score is dominated by admission rather than delivery.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SparkDispatchBenchmark {
+
+    @Param({"virtual", "scheduled", "caller-runs"})
+    public String mode;
+
+    @Param({"1", "64"})
+    public int destinations;
+
+    private DispatchGateway gateway;
+    private List<Message> messages;
+    private final LongAdder exported = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        messages = IntStream.range(0, destinations)
+                .mapToObj(index -> Message.builder()
+                        .destination(Destination.create("/benchmark/spark/" + index))
+                        .createdAt(Instant.now())
+                        .producerId("benchmark-producer")
+                        .body("payload".getBytes(StandardCharsets.UTF_8))
+                        .build())
+                .toList();
+
+        gateway = DispatchMode.resolveMode(mode).dispatchGateway(new CountingExporter(exported));
+        for (Message message : messages) {
+            gateway.sparkDispatch(message).get(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        gateway.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int next(int bound) {
+            int index = next;
+            next = index + 1 == bound ? 0 : index + 1;
+            return index;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void sparkDispatchSingleThread(Cursor cursor) throws Exception {
+        gateway.sparkDispatch(messages.get(cursor.next(destinations))).get(1, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void sparkDispatchConcurrent(Cursor cursor) throws Exception {
+        gateway.sparkDispatch(messages.get(cursor.next(destinations))).get(1, TimeUnit.SECONDS);
+    }
+
+    @NullMarked
+    private static final class CountingExporter implements DispatchExporter {
+        private final LongAdder count;
+
+        private CountingExporter(LongAdder count) {
+            this.count = count;
+        }
+
+        @Override
+        public String name() {
+            return "counting";
+        }
+
+        @Override
+        public AggregationResult export(Destination destination, Buffer payload) {
+            count.increment();
+            return AggregationResult.completed(List.of(destination), 1, 1, 0);
+        }
+
+        @Override
+        public AggregationResult export(Destination destination, Message payload) {
+            count.increment();
+            return AggregationResult.completed(List.of(destination), 1, 1, 0);
+        }
+    }
+}
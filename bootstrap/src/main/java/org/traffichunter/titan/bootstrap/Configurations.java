@@ -98,6 +98,16 @@ public final class Configurations {
         return Integer.parseInt(property);
     }
 
+    public static String idStrategy() {
+        String property = System.getProperty(Property.ID_STRATEGY.value);
+
+        if(property == null || property.isEmpty()) {
+            return "counter";
+        }
+
+        return property;
+    }
+
     public enum Property {
         BANNER_MODE("titan.banner.mode"),
         PORT("titan.web.server.port"),
@@ -106,6 +116,7 @@ public final class Configurations {
         EVENTLOOP_PENDING_MAX_CAPACITY("titan.eventloop.pending.capacity"),
         MAX_CONNECTION_COUNT("titan.connection.max"),
         NAME("titan.name"),
+        ID_STRATEGY("titan.id.strategy"),
         ;
 
         private final String value;
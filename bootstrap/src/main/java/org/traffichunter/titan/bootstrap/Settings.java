@@ -38,7 +38,8 @@ public record Settings(
         List<ServerSettings> servers,
         MonitorSettings monitor,
         BackupSettings backup,
-        FlowControlSettings flowControl
+        FlowControlSettings flowControl,
+        List<DestinationSettings> destinations
 ) {
 
     public Settings(
@@ -54,11 +55,88 @@ public record Settings(
             @Nullable MonitorSettings monitor,
             @Nullable BackupSettings backup,
             @Nullable FlowControlSettings flowControl
+    ) {
+        this(servers, monitor, backup, flowControl, null);
+    }
+
+    public Settings(
+            @Nullable List<ServerSettings> servers,
+            @Nullable MonitorSettings monitor,
+            @Nullable BackupSettings backup,
+            @Nullable FlowControlSettings flowControl,
+            @Nullable List<DestinationSettings> destinations
     ) {
         this.servers = servers == null ? List.of() : List.copyOf(servers);
         this.monitor = monitor == null ? MonitorSettings.disabled() : monitor;
         this.backup = backup == null ? BackupSettings.disabled() : backup;
         this.flowControl = flowControl == null ? FlowControlSettings.disabled() : flowControl;
+        this.destinations = destinations == null ? List.of() : List.copyOf(destinations);
+    }
+
+    /**
+     * Queue storage, overflow policy, disk spilling and handling of unsubscribed destinations for
+     * destinations matching a pattern, applied in declaration order.
+     *
+     * <p>Values are kept as configured strings; the dispatch module validates the pattern, the
+     * queue type and the policies when it builds its dispatcher. An empty queue type keeps
+     * the server's default type, a spill threshold of {@code 0} disables spilling and an empty
+     * spill directory selects the dispatch module's default.</p>
+     */
+    public record DestinationSettings(
+            String pattern,
+            String queueType,
+            String conflationKey,
+            String overflowPolicy,
+            long overflowTimeoutMillis,
+            long spillThresholdBytes,
+            String spillDirectory,
+            String unsubscribedPolicy,
+            long unsubscribedBufferBytes
+    ) {
+
+        private static final String DEFAULT_CONFLATION_KEY = "conflation-key";
+        private static final String DEFAULT_OVERFLOW_POLICY = "reject-and-close";
+        private static final String DEFAULT_UNSUBSCRIBED_POLICY = "deliver";
+
+        public DestinationSettings(
+                @Nullable String pattern,
+                @Nullable String queueType,
+                @Nullable String conflationKey,
+                @Nullable String overflowPolicy,
+                long overflowTimeoutMillis,
+                long spillThresholdBytes,
+                @Nullable String spillDirectory,
+                @Nullable String unsubscribedPolicy,
+                long unsubscribedBufferBytes
+        ) {
+            if (pattern == null || pattern.isBlank()) {
+                throw new IllegalArgumentException("Destination pattern cannot be blank");
+            }
+            if (overflowTimeoutMillis < 0) {
+                throw new IllegalArgumentException("Destination overflow timeout cannot be negative");
+            }
+            if (spillThresholdBytes < 0) {
+                throw new IllegalArgumentException("Destination spill threshold cannot be negative");
+            }
+            if (unsubscribedBufferBytes < 0) {
+                throw new IllegalArgumentException("Destination unsubscribed buffer cannot be negative");
+            }
+            this.pattern = pattern;
+            this.queueType = queueType == null ? "" : queueType;
+            this.conflationKey = conflationKey == null || conflationKey.isBlank()
+                    ? DEFAULT_CONFLATION_KEY
+                    : conflationKey;
+            this.overflowPolicy = overflowPolicy == null || overflowPolicy.isBlank()
+                    ? DEFAULT_OVERFLOW_POLICY
+                    : overflowPolicy;
+            this.overflowTimeoutMillis = overflowTimeoutMillis;
+            this.spillThresholdBytes = spillThresholdBytes;
+            this.spillDirectory = spillDirectory == null ? "" : spillDirectory;
+            this.unsubscribedPolicy = unsubscribedPolicy == null || unsubscribedPolicy.isBlank()
+                    ? DEFAULT_UNSUBSCRIBED_POLICY
+                    : unsubscribedPolicy;
+            this.unsubscribedBufferBytes = unsubscribedBufferBytes;
+        }
     }
 
     public record MonitorSettings(
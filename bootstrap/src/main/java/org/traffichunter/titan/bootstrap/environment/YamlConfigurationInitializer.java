@@ -34,6 +34,7 @@ import org.traffichunter.titan.bootstrap.ServerSettings;
 import org.traffichunter.titan.bootstrap.Settings;
 import org.traffichunter.titan.bootstrap.environment.proprerty.RootYamlProperty;
 import org.traffichunter.titan.bootstrap.environment.proprerty.sub.BackupProperty;
+import org.traffichunter.titan.bootstrap.environment.proprerty.sub.DestinationProperty;
 import org.traffichunter.titan.bootstrap.environment.proprerty.sub.FlowControlProperty;
 import org.traffichunter.titan.bootstrap.environment.proprerty.sub.HeapFlowControlProperty;
 import org.traffichunter.titan.bootstrap.environment.proprerty.sub.MonitorProperty;
@@ -120,10 +121,32 @@ final class YamlConfigurationInitializer implements ConfigurationInitializer {
                 servers,
                 mapMonitor(root.getTitan() == null ? null : root.getTitan().getMonitor()),
                 mapBackup(root.getTitan() == null ? null : root.getTitan().getBackup()),
-                mapFlowControl(root.getTitan() == null ? null : root.getTitan().getFlowControl())
+                mapFlowControl(root.getTitan() == null ? null : root.getTitan().getFlowControl()),
+                mapDestinations(root.getTitan() == null ? null : root.getTitan().getDestinations())
         );
     }
 
+    private static List<Settings.DestinationSettings> mapDestinations(
+            final @Nullable List<DestinationProperty> properties
+    ) {
+        if (properties == null) {
+            return List.of();
+        }
+        return properties.stream()
+                .map(property -> new Settings.DestinationSettings(
+                        property.getPattern(),
+                        property.getQueueType(),
+                        property.getConflationKey(),
+                        property.getOverflowPolicy(),
+                        property.getOverflowTimeoutMillis(),
+                        property.getSpillThresholdBytes(),
+                        property.getSpillDirectory(),
+                        property.getUnsubscribedPolicy(),
+                        property.getUnsubscribedBufferBytes()
+                ))
+                .toList();
+    }
+
     private static Settings.FlowControlSettings mapFlowControl(
             final @Nullable FlowControlProperty property
     ) {
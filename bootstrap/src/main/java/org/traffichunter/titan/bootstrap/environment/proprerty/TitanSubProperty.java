@@ -26,6 +26,7 @@ package org.traffichunter.titan.bootstrap.environment.proprerty;
 import java.util.List;
 import java.util.Objects;
 import org.traffichunter.titan.bootstrap.environment.proprerty.sub.BackupProperty;
+import org.traffichunter.titan.bootstrap.environment.proprerty.sub.DestinationProperty;
 import org.traffichunter.titan.bootstrap.environment.proprerty.sub.FlowControlProperty;
 import org.traffichunter.titan.bootstrap.environment.proprerty.sub.HttpServerProperty;
 import org.traffichunter.titan.bootstrap.environment.proprerty.sub.MonitorProperty;
@@ -53,6 +54,8 @@ public class TitanSubProperty {
 
     private List<ServerProperty> servers;
 
+    private List<DestinationProperty> destinations;
+
     public TitanSubProperty() {
     }
 
@@ -120,6 +123,14 @@ public class TitanSubProperty {
         this.servers = servers;
     }
 
+    public List<DestinationProperty> getDestinations() {
+        return destinations;
+    }
+
+    public void setDestinations(List<DestinationProperty> destinations) {
+        this.destinations = destinations;
+    }
+
     @Override
     public boolean equals(Object obj) {
         return this == obj || obj instanceof TitanSubProperty other
@@ -128,12 +139,13 @@ public class TitanSubProperty {
                 && Objects.equals(backup, other.backup)
                 && Objects.equals(flowControl, other.flowControl)
                 && Objects.equals(serviceDiscovery, other.serviceDiscovery)
-                && Objects.equals(servers, other.servers);
+                && Objects.equals(servers, other.servers)
+                && Objects.equals(destinations, other.destinations);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(httpServer, monitor, backup, flowControl, serviceDiscovery, servers);
+        return Objects.hash(httpServer, monitor, backup, flowControl, serviceDiscovery, servers, destinations);
     }
 
     @Override
@@ -145,6 +157,7 @@ public class TitanSubProperty {
                 ", flowControl=" + flowControl +
                 ", serviceDiscovery=" + serviceDiscovery +
                 ", servers=" + servers +
+                ", destinations=" + destinations +
                 '}';
     }
 }
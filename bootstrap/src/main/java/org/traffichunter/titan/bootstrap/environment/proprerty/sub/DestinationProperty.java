@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.bootstrap.environment.proprerty.sub;
+
+/**
+ * Mutable YAML DTO selecting the queue storage, overflow policy, spilling and unsubscribed handling of
+ * destinations matching a pattern.
+ */
+public final class DestinationProperty {
+
+    private String pattern;
+    private String queueType;
+    private String conflationKey;
+    private String overflowPolicy;
+    private long overflowTimeoutMillis;
+    private long spillThresholdBytes;
+    private String spillDirectory;
+    private String unsubscribedPolicy;
+    private long unsubscribedBufferBytes;
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public String getQueueType() {
+        return queueType;
+    }
+
+    public void setQueueType(String queueType) {
+        this.queueType = queueType;
+    }
+
+    public String getConflationKey() {
+        return conflationKey;
+    }
+
+    public void setConflationKey(String conflationKey) {
+        this.conflationKey = conflationKey;
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(String overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public long getOverflowTimeoutMillis() {
+        return overflowTimeoutMillis;
+    }
+
+    public void setOverflowTimeoutMillis(long overflowTimeoutMillis) {
+        this.overflowTimeoutMillis = overflowTimeoutMillis;
+    }
+
+    public long getSpillThresholdBytes() {
+        return spillThresholdBytes;
+    }
+
+    public void setSpillThresholdBytes(long spillThresholdBytes) {
+        this.spillThresholdBytes = spillThresholdBytes;
+    }
+
+    public String getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    public void setSpillDirectory(String spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    public String getUnsubscribedPolicy() {
+        return unsubscribedPolicy;
+    }
+
+    public void setUnsubscribedPolicy(String unsubscribedPolicy) {
+        this.unsubscribedPolicy = unsubscribedPolicy;
+    }
+
+    public long getUnsubscribedBufferBytes() {
+        return unsubscribedBufferBytes;
+    }
+
+    public void setUnsubscribedBufferBytes(long unsubscribedBufferBytes) {
+        this.unsubscribedBufferBytes = unsubscribedBufferBytes;
+    }
+}
@@ -234,6 +234,40 @@ class ConfigurationInitializerTest {
         assertThat(server.tls().verifyHostname()).isFalse();
     }
 
+    @Test
+    void load_maps_destination_settings() {
+        String yaml = """
+                titan:
+                  destinations:
+                    - pattern: /prices/**
+                      queue-type: conflating
+                      conflation-key: symbol
+                    - pattern: /orders/*
+                      queue-type: priority
+                      spill-threshold-bytes: 1048576
+                      spill-directory: /var/lib/titan/spill
+                      unsubscribed-policy: buffer
+                      unsubscribed-buffer-bytes: 65536
+                """;
+
+        Settings settings = ConfigurationInitializer.getDefault("unused")
+                .load(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(settings.destinations()).hasSize(2);
+        assertThat(settings.destinations().get(0).pattern()).isEqualTo("/prices/**");
+        assertThat(settings.destinations().get(0).queueType()).isEqualTo("conflating");
+        assertThat(settings.destinations().get(0).conflationKey()).isEqualTo("symbol");
+        assertThat(settings.destinations().get(1).queueType()).isEqualTo("priority");
+        assertThat(settings.destinations().get(1).conflationKey()).isEqualTo("conflation-key");
+        assertThat(settings.destinations().get(0).spillThresholdBytes()).isZero();
+        assertThat(settings.destinations().get(0).spillDirectory()).isEmpty();
+        assertThat(settings.destinations().get(1).spillThresholdBytes()).isEqualTo(1048576);
+        assertThat(settings.destinations().get(1).spillDirectory()).isEqualTo("/var/lib/titan/spill");
+        assertThat(settings.destinations().get(0).unsubscribedPolicy()).isEqualTo("deliver");
+        assertThat(settings.destinations().get(1).unsubscribedPolicy()).isEqualTo("buffer");
+        assertThat(settings.destinations().get(1).unsubscribedBufferBytes()).isEqualTo(65536);
+    }
+
     @Test
     void settings_builder_defaults_missing_sections() {
         Settings settings = new Settings(null, null, null);
@@ -244,5 +278,6 @@ class ConfigurationInitializerTest {
         assertThat(settings.monitor().port()).isEqualTo(7777);
         assertThat(settings.backup().enabled()).isFalse();
         assertThat(settings.flowControl().enabled()).isFalse();
+        assertThat(settings.destinations()).isEmpty();
     }
 }
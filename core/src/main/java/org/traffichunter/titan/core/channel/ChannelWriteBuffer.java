@@ -24,10 +24,13 @@ THE SOFTWARE.
 package org.traffichunter.titan.core.channel;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.netty.buffer.ByteBuf;
 import org.jspecify.annotations.Nullable;
 import org.traffichunter.titan.core.util.Assert;
+import org.traffichunter.titan.core.util.Handler;
 import org.traffichunter.titan.core.util.buffer.Buffer;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.Queue;
 
@@ -45,13 +48,22 @@ public final class ChannelWriteBuffer {
     private final Queue<Buffer> writeBuffer;
     private @Nullable AggregateChannelWriteBufferMetrics metrics;
 
-    private int pendingBytes;
+    /**
+     * Only the channel's event loop writes this. It is volatile so other threads can read a recent
+     * value through {@link #pendingBytes()}.
+     */
+    private volatile int pendingBytes;
 
     private final int highWatermark;
     private final int lowWatermark;
 
-    private boolean isWritable = true;
+    /**
+     * Only the channel's event loop writes this. It is volatile so dispatch threads can check a
+     * recent value through {@link #isWritable()} before handing the channel more messages.
+     */
+    private volatile boolean isWritable = true;
     private boolean isClosed;
+    private @Nullable Handler<Boolean> writabilityHandler;
 
     public ChannelWriteBuffer() {
         this(DEFAULT_HIGH_WATERMARK, DEFAULT_LOW_WATERMARK);
@@ -91,6 +103,13 @@ public final class ChannelWriteBuffer {
         metrics.open(pendingBytes, isWritable);
     }
 
+    /**
+     * Sets the handler told about every writability transition, on the thread that caused it.
+     */
+    void writabilityHandler(Handler<Boolean> writabilityHandler) {
+        this.writabilityHandler = writabilityHandler;
+    }
+
     public void add(Buffer buffer) {
         if (isClosed) {
             throw new ChannelException("Channel write buffer is closed");
@@ -112,6 +131,7 @@ public final class ChannelWriteBuffer {
             if (currentMetrics != null) {
                 currentMetrics.becameNonWritable();
             }
+            writabilityChanged(false);
         }
 
     }
@@ -124,6 +144,30 @@ public final class ChannelWriteBuffer {
         return writeBuffer.peek();
     }
 
+    /**
+     * Fills {@code dst} with the readable regions of the queued buffers in order and returns how
+     * many slots were used. A composite buffer contributes one region per component, so a single
+     * gathering write covers several queued frames and the shared payload slices inside them.
+     * A head buffer with more components than {@code dst} holds is merged into one region.
+     */
+    int nioBuffers(ByteBuffer[] dst) {
+        int count = 0;
+        for (Buffer buffer : writeBuffer) {
+            ByteBuf byteBuf = buffer.byteBuf();
+            ByteBuffer[] regions = byteBuf.nioBuffers(byteBuf.readerIndex(), byteBuf.readableBytes());
+            if (count + regions.length > dst.length) {
+                if (count == 0) {
+                    dst[count++] = byteBuf.nioBuffer(byteBuf.readerIndex(), byteBuf.readableBytes());
+                }
+                break;
+            }
+            for (ByteBuffer region : regions) {
+                dst[count++] = region;
+            }
+        }
+        return count;
+    }
+
     @CanIgnoreReturnValue
     public @Nullable Buffer poll() {
         if(writeBuffer.isEmpty()) {
@@ -143,6 +187,7 @@ public final class ChannelWriteBuffer {
             if (currentMetrics != null) {
                 currentMetrics.becameWritable();
             }
+            writabilityChanged(true);
         }
 
         return buffer;
@@ -177,6 +222,7 @@ public final class ChannelWriteBuffer {
             if (currentMetrics != null) {
                 currentMetrics.becameWritable();
             }
+            writabilityChanged(true);
         }
     }
 
@@ -200,4 +246,11 @@ public final class ChannelWriteBuffer {
         }
         isWritable = false;
     }
+
+    private void writabilityChanged(boolean writable) {
+        Handler<Boolean> handler = writabilityHandler;
+        if (handler != null) {
+            handler.handle(writable);
+        }
+    }
 }
@@ -109,6 +109,11 @@ public final class IOSelector {
         return unregisterOps(channel, SelectionKey.OP_READ);
     }
 
+    @CanIgnoreReturnValue
+    public IOSelector unregisterRead(NetChannel channel) throws IOException {
+        return unregisterOps(channel, SelectionKey.OP_READ);
+    }
+
     @CanIgnoreReturnValue
     public IOSelector registerWrite(NetChannel channel) throws IOException {
         return registerOps(channel, SelectionKey.OP_WRITE);
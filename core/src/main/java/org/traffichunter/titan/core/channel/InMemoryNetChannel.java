@@ -25,6 +25,8 @@ package org.traffichunter.titan.core.channel;
 
 import org.jspecify.annotations.Nullable;
 import org.traffichunter.titan.core.util.concurrent.ChannelPromise;
+import org.traffichunter.titan.core.util.Handler;
+import org.traffichunter.titan.core.util.HandlerRegistration;
 import org.traffichunter.titan.core.util.IdGenerator;
 import org.traffichunter.titan.core.util.buffer.Buffer;
 
@@ -33,9 +35,11 @@ import java.net.SocketAddress;
 import java.net.SocketOption;
 import java.time.Instant;
 import java.util.ArrayDeque;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
@@ -51,6 +55,7 @@ public final class InMemoryNetChannel implements NetChannel {
     private final Queue<Buffer> pendingWrites = new ArrayDeque<>();
     private final Queue<Buffer> flushedWrites = new ArrayDeque<>();
     private final Internal internal = new InMemoryInternal();
+    private final List<Handler<NetChannel>> closeHandlers = new CopyOnWriteArrayList<>();
 
     private @Nullable IOEventLoop eventLoop;
     private @Nullable SocketAddress localAddress;
@@ -158,6 +163,7 @@ public final class InMemoryNetChannel implements NetChannel {
         clearQueue(pendingWrites);
         clearQueue(flushedWrites);
         closeHandlerChain();
+        closeHandlers.forEach(this::runCloseHandler);
     }
 
     private void closeHandlerChain() {
@@ -215,6 +221,40 @@ public final class InMemoryNetChannel implements NetChannel {
         return connected;
     }
 
+    @Override
+    public int pendingWriteBytes() {
+        int pendingBytes = 0;
+        for (Buffer buffer : pendingWrites) {
+            pendingBytes += buffer.length();
+        }
+        return pendingBytes;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return !closed;
+    }
+
+    @Override
+    public HandlerRegistration addWritabilityHandler(Handler<NetChannel> handler) {
+        return () -> { };
+    }
+
+    @Override
+    public HandlerRegistration addCloseHandler(Handler<NetChannel> handler) {
+        closeHandlers.add(handler);
+        if (closed) {
+            runCloseHandler(handler);
+        }
+        return () -> closeHandlers.remove(handler);
+    }
+
+    private void runCloseHandler(Handler<NetChannel> handler) {
+        if (closeHandlers.remove(handler)) {
+            handler.handle(this);
+        }
+    }
+
     public void enqueueInbound(Buffer buffer) {
         inbound.add(buffer.retain());
     }
@@ -269,6 +309,10 @@ public final class InMemoryNetChannel implements NetChannel {
         public void onWritabilityChanged(boolean isWritable) {
         }
 
+        @Override
+        public void setAutoRead(boolean autoRead) {
+        }
+
         @Override
         public boolean finishConnect() {
             return connected;
@@ -24,6 +24,8 @@ THE SOFTWARE.
 package org.traffichunter.titan.core.channel;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.traffichunter.titan.core.util.Handler;
+import org.traffichunter.titan.core.util.HandlerRegistration;
 import org.traffichunter.titan.core.util.concurrent.ChannelPromise;
 import org.traffichunter.titan.core.util.buffer.Buffer;
 
@@ -84,6 +86,43 @@ public interface NetChannel extends Channel {
 
     boolean isConnected();
 
+    /**
+     * Returns the outbound bytes queued on this channel and not yet written to the transport.
+     *
+     * <p>The value is read without synchronizing with the channel's event loop, so it is a recent
+     * estimate suited to balancing load across channels rather than an exact count.</p>
+     */
+    int pendingWriteBytes();
+
+    /**
+     * Returns whether the outbound bytes queued on this channel are below its high watermark.
+     *
+     * <p>A channel stops being writable once queued bytes pass the high watermark and becomes
+     * writable again when they drop below the low watermark. Writes are still accepted while the
+     * channel is not writable; callers that can hold data back, such as fanout, should do so.
+     * The value is read without synchronizing with the channel's event loop.</p>
+     */
+    boolean isWritable();
+
+    /**
+     * Adds a handler invoked with this channel whenever {@link #isWritable()} changes. Handlers
+     * added earlier keep being invoked; remove the returned registration once the handler is no
+     * longer needed.
+     *
+     * <p>The handler runs on the channel's event loop and must not block.</p>
+     */
+    @CanIgnoreReturnValue
+    HandlerRegistration addWritabilityHandler(Handler<NetChannel> handler);
+
+    /**
+     * Adds a handler invoked once with this channel when it closes, or right away if it already
+     * has. Remove the returned registration if the handler is no longer needed before that.
+     *
+     * <p>The handler runs on the closing thread and must not block.</p>
+     */
+    @CanIgnoreReturnValue
+    HandlerRegistration addCloseHandler(Handler<NetChannel> handler);
+
     /**
      * Raw transport operations that bypass the inbound and outbound channel pipelines.
      *
@@ -119,6 +158,14 @@ public interface NetChannel extends Channel {
          */
         void onWritabilityChanged(boolean isWritable);
 
+        /**
+         * Starts or stops reading from the underlying transport.
+         *
+         * <p>While reading is stopped, inbound bytes stay in the socket receive buffer, so
+         * transport flow control pushes back on the peer instead of Titan buffering its frames.</p>
+         */
+        void setAutoRead(boolean autoRead);
+
         /**
          * Completes a pending non-blocking connection on the underlying transport.
          */
@@ -27,6 +27,8 @@ import io.netty.buffer.ByteBuf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.util.Handler;
+import org.traffichunter.titan.core.util.HandlerRegistration;
 import org.traffichunter.titan.core.util.concurrent.ChannelPromise;
 import org.traffichunter.titan.core.util.concurrent.ScheduledPromise;
 import org.traffichunter.titan.core.util.buffer.Buffer;
@@ -37,8 +39,12 @@ import java.net.SocketAddress;
 import java.net.SocketOption;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * {@link SocketChannel}-backed {@link NetChannel} implementation.
@@ -54,10 +60,17 @@ public class NewIONetChannel extends AbstractChannel implements NetChannel {
 
     private static final Logger log = LoggerFactory.getLogger(NewIONetChannel.class);
 
+    /**
+     * Buffer regions handed to one gathering socket write during flush.
+     */
+    private static final int MAX_GATHERED_BUFFERS = 64;
+
     private final ChannelWriteBuffer channelWriteBuffer;
     private final Internal internal = new NewIOInternal();
 
     private @Nullable volatile ChannelPromise connectPromise;
+    private final List<Handler<NetChannel>> writabilityHandlers = new CopyOnWriteArrayList<>();
+    private final List<Handler<NetChannel>> closeHandlers = new CopyOnWriteArrayList<>();
 
     NewIONetChannel(ChannelHandShakeEventListener initializer) throws IOException {
         this(SocketChannel.open(), initializer);
@@ -66,6 +79,7 @@ public class NewIONetChannel extends AbstractChannel implements NetChannel {
     NewIONetChannel(SocketChannel channel, ChannelHandShakeEventListener initializer) {
         super(channel, initializer);
         this.channelWriteBuffer = new ChannelWriteBuffer();
+        channelWriteBuffer.writabilityHandler(this::writabilityChanged);
     }
 
     void attachWriteBufferMetrics(AggregateChannelWriteBufferMetrics metrics) {
@@ -184,6 +198,55 @@ public class NewIONetChannel extends AbstractChannel implements NetChannel {
         return channel().isConnected();
     }
 
+    @Override
+    public int pendingWriteBytes() {
+        return channelWriteBuffer.pendingBytes();
+    }
+
+    @Override
+    public boolean isWritable() {
+        return channelWriteBuffer.isWritable();
+    }
+
+    @Override
+    public HandlerRegistration addWritabilityHandler(Handler<NetChannel> handler) {
+        writabilityHandlers.add(handler);
+        return () -> writabilityHandlers.remove(handler);
+    }
+
+    private void writabilityChanged(boolean writable) {
+        for (Handler<NetChannel> handler : writabilityHandlers) {
+            try {
+                handler.handle(this);
+            } catch (RuntimeException e) {
+                log.warn("Writability handler failed. channelId={}, writable={}", id(), writable, e);
+            }
+        }
+    }
+
+    @Override
+    public HandlerRegistration addCloseHandler(Handler<NetChannel> handler) {
+        closeHandlers.add(handler);
+        if (isClosed()) {
+            runCloseHandler(handler);
+        }
+        return () -> closeHandlers.remove(handler);
+    }
+
+    /**
+     * Runs a close handler unless another thread already took it off the list and ran it.
+     */
+    private void runCloseHandler(Handler<NetChannel> handler) {
+        if (!closeHandlers.remove(handler)) {
+            return;
+        }
+        try {
+            handler.handle(this);
+        } catch (RuntimeException e) {
+            log.warn("Close handler failed. channelId={}", id(), e);
+        }
+    }
+
     @Override
     public void close() {
         if (isRegistered()) {
@@ -200,6 +263,7 @@ public class NewIONetChannel extends AbstractChannel implements NetChannel {
 
         channelWriteBuffer.close();
         super.close();
+        closeHandlers.forEach(this::runCloseHandler);
     }
 
     private SocketChannel channel() {
@@ -292,6 +356,8 @@ public class NewIONetChannel extends AbstractChannel implements NetChannel {
 
     private final class NewIOInternal implements Internal {
 
+        private final ByteBuffer[] gathered = new ByteBuffer[MAX_GATHERED_BUFFERS];
+
         @Override
         public int read(Buffer buffer) {
             if(isClosed()) {
@@ -343,16 +409,10 @@ public class NewIONetChannel extends AbstractChannel implements NetChannel {
                 throw new ChannelException("Already channel is closed");
             }
 
-            while (true) {
-                Buffer buffer = channelWriteBuffer.current();
-                if(buffer == null) {
-                    break;
-                }
-
-                ByteBuf byteBuf = buffer.byteBuf();
-                ByteBuffer nioBuffer = byteBuf.nioBuffer(byteBuf.readerIndex(), byteBuf.readableBytes());
-
-                int written = write0(nioBuffer);
+            while (!channelWriteBuffer.isEmpty()) {
+                int count = channelWriteBuffer.nioBuffers(gathered);
+                long written = write0(gathered, count);
+                Arrays.fill(gathered, 0, count, null);
                 if(written < 0) {
                     throw new ChannelException("Failed to write to socket");
                 }
@@ -362,8 +422,30 @@ public class NewIONetChannel extends AbstractChannel implements NetChannel {
                     break;
                 }
 
-                byteBuf.readerIndex(byteBuf.readerIndex() + written);
-                channelWriteBuffer.progress(written);
+                consume(written);
+            }
+
+            if(channelWriteBuffer.isEmpty()) {
+                onWriteabilityChanged(false);
+            }
+        }
+
+        /**
+         * Advances the queued buffers past {@code written} bytes, releasing those fully written.
+         */
+        private void consume(long written) {
+            long remaining = written;
+            while (remaining > 0) {
+                Buffer buffer = channelWriteBuffer.current();
+                if (buffer == null) {
+                    break;
+                }
+
+                ByteBuf byteBuf = buffer.byteBuf();
+                int bytes = (int) Math.min(remaining, byteBuf.readableBytes());
+                byteBuf.readerIndex(byteBuf.readerIndex() + bytes);
+                channelWriteBuffer.progress(bytes);
+                remaining -= bytes;
 
                 if(!byteBuf.isReadable()) {
                     Buffer consumed = channelWriteBuffer.poll();
@@ -372,25 +454,11 @@ public class NewIONetChannel extends AbstractChannel implements NetChannel {
                     }
                 }
             }
-
-            if(channelWriteBuffer.isEmpty()) {
-                onWriteabilityChanged(false);
-            }
         }
 
         @Override
         public void onWritabilityChanged(boolean active) {
-            if (isClosed()) {
-                return;
-            }
-
-            IOEventLoop ioEventLoop = eventLoop();
-            if (ioEventLoop.isShuttingDown()) {
-                return;
-            }
-            IOSelector ioSelector = ioEventLoop.ioSelector();
-
-            Runnable updateWritability = () -> {
+            updateInterest(ioSelector -> {
                 try {
                     if (active) {
                         ioSelector.registerWrite(NewIONetChannel.this);
@@ -400,15 +468,48 @@ public class NewIONetChannel extends AbstractChannel implements NetChannel {
                 } catch (IOException e) {
                     throw new ChannelException("Failed to register write event", e);
                 }
-            };
+            });
+        }
+
+        @Override
+        public void setAutoRead(boolean autoRead) {
+            updateInterest(ioSelector -> {
+                if (isClosed()) {
+                    return;
+                }
+                try {
+                    if (autoRead) {
+                        ioSelector.registerRead(NewIONetChannel.this);
+                    } else {
+                        ioSelector.unregisterRead(NewIONetChannel.this);
+                    }
+                } catch (IOException e) {
+                    throw new ChannelException("Failed to register read event", e);
+                }
+            });
+        }
+
+        /**
+         * Applies a selector interest change on the owning event loop, hopping to it when needed.
+         */
+        private void updateInterest(Consumer<IOSelector> update) {
+            if (isClosed()) {
+                return;
+            }
+
+            IOEventLoop ioEventLoop = eventLoop();
+            if (ioEventLoop.isShuttingDown()) {
+                return;
+            }
+            IOSelector ioSelector = ioEventLoop.ioSelector();
 
             if (ioEventLoop.inEventLoop()) {
-                updateWritability.run();
+                update.accept(ioSelector);
                 return;
             }
 
             try {
-                ioEventLoop.execute(updateWritability);
+                ioEventLoop.execute(() -> update.accept(ioSelector));
             } catch (RejectedExecutionException e) {
                 if (!isClosed() && !ioEventLoop.isShuttingDown()) {
                     throw e;
@@ -432,9 +533,9 @@ public class NewIONetChannel extends AbstractChannel implements NetChannel {
             }
         }
 
-        private int write0(ByteBuffer byteBuffer) {
+        private long write0(ByteBuffer[] byteBuffers, int count) {
             try {
-                return channel().write(byteBuffer);
+                return count == 1 ? channel().write(byteBuffers[0]) : channel().write(byteBuffers, 0, count);
             } catch (IOException e) {
                 log.warn("Failed to write to socket. channelId={}, remoteAddress={}", id(), remoteAddress(), e);
                 return -1;
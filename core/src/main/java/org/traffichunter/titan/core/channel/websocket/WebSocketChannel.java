@@ -29,6 +29,8 @@ import org.traffichunter.titan.core.channel.IOEventLoop;
 import org.traffichunter.titan.core.channel.NetChannel;
 import org.traffichunter.titan.core.codec.websocket.WebSocketFrame;
 import org.traffichunter.titan.core.util.concurrent.ChannelPromise;
+import org.traffichunter.titan.core.util.Handler;
+import org.traffichunter.titan.core.util.HandlerRegistration;
 import org.traffichunter.titan.core.util.Protocol;
 import org.traffichunter.titan.core.util.buffer.Buffer;
 
@@ -137,6 +139,26 @@ public final class WebSocketChannel implements NetChannel {
         return delegate.isConnected();
     }
 
+    @Override
+    public int pendingWriteBytes() {
+        return delegate.pendingWriteBytes();
+    }
+
+    @Override
+    public boolean isWritable() {
+        return delegate.isWritable();
+    }
+
+    @Override
+    public HandlerRegistration addWritabilityHandler(Handler<NetChannel> handler) {
+        return delegate.addWritabilityHandler(channel -> handler.handle(this));
+    }
+
+    @Override
+    public HandlerRegistration addCloseHandler(Handler<NetChannel> handler) {
+        return delegate.addCloseHandler(channel -> handler.handle(this));
+    }
+
     @Override
     public ChannelHandlerChain chain() {
         return delegate.chain();
@@ -25,22 +25,37 @@ package org.traffichunter.titan.core.message;
 
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import org.jspecify.annotations.Nullable;
 import org.traffichunter.titan.core.util.IdGenerator;
 import org.traffichunter.titan.core.util.Destination;
 
 /**
  * Message stored and routed by Titan's dispatcher queues.
  *
- * <p>The payload is kept as a heap byte array rather than a reference-counted transport buffer.
- * The constructor copies the supplied array, so queued messages do not retain codec or network
- * resources and do not require explicit release.</p>
+ * <p>The payload is kept as a heap byte array rather than a reference-counted transport buffer,
+ * so queued messages do not retain codec or network resources and do not require explicit
+ * release. The constructors copy the supplied array. A decoder that already owns a private copy
+ * of the body hands it over with {@link MessageBuilder#wrapBody(byte[])} instead, and the array
+ * then travels unchanged from the decoder to the exporter, which writes it without copying.</p>
+ *
+ * <p>Headers carry the producer-supplied routing hints that dispatch policies act on, such as a
+ * partition key. They are an immutable copy and are not forwarded to subscribers.</p>
+ *
+ * <p>A message may carry an absolute expiry time in epoch milliseconds, {@code 0} meaning it never
+ * expires. Dispatcher queues discard expired messages instead of delivering them.</p>
+ *
+ * <p>The message also records {@link System#nanoTime()} when it was created, which is right after
+ * its frame was decoded, and when a dispatcher queue admitted and drained it. Fanout measures the
+ * latency of each stage from these stamps. They are not part of the message's identity.</p>
  *
  * @author yungwang-o
  */
 public final class Message {
 
-    private final String uniqueId = IdGenerator.uuid();
+    private final String uniqueId = IdGenerator.nextId();
 
     private final Destination destination;
 
@@ -54,16 +69,62 @@ public final class Message {
 
     private final byte[] body;
 
+    private final Map<String, String> headers;
+
+    private final long expiresAt;
+
+    private final long createdNanos = System.nanoTime();
+
+    private long enqueuedNanos;
+
+    private long dispatchedNanos;
+
     public Message(final Destination destination,
                    final Instant createdAt,
                    final String producerId,
                    final byte[] body
     ) {
+        this(destination, createdAt, producerId, body, Map.of());
+    }
+
+    public Message(final Destination destination,
+                   final Instant createdAt,
+                   final String producerId,
+                   final byte[] body,
+                   final Map<String, String> headers
+    ) {
+        this(destination, createdAt, producerId, body, headers, 0L);
+    }
+
+    public Message(final Destination destination,
+                   final Instant createdAt,
+                   final String producerId,
+                   final byte[] body,
+                   final Map<String, String> headers,
+                   final long expiresAt
+    ) {
+        this(destination, createdAt, producerId, body, headers, expiresAt, true);
+    }
+
+    private Message(final Destination destination,
+                    final Instant createdAt,
+                    final String producerId,
+                    final byte[] body,
+                    final Map<String, String> headers,
+                    final long expiresAt,
+                    final boolean copyBody
+    ) {
+        if (expiresAt < 0) {
+            throw new IllegalArgumentException("Expiry time must not be negative");
+        }
         this.destination = Objects.requireNonNull(destination, "routingKey");
         this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
         this.producerId = Objects.requireNonNull(producerId, "producerId");
-        this.body = Objects.requireNonNull(body, "body").clone();
+        Objects.requireNonNull(body, "body");
+        this.body = copyBody ? body.clone() : body;
         this.size = this.body.length;
+        this.headers = Map.copyOf(Objects.requireNonNull(headers, "headers"));
+        this.expiresAt = expiresAt;
     }
 
     public static MessageBuilder builder() {
@@ -98,10 +159,65 @@ public final class Message {
         return body;
     }
 
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    public @Nullable String getHeader(final String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * Returns the absolute expiry time in epoch milliseconds, or {@code 0} if the message never
+     * expires.
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(final long nowMillis) {
+        return expiresAt != 0L && nowMillis >= expiresAt;
+    }
+
     public void setDispatchAt(final Instant dispatchedAt) {
         this.dispatchedAt = dispatchedAt;
     }
 
+    /**
+     * Returns the {@link System#nanoTime()} at which this message was created.
+     */
+    public long getCreatedNanos() {
+        return createdNanos;
+    }
+
+    /**
+     * Returns the {@link System#nanoTime()} at which a dispatcher queue admitted this message,
+     * {@code 0} before admission.
+     */
+    public long getEnqueuedNanos() {
+        return enqueuedNanos;
+    }
+
+    /**
+     * Records the {@link System#nanoTime()} of admission. The queue stamps the message before
+     * publishing it, so the consumer that drains it reads the stamp.
+     */
+    public void markEnqueued(final long nanos) {
+        this.enqueuedNanos = nanos;
+    }
+
+    /**
+     * Returns the {@link System#nanoTime()} at which a dispatcher queue handed this message to its
+     * consumer, {@code 0} before that.
+     */
+    public long getDispatchedNanos() {
+        return dispatchedNanos;
+    }
+
+    public void markDispatched(final long nanos) {
+        this.dispatchedNanos = nanos;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
@@ -115,7 +231,8 @@ public final class Message {
                 getDestination(), message.getDestination()) && Objects.equals(getCreatedAt(),
                 message.getCreatedAt()) && Objects.equals(getDispatchedAt(), message.getDispatchedAt())
                 && Objects.equals(getProducerId(), message.getProducerId()) && Objects.deepEquals(
-                getBody(), message.getBody());
+                getBody(), message.getBody()) && Objects.equals(getHeaders(), message.getHeaders())
+                && getExpiresAt() == message.getExpiresAt();
     }
 
     @Override
@@ -125,7 +242,9 @@ public final class Message {
                 getDestination(),
                 getCreatedAt(),
                 getDispatchedAt(),
-                getProducerId(), getSize(), Arrays.hashCode(getBody())
+                getProducerId(), getSize(), Arrays.hashCode(getBody()),
+                getHeaders(),
+                getExpiresAt()
         );
     }
 
@@ -138,6 +257,8 @@ public final class Message {
                 ", dispatchedAt:" + dispatchedAt +
                 ", producerId:'" + producerId + '\'' +
                 ", size:" + size +
+                ", headers:" + headers +
+                ", expiresAt:" + expiresAt +
                 ", body:" + Arrays.toString(body) +
                 '}';
     }
@@ -148,6 +269,9 @@ public final class Message {
         private Instant createdAt;
         private String producerId;
         private byte[] body;
+        private boolean wrapped;
+        private final Map<String, String> headers = new HashMap<>();
+        private long expiresAt;
 
         private MessageBuilder() {
         }
@@ -169,11 +293,37 @@ public final class Message {
 
         public MessageBuilder body(byte[] body) {
             this.body = body;
+            this.wrapped = false;
+            return this;
+        }
+
+        /**
+         * Uses {@code body} as the payload without copying it. The caller hands the array over and
+         * must not modify it afterwards.
+         */
+        public MessageBuilder wrapBody(byte[] body) {
+            this.body = body;
+            this.wrapped = true;
+            return this;
+        }
+
+        public MessageBuilder header(String name, String value) {
+            this.headers.put(name, value);
+            return this;
+        }
+
+        public MessageBuilder headers(Map<String, String> headers) {
+            this.headers.putAll(headers);
+            return this;
+        }
+
+        public MessageBuilder expiresAt(long expiresAt) {
+            this.expiresAt = expiresAt;
             return this;
         }
 
         public Message build() {
-            return new Message(destination, createdAt, producerId, body);
+            return new Message(destination, createdAt, producerId, body, headers, expiresAt, !wrapped);
         }
     }
 }
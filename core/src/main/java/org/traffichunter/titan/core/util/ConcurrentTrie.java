@@ -0,0 +1,366 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.util.concurrent.ThreadSafe;
+
+/**
+ * Path trie whose lookups never take a lock.
+ *
+ * <p>Children are kept in per-node {@link ConcurrentHashMap}s and values are volatile, so
+ * {@link #get(String)}, {@link #startsWith(String)}, and {@link #searchAll(String)} run concurrently
+ * with writers and with each other. {@link #computeIfAbsent(String, Function)} and
+ * {@link #putIfAbsent(String, Object)} first try the same lock-free lookup and only fall back to
+ * the mutation lock when the value is missing. Structural changes are therefore serialized, which
+ * keeps node pruning from detaching a node that a concurrent insert is filling and invokes a
+ * mapping function at most once per path.</p>
+ *
+ * <p>Paths are walked in place. Each segment is matched through a reusable probe key that compares
+ * a region of the path, so lookups neither split the path nor allocate a substring per segment.
+ * Empty segments are skipped, matching {@link TrieImpl}.</p>
+ *
+ * @author yungwang-o
+ */
+@ThreadSafe
+public final class ConcurrentTrie<T> implements Trie<T> {
+
+    private static final char SEPARATOR = '/';
+
+    private final Node<T> root = new Node<>();
+
+    private final ReentrantLock mutationLock = new ReentrantLock();
+
+    @Override
+    public T insert(final String word, final T value) {
+        mutationLock.lock();
+        try {
+            Node<T> node = createPath(word);
+            node.value = value;
+            return value;
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    @Override
+    public @Nullable T get(final String word) {
+        Node<T> node = find(word, word.length());
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public List<T> searchAll() {
+        return searchAll("/*");
+    }
+
+    @Override
+    public List<T> searchAll(final String prefix) {
+        if (!prefix.startsWith("/")) {
+            throw new IllegalArgumentException("prefix must be a path ending with '/*'");
+        }
+
+        int wildcard = validateWildcard(prefix);
+        Node<T> node = find(prefix, wildcard);
+        if (node == null) {
+            return List.of();
+        }
+
+        List<T> list = new ArrayList<>();
+        for (Node<T> child : node.children.values()) {
+            tour(child, list);
+        }
+        return list;
+    }
+
+    @Override
+    public boolean startsWith(final String prefix) {
+        return find(prefix, prefix.length()) != null;
+    }
+
+    @Override
+    public T computeIfAbsent(String word, Function<? super String, ? extends T> mappingFunction) {
+        T existing = get(word);
+        if (existing != null) {
+            return existing;
+        }
+
+        mutationLock.lock();
+        try {
+            Node<T> node = createPath(word);
+            T value = node.value;
+            if (value == null) {
+                value = mappingFunction.apply(word);
+                node.value = value;
+            }
+            return value;
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    @Override
+    public @Nullable T putIfAbsent(String word, T value) {
+        T existing = get(word);
+        if (existing != null) {
+            return existing;
+        }
+
+        mutationLock.lock();
+        try {
+            Node<T> node = createPath(word);
+            T previous = node.value;
+            if (previous == null) {
+                node.value = value;
+            }
+            return previous;
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(final String word) {
+        mutationLock.lock();
+        try {
+            if (!remove(root, word, 0)) {
+                throw new IllegalStateException("No such word: " + word);
+            }
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root.children.isEmpty();
+    }
+
+    /**
+     * Walks the segments of {@code path} before {@code end} without creating nodes.
+     */
+    private @Nullable Node<T> find(final String path, final int end) {
+        Segment probe = new Segment();
+        Node<T> current = root;
+
+        int index = 0;
+        while (current != null) {
+            int start = skipSeparators(path, index, end);
+            if (start == end) {
+                return current;
+            }
+            index = segmentEnd(path, start, end);
+            current = current.children.get(probe.reset(path, start, index));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the node for {@code path}, creating missing nodes. Callers hold the mutation lock.
+     */
+    private Node<T> createPath(final String path) {
+        Segment probe = new Segment();
+        Node<T> current = root;
+
+        int end = path.length();
+        int index = 0;
+        while (true) {
+            int start = skipSeparators(path, index, end);
+            if (start == end) {
+                return current;
+            }
+            index = segmentEnd(path, start, end);
+
+            Node<T> child = current.children.get(probe.reset(path, start, index));
+            if (child == null) {
+                child = new Node<>();
+                current.children.put(Segment.of(path.substring(start, index)), child);
+            }
+            current = child;
+        }
+    }
+
+    private boolean remove(final Node<T> node, final String path, final int index) {
+        int end = path.length();
+        int start = skipSeparators(path, index, end);
+        if (start == end) {
+            if (node.value == null) {
+                return false;
+            }
+            node.value = null;
+            return true;
+        }
+
+        int next = segmentEnd(path, start, end);
+        Segment key = new Segment().reset(path, start, next);
+        Node<T> child = node.children.get(key);
+        if (child == null) {
+            return false;
+        }
+
+        if (!remove(child, path, next)) {
+            return false;
+        }
+
+        if (child.value == null && child.children.isEmpty()) {
+            node.children.remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Validates that the last segment is the only wildcard and returns where it starts.
+     */
+    private static int validateWildcard(final String prefix) {
+        int end = prefix.length();
+        int wildcard = -1;
+
+        int index = 0;
+        while (true) {
+            int start = skipSeparators(prefix, index, end);
+            if (start == end) {
+                break;
+            }
+            index = segmentEnd(prefix, start, end);
+
+            if (wildcard >= 0) {
+                throw new IllegalArgumentException("prefix must end with '/*'");
+            }
+            if (containsWildcard(prefix, start, index)) {
+                if (index - start != 1) {
+                    throw new IllegalArgumentException("prefix must end with '/*'");
+                }
+                wildcard = start;
+            }
+        }
+
+        if (wildcard < 0) {
+            throw new IllegalArgumentException("prefix must end with '/*'");
+        }
+        return wildcard;
+    }
+
+    private static boolean containsWildcard(final String path, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (path.charAt(i) == '*') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int skipSeparators(final String path, int index, final int end) {
+        while (index < end && path.charAt(index) == SEPARATOR) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int segmentEnd(final String path, int index, final int end) {
+        while (index < end && path.charAt(index) != SEPARATOR) {
+            index++;
+        }
+        return index;
+    }
+
+    private void tour(final Node<T> node, final List<T> list) {
+        T value = node.value;
+        if (value != null) {
+            list.add(value);
+        }
+
+        for (Node<T> child : node.children.values()) {
+            tour(child, list);
+        }
+    }
+
+    /**
+     * Child key describing a region of a path.
+     *
+     * <p>Stored keys own an exact segment string and are never mutated. Lookups reuse one probe
+     * per walk and move it along the caller's path. The hash matches {@link String#hashCode()}
+     * of the segment, so stored keys and probes agree without materializing a substring.</p>
+     */
+    private static final class Segment {
+
+        private String path = "";
+        private int start;
+        private int end;
+        private int hash;
+
+        static Segment of(final String segment) {
+            return new Segment().reset(segment, 0, segment.length());
+        }
+
+        Segment reset(final String path, final int start, final int end) {
+            this.path = path;
+            this.start = start;
+            this.end = end;
+
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + path.charAt(i);
+            }
+            this.hash = h;
+            return this;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Segment other)) {
+                return false;
+            }
+            int length = end - start;
+            return hash == other.hash
+                    && length == other.end - other.start
+                    && path.regionMatches(start, other.path, other.start, length);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return path.substring(start, end);
+        }
+    }
+
+    private static final class Node<T> {
+
+        final Map<Segment, Node<T>> children = new ConcurrentHashMap<>();
+        volatile @Nullable T value;
+    }
+}
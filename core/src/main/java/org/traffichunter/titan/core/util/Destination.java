@@ -23,26 +23,114 @@
  */
 package org.traffichunter.titan.core.util;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
 
 /**
+ * Validated routing key of a fanout destination.
+ *
+ * <p>{@link #create(String)} validates the path on every call. Hot paths that
+ * resolve the same destinations repeatedly, such as SEND handling, should use
+ * {@link #intern(String)} instead: it returns a canonical, already validated
+ * instance from a bounded process-wide cache, so repeated keys skip the regex
+ * and compare by identity first.</p>
+ *
+ * <p>The hash code and path segments are computed once per instance.</p>
+ *
+ * <p>A destination may also be a subscription pattern. A {@code *} segment
+ * matches exactly one segment, and a trailing {@code **} segment matches one
+ * or more remaining segments, so {@code /telemetry/*} matches
+ * {@code /telemetry/device42} and {@code /telemetry/**} also matches
+ * {@code /telemetry/device42/battery}. Patterns select subscriptions; they are
+ * not routing keys a message can be published to.</p>
+ *
  * @author yungwang-o
  */
-public record Destination(String path) {
+public final class Destination {
+
+    public static final String SINGLE_LEVEL_WILDCARD = "*";
+    public static final String MULTI_LEVEL_WILDCARD = "**";
 
     private static final Pattern ROUTING_KEY_PATTERN =
-            Pattern.compile("^/([a-zA-Z0-9_-]+)(/([a-zA-Z0-9_-]+))*(/\\*)?$");
+            Pattern.compile("^/([a-zA-Z0-9_-]+|\\*)(/([a-zA-Z0-9_-]+|\\*))*(/\\*\\*)?$");
+
+    private final String path;
+    private final int hash;
+    private final List<String> segments;
+    private final boolean wildcard;
 
-    public Destination {
+    private Destination(final String path) {
         if(!matchKey(path)) {
             throw new IllegalArgumentException("Invalid routing key: " + path);
         }
+        this.path = path;
+        this.hash = path.hashCode();
+        this.segments = split(path);
+        this.wildcard = segments.contains(SINGLE_LEVEL_WILDCARD) || segments.contains(MULTI_LEVEL_WILDCARD);
     }
 
     public static Destination create(final String routingKey) {
         return new Destination(routingKey);
     }
 
+    /**
+     * Returns the canonical instance for {@code routingKey} from the shared
+     * {@link DestinationCache}, validating and caching it on a miss.
+     *
+     * @throws IllegalArgumentException if the routing key is invalid
+     */
+    public static Destination intern(final String routingKey) {
+        return DestinationCache.shared().intern(routingKey);
+    }
+
+    public String path() {
+        return path;
+    }
+
+    /**
+     * Returns the path split on {@code '/'}, without the leading empty segment.
+     * Wildcards are kept as their own {@code "*"} or {@code "**"} segment.
+     */
+    public List<String> segments() {
+        return segments;
+    }
+
+    /**
+     * Returns whether this destination is a subscription pattern containing a
+     * {@code *} or {@code **} segment.
+     */
+    public boolean isWildcard() {
+        return wildcard;
+    }
+
+    /**
+     * Returns whether {@code destination} is selected by this destination used as a pattern.
+     *
+     * <p>A destination without wildcards only matches an equal destination.</p>
+     */
+    public boolean matches(final Destination destination) {
+        if (!wildcard) {
+            return equals(destination);
+        }
+
+        List<String> targets = destination.segments;
+        int last = segments.size() - 1;
+        boolean multiLevel = segments.get(last).equals(MULTI_LEVEL_WILDCARD);
+        int fixed = multiLevel ? last : segments.size();
+        if (multiLevel ? targets.size() <= fixed : targets.size() != fixed) {
+            return false;
+        }
+        for (int i = 0; i < fixed; i++) {
+            String segment = segments.get(i);
+            if (!segment.equals(SINGLE_LEVEL_WILDCARD) && !segment.equals(targets.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public boolean startsWith(final String prefix) {
        return path.startsWith(prefix);
     }
@@ -63,8 +151,36 @@ public record Destination(String path) {
         return ROUTING_KEY_PATTERN.matcher(key).matches();
     }
 
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Destination other)) {
+            return false;
+        }
+        return hash == other.hash && path.equals(other.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
     @Override
     public String toString() {
         return "{ destination = " + path + " }";
     }
+
+    private static List<String> split(final String path) {
+        List<String> segments = new ArrayList<>();
+        int start = 1;
+        for (int i = 1; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                segments.add(path.substring(start, i));
+                start = i + 1;
+            }
+        }
+        return List.copyOf(segments);
+    }
 }
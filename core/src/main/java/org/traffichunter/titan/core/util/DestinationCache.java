@@ -0,0 +1,181 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.traffichunter.titan.core.util.concurrent.ThreadSafe;
+import org.traffichunter.titan.core.util.management.DestinationCacheMbean;
+import org.traffichunter.titan.core.util.management.DestinationCacheMbeans;
+
+/**
+ * Bounded interning cache of validated {@link Destination} instances.
+ *
+ * <p>Hits are a single map lookup plus a reference-bit write and never lock.
+ * Misses validate the routing key outside the lock and then insert under it,
+ * evicting with the CLOCK policy once the cache is full: the hand sweeps the
+ * slot ring, clearing reference bits, and evicts the first entry that was not
+ * touched since the previous sweep. This approximates LRU without reordering
+ * on every hit.</p>
+ *
+ * <p>Evicted instances stay valid; a later {@link #intern(String)} of the same
+ * key simply produces a new canonical instance, so callers must keep using
+ * {@link Destination#equals(Object)} rather than relying on identity alone.</p>
+ *
+ * @author yun
+ */
+@ThreadSafe
+public final class DestinationCache implements DestinationCacheMbean {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final int capacity;
+    private final ConcurrentMap<String, Entry> entries;
+    private final Entry[] ring;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private int used;
+    private int hand;
+
+    public DestinationCache(final int capacity) {
+        Assert.checkArgument(capacity > 0, "capacity must be greater than 0");
+        this.capacity = capacity;
+        this.entries = new ConcurrentHashMap<>(capacity);
+        this.ring = new Entry[capacity];
+    }
+
+    /**
+     * Returns the process-wide cache used by {@link Destination#intern(String)}.
+     * The cache registers its {@link DestinationCacheMbean} on first use.
+     */
+    public static DestinationCache shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Returns the canonical destination for {@code routingKey}.
+     *
+     * @throws IllegalArgumentException if the routing key is invalid
+     */
+    public Destination intern(final String routingKey) {
+        Entry entry = entries.get(routingKey);
+        if (entry != null) {
+            entry.touch();
+            hits.increment();
+            return entry.destination;
+        }
+        misses.increment();
+        Destination created = Destination.create(routingKey);
+
+        evictionLock.lock();
+        try {
+            Entry raced = entries.get(routingKey);
+            if (raced != null) {
+                raced.touch();
+                return raced.destination;
+            }
+            Entry inserted = new Entry(created);
+            if (used < capacity) {
+                ring[used++] = inserted;
+            } else {
+                ring[evictSlot()] = inserted;
+            }
+            entries.put(routingKey, inserted);
+            return created;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private int evictSlot() {
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1) % capacity;
+            Entry candidate = ring[slot];
+            if (candidate.referenced) {
+                candidate.referenced = false;
+                continue;
+            }
+            entries.remove(candidate.destination.path(), candidate);
+            evictions.increment();
+            return slot;
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private static final class Entry {
+
+        private final Destination destination;
+        private volatile boolean referenced;
+
+        private Entry(final Destination destination) {
+            this.destination = destination;
+        }
+
+        private void touch() {
+            // Skip the store when already set so hot keys do not keep dirtying the cache line.
+            if (!referenced) {
+                referenced = true;
+            }
+        }
+    }
+
+    private static final class Shared {
+
+        private static final DestinationCache INSTANCE = new DestinationCache(DEFAULT_CAPACITY);
+
+        static {
+            DestinationCacheMbeans.register(INSTANCE);
+        }
+    }
+}
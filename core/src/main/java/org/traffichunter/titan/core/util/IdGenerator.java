@@ -23,30 +23,124 @@
  */
 package org.traffichunter.titan.core.util;
 
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.Base64;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.traffichunter.titan.bootstrap.Configurations;
 
 /**
+ * Generates message, session and connection IDs.
+ *
+ * <p>{@link #nextId()} is the hot path: it stamps every message and every
+ * delivered {@code MESSAGE} frame, using the {@link IdStrategy} selected by the
+ * {@code titan.id.strategy} system property, or {@link IdStrategy#COUNTER} when
+ * the property names no strategy. The node prefix and node number
+ * are drawn from a {@link SecureRandom} once; after that an ID costs one atomic
+ * increment and is rendered into a per-thread ASCII buffer.</p>
+ *
  * @author yungwang-o
  */
 public final class IdGenerator {
 
+    private static final Logger log = LoggerFactory.getLogger(IdGenerator.class);
+
     private static final SecureRandom SECURE_RANDOM = new SecureRandom();
     private static final char[] ALPHANUMERIC =
             "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
     private static final int RANDOM_ID_LENGTH = 16;
+    private static final int NODE_PREFIX_LENGTH = 8;
+    private static final int HEX_LONG_LENGTH = 16;
+
+    private static final IdStrategy STRATEGY = configuredStrategy();
+    private static final byte[] NODE_PREFIX = nodePrefix();
+    private static final long NODE = SECURE_RANDOM.nextInt() & 0xFFFFL;
+    private static final AtomicLong COUNTER = new AtomicLong(SECURE_RANDOM.nextLong() >>> 16);
+    private static final ThreadLocal<byte[]> SCRATCH =
+            ThreadLocal.withInitial(() -> new byte[NODE_PREFIX_LENGTH + 1 + HEX_LONG_LENGTH * 2]);
 
     public static String uuid() {
         return UUID.randomUUID().toString();
     }
 
+    /**
+     * Returns the strategy {@link #nextId()} uses.
+     */
+    public static IdStrategy strategy() {
+        return STRATEGY;
+    }
+
+    /**
+     * Returns a new ID in the configured {@link IdStrategy}.
+     */
+    public static String nextId() {
+        return nextId(STRATEGY);
+    }
+
+    public static String nextId(final IdStrategy strategy) {
+        return switch (strategy) {
+            case COUNTER -> counterId();
+            case TIME_ORDERED -> timeOrderedId();
+            case UUID -> uuid();
+        };
+    }
+
+    private static String counterId() {
+        byte[] buffer = SCRATCH.get();
+        System.arraycopy(NODE_PREFIX, 0, buffer, 0, NODE_PREFIX_LENGTH);
+        buffer[NODE_PREFIX_LENGTH] = '-';
+        int length = writeHex(COUNTER.incrementAndGet(), buffer, NODE_PREFIX_LENGTH + 1);
+        return new String(buffer, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    private static String timeOrderedId() {
+        byte[] buffer = SCRATCH.get();
+        int length = writeHex(System.currentTimeMillis() << 16 | NODE, buffer, 0);
+        length = writeHex(COUNTER.incrementAndGet(), buffer, length);
+        return new String(buffer, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    private static int writeHex(long value, final byte[] buffer, final int offset) {
+        for (int i = offset + HEX_LONG_LENGTH - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return offset + HEX_LONG_LENGTH;
+    }
+
+    private static IdStrategy configuredStrategy() {
+        String strategyName = Configurations.idStrategy();
+        try {
+            return IdStrategy.resolveStrategy(strategyName);
+        } catch (IllegalStateException e) {
+            log.warn("Unknown id strategy, falling back to counter. titan.id.strategy={}", strategyName);
+            return IdStrategy.COUNTER;
+        }
+    }
+
+    private static byte[] nodePrefix() {
+        byte[] prefix = new byte[NODE_PREFIX_LENGTH];
+        for (int i = 0; i < prefix.length; i++) {
+            prefix[i] = (byte) ALPHANUMERIC[SECURE_RANDOM.nextInt(ALPHANUMERIC.length)];
+        }
+        return prefix;
+    }
+
     public static String randomId16(@Nullable String prefix) {
+        // Two 64-bit draws give eight base-62 digits each, instead of one draw per character.
         char[] randomId = new char[RANDOM_ID_LENGTH];
+        long bits = 0;
         for (int i = 0; i < randomId.length; i++) {
-            randomId[i] = ALPHANUMERIC[SECURE_RANDOM.nextInt(ALPHANUMERIC.length)];
+            if (i % (RANDOM_ID_LENGTH / 2) == 0) {
+                bits = SECURE_RANDOM.nextLong();
+            }
+            randomId[i] = ALPHANUMERIC[(int) Long.remainderUnsigned(bits, ALPHANUMERIC.length)];
+            bits = Long.divideUnsigned(bits, ALPHANUMERIC.length);
         }
         String value = new String(randomId);
 
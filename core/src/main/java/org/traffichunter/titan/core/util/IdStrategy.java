@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util;
+
+/**
+ * Format of the IDs handed out by {@link IdGenerator#nextId()}.
+ *
+ * <p>{@link #COUNTER} and {@link #TIME_ORDERED} never touch a
+ * {@link java.security.SecureRandom} after start-up, so they are cheap enough
+ * to stamp every message and every delivered frame. {@link #UUID} keeps the
+ * previous random version 4 UUIDs.</p>
+ *
+ * @author yungwang-o
+ */
+public enum IdStrategy {
+
+    /**
+     * Random node prefix chosen once per process, followed by a 16 digit hex
+     * counter, e.g. {@code Xk3d9QaB-000000000000002a}.
+     */
+    COUNTER("counter"),
+
+    /**
+     * 128-bit ID rendered as 32 hex digits: the wall clock millisecond and a
+     * random node number, followed by a per-process counter. IDs sort by
+     * creation time across nodes.
+     */
+    TIME_ORDERED("time-ordered"),
+
+    /**
+     * Random version 4 UUID.
+     */
+    UUID("uuid"),
+    ;
+
+    private final String name;
+
+    IdStrategy(final String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static IdStrategy resolveStrategy(final String strategyName) {
+        return switch (strategyName) {
+            case "counter" -> IdStrategy.COUNTER;
+            case "time-ordered" -> IdStrategy.TIME_ORDERED;
+            case "uuid" -> IdStrategy.UUID;
+            default -> throw new IllegalStateException("Unexpected value: " + strategyName);
+        };
+    }
+}
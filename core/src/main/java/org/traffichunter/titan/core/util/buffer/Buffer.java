@@ -25,6 +25,7 @@ package org.traffichunter.titan.core.util.buffer;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import org.traffichunter.titan.core.util.Clearable;
@@ -85,6 +86,18 @@ public interface Buffer extends Clearable {
         return new InternalBuffer(buffer);
     }
 
+    /**
+     * Returns a buffer that reads {@code data} in place instead of copying it.
+     *
+     * <p>The storage is the JVM array itself, so releasing the buffer frees nothing pooled and the
+     * array stays reachable for as long as any slice of the buffer is. The array must not be
+     * modified while the buffer or its slices are in use. Fanout uses this to write message bodies
+     * to subscribers without copying them.</p>
+     */
+    static Buffer wrap(final byte[] data) {
+        return new InternalBuffer(Unpooled.wrappedBuffer(data));
+    }
+
     /**
      * Returns a shared NIO view over the readable bytes of this buffer.
      *
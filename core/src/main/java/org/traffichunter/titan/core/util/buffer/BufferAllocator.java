@@ -63,6 +63,15 @@ public interface BufferAllocator {
      */
     Buffer allocAfterBase64Decode(String data);
 
+    /**
+     * Returns a buffer that reads the supplied buffers back to back without copying them.
+     *
+     * <p>The composite takes over the supplied references: callers must not release the
+     * components themselves, and releasing the composite releases every component. Use it to
+     * prepend a small per-write prefix to a retained slice of shared bytes.</p>
+     */
+    Buffer composite(Buffer... components);
+
     /**
      * Allocates an empty buffer using this allocator's memory policy.
      */
@@ -24,6 +24,7 @@ THE SOFTWARE.
 package org.traffichunter.titan.core.util.buffer;
 
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -73,4 +74,13 @@ final class HeapBufferAllocator implements BufferAllocator {
     public Buffer allocAfterBase64Decode(String data) {
         return alloc(Base64Codec.decode(data));
     }
+
+    @Override
+    public Buffer composite(Buffer... components) {
+        CompositeByteBuf composite = ALLOCATOR.compositeHeapBuffer(Math.max(components.length, 2));
+        for (Buffer component : components) {
+            composite.addComponent(true, component.byteBuf());
+        }
+        return new InternalBuffer(composite);
+    }
 }
@@ -0,0 +1,231 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util.concurrent;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.util.Assert;
+
+/**
+ * Unbounded lock-free queue made of linked fixed-size array chunks.
+ *
+ * <p>Producers claim a slot with one fetch-and-add on the tail chunk and publish the element
+ * with one CAS. No node is allocated per element; a new chunk is linked only after the current
+ * one has been fully claimed, and drained chunks become garbage as a whole. The queue is tuned
+ * for many producers and one consumer, but consumer operations remain safe when management
+ * calls such as {@link #clear()} or {@link #remove(Object)} race with that consumer.</p>
+ *
+ * <p>A consumer that reaches a claimed but not yet published slot marks it as taken instead of
+ * waiting. The slow producer then fails its publish CAS and retries on a fresh slot, so neither
+ * side ever blocks. As with other concurrent queues, ordering is FIFO per producer and
+ * {@link #size()} is an estimate while producers and consumers are active.</p>
+ *
+ * @author yun
+ */
+@ThreadSafe
+public final class MpscChunkedArrayQueue<E> extends AbstractQueue<E> {
+
+    private static final int DEFAULT_CHUNK_SIZE = 256;
+    private static final Object TAKEN = new Object();
+
+    private final int chunkSize;
+    private final AtomicReference<Chunk> head;
+    private final AtomicReference<Chunk> tail;
+    private final LongAdder size = new LongAdder();
+
+    public MpscChunkedArrayQueue() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public MpscChunkedArrayQueue(int chunkSize) {
+        Assert.checkArgument(chunkSize > 0, "chunkSize must be greater than 0");
+        this.chunkSize = chunkSize;
+        Chunk first = new Chunk(chunkSize);
+        this.head = new AtomicReference<>(first);
+        this.tail = new AtomicReference<>(first);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e, "e");
+        size.increment();
+
+        while (true) {
+            Chunk current = tail.get();
+            int index = current.enqueueIndex.getAndIncrement();
+            if (index >= chunkSize) {
+                if (current != tail.get()) {
+                    continue;
+                }
+                Chunk next = current.next.get();
+                if (next == null) {
+                    Chunk chunk = new Chunk(chunkSize, e);
+                    if (current.next.compareAndSet(null, chunk)) {
+                        tail.compareAndSet(current, chunk);
+                        return true;
+                    }
+                } else {
+                    tail.compareAndSet(current, next);
+                }
+                continue;
+            }
+
+            if (current.slots.compareAndSet(index, null, e)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable E poll() {
+        while (true) {
+            Chunk current = head.get();
+            if (current.isDrained(chunkSize) && current.next.get() == null) {
+                return null;
+            }
+
+            int index = current.dequeueIndex.getAndIncrement();
+            if (index >= chunkSize) {
+                Chunk next = current.next.get();
+                if (next == null) {
+                    return null;
+                }
+                head.compareAndSet(current, next);
+                continue;
+            }
+
+            Object item = current.slots.getAndSet(index, TAKEN);
+            if (item == null || item == TAKEN) {
+                continue;
+            }
+            size.decrement();
+            return (E) item;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @Nullable E peek() {
+        for (Chunk chunk = head.get(); chunk != null; chunk = chunk.next.get()) {
+            int end = Math.min(chunk.enqueueIndex.get(), chunkSize);
+            for (int i = Math.min(chunk.dequeueIndex.get(), chunkSize); i < end; i++) {
+                Object item = chunk.slots.get(i);
+                if (item != null && item != TAKEN) {
+                    return (E) item;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes one matching element by marking its slot as taken.
+     */
+    @Override
+    public boolean remove(Object o) {
+        for (Chunk chunk = head.get(); chunk != null; chunk = chunk.next.get()) {
+            int end = Math.min(chunk.enqueueIndex.get(), chunkSize);
+            for (int i = Math.min(chunk.dequeueIndex.get(), chunkSize); i < end; i++) {
+                Object item = chunk.slots.get(i);
+                if (item != null && item != TAKEN && item.equals(o)
+                        && chunk.slots.compareAndSet(i, item, TAKEN)) {
+                    size.decrement();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a weakly consistent iterator over a snapshot of the queued elements.
+     *
+     * <p>The iterator does not support removal; use {@link #remove(Object)} instead.</p>
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return snapshot().iterator();
+    }
+
+    @Override
+    public int size() {
+        long current = size.sum();
+        if (current <= 0) {
+            return 0;
+        }
+        return (int) Math.min(current, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<E> snapshot() {
+        List<E> elements = new ArrayList<>();
+        for (Chunk chunk = head.get(); chunk != null; chunk = chunk.next.get()) {
+            int end = Math.min(chunk.enqueueIndex.get(), chunkSize);
+            for (int i = Math.min(chunk.dequeueIndex.get(), chunkSize); i < end; i++) {
+                Object item = chunk.slots.get(i);
+                if (item != null && item != TAKEN) {
+                    elements.add((E) item);
+                }
+            }
+        }
+        return elements;
+    }
+
+    private static final class Chunk {
+
+        private final AtomicReferenceArray<Object> slots;
+        private final AtomicInteger enqueueIndex;
+        private final AtomicInteger dequeueIndex = new AtomicInteger();
+        private final AtomicReference<@Nullable Chunk> next = new AtomicReference<>();
+
+        private Chunk(int chunkSize) {
+            this.slots = new AtomicReferenceArray<>(chunkSize);
+            this.enqueueIndex = new AtomicInteger();
+        }
+
+        private Chunk(int chunkSize, Object first) {
+            this.slots = new AtomicReferenceArray<>(chunkSize);
+            this.slots.lazySet(0, first);
+            this.enqueueIndex = new AtomicInteger(1);
+        }
+
+        private boolean isDrained(int chunkSize) {
+            return dequeueIndex.get() >= Math.min(enqueueIndex.get(), chunkSize);
+        }
+    }
+}
@@ -28,6 +28,8 @@ import static java.nio.file.StandardOpenOption.CREATE_NEW;
 import static java.nio.file.StandardOpenOption.READ;
 import static java.nio.file.StandardOpenOption.WRITE;
 
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
@@ -110,6 +112,15 @@ public interface FileHandle extends AutoCloseable {
      */
     long append(Buffer source);
 
+    /**
+     * Maps {@code size} bytes starting at {@code position} into memory.
+     *
+     * <p>A {@link FileChannel.MapMode#READ_WRITE} mapping past the end of the file grows the file.
+     * The mapping stays valid after the handle is closed and is released once it becomes
+     * unreachable.</p>
+     */
+    MappedByteBuffer map(FileChannel.MapMode mode, long position, long size);
+
     void truncate(long size);
 
     void force(boolean metadata);
@@ -25,6 +25,7 @@ package org.traffichunter.titan.core.util.file;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 import java.nio.file.Files;
@@ -137,6 +138,18 @@ final class LocalFileHandle implements FileHandle {
         return offset;
     }
 
+    @Override
+    public MappedByteBuffer map(FileChannel.MapMode mode, long position, long size) {
+        Assert.checkArgument(position >= 0, "position must be greater than or equal to zero");
+        Assert.checkArgument(size >= 0, "size must be greater than or equal to zero");
+
+        try {
+            return fileChannel.map(mode, position, size);
+        } catch (IOException e) {
+            throw new FileIOException("Failed to map file: " + path, e);
+        }
+    }
+
     @Override
     public void truncate(long size) {
         try {
@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util.management;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+
+/**
+ * Detects destination interning cache usage from JMX.
+ *
+ * @author yun
+ */
+public final class DestinationCacheResourceDetector implements ResourceDetector<DestinationCacheResource> {
+
+    private final MBeanServerConnection server;
+
+    public DestinationCacheResourceDetector() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public DestinationCacheResourceDetector(MBeanServerConnection server) {
+        this.server = server;
+    }
+
+    @Override
+    public DestinationCacheResource detect() {
+        try {
+            ObjectName name = DestinationCacheMbeans.objectName();
+            if (!server.isRegistered(name)) {
+                return new DestinationCacheResource(0, 0, 0, 0, 0);
+            }
+            return new DestinationCacheResource(
+                    attribute(name, "Size", Integer.class),
+                    attribute(name, "Capacity", Integer.class),
+                    attribute(name, "Hits", Long.class),
+                    attribute(name, "Misses", Long.class),
+                    attribute(name, "Evictions", Long.class)
+            );
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to detect destination cache resources", e);
+        }
+    }
+
+    private <T> T attribute(ObjectName name, String attribute, Class<T> type) throws Exception {
+        Object value = server.getAttribute(name, attribute);
+        if (value == null) {
+            throw new IllegalStateException("Missing destination cache MBean attribute: " + attribute);
+        }
+        return type.cast(value);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util.management;
+
+/**
+ * Management view of how long fanout messages spend in each stage of the dispatch pipeline.
+ *
+ * <p>Every getter returns the percentiles recorded since its previous call and starts a new
+ * window, so a monitor polling at a fixed interval sees the latency of that interval.</p>
+ *
+ * @author yun
+ */
+public interface DispatchLatencyMbean {
+
+    /**
+     * Returns the latency from decoding a message to admitting it into its destination queue.
+     */
+    LatencyResource getEnqueueLatency();
+
+    /**
+     * Returns the latency from admitting a message into its destination queue to draining it.
+     */
+    LatencyResource getDispatchLatency();
+
+    /**
+     * Returns the latency from draining a message to its frame being written to a subscriber
+     * socket, once per subscriber.
+     */
+    LatencyResource getFlushLatency();
+}
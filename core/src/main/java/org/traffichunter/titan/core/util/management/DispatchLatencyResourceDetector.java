@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util.management;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+
+/**
+ * Detects process-wide dispatch pipeline latency from JMX.
+ *
+ * <p>Reading the MBean starts a new latency window, see {@link DispatchLatencyMbean}.</p>
+ *
+ * @author yun
+ */
+public final class DispatchLatencyResourceDetector implements ResourceDetector<DispatchLatencyResource> {
+
+    private final MBeanServerConnection server;
+
+    public DispatchLatencyResourceDetector() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public DispatchLatencyResourceDetector(MBeanServerConnection server) {
+        this.server = server;
+    }
+
+    @Override
+    public DispatchLatencyResource detect() {
+        try {
+            ObjectName name = DispatchLatencyMbeans.objectName();
+            if (!server.isRegistered(name)) {
+                return DispatchLatencyResource.EMPTY;
+            }
+            return new DispatchLatencyResource(
+                    attribute(name, "EnqueueLatency", LatencyResource.class),
+                    attribute(name, "DispatchLatency", LatencyResource.class),
+                    attribute(name, "FlushLatency", LatencyResource.class)
+            );
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to detect dispatch latency resources", e);
+        }
+    }
+
+    private <T> T attribute(ObjectName name, String attribute, Class<T> type) throws Exception {
+        Object value = server.getAttribute(name, attribute);
+        if (value == null) {
+            throw new IllegalStateException("Missing dispatch latency MBean attribute: " + attribute);
+        }
+        return type.cast(value);
+    }
+}
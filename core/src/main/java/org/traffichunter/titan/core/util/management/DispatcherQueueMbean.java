@@ -39,4 +39,188 @@ public interface DispatcherQueueMbean {
     long getResumePendingBytes();
 
     boolean isPaused();
+
+    /**
+     * Returns the number of independently drained partitions, {@code 1} for plain queues.
+     */
+    default int getPartitions() {
+        return 1;
+    }
+
+    /**
+     * Returns the default time to live of messages without their own expiry, {@code 0} if none.
+     */
+    default long getTimeToLiveMillis() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of messages discarded because they expired before dispatch.
+     */
+    default long getExpiredMessages() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of pending messages replaced by a newer message with the same conflation
+     * key.
+     */
+    default long getConflatedMessages() {
+        return 0L;
+    }
+
+    /**
+     * Returns the name of the policy applied to messages the queue cannot admit.
+     */
+    default String getOverflowPolicy() {
+        return "reject-and-close";
+    }
+
+    /**
+     * Returns how long a blocking overflow policy waits for room, in milliseconds.
+     */
+    default long getOverflowTimeoutMillis() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of new messages discarded because the queue was full.
+     */
+    default long getDroppedMessages() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of queued messages discarded from the head to make room for new ones.
+     */
+    default long getEvictedMessages() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of messages refused because the queue was full.
+     */
+    default long getRejectedMessages() {
+        return 0L;
+    }
+
+    /**
+     * Returns the name of the policy applied to messages published while nobody subscribes.
+     */
+    default String getUnsubscribedPolicy() {
+        return "deliver";
+    }
+
+    /**
+     * Returns the pending bytes kept for the next subscriber while nobody subscribes.
+     */
+    default long getUnsubscribedBufferBytes() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of messages discarded because the destination had no subscribers.
+     */
+    default long getUnsubscribedMessages() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of times the fanout consumer stopped because nobody subscribed.
+     */
+    default long getConsumerStops() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of times the fanout consumer stopped because no subscriber connection was
+     * writable.
+     */
+    default long getUnwritableStops() {
+        return 0L;
+    }
+
+    /**
+     * Returns the epoch millis of the last enqueue, which the idle queue reaper compares against
+     * its timeout.
+     */
+    default long getLastEnqueuedAtMillis() {
+        return 0L;
+    }
+
+    /**
+     * Returns the pending bytes past which new messages are written to disk, {@code 0} for queues
+     * that never spill.
+     */
+    default long getSpillThresholdBytes() {
+        return 0L;
+    }
+
+    /**
+     * Returns the number of queued messages currently held on disk.
+     */
+    default int getSpilledMessages() {
+        return 0;
+    }
+
+    /**
+     * Returns the bytes of queued messages currently held on disk.
+     */
+    default long getSpilledBytes() {
+        return 0L;
+    }
+
+    /**
+     * Returns the recent rate at which messages are written to disk, in bytes per second.
+     */
+    default long getSpillBytesPerSecond() {
+        return 0L;
+    }
+
+    /**
+     * Returns the recent rate at which messages are read back from disk, in bytes per second.
+     */
+    default long getUnspillBytesPerSecond() {
+        return 0L;
+    }
+
+    /**
+     * Returns the latency from decoding a message to admitting it into this queue, over the last
+     * completed latency interval.
+     */
+    default LatencyResource getEnqueueLatency() {
+        return LatencyResource.EMPTY;
+    }
+
+    /**
+     * Returns the time messages spent in this queue before being drained, over the last completed
+     * latency interval.
+     */
+    default LatencyResource getDispatchLatency() {
+        return LatencyResource.EMPTY;
+    }
+
+    /**
+     * Returns the latency from draining a message to its frame being written to a subscriber
+     * socket, over the last completed latency interval.
+     */
+    default LatencyResource getFlushLatency() {
+        return LatencyResource.EMPTY;
+    }
+
+    /**
+     * Returns the number of queued messages per priority lane, highest lane first. Queues without
+     * lanes return an empty array.
+     */
+    default int[] getLaneSizes() {
+        return new int[0];
+    }
+
+    /**
+     * Returns the queued payload bytes per priority lane, in the same order as
+     * {@link #getLaneSizes()}.
+     */
+    default long[] getLanePendingBytes() {
+        return new long[0];
+    }
 }
@@ -23,6 +23,8 @@ THE SOFTWARE.
 */
 package org.traffichunter.titan.core.util.management;
 
+import java.util.List;
+
 /**
  * Immutable snapshot of a dispatcher queue exposed through JMX.
  *
@@ -32,6 +34,17 @@ package org.traffichunter.titan.core.util.management;
  * @param maxPendingBytes maximum queued payload bytes
  * @param resumePendingBytes queued payload bytes at which admission resumes
  * @param paused whether the queue currently rejects or delays new work
+ * @param partitions number of independently drained partitions
+ * @param lanes per-lane depth and bytes, highest priority first, empty for queues without lanes
+ * @param timeToLiveMillis default message time to live, {@code 0} if none
+ * @param expiredMessages messages discarded because they expired before dispatch
+ * @param spilledMessages queued messages currently held on disk
+ * @param spilledBytes bytes of queued messages currently held on disk
+ * @param spillBytesPerSecond recent rate of writing messages to disk
+ * @param unspillBytesPerSecond recent rate of reading messages back from disk
+ * @param enqueueLatency decode to queue admission over the last latency interval
+ * @param dispatchLatency queue admission to drain over the last latency interval
+ * @param flushLatency drain to subscriber socket write over the last latency interval
  * @author yun
  */
 public record QueueResource(
@@ -40,6 +53,53 @@ public record QueueResource(
         long pendingBytes,
         long maxPendingBytes,
         long resumePendingBytes,
-        boolean paused
+        boolean paused,
+        int partitions,
+        List<QueueLaneResource> lanes,
+        long timeToLiveMillis,
+        long expiredMessages,
+        int spilledMessages,
+        long spilledBytes,
+        long spillBytesPerSecond,
+        long unspillBytesPerSecond,
+        LatencyResource enqueueLatency,
+        LatencyResource dispatchLatency,
+        LatencyResource flushLatency
 ) {
+
+    public QueueResource {
+        lanes = List.copyOf(lanes);
+    }
+
+    /**
+     * Snapshot of a single-partition queue without lanes, expiry, spilling or latency samples.
+     */
+    public QueueResource(
+            String destination,
+            int size,
+            long pendingBytes,
+            long maxPendingBytes,
+            long resumePendingBytes,
+            boolean paused
+    ) {
+        this(
+                destination,
+                size,
+                pendingBytes,
+                maxPendingBytes,
+                resumePendingBytes,
+                paused,
+                1,
+                List.of(),
+                0L,
+                0L,
+                0,
+                0L,
+                0L,
+                0L,
+                LatencyResource.EMPTY,
+                LatencyResource.EMPTY,
+                LatencyResource.EMPTY
+        );
+    }
 }
@@ -69,7 +69,21 @@ public final class QueueResourceDetector implements ResourceDetector<List<QueueR
                         attribute(name, "PendingBytes", Long.class),
                         attribute(name, "MaxPendingBytes", Long.class),
                         attribute(name, "ResumePendingBytes", Long.class),
-                        attribute(name, "Paused", Boolean.class)
+                        attribute(name, "Paused", Boolean.class),
+                        attribute(name, "Partitions", Integer.class),
+                        lanes(
+                                attribute(name, "LaneSizes", int[].class),
+                                attribute(name, "LanePendingBytes", long[].class)
+                        ),
+                        attribute(name, "TimeToLiveMillis", Long.class),
+                        attribute(name, "ExpiredMessages", Long.class),
+                        attribute(name, "SpilledMessages", Integer.class),
+                        attribute(name, "SpilledBytes", Long.class),
+                        attribute(name, "SpillBytesPerSecond", Long.class),
+                        attribute(name, "UnspillBytesPerSecond", Long.class),
+                        attribute(name, "EnqueueLatency", LatencyResource.class),
+                        attribute(name, "DispatchLatency", LatencyResource.class),
+                        attribute(name, "FlushLatency", LatencyResource.class)
                 ));
             }
             queues.sort(Comparator.comparing(QueueResource::destination));
@@ -79,6 +93,14 @@ public final class QueueResourceDetector implements ResourceDetector<List<QueueR
         }
     }
 
+    private static List<QueueLaneResource> lanes(int[] sizes, long[] pendingBytes) {
+        List<QueueLaneResource> lanes = new ArrayList<>(sizes.length);
+        for (int lane = 0; lane < Math.min(sizes.length, pendingBytes.length); lane++) {
+            lanes.add(new QueueLaneResource(lane, sizes[lane], pendingBytes[lane]));
+        }
+        return lanes;
+    }
+
     private <T> T attribute(ObjectName name, String attribute, Class<T> type) throws Exception {
         Object value = server.getAttribute(name, attribute);
         if (value == null) {
@@ -0,0 +1,64 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util.management;
+
+import java.util.List;
+
+/**
+ * Management view of subscriptions whose connections are over their outbound budget.
+ *
+ * @author yun
+ */
+public interface SlowConsumerMbean {
+
+    /**
+     * Returns the number of subscriptions currently over their outbound budget.
+     */
+    int getSlowConsumers();
+
+    /**
+     * Returns the number of connections closed because a subscription stayed over budget.
+     */
+    long getDisconnects();
+
+    /**
+     * Returns the number of messages discarded for subscriptions over budget.
+     */
+    long getDroppedMessages();
+
+    /**
+     * Returns the number of held messages replaced by a newer one for subscriptions over budget.
+     */
+    long getConflatedMessages();
+
+    /**
+     * Returns the number of messages skipped by sampling for subscriptions over budget.
+     */
+    long getSampledMessages();
+
+    /**
+     * Returns the slow subscriptions with the most pending write bytes, largest first.
+     */
+    List<SlowConsumerResource> getTopSlowConsumers();
+}
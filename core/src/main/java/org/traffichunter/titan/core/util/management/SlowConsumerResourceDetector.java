@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util.management;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+
+/**
+ * Detects slow consumer tracking from JMX.
+ *
+ * @author yun
+ */
+public final class SlowConsumerResourceDetector implements ResourceDetector<SlowConsumersResource> {
+
+    private final MBeanServerConnection server;
+
+    public SlowConsumerResourceDetector() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public SlowConsumerResourceDetector(MBeanServerConnection server) {
+        this.server = server;
+    }
+
+    @Override
+    public SlowConsumersResource detect() {
+        try {
+            ObjectName name = SlowConsumerMbeans.objectName();
+            if (!server.isRegistered(name)) {
+                return new SlowConsumersResource(0, 0, 0, 0, 0, List.of());
+            }
+            List<SlowConsumerResource> topConsumers = new ArrayList<>();
+            for (Object consumer : attribute(name, "TopSlowConsumers", List.class)) {
+                topConsumers.add((SlowConsumerResource) consumer);
+            }
+            return new SlowConsumersResource(
+                    attribute(name, "SlowConsumers", Integer.class),
+                    attribute(name, "Disconnects", Long.class),
+                    attribute(name, "DroppedMessages", Long.class),
+                    attribute(name, "ConflatedMessages", Long.class),
+                    attribute(name, "SampledMessages", Long.class),
+                    topConsumers
+            );
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to detect slow consumer resources", e);
+        }
+    }
+
+    private <T> T attribute(ObjectName name, String attribute, Class<T> type) throws Exception {
+        Object value = server.getAttribute(name, attribute);
+        if (value == null) {
+            throw new IllegalStateException("Missing slow consumer MBean attribute: " + attribute);
+        }
+        return type.cast(value);
+    }
+}
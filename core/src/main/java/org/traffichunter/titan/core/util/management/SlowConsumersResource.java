@@ -0,0 +1,51 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util.management;
+
+import java.util.List;
+
+/**
+ * Slow consumer tracking at the time of detection.
+ *
+ * @param slowConsumers subscriptions currently over their outbound budget
+ * @param disconnects connections closed by the disconnect policy
+ * @param droppedMessages messages discarded by the drop-newest policy
+ * @param conflatedMessages held messages replaced by the conflate policy
+ * @param sampledMessages messages skipped by the sample policy
+ * @param topConsumers slow subscriptions with the most pending write bytes
+ * @author yun
+ */
+public record SlowConsumersResource(
+        int slowConsumers,
+        long disconnects,
+        long droppedMessages,
+        long conflatedMessages,
+        long sampledMessages,
+        List<SlowConsumerResource> topConsumers
+) {
+
+    public SlowConsumersResource {
+        topConsumers = List.copyOf(topConsumers);
+    }
+}
@@ -26,6 +26,11 @@ package org.traffichunter.titan.core.channel;
 import org.junit.jupiter.api.Test;
 import org.traffichunter.titan.core.util.buffer.Buffer;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -69,6 +74,23 @@ class ChannelWriteBufferTest {
         writeBuffer.close();
     }
 
+    @Test
+    void notify_writability_handler_on_each_transition() {
+        ChannelWriteBuffer writeBuffer = new ChannelWriteBuffer(8, 4);
+        List<Boolean> transitions = new ArrayList<>();
+        writeBuffer.writabilityHandler(transitions::add);
+        Buffer payload = Buffer.heap().alloc(new byte[9]);
+
+        writeBuffer.add(payload);
+        writeBuffer.add(Buffer.heap().alloc(new byte[1]));
+        payload.skipBytes(7);
+        writeBuffer.progress(7);
+
+        assertThat(transitions).containsExactly(false, true);
+
+        writeBuffer.close();
+    }
+
     @Test
     void reduce_pending_bytes_as_socket_write_progresses() {
         AggregateChannelWriteBufferMetrics metrics = new AggregateChannelWriteBufferMetrics();
@@ -104,4 +126,40 @@ class ChannelWriteBufferTest {
         assertThat(metrics.getPendingBytes()).isZero();
         assertThat(metrics.getNonWritableBuffers()).isZero();
     }
+
+    @Test
+    void expose_queued_buffers_and_composite_components_as_gathered_regions() {
+        ChannelWriteBuffer writeBuffer = new ChannelWriteBuffer(64, 32);
+        Buffer shared = Buffer.heap().alloc("body");
+        writeBuffer.add(Buffer.heap().composite(Buffer.heap().alloc("head-"), shared.retainSlice()));
+        writeBuffer.add(Buffer.heap().alloc("tail"));
+
+        ByteBuffer[] regions = new ByteBuffer[8];
+        int count = writeBuffer.nioBuffers(regions);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(StandardCharsets.UTF_8.decode(regions[0]).toString()).isEqualTo("head-");
+        assertThat(StandardCharsets.UTF_8.decode(regions[1]).toString()).isEqualTo("body");
+        assertThat(StandardCharsets.UTF_8.decode(regions[2]).toString()).isEqualTo("tail");
+
+        writeBuffer.close();
+        assertThat(shared.byteBuf().refCnt()).isOne();
+        shared.release();
+    }
+
+    @Test
+    void merge_head_buffer_with_more_components_than_regions() {
+        ChannelWriteBuffer writeBuffer = new ChannelWriteBuffer(64, 32);
+        writeBuffer.add(Buffer.heap().composite(
+                Buffer.heap().alloc("a"),
+                Buffer.heap().alloc("b"),
+                Buffer.heap().alloc("c")
+        ));
+
+        ByteBuffer[] regions = new ByteBuffer[2];
+
+        assertThat(writeBuffer.nioBuffers(regions)).isOne();
+        assertThat(StandardCharsets.UTF_8.decode(regions[0]).toString()).isEqualTo("abc");
+        writeBuffer.close();
+    }
 }
@@ -111,6 +111,23 @@ class NetChannelInternalTest {
         }
     }
 
+    @Test
+    void close_handler_runs_once_and_right_away_on_closed_channel() {
+        InMemoryNetChannel channel = new InMemoryNetChannel();
+        AtomicInteger closes = new AtomicInteger();
+        AtomicInteger removedCloses = new AtomicInteger();
+        channel.addCloseHandler(closed -> closes.incrementAndGet());
+        channel.addCloseHandler(closed -> removedCloses.incrementAndGet()).remove();
+
+        channel.close();
+        channel.close();
+        assertThat(closes).hasValue(1);
+        assertThat(removedCloses).hasValue(0);
+
+        channel.addCloseHandler(closed -> closes.incrementAndGet());
+        assertThat(closes).hasValue(2);
+    }
+
     private static void release(@Nullable Buffer buffer) {
         assertThat(buffer).isNotNull();
         if (buffer != null) {
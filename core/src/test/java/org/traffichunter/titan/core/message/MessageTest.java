@@ -49,4 +49,19 @@ class MessageTest {
 
         assertThat(message.getBody()).containsExactly((byte) 1, (byte) 2, (byte) 3);
     }
+
+    @Test
+    void wrapped_payload_is_stored_without_copy() {
+        byte[] payload = {1, 2, 3};
+
+        Message message = Message.builder()
+                .destination(Destination.create("/queue/test"))
+                .createdAt(Instant.now())
+                .producerId("producer")
+                .wrapBody(payload)
+                .build();
+
+        assertThat(message.getBody()).isSameAs(payload);
+        assertThat(message.getSize()).isEqualTo(3);
+    }
 }
@@ -0,0 +1,82 @@
+package org.traffichunter.titan.core.test.implementation;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.DestinationCache;
+
+/**
+ * @author yun
+ */
+class DestinationCacheTest {
+
+    @Test
+    void intern_returns_canonical_instance() {
+        DestinationCache cache = new DestinationCache(8);
+
+        Destination first = cache.intern("/topic/a");
+        Destination second = cache.intern("/topic/a");
+
+        assertThat(second).isSameAs(first);
+        assertThat(second).isEqualTo(Destination.create("/topic/a"));
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void intern_rejects_invalid_routing_key_without_caching_it() {
+        DestinationCache cache = new DestinationCache(8);
+
+        assertThatThrownBy(() -> cache.intern("topic/a"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid routing key: topic/a");
+        assertThat(cache.getSize()).isZero();
+    }
+
+    @Test
+    void evicts_unreferenced_entry_when_full() {
+        DestinationCache cache = new DestinationCache(2);
+        Destination hot = cache.intern("/topic/hot");
+        cache.intern("/topic/cold");
+
+        cache.intern("/topic/new");
+        cache.intern("/topic/cold");
+        cache.intern("/topic/hot");
+        cache.intern("/topic/other");
+
+        assertThat(cache.getSize()).isEqualTo(2);
+        assertThat(cache.getEvictions()).isEqualTo(3);
+        assertThat(cache.intern("/topic/other").path()).isEqualTo("/topic/other");
+        assertThat(hot).isEqualTo(Destination.create("/topic/hot"));
+    }
+
+    @Test
+    void recently_used_entry_survives_eviction() {
+        DestinationCache cache = new DestinationCache(2);
+        cache.intern("/topic/a");
+        cache.intern("/topic/b");
+        cache.intern("/topic/c");
+
+        Destination c = cache.intern("/topic/c");
+        cache.intern("/topic/d");
+
+        assertThat(cache.intern("/topic/c")).isSameAs(c);
+    }
+
+    @Test
+    void destination_exposes_segments() {
+        Destination destination = Destination.intern("/topic/orders/*");
+
+        assertThat(destination.segments()).isEqualTo(List.of("topic", "orders", "*"));
+        assertThat(destination.hashCode()).isEqualTo("/topic/orders/*".hashCode());
+    }
+
+    @Test
+    void capacity_must_be_positive() {
+        assertThatThrownBy(() -> new DestinationCache(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
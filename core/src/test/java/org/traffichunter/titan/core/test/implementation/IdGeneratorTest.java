@@ -2,8 +2,10 @@ package org.traffichunter.titan.core.test.implementation;
 
 import org.junit.jupiter.api.Test;
 import org.traffichunter.titan.core.util.IdGenerator;
+import org.traffichunter.titan.core.util.IdStrategy;
 
 import java.util.Base64;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -45,4 +47,40 @@ class IdGeneratorTest {
 
         assertThat(Base64.getDecoder().decode(randomId)).hasSize(16);
     }
+
+    @Test
+    void counter_ids_share_node_prefix_and_increase() {
+        String first = IdGenerator.nextId(IdStrategy.COUNTER);
+        String second = IdGenerator.nextId(IdStrategy.COUNTER);
+
+        assertThat(first).matches("[A-Za-z0-9]{8}-[0-9a-f]{16}");
+        assertThat(second.substring(0, 9)).isEqualTo(first.substring(0, 9));
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    void time_ordered_ids_are_128_bit_hex_and_sort_by_creation() {
+        String first = IdGenerator.nextId(IdStrategy.TIME_ORDERED);
+        String second = IdGenerator.nextId(IdStrategy.TIME_ORDERED);
+
+        assertThat(first).matches("[0-9a-f]{32}");
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    void uuid_strategy_generates_uuid() {
+        String id = IdGenerator.nextId(IdStrategy.UUID);
+
+        assertThat(UUID.fromString(id).toString()).isEqualTo(id);
+    }
+
+    @Test
+    void resolve_strategy_maps_configured_names() {
+        for (IdStrategy strategy : IdStrategy.values()) {
+            assertThat(IdStrategy.resolveStrategy(strategy.getName())).isEqualTo(strategy);
+        }
+        assertThat(IdGenerator.strategy()).isEqualTo(IdStrategy.COUNTER);
+        assertThatThrownBy(() -> IdStrategy.resolveStrategy("snowflake"))
+                .isInstanceOf(IllegalStateException.class);
+    }
 }
@@ -0,0 +1,95 @@
+package org.traffichunter.titan.core.test.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.util.concurrent.MpscChunkedArrayQueue;
+
+/**
+ * @author yungwang-o
+ */
+class MpscChunkedArrayQueueTest {
+
+    @Test
+    void poll_returns_items_in_insertion_order_across_chunks() {
+        MpscChunkedArrayQueue<Integer> queue = new MpscChunkedArrayQueue<>(4);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(queue.offer(i)).isTrue();
+        }
+
+        assertThat(queue).hasSize(10);
+        assertThat(queue.peek()).isZero();
+        for (int i = 0; i < 10; i++) {
+            assertThat(queue.poll()).isEqualTo(i);
+        }
+        assertThat(queue.poll()).isNull();
+        assertThat(queue).isEmpty();
+    }
+
+    @Test
+    void remove_skips_removed_slot_on_poll() {
+        MpscChunkedArrayQueue<String> queue = new MpscChunkedArrayQueue<>(4);
+        queue.offer("a");
+        queue.offer("b");
+        queue.offer("c");
+
+        assertThat(queue.remove("b")).isTrue();
+        assertThat(queue.remove("b")).isFalse();
+
+        assertThat(queue).containsExactly("a", "c");
+        assertThat(queue.poll()).isEqualTo("a");
+        assertThat(queue.poll()).isEqualTo("c");
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    void concurrent_producers_keep_per_producer_order() throws Exception {
+        int producers = 8;
+        int perProducer = 5_000;
+        MpscChunkedArrayQueue<long[]> queue = new MpscChunkedArrayQueue<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = IntStream.range(0, producers)
+                .mapToObj(producer -> Thread.ofPlatform().unstarted(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < perProducer; i++) {
+                            queue.offer(new long[] {producer, i});
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }))
+                .toList();
+
+        threads.forEach(Thread::start);
+        start.countDown();
+
+        long[] lastSeen = new long[producers];
+        java.util.Arrays.fill(lastSeen, -1);
+        List<long[]> received = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+            long[] item = queue.poll();
+            if (item == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int producer = (int) item[0];
+            assertThat(item[1]).isGreaterThan(lastSeen[producer]);
+            lastSeen[producer] = item[1];
+            received.add(item);
+        }
+
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+        }
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(queue).isEmpty();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util.management;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.util.DestinationCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author yun
+ */
+class DestinationCacheResourceDetectorTest {
+
+    @Test
+    void detect_destination_cache_resource() {
+        MBeanServer server = MBeanServerFactory.createMBeanServer();
+        DestinationCache cache = new DestinationCache(16);
+        cache.intern("/topic/a");
+        cache.intern("/topic/a");
+        cache.intern("/topic/a");
+        cache.intern("/topic/b");
+        DestinationCacheMbeans.register(server, cache);
+
+        DestinationCacheResource resource = new DestinationCacheResourceDetector(server).detect();
+
+        assertThat(resource).isEqualTo(new DestinationCacheResource(2, 16, 2, 2, 0));
+        assertThat(resource.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void return_empty_resource_when_mbean_is_not_registered() {
+        MBeanServer server = MBeanServerFactory.createMBeanServer();
+
+        DestinationCacheResource resource = new DestinationCacheResourceDetector(server).detect();
+
+        assertThat(resource).isEqualTo(new DestinationCacheResource(0, 0, 0, 0, 0));
+        assertThat(resource.hitRate()).isZero();
+    }
+}
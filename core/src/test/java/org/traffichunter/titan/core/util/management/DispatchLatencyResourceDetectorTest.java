@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util.management;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author yun
+ */
+class DispatchLatencyResourceDetectorTest {
+
+    @Test
+    void detect_dispatch_latency_resource() {
+        MBeanServer server = MBeanServerFactory.createMBeanServer();
+        LatencyResource enqueue = new LatencyResource(10, 2047, 8191, 16383);
+        LatencyResource dispatch = new LatencyResource(9, 1023, 4095, 4095);
+        DispatchLatencyMbeans.register(server, new DispatchLatencyMbean() {
+            @Override
+            public LatencyResource getEnqueueLatency() {
+                return enqueue;
+            }
+
+            @Override
+            public LatencyResource getDispatchLatency() {
+                return dispatch;
+            }
+
+            @Override
+            public LatencyResource getFlushLatency() {
+                return LatencyResource.EMPTY;
+            }
+        });
+
+        DispatchLatencyResource resource = new DispatchLatencyResourceDetector(server).detect();
+
+        assertThat(resource).isEqualTo(new DispatchLatencyResource(enqueue, dispatch, LatencyResource.EMPTY));
+    }
+
+    @Test
+    void return_empty_resource_when_mbean_is_not_registered() {
+        MBeanServer server = MBeanServerFactory.createMBeanServer();
+
+        DispatchLatencyResource resource = new DispatchLatencyResourceDetector(server).detect();
+
+        assertThat(resource).isEqualTo(DispatchLatencyResource.EMPTY);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.util.management;
+
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author yun
+ */
+class SlowConsumerResourceDetectorTest {
+
+    @Test
+    void detect_slow_consumer_resource() {
+        MBeanServer server = MBeanServerFactory.createMBeanServer();
+        SlowConsumerResource consumer = new SlowConsumerResource("session-1", "sub-0", "/prices/eur", 65536, 84);
+        SlowConsumerMbeans.register(server, new SlowConsumerMbean() {
+            @Override
+            public int getSlowConsumers() {
+                return 1;
+            }
+
+            @Override
+            public long getDisconnects() {
+                return 2;
+            }
+
+            @Override
+            public long getDroppedMessages() {
+                return 30;
+            }
+
+            @Override
+            public long getConflatedMessages() {
+                return 4;
+            }
+
+            @Override
+            public long getSampledMessages() {
+                return 50;
+            }
+
+            @Override
+            public List<SlowConsumerResource> getTopSlowConsumers() {
+                return List.of(consumer);
+            }
+        });
+
+        SlowConsumersResource resource = new SlowConsumerResourceDetector(server).detect();
+
+        assertThat(resource).isEqualTo(new SlowConsumersResource(1, 2, 30, 4, 50, List.of(consumer)));
+    }
+
+    @Test
+    void return_empty_resource_when_mbean_is_not_registered() {
+        MBeanServer server = MBeanServerFactory.createMBeanServer();
+
+        SlowConsumersResource resource = new SlowConsumerResourceDetector(server).detect();
+
+        assertThat(resource).isEqualTo(new SlowConsumersResource(0, 0, 0, 0, 0, List.of()));
+    }
+}
@@ -0,0 +1,888 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.management.LatencyResource;
+
+/**
+ * Admission, byte accounting, and pause state shared by dispatcher queue implementations.
+ *
+ * <p>Subclasses only decide how messages are stored. Every message that enters the storage has
+ * already reserved its bytes in {@link DestinationQueueMetadata}, and every message that leaves
+ * through dispatch, removal, or clearing releases them here. Pressure pausing and manual pausing
+ * therefore behave the same no matter which storage backs the queue.</p>
+ *
+ * <p>Expired messages are discarded on the way out: dispatch, poll and drain skip them, and
+ * {@link #expire()} removes them from the head through {@link #sweepHeads(Predicate)}. Either way
+ * their bytes are released and they are counted as expired in the metadata.</p>
+ *
+ * <p>A message that cannot be admitted is handled by the queue's
+ * {@link DispatcherQueueOverflowPolicy}: producers either wait for the queue to resume, or the
+ * message is dropped, the head is evicted to make room, or the message is refused at once. Every
+ * outcome other than admission is counted in the metadata.</p>
+ *
+ * <p>Admission and draining stamp each message with {@link System#nanoTime()} and record how long
+ * it took from decoding to admission and from admission to draining in the metadata's
+ * {@link DispatchLatency}.</p>
+ *
+ * <p>Every admission holds a slot in an admission count for as long as it runs. {@link #retire()}
+ * only succeeds while no admission is running and the queue is empty, and from then on refuses
+ * every admission, so a queue being removed never loses a message it already accepted.</p>
+ *
+ * @author yungwang-o
+ */
+abstract class AbstractDispatcherQueue implements DispatcherQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractDispatcherQueue.class);
+
+    /**
+     * Bit of {@link #admissions} set once the queue is retired. The bits below count running
+     * admissions.
+     */
+    private static final int RETIRED = 1 << 30;
+
+    protected final DestinationQueueMetadata metadata;
+    private volatile Destination destination;
+
+    private final ReentrantLock pauseLock = new ReentrantLock();
+    private final Condition pauseCondition = pauseLock.newCondition();
+    private volatile boolean manuallyPaused;
+    private volatile boolean pressurePaused;
+    // guarded by pauseLock
+    private @Nullable CompletableFuture<@Nullable Void> resumeFuture;
+    private final AtomicInteger admissions = new AtomicInteger();
+
+    protected AbstractDispatcherQueue(final Destination destination, final DestinationQueueMetadata metadata) {
+        this.metadata = metadata;
+        this.destination = destination;
+    }
+
+    /**
+     * Stores a message whose bytes are already reserved.
+     */
+    protected abstract boolean doOffer(Message message);
+
+    protected abstract Message doTake() throws InterruptedException;
+
+    protected abstract @Nullable Message doPoll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    protected abstract @Nullable Message doPoll();
+
+    protected abstract boolean doRemove(Message message);
+
+    /**
+     * Removes every stored message and returns them.
+     */
+    protected abstract List<Message> doDrain();
+
+    /**
+     * Polls the head of one partition. Single-partition storage ignores the index.
+     */
+    protected @Nullable Message doPoll(int partition) {
+        return doPoll();
+    }
+
+    protected @Nullable Message doPoll(int partition, long timeout, TimeUnit unit) throws InterruptedException {
+        return doPoll(timeout, unit);
+    }
+
+    /**
+     * Removes and returns the messages at the head of the storage that match {@code expired}.
+     *
+     * <p>The default walks from {@link #peek()} and removes each matching head with
+     * {@link #doRemove(Message)}, which tolerates a consumer taking the same message concurrently.
+     * Storage with several heads sweeps each of them.</p>
+     */
+    protected List<Message> sweepHeads(Predicate<Message> expired) {
+        List<Message> removed = new ArrayList<>();
+        Message head;
+        while ((head = peek()) != null && expired.test(head)) {
+            if (doRemove(head)) {
+                removed.add(head);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes and returns head messages matching {@code evict} to make room under
+     * {@link DispatcherQueueOverflowPolicy#DROP_OLDEST}. Defaults to {@link #sweepHeads(Predicate)};
+     * storage with ranked heads overrides it to give up its least important messages first.
+     */
+    protected List<Message> evictHeads(Predicate<Message> evict) {
+        return sweepHeads(evict);
+    }
+
+    /**
+     * Returns the bytes of the stored message that {@code message} would replace during
+     * {@link #doOffer(Message)}, or zero when it would be stored alongside the others.
+     *
+     * <p>Admission still reserves the whole message but checks the limit and the pressure pause
+     * against its growth only, since the replaced bytes are released by {@link #conflated(Message)}
+     * right after. A stale answer is harmless: a replaced message taken by a consumer meanwhile has
+     * released its bytes already.</p>
+     */
+    protected long replacedBytes(Message message) {
+        return 0L;
+    }
+
+    @Override
+    public int partitions() {
+        return 1;
+    }
+
+    @Override
+    public int size(int partition) {
+        checkPartition(partition);
+        return size();
+    }
+
+    @Override
+    public DestinationQueueMetadata metadata() {
+        return metadata;
+    }
+
+    @Override
+    public Destination route() {
+        return destination;
+    }
+
+    @Override
+    public String getDestination() {
+        return destination.path();
+    }
+
+    @Override
+    public boolean equalsTo(final Destination key) {
+        return destination.equals(key);
+    }
+
+    @Override
+    public @Nullable Message enqueue(final Message message) {
+        if (!enterAdmission()) {
+            return null;
+        }
+        try {
+            return admit(message);
+        } finally {
+            exitAdmission();
+        }
+    }
+
+    @Override
+    public boolean retire() {
+        return retire(this);
+    }
+
+    @Override
+    public boolean isRetired() {
+        return (admissions.get() & RETIRED) != 0;
+    }
+
+    /**
+     * Retires this queue on behalf of {@code queue}, a wrapper whose admissions go through
+     * {@link #enterAdmission()} and whose size includes messages stored outside this queue.
+     */
+    final boolean retire(DispatcherQueue queue) {
+        if (queue.size() > 0 || !admissions.compareAndSet(0, RETIRED)) {
+            return false;
+        }
+        // an admission that finished right before the flag was set may have stored a message
+        if (queue.size() > 0) {
+            admissions.addAndGet(-RETIRED);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Starts an admission, to be ended with {@link #exitAdmission()}.
+     *
+     * @return whether the queue admits messages, {@code false} once it is retired
+     */
+    final boolean enterAdmission() {
+        if ((admissions.getAndIncrement() & RETIRED) != 0) {
+            admissions.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    final void exitAdmission() {
+        admissions.decrementAndGet();
+    }
+
+    private @Nullable Message admit(final Message message) {
+        DispatcherQueueOverflowPolicy policy = metadata.getOverflowPolicy();
+        long messageSize = message.getSize();
+        if (messageSize > metadata.getMaxPendingBytes()) {
+            return overflow(policy);
+        }
+
+        if (policy.drops()) {
+            return enqueueOrDrop(message, policy);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(metadata.getOverflowTimeoutMillis());
+        while (true) {
+            long credit = replacedBytes(message);
+            if (isPausedFor(messageSize, credit)) {
+                if (!policy.blocks()) {
+                    return overflow(policy);
+                }
+                log.info("Waiting for queue to be resumed");
+                boolean resumed = policy == DispatcherQueueOverflowPolicy.BLOCK_WITH_TIMEOUT
+                        ? awaitResume(deadline)
+                        : awaitResume();
+                if (!resumed) {
+                    return overflow(policy);
+                }
+                credit = replacedBytes(message);
+            }
+
+            if (metadata.tryReserve(messageSize, credit)) {
+                return offer(message);
+            }
+
+            pauseForPressure();
+            if (policy != DispatcherQueueOverflowPolicy.BLOCK_WITH_TIMEOUT) {
+                return overflow(policy);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A spill tier also uses it to move messages back into memory from consumer threads, which
+     * must never block on their own queue.</p>
+     */
+    @Override
+    public final boolean tryEnqueue(Message message) {
+        if (!enterAdmission()) {
+            return false;
+        }
+        try {
+            long messageSize = message.getSize();
+            long credit = replacedBytes(message);
+            if (isPausedFor(messageSize, credit) || !metadata.tryReserve(messageSize, credit)) {
+                return false;
+            }
+            return offer(message) != null;
+        } finally {
+            exitAdmission();
+        }
+    }
+
+    @Override
+    public void pause() {
+        pauseLock.lock();
+        try {
+            manuallyPaused = true;
+            metadata.paused(true);
+            log.info("Pausing queue");
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    @Override
+    public void resume() {
+        CompletableFuture<@Nullable Void> resumed;
+        pauseLock.lock();
+        try {
+            manuallyPaused = false;
+            resumed = updatePauseState();
+        } finally {
+            pauseLock.unlock();
+        }
+        complete(resumed);
+    }
+
+    @Override
+    public boolean isPaused() {
+        return manuallyPaused || pressurePaused;
+    }
+
+    /**
+     * Whether a pause holds back a message of {@code messageSize} bytes replacing {@code credit}
+     * stored bytes. A replacement that does not grow the queue passes a pressure pause.
+     */
+    private boolean isPausedFor(long messageSize, long credit) {
+        return manuallyPaused || (pressurePaused && messageSize > credit);
+    }
+
+    @Override
+    public Message dispatch() throws InterruptedException {
+        while (true) {
+            Message message = doTake();
+            released(message);
+            if (!discardIfExpired(message)) {
+                return message;
+            }
+        }
+    }
+
+    @Override
+    public @Nullable Message dispatch(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + nanos;
+        while (true) {
+            Message message = doPoll(nanos, TimeUnit.NANOSECONDS);
+            if (message == null) {
+                return null;
+            }
+            released(message);
+            if (!discardIfExpired(message)) {
+                return message;
+            }
+            nanos = Math.max(0L, deadline - System.nanoTime());
+        }
+    }
+
+    @Override
+    public @Nullable Message poll() {
+        Message message;
+        while ((message = doPoll()) != null) {
+            released(message);
+            if (!discardIfExpired(message)) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Message> sink, int maxMessages, long maxBytes) {
+        checkDrainLimits(maxMessages, maxBytes);
+        return drainRemaining(-1, sink, null, maxMessages, maxBytes);
+    }
+
+    @Override
+    public int drainTo(int partition, Collection<? super Message> sink, int maxMessages, long maxBytes) {
+        checkPartition(partition);
+        checkDrainLimits(maxMessages, maxBytes);
+        return drainRemaining(partition, sink, null, maxMessages, maxBytes);
+    }
+
+    @Override
+    public int drainTo(
+            int partition,
+            Collection<? super Message> sink,
+            int maxMessages,
+            long maxBytes,
+            long timeout,
+            TimeUnit unit
+    ) throws InterruptedException {
+        checkPartition(partition);
+        checkDrainLimits(maxMessages, maxBytes);
+        Message first = doPoll(partition, timeout, unit);
+        if (first == null) {
+            return 0;
+        }
+        return drainRemaining(partition, sink, first, maxMessages, maxBytes);
+    }
+
+    @Override
+    public int drainTo(
+            Collection<? super Message> sink,
+            int maxMessages,
+            long maxBytes,
+            long timeout,
+            TimeUnit unit
+    ) throws InterruptedException {
+        checkDrainLimits(maxMessages, maxBytes);
+        Message first = doPoll(timeout, unit);
+        if (first == null) {
+            return 0;
+        }
+        return drainRemaining(-1, sink, first, maxMessages, maxBytes);
+    }
+
+    @Override
+    public void updateRoutingKey(final Destination key) {
+
+        synchronized (this) {
+            this.destination = key;
+            metadata.destination(key.path());
+        }
+    }
+
+    @Override
+    public void remove(Message message) {
+        if(!doRemove(message)) {
+            throw new IllegalStateException("Message not found");
+        }
+        released(message);
+    }
+
+    @Override
+    public void overflowPolicy(DispatcherQueueOverflowPolicy policy, Duration timeout) {
+        metadata.overflowPolicy(policy, timeout.toMillis());
+    }
+
+    @Override
+    public CompletableFuture<@Nullable Void> resumed() {
+        pauseLock.lock();
+        try {
+            if (!isPaused()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (resumeFuture == null) {
+                resumeFuture = new CompletableFuture<>();
+            }
+            return resumeFuture;
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    @Override
+    public void timeToLive(Duration timeToLive) {
+        metadata.timeToLiveMillis(timeToLive.toMillis());
+    }
+
+    @Override
+    public void unsubscribedPolicy(DispatcherQueueUnsubscribedPolicy policy, long bufferBytes) {
+        metadata.unsubscribedPolicy(policy, bufferBytes);
+    }
+
+    @Override
+    public int expire() {
+        long now = System.currentTimeMillis();
+        List<Message> expired = sweepHeads(message -> isExpired(message, now));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        long releasedBytes = expired.stream().mapToLong(Message::getSize).sum();
+        metadata.release(releasedBytes);
+        metadata.expired(expired.size());
+        resumeAfterPressure();
+        log.debug("Expired {} messages from the head of {}", expired.size(), getDestination());
+        return expired.size();
+    }
+
+    @Override
+    public long getTimeToLiveMillis() {
+        return metadata.getTimeToLiveMillis();
+    }
+
+    @Override
+    public long getExpiredMessages() {
+        return metadata.getExpiredMessages();
+    }
+
+    @Override
+    public long getConflatedMessages() {
+        return metadata.getConflatedMessages();
+    }
+
+    @Override
+    public String getOverflowPolicy() {
+        return metadata.getOverflowPolicy().getName();
+    }
+
+    @Override
+    public long getOverflowTimeoutMillis() {
+        return metadata.getOverflowTimeoutMillis();
+    }
+
+    @Override
+    public long getDroppedMessages() {
+        return metadata.getDroppedMessages();
+    }
+
+    @Override
+    public long getEvictedMessages() {
+        return metadata.getEvictedMessages();
+    }
+
+    @Override
+    public long getRejectedMessages() {
+        return metadata.getRejectedMessages();
+    }
+
+    @Override
+    public String getUnsubscribedPolicy() {
+        return metadata.getUnsubscribedPolicy().getName();
+    }
+
+    @Override
+    public long getUnsubscribedBufferBytes() {
+        return metadata.getUnsubscribedBufferBytes();
+    }
+
+    @Override
+    public long getUnsubscribedMessages() {
+        return metadata.getUnsubscribedMessages();
+    }
+
+    @Override
+    public long getConsumerStops() {
+        return metadata.getConsumerStops();
+    }
+
+    @Override
+    public long getUnwritableStops() {
+        return metadata.getUnwritableStops();
+    }
+
+    @Override
+    public long getLastEnqueuedAtMillis() {
+        return metadata.getLastEnqueuedAtMillis();
+    }
+
+    @Override
+    public long getPendingBytes() {
+        return metadata.getPendingBytes();
+    }
+
+    @Override
+    public long getMaxPendingBytes() {
+        return metadata.getMaxPendingBytes();
+    }
+
+    @Override
+    public long getResumePendingBytes() {
+        return metadata.getResumePendingBytes();
+    }
+
+    @Override
+    public LatencyResource getEnqueueLatency() {
+        return metadata.latency().getEnqueueLatency();
+    }
+
+    @Override
+    public LatencyResource getDispatchLatency() {
+        return metadata.latency().getDispatchLatency();
+    }
+
+    @Override
+    public LatencyResource getFlushLatency() {
+        return metadata.latency().getFlushLatency();
+    }
+
+    @Override
+    public int getSize() {
+        return size();
+    }
+
+    @Override
+    public int getPartitions() {
+        return partitions();
+    }
+
+    @Override
+    public void clear() {
+        List<Message> removed = doDrain();
+        if (removed.isEmpty()) {
+            return;
+        }
+
+        long releasedBytes = removed.stream().mapToLong(Message::getSize).sum();
+        metadata.release(releasedBytes);
+        resumeAfterPressure();
+    }
+
+    /**
+     * Drains from every partition when {@code partition} is negative, otherwise from that one.
+     */
+    private int drainRemaining(
+            int partition,
+            Collection<? super Message> sink,
+            @Nullable Message first,
+            int maxMessages,
+            long maxBytes
+    ) {
+        int drained = 0;
+        long drainedBytes = 0;
+        int expired = 0;
+        long expiredBytes = 0;
+        long now = System.currentTimeMillis();
+        long nowNanos = System.nanoTime();
+        Message message = first != null ? first : poll(partition);
+        while (message != null) {
+            if (isExpired(message, now)) {
+                expired++;
+                expiredBytes += message.getSize();
+            } else {
+                dispatched(message, nowNanos);
+                sink.add(message);
+                drained++;
+                drainedBytes += message.getSize();
+                if (drained >= maxMessages || drainedBytes >= maxBytes) {
+                    break;
+                }
+            }
+            message = poll(partition);
+        }
+
+        if (expired > 0) {
+            metadata.expired(expired);
+        }
+        if (drained > 0 || expired > 0) {
+            metadata.release(drainedBytes + expiredBytes);
+            resumeAfterPressure();
+        }
+        return drained;
+    }
+
+    private @Nullable Message poll(int partition) {
+        return partition < 0 ? doPoll() : doPoll(partition);
+    }
+
+    protected void checkPartition(int partition) {
+        if (partition < 0 || partition >= partitions()) {
+            throw new IllegalArgumentException("Partition out of range: " + partition);
+        }
+    }
+
+    private static void checkDrainLimits(int maxMessages, long maxBytes) {
+        if (maxMessages <= 0) {
+            throw new IllegalArgumentException("Max messages must be greater than zero");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Max bytes must be greater than zero");
+        }
+    }
+
+    /**
+     * Admits a message under a drop policy. Pressure pausing does not apply because the byte limit
+     * is enforced by discarding messages, so only a manual pause or a full queue drops.
+     */
+    private @Nullable Message enqueueOrDrop(Message message, DispatcherQueueOverflowPolicy policy) {
+        if (manuallyPaused) {
+            return overflow(policy);
+        }
+
+        long messageSize = message.getSize();
+        if (metadata.tryReserve(messageSize, replacedBytes(message))) {
+            return offer(message);
+        }
+        // eviction may take the replaced message, so the credit is looked up again afterwards
+        if (policy == DispatcherQueueOverflowPolicy.DROP_OLDEST
+                && evictFor(messageSize - replacedBytes(message))
+                && metadata.tryReserve(messageSize, replacedBytes(message))) {
+            return offer(message);
+        }
+        return overflow(policy);
+    }
+
+    /**
+     * Discards head messages until {@code messageSize} more bytes would fit under the limit.
+     *
+     * @return whether any message was discarded
+     */
+    private boolean evictFor(long messageSize) {
+        long target = metadata.getMaxPendingBytes() - messageSize;
+        long[] pending = {metadata.getPendingBytes()};
+        List<Message> evicted = evictHeads(head -> {
+            if (pending[0] <= target) {
+                return false;
+            }
+            pending[0] -= head.getSize();
+            return true;
+        });
+        if (evicted.isEmpty()) {
+            return false;
+        }
+
+        long releasedBytes = evicted.stream().mapToLong(Message::getSize).sum();
+        metadata.release(releasedBytes);
+        metadata.evicted(evicted.size());
+        resumeAfterPressure();
+        return true;
+    }
+
+    private @Nullable Message offer(Message message) {
+        long now = System.nanoTime();
+        message.markEnqueued(now);
+        if (doOffer(message)) {
+            metadata.enqueued(System.currentTimeMillis());
+            metadata.latency().enqueued(now - message.getCreatedNanos());
+            return message;
+        }
+
+        metadata.release(message.getSize());
+        return null;
+    }
+
+    /**
+     * Counts a message the queue could not admit and refuses it.
+     */
+    private @Nullable Message overflow(DispatcherQueueOverflowPolicy policy) {
+        if (policy.drops()) {
+            metadata.dropped(1);
+        } else {
+            metadata.rejected(1);
+        }
+        return null;
+    }
+
+    /**
+     * Releases a stored message that a newer message replaced during {@link #doOffer(Message)}.
+     */
+    protected final void conflated(Message replaced) {
+        metadata.release(replaced.getSize());
+        metadata.conflated(1);
+        resumeAfterPressure();
+    }
+
+    private boolean isExpired(Message message, long nowMillis) {
+        if (message.getExpiresAt() != 0L) {
+            return message.isExpired(nowMillis);
+        }
+        long timeToLive = metadata.getTimeToLiveMillis();
+        return timeToLive > 0L && nowMillis - message.getCreatedAt().toEpochMilli() >= timeToLive;
+    }
+
+    /**
+     * Counts an already released message as expired when it is past its expiry time.
+     */
+    private boolean discardIfExpired(Message message) {
+        if (!isExpired(message, System.currentTimeMillis())) {
+            return false;
+        }
+        metadata.expired(1);
+        return true;
+    }
+
+    private void released(Message message) {
+        dispatched(message, System.nanoTime());
+        metadata.release(message.getSize());
+        resumeAfterPressure();
+    }
+
+    private void dispatched(Message message, long nowNanos) {
+        message.markDispatched(nowNanos);
+        metadata.latency().dispatched(nowNanos - message.getEnqueuedNanos());
+    }
+
+    private boolean awaitResume() {
+        pauseLock.lock();
+        try {
+            while (isPaused()) {
+                pauseCondition.await();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    private void pauseForPressure() {
+        pauseLock.lock();
+        try {
+            if (!pressurePaused) {
+                pressurePaused = true;
+                metadata.paused(true);
+                log.info("Pausing queue due to pending bytes. destination={}", destination.path());
+            }
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    private boolean awaitResume(long deadlineNanos) {
+        pauseLock.lock();
+        try {
+            while (isPaused()) {
+                long nanos = deadlineNanos - System.nanoTime();
+                if (nanos <= 0L) {
+                    return false;
+                }
+                pauseCondition.awaitNanos(nanos);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    private void resumeAfterPressure() {
+        if (!pressurePaused || !metadata.canResume()) {
+            return;
+        }
+
+        CompletableFuture<@Nullable Void> resumed = null;
+        pauseLock.lock();
+        try {
+            if (pressurePaused && metadata.canResume()) {
+                pressurePaused = false;
+                resumed = updatePauseState();
+            }
+        } finally {
+            pauseLock.unlock();
+        }
+        complete(resumed);
+    }
+
+    /**
+     * Publishes the pause state and wakes blocked producers once the queue is no longer paused.
+     *
+     * @return the future to complete for {@link #resumed()} waiters, completed by the caller after
+     * releasing the pause lock so their callbacks never run under it
+     */
+    private @Nullable CompletableFuture<@Nullable Void> updatePauseState() {
+        boolean paused = isPaused();
+        metadata.paused(paused);
+        if (paused) {
+            return null;
+        }
+
+        log.info("Resuming queue. destination={}", destination.path());
+        pauseCondition.signalAll();
+        CompletableFuture<@Nullable Void> resumed = resumeFuture;
+        resumeFuture = null;
+        return resumed;
+    }
+
+    private static void complete(@Nullable CompletableFuture<@Nullable Void> resumed) {
+        if (resumed != null) {
+            resumed.complete(null);
+        }
+    }
+}
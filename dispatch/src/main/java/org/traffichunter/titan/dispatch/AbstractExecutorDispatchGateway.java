@@ -32,22 +32,34 @@ import org.traffichunter.titan.core.util.Handler;
 import org.traffichunter.titan.core.util.Destination;
 import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Executor-backed {@link DispatchGateway} facade shared by platform and virtual-thread variants.
+ * Executor-backed {@link DispatchGateway} facade shared by platform, virtual-thread, and
+ * scheduled variants.
  *
  * <p>The gateway owns the executor and the public lifecycle, while concrete dispatch work belongs
  * to the handlers. {@link RouteDispatchChainHandler} admits messages to destination queues and
- * {@link FanoutDispatchChainHandler} owns destination consumers and fanout lifecycle. Optional
- * handlers run between those two boundaries.</p>
+ * the terminal {@link AbstractFanoutDispatchChainHandler} owns destination consumers and fanout
+ * lifecycle. Optional handlers run between those two boundaries.</p>
  *
  * <p>Queue deletion delegates to the terminal fanout handler so consumer state remains within its
  * owner. Queue creation remains a direct dispatcher registry operation.</p>
  *
+ * <p>Traversals run on the routing executor, which is the gateway executor unless a subclass
+ * passes its own. Gateways that drain destinations in turns on a bounded pool route on
+ * {@link #newRoutingExecutor()} instead: admission may wait for a paused or full queue, and a
+ * producer waiting on a pool thread would hold back the very drain turns that resume the queue.</p>
+ *
+ * <p>The gateway also runs a {@link DispatcherQueueSweeper} that periodically discards expired
+ * messages from the head of every queue, reaps idle empty queues through the fanout handler when
+ * an idle timeout is configured, and stops it on close.</p>
+ *
  * <pre>{@code
  * sparkDispatch(message)
  *      |
@@ -61,7 +73,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * optional middle handlers (backup, metrics, ...)
  *      |
  *      v
- * FanoutDispatchChainHandler -> computeIfAbsent(destination, consume)
+ * AbstractFanoutDispatchChainHandler -> activate(destination)
  * }</pre>
  *
  * @author yun
@@ -72,8 +84,10 @@ abstract class AbstractExecutorDispatchGateway implements DispatchGateway {
     private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
 
     private final ExecutorService executor;
+    private final ExecutorService routingExecutor;
     private final Dispatcher dispatcher;
-    private final FanoutDispatchChainHandler fanoutHandler;
+    private final AbstractFanoutDispatchChainHandler fanoutHandler;
+    private final DispatcherQueueSweeper sweeper;
     private final AtomicBoolean closed = new AtomicBoolean();
     private DispatchHandlerChain handlerChain;
 
@@ -81,25 +95,52 @@ abstract class AbstractExecutorDispatchGateway implements DispatchGateway {
             ExecutorService executor,
             DispatchExporter exporter,
             Dispatcher dispatcher
+    ) {
+        this(executor, dispatcher, new FanoutDispatchChainHandler(executor, exporter, dispatcher));
+    }
+
+    protected AbstractExecutorDispatchGateway(
+            ExecutorService executor,
+            Dispatcher dispatcher,
+            AbstractFanoutDispatchChainHandler fanoutHandler
+    ) {
+        this(executor, executor, dispatcher, fanoutHandler);
+    }
+
+    protected AbstractExecutorDispatchGateway(
+            ExecutorService executor,
+            ExecutorService routingExecutor,
+            Dispatcher dispatcher,
+            AbstractFanoutDispatchChainHandler fanoutHandler
     ) {
         this.executor = executor;
+        this.routingExecutor = routingExecutor;
         this.dispatcher = dispatcher;
-        this.fanoutHandler = new FanoutDispatchChainHandler(executor, exporter, dispatcher);
-        this.handlerChain = DispatchHandlerChain.chain(executor)
-                .add(new RouteDispatchChainHandler(dispatcher))
+        this.fanoutHandler = fanoutHandler;
+        this.sweeper = new DispatcherQueueSweeper(dispatcher, fanoutHandler::reap);
+        this.handlerChain = DispatchHandlerChain.chain(routingExecutor)
+                .add(new RouteDispatchChainHandler(dispatcher, fanoutHandler.exporter))
                 .add(fanoutHandler);
+        fanoutHandler.start();
     }
 
     @Override
     public DispatchGateway chainHandler(Handler<DispatchHandlerChain> chainHandler) {
-        DispatchHandlerChain chain = DispatchHandlerChain.chain(executor);
-        chain.add(new RouteDispatchChainHandler(dispatcher));
+        DispatchHandlerChain chain = DispatchHandlerChain.chain(routingExecutor);
+        chain.add(new RouteDispatchChainHandler(dispatcher, fanoutHandler.exporter));
         chainHandler.handle(chain);
         chain.add(fanoutHandler);
         this.handlerChain = chain;
         return this;
     }
 
+    @Override
+    public DispatchGateway idleQueueTimeout(Duration idleTimeout) {
+        Assert.checkNotNull(idleTimeout, "idleTimeout");
+        sweeper.idleTimeout(idleTimeout);
+        return this;
+    }
+
     @Override
     public CompletableFuture<@Nullable Void> sparkDispatch(Message message) {
         Assert.checkNotNull(message, "message");
@@ -108,8 +149,35 @@ abstract class AbstractExecutorDispatchGateway implements DispatchGateway {
             throw new IllegalStateException("DispatchGateway is closed");
         }
 
-        return handlerChain.sparkDispatch(new DispatchContext(message))
-                .thenApply(ignored -> null);
+        return sparkDispatch(handlerChain, new DispatchContext(message));
+    }
+
+    /**
+     * Returns an executor with one virtual thread per traversal, on which a producer may wait for
+     * its queue without taking a thread from the drain pool.
+     */
+    protected static ExecutorService newRoutingExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("FanoutRouteThread-", 0).factory());
+    }
+
+    /**
+     * Returns the executor that runs traversals and may block while a queue cannot admit.
+     */
+    protected final ExecutorService routingExecutor() {
+        return routingExecutor;
+    }
+
+    /**
+     * Starts one traversal of the installed chain.
+     *
+     * <p>The default hops to the routing executor. Subclasses may run the traversal elsewhere as
+     * long as the returned future reports its completion or failure.</p>
+     */
+    protected CompletableFuture<@Nullable Void> sparkDispatch(
+            DispatchHandlerChain chain,
+            DispatchContext context
+    ) {
+        return chain.sparkDispatch(context).thenApply(ignored -> null);
     }
 
     @Override
@@ -137,6 +205,40 @@ abstract class AbstractExecutorDispatchGateway implements DispatchGateway {
         return dispatcher.getOrPut(destination, maxPendingBytes);
     }
 
+    /**
+     * Creates a partitioned dispatcher queue through the gateway-owned dispatcher.
+     *
+     * <p>The fanout handler drains every partition of the queue independently. As with
+     * {@link #createQueue(Destination, long)}, an existing queue is returned unchanged.</p>
+     */
+    @Override
+    public DispatcherQueue createQueue(Destination destination, long maxPendingBytes, int partitions) {
+        if (closed.get()) {
+            throw new IllegalStateException("DispatchGateway is closed");
+        }
+
+        return dispatcher.getOrPut(destination, maxPendingBytes, partitions);
+    }
+
+    /**
+     * Creates a dispatcher queue of the requested storage type through the gateway-owned dispatcher.
+     *
+     * <p>As with {@link #createQueue(Destination, long)}, an existing queue is returned unchanged.</p>
+     */
+    @Override
+    public DispatcherQueue createQueue(
+            Destination destination,
+            long maxPendingBytes,
+            DispatcherQueueType type,
+            String conflationKey
+    ) {
+        if (closed.get()) {
+            throw new IllegalStateException("DispatchGateway is closed");
+        }
+
+        return dispatcher.getOrPut(destination, maxPendingBytes, type, conflationKey);
+    }
+
     /**
      * Deletes a dispatcher queue and detaches its consumer.
      *
@@ -156,20 +258,28 @@ abstract class AbstractExecutorDispatchGateway implements DispatchGateway {
     @Override
     public void close() {
         if (closed.compareAndSet(false, true)) {
+            sweeper.close();
             fanoutHandler.close();
-            executor.shutdown();
-            try {
+            if (routingExecutor != executor) {
+                terminate(routingExecutor);
+            }
+            terminate(executor);
+            handlerChain.clear();
+        }
+    }
+
+    private static void terminate(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
                 if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
-                    executor.shutdownNow();
-                    if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
-                        log.warn("Fanout executor did not terminate cleanly");
-                    }
+                    log.warn("Fanout executor did not terminate cleanly");
                 }
-            } catch (InterruptedException e) {
-                executor.shutdownNow();
-                Thread.currentThread().interrupt();
             }
-            handlerChain.clear();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
         }
     }
 }
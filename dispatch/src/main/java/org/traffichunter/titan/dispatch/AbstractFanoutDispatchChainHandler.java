@@ -0,0 +1,241 @@
+/*
+The MIT License
+
+Copyright (c) 2025 traffic-hunter
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in
+all copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+THE SOFTWARE.
+*/
+package org.traffichunter.titan.dispatch;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.HandlerRegistration;
+import org.traffichunter.titan.core.util.management.DispatcherQueueMbeans;
+import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
+import org.traffichunter.titan.dispatch.exporter.ExportFlush;
+
+/**
+ * Terminal dispatch handler that owns how routed destinations are drained.
+ *
+ * <p>Every gateway installs exactly one fanout handler at the end of its chain. The handler
+ * receives each routed message after queue admission and decides how the destination queue is
+ * drained into the exporter. Queue deletion and shutdown also flow through this type so the
+ * consumer state of a destination always stays with its owner.</p>
+ *
+ * <p>Subclasses only choose the draining strategy. Queue lookup, deletion rules, and JMX
+ * unregistration are shared so every dispatch mode reports identical management outcomes.</p>
+ *
+ * <p>A queue whose unsubscribed policy parks is not drained while its destination has no
+ * subscribers, and no queue is drained while every subscriber connection of its destination is
+ * past its outbound high watermark. The handler listens for new subscriptions and for connections
+ * that became writable again through the exporter, and activates the non-empty queues they cover,
+ * so the backlog kept in the queue reaches subscribers once they can take it.</p>
+ *
+ * @author yun
+ */
+abstract class AbstractFanoutDispatchChainHandler implements DispatchChainHandler {
+
+    /**
+     * Most messages handed to the exporter in one batch.
+     */
+    static final int DEFAULT_BATCH_MESSAGES = 64;
+
+    /**
+     * Payload bytes after which a batch is closed even if fewer messages were drained.
+     */
+    static final long DEFAULT_BATCH_BYTES = 256 * 1024;
+
+    protected final DispatchExporter exporter;
+    protected final Dispatcher dispatcher;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile List<HandlerRegistration> registrations = List.of();
+
+    protected AbstractFanoutDispatchChainHandler(DispatchExporter exporter, Dispatcher dispatcher) {
+        this.exporter = exporter;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Starts listening to the exporter. The gateway calls it once the handler is fully
+     * constructed, so the exporter never invokes a handler that is still being built.
+     */
+    void start() {
+        registrations = List.of(
+                exporter.subscribeHandler(this::resume),
+                exporter.writableHandler(this::resume),
+                exporter.flushHandler(this::flushed)
+        );
+    }
+
+    @Override
+    public DispatchChain handle(DispatchContext context, DispatchChain chain) {
+        Message message = context.getMessage();
+        Destination destination = message.getDestination();
+        DispatcherQueue queue = dispatcher.get(destination);
+        if (queue == null || !parked(destination, queue)) {
+            activate(destination);
+        }
+        return chain.next(context);
+    }
+
+    DispatcherQueueDeleteResult deleteQueue(Destination destination, boolean force) {
+        checkOpen();
+
+        DispatcherQueue queue = dispatcher.get(destination);
+        if (queue == null) {
+            return DispatcherQueueDeleteResult.notFound();
+        }
+        int size = queue.size();
+        if (size > 0 && !force) {
+            return DispatcherQueueDeleteResult.notEmpty(size);
+        }
+        // An empty queue is cleared as well, which releases storage it keeps for reuse such as
+        // spill segment files.
+        queue.clear();
+
+        detach(destination, queue);
+        dispatcher.remove(destination);
+        DispatcherQueueMbeans.unregister(queue.getDestination());
+        return DispatcherQueueDeleteResult.deleted(size);
+    }
+
+    /**
+     * Removes a queue that stayed empty and received nothing for {@code idleTimeoutMillis}.
+     *
+     * <p>The queue loses its consumer, its JMX MBean and its trie node, so the next message for the
+     * destination starts over with a fresh queue. The queue is {@link DispatcherQueue#retire()
+     * retired} first, which fails if a producer got a message into it meanwhile; producers that
+     * looked it up before removal see it retired and enqueue into the fresh queue instead.</p>
+     *
+     * @return whether the queue was removed
+     */
+    boolean reap(DispatcherQueue queue, long nowMillis, long idleTimeoutMillis) {
+        if (isClosed()) {
+            return false;
+        }
+        Destination destination = queue.route();
+        if (queue.size() > 0
+                || nowMillis - queue.metadata().getLastEnqueuedAtMillis() < idleTimeoutMillis
+                || dispatcher.get(destination) != queue
+                || !queue.retire()) {
+            return false;
+        }
+
+        detach(destination, queue);
+        // Unregistered before the trie node goes so a queue recreated right away keeps its MBean.
+        DispatcherQueueMbeans.unregister(queue.getDestination());
+        dispatcher.remove(destination);
+        // The retired queue is empty and admits nothing, so this only releases storage it keeps for
+        // reuse such as spill segment files.
+        queue.clear();
+        return true;
+    }
+
+    /**
+     * Activates the non-empty queues covered by a subscription to {@code destination}, which may
+     * be a wildcard pattern, after it was added or its connection became writable.
+     */
+    void resume(Destination destination) {
+        if (isClosed()) {
+            return;
+        }
+        for (DispatcherQueue queue : covered(destination)) {
+            if (queue.size() > 0) {
+                activate(queue.route());
+            }
+        }
+    }
+
+    /**
+     * Records how long an export took from draining to the subscriber socket in its destination
+     * queue, or only process-wide if the queue was removed meanwhile.
+     */
+    void flushed(ExportFlush flush) {
+        DispatcherQueue queue = dispatcher.get(flush.destination());
+        DispatchLatency latency = queue != null ? queue.metadata().latency() : DispatchLatency.global();
+        latency.flushed(flush.latencyNanos(), flush.messages());
+    }
+
+    /**
+     * Whether the queue must not be drained because its destination has no subscribers or none
+     * of them is writable.
+     */
+    boolean parked(Destination destination, DispatcherQueue queue) {
+        return unsubscribed(destination, queue) || !exporter.isWritable(destination);
+    }
+
+    /**
+     * Whether the queue is parked because its destination has no subscribers.
+     */
+    boolean unsubscribed(Destination destination, DispatcherQueue queue) {
+        return queue.metadata().getUnsubscribedPolicy().parks() && !exporter.hasSubscribers(destination);
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            // a shared exporter must stop calling into a handler that is gone
+            registrations.forEach(HandlerRegistration::remove);
+            shutdown();
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    void checkOpen() {
+        if (closed.get()) {
+            throw new IllegalStateException("Fanout dispatch handler is closed");
+        }
+    }
+
+    /**
+     * Ensures the routed destination will be drained.
+     */
+    abstract void activate(Destination destination);
+
+    /**
+     * Detaches the consumer state of a queue that is being deleted.
+     */
+    abstract void detach(Destination destination, DispatcherQueue queue);
+
+    /**
+     * Releases every consumer owned by this handler. Invoked once.
+     */
+    abstract void shutdown();
+
+    private List<DispatcherQueue> covered(Destination destination) {
+        if (!destination.isWildcard()) {
+            DispatcherQueue queue = dispatcher.get(destination);
+            return queue == null ? List.of() : List.of(queue);
+        }
+        StringBuilder prefix = new StringBuilder();
+        for (String segment : destination.segments()) {
+            if (segment.equals(Destination.SINGLE_LEVEL_WILDCARD) || segment.equals(Destination.MULTI_LEVEL_WILDCARD)) {
+                break;
+            }
+            prefix.append('/').append(segment);
+        }
+        return dispatcher.searchAll(Destination.create(prefix + "/*")).stream()
+                .filter(queue -> destination.matches(queue.route()))
+                .toList();
+    }
+}
@@ -24,6 +24,7 @@ THE SOFTWARE.
 package org.traffichunter.titan.dispatch;
 
 import java.util.Collection;
+import java.util.List;
 import org.traffichunter.titan.core.util.Destination;
 
 /**
@@ -80,6 +81,26 @@ public final class AggregationResult {
         );
     }
 
+    /**
+     * Sums the counters of several results into one.
+     *
+     * <p>The counters are captured when this method runs. Completions that arrive later on the
+     * combined results are not reflected in the returned result.</p>
+     */
+    public static AggregationResult combine(Collection<Destination> destinations, List<AggregationResult> results) {
+        int attempted = 0;
+        int done = 0;
+        int succeeded = 0;
+        int failed = 0;
+        for (AggregationResult result : results) {
+            attempted += result.totalAttempted();
+            done += result.done();
+            succeeded += result.succeeded();
+            failed += result.failed();
+        }
+        return new AggregationResult(destinations, attempted, done, succeeded, failed);
+    }
+
     public void success() {
         succeeded++;
         incrementDone();
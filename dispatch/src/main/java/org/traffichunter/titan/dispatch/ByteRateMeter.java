@@ -0,0 +1,70 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.traffichunter.titan.core.util.concurrent.ThreadSafe;
+
+/**
+ * Byte counter that also reports its recent rate per second.
+ *
+ * <p>Recording is a single atomic add. The rate is computed when read, over the interval since the
+ * previous read once at least one second has passed, so it follows the cadence of the monitor
+ * polling it rather than needing a timer of its own.</p>
+ *
+ * @author yun
+ */
+@ThreadSafe
+final class ByteRateMeter {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong total = new AtomicLong();
+    private long windowStartNanos = System.nanoTime();
+    private long windowStartTotal;
+    private long bytesPerSecond;
+
+    void mark(long bytes) {
+        total.addAndGet(bytes);
+    }
+
+    long total() {
+        return total.get();
+    }
+
+    long bytesPerSecond() {
+        long now = System.nanoTime();
+        synchronized (this) {
+            long elapsed = now - windowStartNanos;
+            if (elapsed >= WINDOW_NANOS) {
+                long current = total.get();
+                bytesPerSecond = (long) ((current - windowStartTotal) * ((double) WINDOW_NANOS / elapsed));
+                windowStartTotal = current;
+                windowStartNanos = now;
+            }
+            return bytesPerSecond;
+        }
+    }
+}
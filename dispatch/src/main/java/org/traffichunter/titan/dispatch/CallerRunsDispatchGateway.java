@@ -0,0 +1,301 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
+
+/**
+ * Dispatch gateway that runs the handler chain on the calling thread.
+ *
+ * <p>Routing, optional handlers, and fanout activation are cheap and non-blocking while the
+ * destination queue accepts messages, so they run inline on the I/O event loop that decoded the
+ * frame. The caller receives a shared pre-completed future instead of a thread hop and two
+ * future allocations. Only draining stays on the pool, through
+ * {@link ScheduledFanoutDispatchChainHandler}.</p>
+ *
+ * <pre>{@code
+ * event loop: sparkDispatch(message)
+ *      |
+ *      v
+ * route -- blocking policy and no room? --yes--> rest of the traversal on the routing executor
+ *      |
+ *      v
+ * optional handlers -> activate(destination) -> COMPLETED
+ *                             |
+ *                             v
+ *                pool: drain and export batches
+ * }</pre>
+ *
+ * <p>Enqueueing into a paused or full queue waits for it to resume under a blocking
+ * {@link DispatcherQueueOverflowPolicy}. Inline routing therefore only admits into such a queue if
+ * the message fits right away; otherwise the traversal stops before any later handler and
+ * continues from the routing handler on {@link #newRoutingExecutor()}, where the producer waits
+ * on a virtual thread instead of the event loop or a drain thread. Handlers before routing do not
+ * run twice. Queues whose policy never blocks apply it inline.</p>
+ *
+ * <p>Until a producer's deferred traversals have finished, its later messages queue behind them
+ * and run on the routing executor in arrival order instead of routing inline, so a deferral never
+ * reorders one producer's messages.</p>
+ *
+ * @author yun
+ */
+class CallerRunsDispatchGateway extends AbstractExecutorDispatchGateway {
+
+    private static final CompletableFuture<@Nullable Void> COMPLETED = new CompletedDispatch();
+
+    private final Map<String, ConcurrentLinkedQueue<DeferredDispatch>> deferred = new ConcurrentHashMap<>();
+
+    public CallerRunsDispatchGateway(DispatchExporter exporter) {
+        this(exporter, Dispatcher.getDefault());
+    }
+
+    public CallerRunsDispatchGateway(DispatchExporter exporter, Dispatcher dispatcher) {
+        this(
+                Runtime.getRuntime().availableProcessors(),
+                ScheduledFanoutDispatchChainHandler.DEFAULT_MAX_MESSAGES_PER_TURN,
+                exporter,
+                dispatcher
+        );
+    }
+
+    public CallerRunsDispatchGateway(
+            int nThreads,
+            int maxMessagesPerTurn,
+            DispatchExporter exporter,
+            Dispatcher dispatcher
+    ) {
+        this(
+                Executors.newFixedThreadPool(nThreads, newThreadFactory()),
+                maxMessagesPerTurn,
+                exporter,
+                dispatcher
+        );
+    }
+
+    private CallerRunsDispatchGateway(
+            ExecutorService executor,
+            int maxMessagesPerTurn,
+            DispatchExporter exporter,
+            Dispatcher dispatcher
+    ) {
+        super(
+                executor,
+                newRoutingExecutor(),
+                dispatcher,
+                new ScheduledFanoutDispatchChainHandler(executor, maxMessagesPerTurn, exporter, dispatcher)
+        );
+    }
+
+    @Override
+    protected CompletableFuture<@Nullable Void> sparkDispatch(
+            DispatchHandlerChain chain,
+            DispatchContext context
+    ) {
+        Message message = context.getMessage();
+        String producer = message.getProducerId();
+        if (!deferred.isEmpty()) {
+            CompletableFuture<@Nullable Void> queued = queueBehindDeferred(producer, () -> chain.dispatch(context));
+            if (queued != null) {
+                return queued;
+            }
+        }
+
+        InlineDispatchContext inline = new InlineDispatchContext(message);
+        try {
+            chain.dispatch(inline);
+        } catch (Throwable error) {
+            return CompletableFuture.failedFuture(error);
+        }
+        Consumer<DispatchContext> remainder = inline.remainder();
+        if (remainder != null) {
+            return defer(producer, () -> remainder.accept(context));
+        }
+        return COMPLETED;
+    }
+
+    /**
+     * Queues a traversal behind the deferred ones of its producer.
+     *
+     * @return the traversal's future, or {@code null} if the producer has nothing deferred
+     */
+    private @Nullable CompletableFuture<@Nullable Void> queueBehindDeferred(String producer, Runnable dispatch) {
+        DeferredDispatch task = new DeferredDispatch(dispatch);
+        return deferred.computeIfPresent(producer, (key, lane) -> {
+            lane.add(task);
+            return lane;
+        }) != null ? task.result : null;
+    }
+
+    private CompletableFuture<@Nullable Void> defer(String producer, Runnable dispatch) {
+        DeferredDispatch task = new DeferredDispatch(dispatch);
+        ConcurrentLinkedQueue<DeferredDispatch> created = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<DeferredDispatch> lane = deferred.compute(producer, (key, current) -> {
+            ConcurrentLinkedQueue<DeferredDispatch> tasks = current != null ? current : created;
+            tasks.add(task);
+            return tasks;
+        });
+        if (lane == created) {
+            try {
+                routingExecutor().execute(() -> runDeferred(producer, lane));
+            } catch (RejectedExecutionException e) {
+                deferred.remove(producer, lane);
+                lane.forEach(rejected -> rejected.result.completeExceptionally(e));
+            }
+        }
+        return task.result;
+    }
+
+    /**
+     * Runs a producer's deferred traversals in order. The running one stays at the head of the
+     * lane, so messages arriving meanwhile queue behind it, and the lane is removed together with
+     * its last traversal.
+     */
+    private void runDeferred(String producer, ConcurrentLinkedQueue<DeferredDispatch> lane) {
+        @Nullable ConcurrentLinkedQueue<DeferredDispatch> current = lane;
+        DeferredDispatch task;
+        while (current != null && (task = current.peek()) != null) {
+            task.run();
+            current = deferred.computeIfPresent(producer, (key, tasks) -> {
+                tasks.poll();
+                return tasks.isEmpty() ? null : tasks;
+            });
+        }
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        return Thread.ofPlatform()
+                .name("FanoutCallerRunsThread-", 0)
+                .factory();
+    }
+
+    /**
+     * Context of a traversal running on the calling thread. Routing defers it when admission would
+     * have to wait, and the gateway then hands the original context to the rest of the traversal
+     * on the routing executor.
+     */
+    static final class InlineDispatchContext extends DispatchContext {
+
+        private @Nullable Consumer<DispatchContext> remainder;
+
+        private InlineDispatchContext(Message message) {
+            super(message);
+        }
+
+        /**
+         * Ends the inline traversal. {@code remainder} continues it, starting at the deferring
+         * handler, with a context that may wait.
+         */
+        void defer(Consumer<DispatchContext> remainder) {
+            this.remainder = remainder;
+        }
+
+        boolean isDeferred() {
+            return remainder != null;
+        }
+
+        @Nullable Consumer<DispatchContext> remainder() {
+            return remainder;
+        }
+    }
+
+    /**
+     * Traversal queued behind a producer's deferred traversal.
+     */
+    private static final class DeferredDispatch {
+
+        private final Runnable dispatch;
+        private final CompletableFuture<@Nullable Void> result = new CompletableFuture<>();
+
+        private DeferredDispatch(Runnable dispatch) {
+            this.dispatch = dispatch;
+        }
+
+        void run() {
+            try {
+                dispatch.run();
+                result.complete(null);
+            } catch (Throwable error) {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * Completion token shared by every inline dispatch. Attempts to change its outcome are ignored
+     * or rejected so one caller cannot affect another.
+     */
+    private static final class CompletedDispatch extends CompletableFuture<@Nullable Void> {
+
+        private CompletedDispatch() {
+            super.complete(null);
+        }
+
+        @Override
+        public boolean complete(@Nullable Void value) {
+            return false;
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable ex) {
+            return false;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public void obtrudeValue(@Nullable Void value) {
+            throw new UnsupportedOperationException("Shared dispatch completion cannot be changed");
+        }
+
+        @Override
+        public void obtrudeException(Throwable ex) {
+            throw new UnsupportedOperationException("Shared dispatch completion cannot be changed");
+        }
+
+        @Override
+        public CompletableFuture<@Nullable Void> completeOnTimeout(@Nullable Void value, long timeout, TimeUnit unit) {
+            return this;
+        }
+
+        @Override
+        public CompletableFuture<@Nullable Void> orTimeout(long timeout, TimeUnit unit) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+
+/**
+ * Last-value queue that keeps at most one pending message per conflation key.
+ *
+ * <p>The key is the value of a configurable message header. A message whose key already has a
+ * pending message replaces it in place: the newer message takes over the older one's position,
+ * so a constantly updated key is neither starved nor moved to the back, and the older message's
+ * bytes are released right away. A replacement is admitted against the bytes it adds, so a full
+ * queue still takes updates of its pending keys. Messages without the header are never conflated
+ * and behave like a plain FIFO.</p>
+ *
+ * <p>Storage is an insertion-ordered hash map guarded by one lock, which makes replacement and
+ * head removal constant time.</p>
+ *
+ * @author yun
+ */
+class ConflatingDispatcherQueue extends AbstractDispatcherQueue {
+
+    private final String keyHeader;
+
+    // guarded by lock
+    private final LinkedHashMap<Object, Message> entries = new LinkedHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    ConflatingDispatcherQueue(
+            final Destination destination,
+            final DestinationQueueMetadata metadata,
+            final String keyHeader
+    ) {
+        super(destination, metadata);
+        if (keyHeader.isBlank()) {
+            throw new IllegalArgumentException("Conflation key header must not be blank");
+        }
+        this.keyHeader = keyHeader;
+    }
+
+    String keyHeader() {
+        return keyHeader;
+    }
+
+    @Override
+    protected boolean doOffer(Message message) {
+        Message replaced;
+        lock.lock();
+        try {
+            replaced = entries.put(keyOf(message), message);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        if (replaced != null) {
+            conflated(replaced);
+        }
+        return true;
+    }
+
+    @Override
+    protected long replacedBytes(Message message) {
+        Object key = keyOf(message);
+        if (key instanceof Unkeyed) {
+            return 0L;
+        }
+        lock.lock();
+        try {
+            Message pending = entries.get(key);
+            return pending != null ? pending.getSize() : 0L;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected Message doTake() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            Message message;
+            while ((message = pollFirst()) == null) {
+                notEmpty.await();
+            }
+            return message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected @Nullable Message doPoll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Message message;
+            while ((message = pollFirst()) == null) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected @Nullable Message doPoll() {
+        lock.lock();
+        try {
+            return pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected boolean doRemove(Message message) {
+        Object key = keyOf(message);
+        lock.lock();
+        try {
+            if (entries.get(key) != message) {
+                return false;
+            }
+            entries.remove(key);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected List<Message> doDrain() {
+        lock.lock();
+        try {
+            List<Message> removed = new ArrayList<>(entries.values());
+            entries.clear();
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(Message message) {
+        Object key = keyOf(message);
+        lock.lock();
+        try {
+            return entries.get(key) == message;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public @Nullable Message peek() {
+        lock.lock();
+        try {
+            Iterator<Message> iterator = entries.values().iterator();
+            return iterator.hasNext() ? iterator.next() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return size() > 0;
+    }
+
+    @Override
+    public Message next() {
+        Message message = peek();
+        if (message == null) {
+            throw new NoSuchElementException();
+        }
+        return message;
+    }
+
+    @Override
+    public List<Message> snapshot() {
+        lock.lock();
+        try {
+            return List.copyOf(entries.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Object keyOf(Message message) {
+        String key = message.getHeader(keyHeader);
+        return key != null ? key : new Unkeyed(message.getUniqueId());
+    }
+
+    private @Nullable Message pollFirst() {
+        Iterator<Message> iterator = entries.values().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        Message message = iterator.next();
+        iterator.remove();
+        return message;
+    }
+
+    /**
+     * Map key of a message without a conflation key, distinct from every header value.
+     */
+    private record Unkeyed(String uniqueId) {
+    }
+}
@@ -29,6 +29,7 @@ import java.time.Instant;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Thread-safe live metadata for one destination queue.
@@ -53,6 +54,21 @@ public final class DestinationQueueMetadata {
     private final long resumePendingBytes;
     private final AtomicLong pendingBytes = new AtomicLong();
     private final AtomicBoolean paused = new AtomicBoolean();
+    private final LongAdder expiredMessages = new LongAdder();
+    private final LongAdder conflatedMessages = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder evictedMessages = new LongAdder();
+    private final LongAdder rejectedMessages = new LongAdder();
+    private final LongAdder unsubscribedMessages = new LongAdder();
+    private final LongAdder consumerStops = new LongAdder();
+    private final LongAdder unwritableStops = new LongAdder();
+    private final DispatchLatency latency = DispatchLatency.destination();
+    private volatile long timeToLiveMillis;
+    private volatile DispatcherQueueOverflowPolicy overflowPolicy = DispatcherQueueOverflowPolicy.REJECT_AND_CLOSE;
+    private volatile long overflowTimeoutMillis;
+    private volatile DispatcherQueueUnsubscribedPolicy unsubscribedPolicy = DispatcherQueueUnsubscribedPolicy.DELIVER;
+    private volatile long unsubscribedBufferBytes;
+    private volatile long lastEnqueuedAtMillis;
 
     public DestinationQueueMetadata(
             String destination,
@@ -76,13 +92,25 @@ public final class DestinationQueueMetadata {
         this.createdAt = createdAt;
         this.maxPendingBytes = maxPendingBytes;
         this.resumePendingBytes = resumePendingBytes;
+        this.lastEnqueuedAtMillis = createdAt.toEpochMilli();
     }
 
     boolean tryReserve(long bytes) {
+        return tryReserve(bytes, 0L);
+    }
+
+    /**
+     * Reserves {@code bytes} when they fit under the limit once {@code credit} pending bytes, about
+     * to be released by the admission itself, are discounted.
+     */
+    boolean tryReserve(long bytes, long credit) {
         if (bytes < 0) {
             throw new IllegalArgumentException("Pending bytes must not be negative");
         }
-        return reserveBytes(bytes);
+        if (credit < 0) {
+            throw new IllegalArgumentException("Credited bytes must not be negative");
+        }
+        return reserveBytes(bytes, credit);
     }
 
     void release(long bytes) {
@@ -102,6 +130,75 @@ public final class DestinationQueueMetadata {
         this.paused.set(paused);
     }
 
+    void expired(int messages) {
+        expiredMessages.add(messages);
+    }
+
+    void conflated(int messages) {
+        conflatedMessages.add(messages);
+    }
+
+    void dropped(int messages) {
+        droppedMessages.add(messages);
+    }
+
+    void evicted(int messages) {
+        evictedMessages.add(messages);
+    }
+
+    void rejected(int messages) {
+        rejectedMessages.add(messages);
+    }
+
+    void unsubscribed(int messages) {
+        unsubscribedMessages.add(messages);
+    }
+
+    void consumerStopped() {
+        consumerStops.increment();
+    }
+
+    void unwritableStopped() {
+        unwritableStops.increment();
+    }
+
+    /**
+     * Latency histograms of this destination, which also feed the process-wide ones.
+     */
+    DispatchLatency latency() {
+        return latency;
+    }
+
+    void enqueued(long nowMillis) {
+        // Skips the volatile store for bursts within the same millisecond.
+        if (lastEnqueuedAtMillis != nowMillis) {
+            lastEnqueuedAtMillis = nowMillis;
+        }
+    }
+
+    void unsubscribedPolicy(DispatcherQueueUnsubscribedPolicy unsubscribedPolicy, long unsubscribedBufferBytes) {
+        if (unsubscribedBufferBytes < 0) {
+            throw new IllegalArgumentException("Unsubscribed buffer bytes must not be negative");
+        }
+        this.unsubscribedPolicy = unsubscribedPolicy;
+        this.unsubscribedBufferBytes = unsubscribedBufferBytes;
+    }
+
+    void overflowPolicy(DispatcherQueueOverflowPolicy overflowPolicy, long overflowTimeoutMillis) {
+        if (overflowTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Overflow timeout must not be negative");
+        }
+        this.overflowPolicy = overflowPolicy;
+        this.overflowTimeoutMillis = overflowTimeoutMillis;
+    }
+
+    void timeToLiveMillis(long timeToLiveMillis) {
+        if (timeToLiveMillis < 0) {
+            throw new IllegalArgumentException("Time to live must not be negative");
+        }
+        this.timeToLiveMillis = timeToLiveMillis;
+    }
+
     void destination(String destination) {
         if (destination.isBlank()) {
             throw new IllegalArgumentException("Destination must not be blank");
@@ -133,6 +230,100 @@ public final class DestinationQueueMetadata {
         return paused.get();
     }
 
+    /**
+     * Default time to live applied to messages without their own expiry time, {@code 0} if none.
+     */
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    /**
+     * Number of messages discarded because they expired before being dispatched.
+     */
+    public long getExpiredMessages() {
+        return expiredMessages.sum();
+    }
+
+    /**
+     * Number of pending messages replaced by a newer message with the same conflation key.
+     */
+    public long getConflatedMessages() {
+        return conflatedMessages.sum();
+    }
+
+    public DispatcherQueueOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * How long {@link DispatcherQueueOverflowPolicy#BLOCK_WITH_TIMEOUT} waits for room.
+     */
+    public long getOverflowTimeoutMillis() {
+        return overflowTimeoutMillis;
+    }
+
+    /**
+     * Number of new messages discarded by a drop overflow policy.
+     */
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    /**
+     * Number of queued messages discarded from the head to make room under
+     * {@link DispatcherQueueOverflowPolicy#DROP_OLDEST}.
+     */
+    public long getEvictedMessages() {
+        return evictedMessages.sum();
+    }
+
+    /**
+     * Number of messages the queue refused without discarding them, leaving the producer to be
+     * told.
+     */
+    public long getRejectedMessages() {
+        return rejectedMessages.sum();
+    }
+
+    public DispatcherQueueUnsubscribedPolicy getUnsubscribedPolicy() {
+        return unsubscribedPolicy;
+    }
+
+    /**
+     * Pending bytes kept for the next subscriber under {@link DispatcherQueueUnsubscribedPolicy#BUFFER}.
+     */
+    public long getUnsubscribedBufferBytes() {
+        return unsubscribedBufferBytes;
+    }
+
+    /**
+     * Number of messages discarded because the destination had no subscribers.
+     */
+    public long getUnsubscribedMessages() {
+        return unsubscribedMessages.sum();
+    }
+
+    /**
+     * Number of times the fanout consumer stopped because the destination had no subscribers.
+     */
+    public long getConsumerStops() {
+        return consumerStops.sum();
+    }
+
+    /**
+     * Number of times the fanout consumer stopped because no subscriber connection was writable.
+     */
+    public long getUnwritableStops() {
+        return unwritableStops.sum();
+    }
+
+    /**
+     * Epoch millis of the last enqueue attempt, or of queue creation if nothing was enqueued yet.
+     */
+    public long getLastEnqueuedAtMillis() {
+        return lastEnqueuedAtMillis;
+    }
+
     public boolean isSaturated() {
         return getPendingBytes() >= maxPendingBytes;
     }
@@ -159,10 +350,10 @@ public final class DestinationQueueMetadata {
         }
     }
 
-    private boolean reserveBytes(long bytes) {
+    private boolean reserveBytes(long bytes, long credit) {
         while (true) {
             long current = pendingBytes.get();
-            if (bytes > maxPendingBytes - current) {
+            if (bytes - credit > maxPendingBytes - current) {
                 return false;
             }
             if (pendingBytes.compareAndSet(current, current + bytes)) {
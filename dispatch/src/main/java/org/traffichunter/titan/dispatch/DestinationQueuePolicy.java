@@ -0,0 +1,127 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.util.Destination;
+
+/**
+ * Queue storage, overflow handling, disk spilling and unsubscribed handling chosen for destinations
+ * matching a pattern.
+ *
+ * <p>Dispatchers consult their policies, in order, when a queue is created implicitly by
+ * publishing. The first policy whose {@link #pattern()} matches the destination decides the
+ * storage type, the header holding the conflation key of {@link DispatcherQueueType#CONFLATING}
+ * queues, the {@link DispatcherQueueOverflowPolicy}, whether messages past a number of pending
+ * bytes spill to disk, and the {@link DispatcherQueueUnsubscribedPolicy} for messages nobody
+ * subscribes to. A policy without a type keeps the
+ * dispatcher's default type. Destinations without a matching policy use the dispatcher's
+ * defaults.</p>
+ *
+ * @param pattern destination or wildcard pattern, see {@link Destination#matches(Destination)}
+ * @param type queue storage type for matching destinations, or {@code null} for the default
+ * @param conflationKey header holding the conflation key of conflating queues
+ * @param overflowPolicy what matching queues do with messages they cannot admit
+ * @param overflowTimeout how long {@link DispatcherQueueOverflowPolicy#BLOCK_WITH_TIMEOUT} waits
+ * @param spillThresholdBytes pending bytes past which new messages are written to disk, {@code 0}
+ *                            to never spill
+ * @param spillDirectory directory holding the spill segment files of matching destinations
+ * @param unsubscribedPolicy what matching queues do with messages published while nobody subscribes
+ * @param unsubscribedBufferBytes pending bytes kept for the next subscriber by
+ *                                {@link DispatcherQueueUnsubscribedPolicy#BUFFER}
+ * @author yun
+ */
+public record DestinationQueuePolicy(
+        Destination pattern,
+        @Nullable DispatcherQueueType type,
+        String conflationKey,
+        DispatcherQueueOverflowPolicy overflowPolicy,
+        Duration overflowTimeout,
+        long spillThresholdBytes,
+        Path spillDirectory,
+        DispatcherQueueUnsubscribedPolicy unsubscribedPolicy,
+        long unsubscribedBufferBytes
+) {
+
+    /**
+     * Default directory of spill segment files, under the system temporary directory.
+     */
+    public static final Path DEFAULT_SPILL_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "titan-spill");
+
+    public DestinationQueuePolicy {
+        if (conflationKey.isBlank()) {
+            throw new IllegalArgumentException("Conflation key header must not be blank");
+        }
+        if (overflowTimeout.isNegative()) {
+            throw new IllegalArgumentException("Overflow timeout must not be negative");
+        }
+        if (spillThresholdBytes < 0) {
+            throw new IllegalArgumentException("Spill threshold must not be negative");
+        }
+        if (unsubscribedBufferBytes < 0) {
+            throw new IllegalArgumentException("Unsubscribed buffer bytes must not be negative");
+        }
+    }
+
+    /**
+     * Policy choosing only the storage type and conflation key, with the default overflow, spill
+     * and unsubscribed handling.
+     */
+    public DestinationQueuePolicy(Destination pattern, @Nullable DispatcherQueueType type, String conflationKey) {
+        this(
+                pattern,
+                type,
+                conflationKey,
+                DispatcherQueueOverflowPolicy.REJECT_AND_CLOSE,
+                Duration.ZERO,
+                0L,
+                DEFAULT_SPILL_DIRECTORY,
+                DispatcherQueueUnsubscribedPolicy.DELIVER,
+                0L
+        );
+    }
+
+    public boolean spills() {
+        return spillThresholdBytes > 0;
+    }
+
+    public boolean matches(Destination destination) {
+        return pattern.matches(destination);
+    }
+
+    /**
+     * Returns the first policy matching {@code destination}, or {@code null} if none does.
+     */
+    static @Nullable DestinationQueuePolicy find(List<DestinationQueuePolicy> policies, Destination destination) {
+        for (DestinationQueuePolicy policy : policies) {
+            if (policy.matches(destination)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+}
@@ -24,6 +24,7 @@ THE SOFTWARE.
 package org.traffichunter.titan.dispatch;
 
 import java.io.Closeable;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
@@ -52,6 +53,10 @@ public interface DispatchGateway extends Closeable, DispatcherQueueManager {
         return new ThreadPoolExecutorDispatchGateway(exporter, dispatcher);
     }
 
+    static DispatchGateway ofThread(DispatchExporter exporter, Dispatcher dispatcher, int nThreads) {
+        return new ThreadPoolExecutorDispatchGateway(nThreads, exporter, dispatcher);
+    }
+
     static DispatchGateway ofVirtual(DispatchExporter exporter) {
         return new VirtualThreadExecutorDispatchGateway(exporter);
     }
@@ -60,6 +65,65 @@ public interface DispatchGateway extends Closeable, DispatcherQueueManager {
         return new VirtualThreadExecutorDispatchGateway(exporter, dispatcher);
     }
 
+    static DispatchGateway ofScheduled(DispatchExporter exporter) {
+        return new ScheduledDispatchGateway(exporter);
+    }
+
+    static DispatchGateway ofScheduled(DispatchExporter exporter, Dispatcher dispatcher) {
+        return new ScheduledDispatchGateway(exporter, dispatcher);
+    }
+
+    static DispatchGateway ofScheduled(DispatchExporter exporter, Dispatcher dispatcher, int nThreads) {
+        return new ScheduledDispatchGateway(
+                nThreads,
+                ScheduledFanoutDispatchChainHandler.DEFAULT_MAX_MESSAGES_PER_TURN,
+                exporter,
+                dispatcher
+        );
+    }
+
+    static DispatchGateway ofWorkStealing(DispatchExporter exporter) {
+        return new ForkJoinPoolDispatchGateway(exporter);
+    }
+
+    static DispatchGateway ofWorkStealing(DispatchExporter exporter, Dispatcher dispatcher) {
+        return new ForkJoinPoolDispatchGateway(exporter, dispatcher);
+    }
+
+    static DispatchGateway ofWorkStealing(DispatchExporter exporter, Dispatcher dispatcher, int parallelism) {
+        return new ForkJoinPoolDispatchGateway(
+                parallelism,
+                ScheduledFanoutDispatchChainHandler.DEFAULT_MAX_MESSAGES_PER_TURN,
+                exporter,
+                dispatcher
+        );
+    }
+
+    static DispatchGateway ofSharded(DispatchExporter exporter) {
+        return ShardedDispatchGateway.start(exporter);
+    }
+
+    static DispatchGateway ofSharded(DispatchExporter exporter, Dispatcher dispatcher) {
+        return ShardedDispatchGateway.start(exporter, dispatcher);
+    }
+
+    static DispatchGateway ofSharded(DispatchExporter exporter, Dispatcher dispatcher, int shards) {
+        return ShardedDispatchGateway.start(
+                shards,
+                ScheduledFanoutDispatchChainHandler.DEFAULT_MAX_MESSAGES_PER_TURN,
+                exporter,
+                dispatcher
+        );
+    }
+
+    static DispatchGateway ofCallerRuns(DispatchExporter exporter) {
+        return new CallerRunsDispatchGateway(exporter);
+    }
+
+    static DispatchGateway ofCallerRuns(DispatchExporter exporter, Dispatcher dispatcher) {
+        return new CallerRunsDispatchGateway(exporter, dispatcher);
+    }
+
     /**
      * Configures the dispatch handler chain used by {@link #sparkDispatch(Message)}.
      *
@@ -76,6 +140,19 @@ public interface DispatchGateway extends Closeable, DispatcherQueueManager {
     @CanIgnoreReturnValue
     DispatchGateway chainHandler(Handler<DispatchHandlerChain> chainHandler);
 
+    /**
+     * Configures how long a queue may stay empty without new messages before it is reaped.
+     *
+     * <p>A reaped queue is removed from the dispatcher together with its consumer and JMX MBean;
+     * the next message for the destination creates a fresh queue. {@link Duration#ZERO}, the
+     * default, keeps every queue until it is deleted explicitly.</p>
+     *
+     * @param idleTimeout idle time after which empty queues are removed
+     * @return this gateway
+     */
+    @CanIgnoreReturnValue
+    DispatchGateway idleQueueTimeout(Duration idleTimeout);
+
     /**
      * Sparks one message through the configured routing and fanout handler chain.
      *
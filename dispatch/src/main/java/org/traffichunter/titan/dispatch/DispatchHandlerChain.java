@@ -40,9 +40,10 @@ import org.traffichunter.titan.core.channel.LinkedNode;
  * metrics to participate without coupling them directly to the gateway. Handler order is
  * significant because each stage observes mutations made by all preceding stages.</p>
  *
- * <p>Starting the chain schedules the complete traversal on the configured {@link Executor}.
- * Each handler decides whether to continue by invoking its supplied {@link DispatchChain}. The
- * future returned to the caller completes when traversal finishes or a handler throws.</p>
+ * <p>Starting the chain schedules the complete traversal on the configured {@link Executor};
+ * {@link #dispatch(DispatchContext)} runs it on the calling thread instead. Each handler decides
+ * whether to continue by invoking its supplied {@link DispatchChain}. The future returned to the
+ * caller completes when traversal finishes or a handler throws.</p>
  *
  * <p>A no-op sentinel head is excluded from iteration. The chain only manages structure and
  * propagation; lifecycle ownership remains with the component that creates a handler. Structural
@@ -113,6 +114,15 @@ public class DispatchHandlerChain extends AbstractLinkedHandlerChain<DispatchHan
         return this;
     }
 
+    /**
+     * Runs dispatch propagation on the calling thread.
+     *
+     * <p>Handler failures are thrown to the caller instead of completing a future.</p>
+     */
+    public void dispatch(DispatchContext context) {
+        head().next(context);
+    }
+
     /**
      * Sparks dispatch propagation on the configured executor.
      */
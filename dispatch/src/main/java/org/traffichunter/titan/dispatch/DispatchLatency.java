@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.util.concurrent.ThreadSafe;
+import org.traffichunter.titan.core.util.management.DispatchLatencyMbean;
+import org.traffichunter.titan.core.util.management.DispatchLatencyMbeans;
+import org.traffichunter.titan.core.util.management.LatencyResource;
+
+/**
+ * Latency histograms of the three fanout pipeline stages.
+ *
+ * <ul>
+ *     <li>enqueue: from decoding a message to admitting it into its destination queue</li>
+ *     <li>dispatch: from admission to the consumer draining it</li>
+ *     <li>flush: from draining to its frame being written to a subscriber socket</li>
+ * </ul>
+ *
+ * <p>Each destination queue keeps its own instance, and every latency it records is also
+ * recorded by the process-wide {@link #global()} instance, which registers itself as the
+ * {@link DispatchLatencyMbean} on first use. Reading a stage returns its percentiles over the last
+ * completed interval of its {@link LatencyHistogram}, the same for every reader.</p>
+ *
+ * @author yun
+ */
+@ThreadSafe
+final class DispatchLatency implements DispatchLatencyMbean {
+
+    private final @Nullable DispatchLatency parent;
+    private final LatencyHistogram enqueue = new LatencyHistogram();
+    private final LatencyHistogram dispatch = new LatencyHistogram();
+    private final LatencyHistogram flush = new LatencyHistogram();
+
+    DispatchLatency() {
+        this(null);
+    }
+
+    DispatchLatency(@Nullable DispatchLatency parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Returns a per-destination instance that also records into {@link #global()}.
+     */
+    static DispatchLatency destination() {
+        return new DispatchLatency(global());
+    }
+
+    static DispatchLatency global() {
+        return Global.INSTANCE;
+    }
+
+    void enqueued(long nanos) {
+        enqueue.record(nanos);
+        if (parent != null) {
+            parent.enqueued(nanos);
+        }
+    }
+
+    void dispatched(long nanos) {
+        dispatch.record(nanos);
+        if (parent != null) {
+            parent.dispatched(nanos);
+        }
+    }
+
+    /**
+     * Records that {@code messages} frames drained together were written to one subscriber.
+     */
+    void flushed(long nanos, int messages) {
+        flush.record(nanos, messages);
+        if (parent != null) {
+            parent.flushed(nanos, messages);
+        }
+    }
+
+    @Override
+    public LatencyResource getEnqueueLatency() {
+        return enqueue.snapshot();
+    }
+
+    @Override
+    public LatencyResource getDispatchLatency() {
+        return dispatch.snapshot();
+    }
+
+    @Override
+    public LatencyResource getFlushLatency() {
+        return flush.snapshot();
+    }
+
+    private static final class Global {
+
+        private static final DispatchLatency INSTANCE = new DispatchLatency();
+
+        static {
+            DispatchLatencyMbeans.register(INSTANCE);
+        }
+    }
+}
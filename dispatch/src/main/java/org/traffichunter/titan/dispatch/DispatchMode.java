@@ -32,6 +32,11 @@ import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
  * destination ownership, and exporter behavior remain the same for every mode,
  * so protocol launchers can switch execution strategy without changing the
  * fanout contract.</p>
+ *
+ * <p>{@link #SHARDED} still takes its destination queues from the
+ * {@link Dispatcher}, but only the shard thread owning a destination admits
+ * into or drains its queue. The shard never waits for room; it holds back
+ * messages a blocking overflow policy cannot admit yet.</p>
  */
 public enum DispatchMode {
 
@@ -45,6 +50,11 @@ public enum DispatchMode {
         public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter, Dispatcher dispatcher) {
             return DispatchGateway.ofThread(dispatchExporter, dispatcher);
         }
+
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter, Dispatcher dispatcher, int parallelism) {
+            return DispatchGateway.ofThread(dispatchExporter, dispatcher, parallelism);
+        }
     },
     VT_EXECUTOR("virtual") {
         @Override
@@ -57,6 +67,65 @@ public enum DispatchMode {
             return DispatchGateway.ofVirtual(dispatchExporter, dispatcher);
         }
     },
+    SCHEDULED("scheduled") {
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter) {
+            return DispatchGateway.ofScheduled(dispatchExporter);
+        }
+
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter, Dispatcher dispatcher) {
+            return DispatchGateway.ofScheduled(dispatchExporter, dispatcher);
+        }
+
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter, Dispatcher dispatcher, int parallelism) {
+            return DispatchGateway.ofScheduled(dispatchExporter, dispatcher, parallelism);
+        }
+    },
+    WORK_STEALING("work-stealing") {
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter) {
+            return DispatchGateway.ofWorkStealing(dispatchExporter);
+        }
+
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter, Dispatcher dispatcher) {
+            return DispatchGateway.ofWorkStealing(dispatchExporter, dispatcher);
+        }
+
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter, Dispatcher dispatcher, int parallelism) {
+            return DispatchGateway.ofWorkStealing(dispatchExporter, dispatcher, parallelism);
+        }
+    },
+    CALLER_RUNS("caller-runs") {
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter) {
+            return DispatchGateway.ofCallerRuns(dispatchExporter);
+        }
+
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter, Dispatcher dispatcher) {
+            return DispatchGateway.ofCallerRuns(dispatchExporter, dispatcher);
+        }
+    },
+    SHARDED("sharded") {
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter) {
+            return DispatchGateway.ofSharded(dispatchExporter);
+        }
+
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter, Dispatcher dispatcher) {
+            return DispatchGateway.ofSharded(dispatchExporter, dispatcher);
+        }
+
+        @Override
+        public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter, Dispatcher dispatcher, int parallelism) {
+            return DispatchGateway.ofSharded(dispatchExporter, dispatcher, parallelism);
+        }
+    },
     ;
 
     private final String name;
@@ -73,10 +142,23 @@ public enum DispatchMode {
 
     public abstract DispatchGateway dispatchGateway(DispatchExporter dispatchExporter, Dispatcher dispatcher);
 
+    /**
+     * Creates a gateway whose worker pool, or shard count for {@link #SHARDED}, has
+     * {@code parallelism} threads. Modes without a bounded pool, virtual threads and caller-runs,
+     * ignore the value.
+     */
+    public DispatchGateway dispatchGateway(DispatchExporter dispatchExporter, Dispatcher dispatcher, int parallelism) {
+        return dispatchGateway(dispatchExporter, dispatcher);
+    }
+
     public static DispatchMode resolveMode(String modeName) {
         return switch (modeName) {
             case "platform" -> DispatchMode.PLATFORM_EXECUTOR;
             case "virtual" -> DispatchMode.VT_EXECUTOR;
+            case "scheduled" -> DispatchMode.SCHEDULED;
+            case "caller-runs" -> DispatchMode.CALLER_RUNS;
+            case "work-stealing" -> DispatchMode.WORK_STEALING;
+            case "sharded" -> DispatchMode.SHARDED;
             default -> throw new IllegalStateException("Unexpected value: " + modeName);
         };
     }
@@ -24,6 +24,7 @@
 package org.traffichunter.titan.dispatch;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.time.Duration;
 import java.util.List;
 import org.jspecify.annotations.Nullable;
 import org.traffichunter.titan.core.util.Destination;
@@ -56,6 +57,20 @@ public interface Dispatcher {
         return new TrieDispatcher(maxPendingBytes, resumePendingBytes);
     }
 
+    /**
+     * Returns the default destination registry creating queues of {@code queueType} with a default
+     * message time to live, choosing queue settings by destination pattern.
+     */
+    static Dispatcher getDefault(
+            long maxPendingBytes,
+            long resumePendingBytes,
+            DispatcherQueueType queueType,
+            Duration defaultTimeToLive,
+            List<DestinationQueuePolicy> policies
+    ) {
+        return new TrieDispatcher(maxPendingBytes, resumePendingBytes, queueType, defaultTimeToLive, policies);
+    }
+
     /**
      * Returns the queue for the destination, or {@code null} when it has not been created.
      */
@@ -76,6 +91,29 @@ public interface Dispatcher {
     @CanIgnoreReturnValue
     DispatcherQueue getOrPut(Destination destination, long maxPendingBytes);
 
+    /**
+     * Returns the existing queue or creates one with the requested byte limit and partition count.
+     *
+     * <p>If the queue already exists, implementations should return it unchanged.</p>
+     */
+    @CanIgnoreReturnValue
+    DispatcherQueue getOrPut(Destination destination, long maxPendingBytes, int partitions);
+
+    /**
+     * Returns the existing queue or creates one with the requested byte limit and storage type.
+     *
+     * <p>{@code conflationKey} names the header holding the conflation key when {@code type} is
+     * {@link DispatcherQueueType#CONFLATING}. If the queue already exists, implementations should
+     * return it unchanged.</p>
+     */
+    @CanIgnoreReturnValue
+    DispatcherQueue getOrPut(
+            Destination destination,
+            long maxPendingBytes,
+            DispatcherQueueType type,
+            String conflationKey
+    );
+
     /**
      * Returns queues matching the destination pattern.
      *
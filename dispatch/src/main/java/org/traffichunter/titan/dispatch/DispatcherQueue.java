@@ -24,9 +24,13 @@
 package org.traffichunter.titan.dispatch;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.jspecify.annotations.Nullable;
@@ -48,6 +52,26 @@ public interface DispatcherQueue extends Pausable, Iterator<Message>, Dispatcher
 
     long DEFAULT_MAX_PENDING_BYTES = Long.MAX_VALUE;
 
+    /**
+     * Message header whose value selects the partition of a partitioned queue.
+     */
+    String PARTITION_KEY_HEADER = "partition-key";
+
+    /**
+     * Message header whose value, {@code 0} to {@code 9}, selects the lane of a priority queue.
+     */
+    String PRIORITY_HEADER = "priority";
+
+    /**
+     * Message header carrying the absolute expiry time in epoch milliseconds, {@code 0} for none.
+     */
+    String EXPIRES_HEADER = "expires";
+
+    /**
+     * Default message header whose value is the conflation key of a conflating queue.
+     */
+    String CONFLATION_KEY_HEADER = "conflation-key";
+
     static DispatcherQueue create(Destination key) {
         return create(key, DEFAULT_MAX_PENDING_BYTES);
     }
@@ -61,19 +85,84 @@ public interface DispatcherQueue extends Pausable, Iterator<Message>, Dispatcher
     }
 
     static DispatcherQueue create(Destination key, long maxPendingBytes, long resumePendingBytes) {
-        DispatcherQueue queue = new MessageDispatcherQueue(
+        return create(key, maxPendingBytes, resumePendingBytes, DispatcherQueueType.LINKED, CONFLATION_KEY_HEADER);
+    }
+
+    /**
+     * Creates and registers a queue of the requested storage type, conflating on the
+     * {@code conflationKey} header when the type is {@link DispatcherQueueType#CONFLATING}.
+     * Other types ignore the header name.
+     */
+    static DispatcherQueue create(
+            Destination key,
+            long maxPendingBytes,
+            long resumePendingBytes,
+            DispatcherQueueType type,
+            String conflationKey
+    ) {
+        DispatcherQueue queue = type.newQueue(
                 key,
                 new DestinationQueueMetadata(
                         key.path(),
                         Instant.now(),
                         maxPendingBytes,
                         resumePendingBytes
-                )
+                ),
+                conflationKey
         );
         DispatcherQueueMbeans.register(queue);
         return queue;
     }
 
+    /**
+     * Creates and registers a queue split into {@code partitions} independently drained partitions
+     * of linked storage. A single partition yields a plain linked queue.
+     */
+    static DispatcherQueue partitioned(
+            Destination key,
+            long maxPendingBytes,
+            long resumePendingBytes,
+            int partitions
+    ) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Partitions must be greater than zero");
+        }
+        if (partitions == 1) {
+            return create(key, maxPendingBytes, resumePendingBytes);
+        }
+        DispatcherQueue queue = new PartitionedDispatcherQueue(
+                key,
+                new DestinationQueueMetadata(
+                        key.path(),
+                        Instant.now(),
+                        maxPendingBytes,
+                        resumePendingBytes
+                ),
+                partitions
+        );
+        DispatcherQueueMbeans.register(queue);
+        return queue;
+    }
+
+    /**
+     * Wraps a queue so that messages arriving past {@code spillThresholdBytes} pending bytes are
+     * written to memory-mapped segment files under {@code directory} and read back in order as
+     * consumers drain it. The wrapper is registered in place of the queue.
+     *
+     * <p>The threshold is capped at the queue's maximum pending bytes.</p>
+     *
+     * @throws IllegalArgumentException if the threshold is not positive, or the queue is
+     * partitioned or was not created by this interface
+     */
+    static DispatcherQueue spilling(DispatcherQueue queue, long spillThresholdBytes, Path directory) {
+        if (!(queue instanceof AbstractDispatcherQueue delegate)) {
+            throw new IllegalArgumentException("Queue cannot spill to disk: " + queue.getClass().getName());
+        }
+        DispatcherQueue spilling = new SpillingDispatcherQueue(delegate, spillThresholdBytes, directory);
+        DispatcherQueueMbeans.register(spilling);
+        return spilling;
+    }
+
     DestinationQueueMetadata metadata();
 
     /**
@@ -84,11 +173,41 @@ public interface DispatcherQueue extends Pausable, Iterator<Message>, Dispatcher
     boolean equalsTo(Destination key);
 
     /**
-     * Enqueues a message, returning {@code null} when the queue refuses it.
+     * Enqueues a message, returning {@code null} when the queue refuses or discards it.
+     *
+     * <p>What happens to a message the queue cannot admit, whether the caller waits, and whether
+     * older messages are discarded instead depends on the {@link #overflowPolicy overflow policy}.</p>
+     *
+     * <p>A {@link #retire() retired} queue refuses every message without counting it. Callers
+     * that get {@code null} from a retired queue look the destination up again.</p>
      */
     @CanIgnoreReturnValue
     @Nullable Message enqueue(Message message);
 
+    /**
+     * Enqueues a message only if the queue admits it right away. Nothing waits, pauses the queue,
+     * applies the overflow policy or counts a refusal, so a caller that must not block can fall
+     * back to {@link #enqueue(Message)} on a thread that may.
+     *
+     * @return whether the message was admitted
+     */
+    boolean tryEnqueue(Message message);
+
+    /**
+     * Stops the queue from admitting messages if it is empty and no admission is in progress.
+     * Checking and retiring happen atomically with respect to {@link #enqueue(Message)}, so a
+     * producer either got its message into the queue before, which makes this fail, or sees the
+     * queue retired.
+     *
+     * @return whether the queue is now retired
+     */
+    boolean retire();
+
+    /**
+     * Whether {@link #retire()} succeeded, so the queue no longer admits messages.
+     */
+    boolean isRetired();
+
     boolean contains(Message message);
 
     @Nullable Message peek();
@@ -111,8 +230,114 @@ public interface DispatcherQueue extends Pausable, Iterator<Message>, Dispatcher
      */
     @Nullable Message dispatch(long timeout, TimeUnit unit) throws InterruptedException;
 
+    /**
+     * Dispatches the head message without waiting.
+     *
+     * @return a message, or {@code null} when the queue is empty
+     */
+    @Nullable Message poll();
+
+    /**
+     * Moves up to {@code maxMessages} queued messages into {@code sink} without blocking.
+     *
+     * <p>Expired messages met along the way are discarded and do not count towards either limit.
+     * Draining stops once the drained payload reaches {@code maxBytes}. The message that
+     * crosses the limit is still included, so one large message cannot stall the queue. Pending
+     * bytes for the whole batch are released once.</p>
+     *
+     * @return number of drained messages
+     */
+    int drainTo(Collection<? super Message> sink, int maxMessages, long maxBytes);
+
+    /**
+     * Waits up to the timeout for the first message, then drains like
+     * {@link #drainTo(Collection, int, long)}.
+     *
+     * @return number of drained messages, or {@code 0} when the timeout elapsed
+     */
+    int drainTo(
+            Collection<? super Message> sink,
+            int maxMessages,
+            long maxBytes,
+            long timeout,
+            TimeUnit unit
+    ) throws InterruptedException;
+
+    /**
+     * Number of partitions that can be drained concurrently. Plain queues have one.
+     *
+     * <p>Messages with the same {@link #PARTITION_KEY_HEADER} value always land in the same
+     * partition, so draining each partition with at most one consumer at a time keeps per-key
+     * order while different partitions progress in parallel.</p>
+     */
+    int partitions();
+
+    /**
+     * Number of messages queued in one partition.
+     *
+     * @throws IllegalArgumentException if the partition does not exist
+     */
+    int size(int partition);
+
+    /**
+     * Like {@link #drainTo(Collection, int, long)}, restricted to one partition.
+     *
+     * @throws IllegalArgumentException if the partition does not exist
+     */
+    int drainTo(int partition, Collection<? super Message> sink, int maxMessages, long maxBytes);
+
+    /**
+     * Like {@link #drainTo(Collection, int, long, long, TimeUnit)}, restricted to one partition.
+     *
+     * @throws IllegalArgumentException if the partition does not exist
+     */
+    int drainTo(
+            int partition,
+            Collection<? super Message> sink,
+            int maxMessages,
+            long maxBytes,
+            long timeout,
+            TimeUnit unit
+    ) throws InterruptedException;
+
     void remove(Message message);
 
+    /**
+     * Sets what happens to messages the queue cannot admit. {@code timeout} bounds the wait of
+     * {@link DispatcherQueueOverflowPolicy#BLOCK_WITH_TIMEOUT} and is ignored by other policies.
+     */
+    void overflowPolicy(DispatcherQueueOverflowPolicy policy, Duration timeout);
+
+    /**
+     * Returns a future that completes once the queue is no longer paused. It is already complete
+     * when the queue is not paused.
+     */
+    CompletableFuture<@Nullable Void> resumed();
+
+    /**
+     * Sets the time to live applied to messages that carry no expiry time of their own.
+     * {@link Duration#ZERO} disables the default.
+     */
+    void timeToLive(Duration timeToLive);
+
+    /**
+     * Sets what happens to messages published while the destination has no subscribers.
+     * {@code bufferBytes} bounds the pending bytes kept by
+     * {@link DispatcherQueueUnsubscribedPolicy#BUFFER} and is ignored by other policies.
+     */
+    void unsubscribedPolicy(DispatcherQueueUnsubscribedPolicy policy, long bufferBytes);
+
+    /**
+     * Discards expired messages from the head of the queue and releases their pending bytes.
+     *
+     * <p>Dispatch already skips expired messages lazily. Sweeping the head as well lets a queue
+     * whose consumer is stalled give back its bytes, so pressure pausing lifts without waiting for
+     * the consumer.</p>
+     *
+     * @return number of discarded messages
+     */
+    int expire();
+
     void updateRoutingKey(Destination key);
 
     int size();
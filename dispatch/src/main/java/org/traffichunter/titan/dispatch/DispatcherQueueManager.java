@@ -28,6 +28,41 @@ public interface DispatcherQueueManager {
      */
     DispatcherQueue createQueue(Destination destination, long maxPendingBytes);
 
+    /**
+     * Creates the queue for the destination with {@code partitions} independently drained
+     * partitions if it does not exist.
+     *
+     * <p>Messages are assigned to partitions by their partition key, so per-key order is kept
+     * while partitions are drained in parallel. Like {@link #createQueue(Destination, long)},
+     * an existing queue is returned unchanged.</p>
+     *
+     * @param destination destination to register
+     * @param maxPendingBytes maximum queued payload bytes
+     * @param partitions number of partitions, at least one
+     * @return existing or newly created queue
+     */
+    DispatcherQueue createQueue(Destination destination, long maxPendingBytes, int partitions);
+
+    /**
+     * Creates the queue for the destination with the requested storage type if it does not exist.
+     *
+     * <p>For {@link DispatcherQueueType#CONFLATING} queues, {@code conflationKey} names the message
+     * header whose value identifies the messages that replace each other; other types ignore it.
+     * An existing queue is returned unchanged.</p>
+     *
+     * @param destination destination to register
+     * @param maxPendingBytes maximum queued payload bytes
+     * @param type queue storage type
+     * @param conflationKey header holding the conflation key
+     * @return existing or newly created queue
+     */
+    DispatcherQueue createQueue(
+            Destination destination,
+            long maxPendingBytes,
+            DispatcherQueueType type,
+            String conflationKey
+    );
+
     /**
      * Deletes the queue for the destination.
      *
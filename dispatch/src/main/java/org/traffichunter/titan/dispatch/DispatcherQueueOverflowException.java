@@ -0,0 +1,71 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.util.concurrent.CompletableFuture;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.TitanException;
+
+/**
+ * Thrown by routing when a destination queue cannot admit a message and its overflow policy fails
+ * the dispatch instead of discarding the message.
+ *
+ * <p>Protocol handlers use {@link #policy()} to decide how to answer the producer, and
+ * {@link #resumed()} to retry once the queue admits messages again.</p>
+ *
+ * @author yun
+ */
+public class DispatcherQueueOverflowException extends TitanException {
+
+    private final Destination destination;
+    private final DispatcherQueueOverflowPolicy policy;
+    private final transient CompletableFuture<@Nullable Void> resumed;
+
+    public DispatcherQueueOverflowException(
+            Destination destination,
+            DispatcherQueueOverflowPolicy policy,
+            CompletableFuture<@Nullable Void> resumed
+    ) {
+        super("Dispatcher queue is full = " + destination);
+        this.destination = destination;
+        this.policy = policy;
+        this.resumed = resumed;
+    }
+
+    public Destination destination() {
+        return destination;
+    }
+
+    public DispatcherQueueOverflowPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * Completes when the queue is no longer paused.
+     */
+    public CompletableFuture<@Nullable Void> resumed() {
+        return resumed;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+/**
+ * What a destination queue does with a message it cannot admit.
+ *
+ * <p>A queue cannot admit a message while it is paused, manually or for pressure, or when the
+ * message does not fit under its byte limit. {@link #REJECT_AND_CLOSE} keeps the original
+ * behavior: producers wait for a paused queue to resume and a full queue fails the dispatch, which
+ * closes the producer connection. The other policies keep the connection open.</p>
+ */
+public enum DispatcherQueueOverflowPolicy {
+
+    /**
+     * Waits for a paused queue to resume, then fails the dispatch if the message still does not
+     * fit. The SEND handler answers with an ERROR frame and closes the producer.
+     */
+    REJECT_AND_CLOSE("reject-and-close"),
+    /**
+     * Discards messages from the head of the queue until the new message fits.
+     */
+    DROP_OLDEST("drop-oldest"),
+    /**
+     * Discards the new message. The producer still receives its receipt.
+     */
+    DROP_NEWEST("drop-newest"),
+    /**
+     * Waits up to the overflow timeout for the queue to resume and make room, then fails the
+     * dispatch like {@link #REJECT_WITH_RECEIPT_ERROR}.
+     */
+    BLOCK_WITH_TIMEOUT("block-with-timeout"),
+    /**
+     * Fails the dispatch without waiting. The producer receives an ERROR frame carrying its
+     * receipt id and the connection stays open.
+     */
+    REJECT_WITH_RECEIPT_ERROR("reject-with-receipt-error"),
+    /**
+     * Fails the dispatch without waiting and stops reading from the producer connection until the
+     * queue resumes, then retries the message. Transports that cannot pause reads fall back to
+     * {@link #REJECT_WITH_RECEIPT_ERROR}.
+     */
+    PAUSE_PRODUCER_READS("pause-producer-reads"),
+    ;
+
+    private final String name;
+
+    DispatcherQueueOverflowPolicy(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether a message the queue cannot admit is discarded rather than failing the dispatch.
+     */
+    public boolean drops() {
+        return this == DROP_OLDEST || this == DROP_NEWEST;
+    }
+
+    /**
+     * Whether enqueueing into a paused queue parks the calling thread.
+     */
+    public boolean blocks() {
+        return this == REJECT_AND_CLOSE || this == BLOCK_WITH_TIMEOUT;
+    }
+
+    public static DispatcherQueueOverflowPolicy resolvePolicy(String policyName) {
+        return switch (policyName) {
+            case "reject-and-close" -> DispatcherQueueOverflowPolicy.REJECT_AND_CLOSE;
+            case "drop-oldest" -> DispatcherQueueOverflowPolicy.DROP_OLDEST;
+            case "drop-newest" -> DispatcherQueueOverflowPolicy.DROP_NEWEST;
+            case "block-with-timeout" -> DispatcherQueueOverflowPolicy.BLOCK_WITH_TIMEOUT;
+            case "reject-with-receipt-error" -> DispatcherQueueOverflowPolicy.REJECT_WITH_RECEIPT_ERROR;
+            case "pause-producer-reads" -> DispatcherQueueOverflowPolicy.PAUSE_PRODUCER_READS;
+            default -> throw new IllegalStateException("Unexpected value: " + policyName);
+        };
+    }
+}
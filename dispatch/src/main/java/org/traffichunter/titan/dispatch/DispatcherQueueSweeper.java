@@ -0,0 +1,169 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.management.DispatcherQueueReaperMbean;
+import org.traffichunter.titan.core.util.management.DispatcherQueueReaperMbeans;
+
+/**
+ * Periodic housekeeping over every queue of a {@link Dispatcher}.
+ *
+ * <p>Each run calls {@link DispatcherQueue#expire()} on every registered queue so expired messages
+ * give their pending bytes back even while the destination consumer is stalled, for example
+ * behind a subscriber that stopped reading. The sweep only looks at queue heads and runs on one
+ * daemon thread, so it stays off the dispatch path.</p>
+ *
+ * <p>With an idle timeout configured, the sweep also hands every empty queue that received nothing
+ * for that long to a reaper, which removes it together with its consumer and MBean. Destinations
+ * used once, such as per-session reply queues, then stop holding memory and JMX registrations
+ * for the lifetime of the process. Reaped queues are counted in the process-wide
+ * {@link DispatcherQueueReaperMbean}.</p>
+ *
+ * @author yun
+ */
+final class DispatcherQueueSweeper implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DispatcherQueueSweeper.class);
+
+    static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(1);
+
+    private static final Destination ALL = Destination.create("/*");
+
+    private final Dispatcher dispatcher;
+    private final Reaper reaper;
+    private final ScheduledExecutorService scheduler;
+    private volatile long idleTimeoutMillis;
+
+    DispatcherQueueSweeper(Dispatcher dispatcher) {
+        this(dispatcher, (queue, nowMillis, idleTimeoutMillis) -> false);
+    }
+
+    DispatcherQueueSweeper(Dispatcher dispatcher, Reaper reaper) {
+        this(dispatcher, reaper, DEFAULT_INTERVAL);
+    }
+
+    DispatcherQueueSweeper(Dispatcher dispatcher, Reaper reaper, Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Sweep interval must be greater than zero");
+        }
+        this.dispatcher = dispatcher;
+        this.reaper = reaper;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("DispatcherQueueSweeper").daemon(true).factory()
+        );
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::sweep, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets how long a queue must stay empty without new messages before it is reaped.
+     * {@link Duration#ZERO} disables reaping.
+     */
+    void idleTimeout(Duration idleTimeout) {
+        if (idleTimeout.isNegative()) {
+            throw new IllegalArgumentException("Idle timeout must not be negative");
+        }
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+    }
+
+    /**
+     * Runs one sweep over every queue and returns the number of expired messages.
+     */
+    int sweep() {
+        int expired = 0;
+        try {
+            long idleTimeoutMillis = this.idleTimeoutMillis;
+            long nowMillis = System.currentTimeMillis();
+            int reaped = 0;
+            for (DispatcherQueue queue : dispatcher.searchAll(ALL)) {
+                expired += queue.expire();
+                if (idleTimeoutMillis > 0 && reaper.reap(queue, nowMillis, idleTimeoutMillis)) {
+                    reaped++;
+                }
+            }
+            if (idleTimeoutMillis > 0) {
+                Metrics.INSTANCE.reaped(reaped);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Dispatcher queue sweep failed", e);
+        }
+        return expired;
+    }
+
+    /**
+     * Returns the process-wide reaper counters, registering their MBean on first use.
+     */
+    static DispatcherQueueReaperMbean metrics() {
+        return Metrics.INSTANCE;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Removes one idle queue. Implementations re-check the queue and return whether it was removed.
+     */
+    @FunctionalInterface
+    interface Reaper {
+
+        boolean reap(DispatcherQueue queue, long nowMillis, long idleTimeoutMillis);
+    }
+
+    private static final class Metrics implements DispatcherQueueReaperMbean {
+
+        private static final Metrics INSTANCE = new Metrics();
+
+        static {
+            DispatcherQueueReaperMbeans.register(INSTANCE);
+        }
+
+        private final LongAdder reapedQueues = new LongAdder();
+        private final LongAdder reaps = new LongAdder();
+
+        void reaped(int queues) {
+            reaps.increment();
+            reapedQueues.add(queues);
+        }
+
+        @Override
+        public long getReapedQueues() {
+            return reapedQueues.sum();
+        }
+
+        @Override
+        public long getReaps() {
+            return reaps.sum();
+        }
+    }
+}
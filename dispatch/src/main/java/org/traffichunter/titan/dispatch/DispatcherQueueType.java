@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import org.traffichunter.titan.core.util.Destination;
+
+/**
+ * Storage backing a destination queue.
+ *
+ * <p>Every type keeps the same byte accounting and pause behavior. {@link #LINKED} and
+ * {@link #MPSC} keep the same FIFO order and differ only in the synchronization cost of enqueue and
+ * dispatch, so they can be switched per server without changing fanout semantics.
+ * {@link #PRIORITY} trades destination-wide FIFO order for per-lane order, and {@link #CONFLATING}
+ * trades completeness for a bounded backlog of one message per key.</p>
+ */
+public enum DispatcherQueueType {
+
+    /**
+     * Lock-based linked queue. Allocates a node per message.
+     */
+    LINKED("linked") {
+        @Override
+        DispatcherQueue newQueue(Destination destination, DestinationQueueMetadata metadata) {
+            return new MessageDispatcherQueue(destination, metadata);
+        }
+    },
+    /**
+     * Lock-free chunked array queue for many producers and one consumer per destination.
+     */
+    MPSC("mpsc") {
+        @Override
+        DispatcherQueue newQueue(Destination destination, DestinationQueueMetadata metadata) {
+            return new MpscDispatcherQueue(destination, metadata);
+        }
+    },
+    /**
+     * Linked lanes selected by the {@code priority} header and drained by weighted round robin.
+     * Order is kept within a lane only.
+     */
+    PRIORITY("priority") {
+        @Override
+        DispatcherQueue newQueue(Destination destination, DestinationQueueMetadata metadata) {
+            return new PriorityDispatcherQueue(destination, metadata);
+        }
+    },
+    /**
+     * Last-value queue keeping one pending message per conflation key header value. Keys default
+     * to the {@code conflation-key} header.
+     */
+    CONFLATING("conflating") {
+        @Override
+        DispatcherQueue newQueue(Destination destination, DestinationQueueMetadata metadata) {
+            return newQueue(destination, metadata, DispatcherQueue.CONFLATION_KEY_HEADER);
+        }
+
+        @Override
+        DispatcherQueue newQueue(Destination destination, DestinationQueueMetadata metadata, String conflationKey) {
+            return new ConflatingDispatcherQueue(destination, metadata, conflationKey);
+        }
+    },
+    ;
+
+    private final String name;
+
+    DispatcherQueueType(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    abstract DispatcherQueue newQueue(Destination destination, DestinationQueueMetadata metadata);
+
+    /**
+     * Creates a queue whose conflation key is read from {@code conflationKey}. Types that do not
+     * conflate ignore it.
+     */
+    DispatcherQueue newQueue(Destination destination, DestinationQueueMetadata metadata, String conflationKey) {
+        return newQueue(destination, metadata);
+    }
+
+    public static DispatcherQueueType resolveType(String typeName) {
+        return switch (typeName) {
+            case "linked" -> DispatcherQueueType.LINKED;
+            case "mpsc" -> DispatcherQueueType.MPSC;
+            case "priority" -> DispatcherQueueType.PRIORITY;
+            case "conflating" -> DispatcherQueueType.CONFLATING;
+            default -> throw new IllegalStateException("Unexpected value: " + typeName);
+        };
+    }
+}
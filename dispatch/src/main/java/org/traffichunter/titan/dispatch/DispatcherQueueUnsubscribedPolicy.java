@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+/**
+ * What a destination queue does with messages published while the destination has no
+ * subscribers.
+ *
+ * <p>Whether a destination has subscribers is asked of the exporter, see
+ * {@link org.traffichunter.titan.dispatch.exporter.DispatchExporter#hasSubscribers}. Under
+ * {@link #DELIVER} the question is never asked before admission. The other policies keep the
+ * fanout consumer of an unsubscribed destination stopped, so buffered messages wait for the next
+ * subscriber instead of being exported to nobody.</p>
+ */
+public enum DispatcherQueueUnsubscribedPolicy {
+
+    /**
+     * Admits and drains messages whether or not anyone subscribes, the original behavior.
+     */
+    DELIVER("deliver"),
+    /**
+     * Discards messages published while nobody subscribes. The producer still receives its
+     * receipt.
+     */
+    DROP("drop"),
+    /**
+     * Keeps messages published while nobody subscribes up to the unsubscribed buffer bytes of the
+     * queue and discards the rest. The next subscriber receives what was kept.
+     */
+    BUFFER("buffer"),
+    ;
+
+    private final String name;
+
+    DispatcherQueueUnsubscribedPolicy(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether the consumer of an unsubscribed destination stays stopped rather than draining.
+     */
+    public boolean parks() {
+        return this != DELIVER;
+    }
+
+    public static DispatcherQueueUnsubscribedPolicy resolvePolicy(String policyName) {
+        return switch (policyName) {
+            case "deliver" -> DispatcherQueueUnsubscribedPolicy.DELIVER;
+            case "drop" -> DispatcherQueueUnsubscribedPolicy.DROP;
+            case "buffer" -> DispatcherQueueUnsubscribedPolicy.BUFFER;
+            default -> throw new IllegalStateException("Unexpected value: " + policyName);
+        };
+    }
+}
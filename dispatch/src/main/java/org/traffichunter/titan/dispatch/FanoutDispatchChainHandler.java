@@ -23,19 +23,19 @@ THE SOFTWARE.
 */
 package org.traffichunter.titan.dispatch;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traffichunter.titan.core.message.Message;
 import org.traffichunter.titan.core.util.Destination;
-import org.traffichunter.titan.core.util.management.DispatcherQueueMbeans;
 import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
 
 /**
@@ -46,75 +46,76 @@ import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
  * queue admission and consumer activation. Queue deletion and handler shutdown cancel registered
  * consumers and let their polling loops observe the corresponding lifecycle state.</p>
  *
+ * <p>Each wakeup drains up to {@link #DEFAULT_BATCH_MESSAGES} messages and hands them to the
+ * exporter in one call, so queue bytes are released and connections flushed once per batch.</p>
+ *
+ * <p>A partitioned queue does not get polling loops, which would each hold a pool thread per
+ * partition and could take a bounded pool away from every other destination. Its partitions are
+ * drained in turns through a {@link ScheduledFanoutDispatchChainHandler} on the same executor, so
+ * each partition is still drained by one thread at a time while partitions export in parallel.</p>
+ *
+ * <p>A consumer stops and gives its thread back when its destination has no subscribers: at once
+ * for a queue whose unsubscribed policy parks, otherwise after a poll finds the queue idle. It
+ * also stops before a drain while no subscriber connection is writable. The next routed message,
+ * new subscription or writable connection registers a fresh consumer. A message that slipped in
+ * while it was stopping re-registers the consumer unless the queue stays parked.</p>
+ *
  * @author yun
  */
-final class FanoutDispatchChainHandler implements DispatchChainHandler {
+final class FanoutDispatchChainHandler extends AbstractFanoutDispatchChainHandler {
 
     private static final Logger log = LoggerFactory.getLogger(FanoutDispatchChainHandler.class);
 
     private final Map<Destination, CompletableFuture<@Nullable Void>> consumers = new ConcurrentHashMap<>();
     private final Set<DispatcherQueue> deletedQueues = ConcurrentHashMap.newKeySet();
     private final ExecutorService executor;
-    private final DispatchExporter exporter;
-    private final Dispatcher dispatcher;
-    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ScheduledFanoutDispatchChainHandler partitioned;
 
     FanoutDispatchChainHandler(
             ExecutorService executor,
             DispatchExporter exporter,
             Dispatcher dispatcher
     ) {
+        super(exporter, dispatcher);
         this.executor = executor;
-        this.exporter = exporter;
-        this.dispatcher = dispatcher;
+        // never started: resume() of this handler activates partitioned queues through it
+        this.partitioned = new ScheduledFanoutDispatchChainHandler(executor, exporter, dispatcher);
     }
 
     @Override
-    public DispatchChain handle(DispatchContext context, DispatchChain chain) {
-        Message message = context.getMessage();
-        fanout(message.getDestination());
-        return chain.next(context);
+    void activate(Destination destination) {
+        checkOpen();
+        if (dispatcher.getOrPut(destination).partitions() > 1) {
+            partitioned.activate(destination);
+            return;
+        }
+        fanout(destination);
     }
 
     CompletableFuture<@Nullable Void> fanout(Destination destination) {
-        if (closed.get()) {
-            throw new IllegalStateException("Fanout dispatch handler is closed");
-        }
+        checkOpen();
         return consumers.computeIfAbsent(destination, this::consume);
     }
 
-    DispatcherQueueDeleteResult deleteQueue(Destination destination, boolean force) {
-        if (closed.get()) {
-            throw new IllegalStateException("Fanout dispatch handler is closed");
-        }
-
-        DispatcherQueue queue = dispatcher.get(destination);
-        if (queue == null) {
-            return DispatcherQueueDeleteResult.notFound();
-        }
-        int size = queue.size();
-        if (size > 0 && !force) {
-            return DispatcherQueueDeleteResult.notEmpty(size);
-        }
-        if (force) {
-            queue.clear();
-        }
-
+    @Override
+    void detach(Destination destination, DispatcherQueue queue) {
+        partitioned.detach(destination, queue);
         deletedQueues.add(queue);
         CompletableFuture<@Nullable Void> consumer = consumers.remove(destination);
-        if (consumer != null) {
-            consumer.cancel(true);
+        if (consumer == null || consumer.isDone()) {
+            // No loop is left to acknowledge the deletion, which matters for reaped queues whose
+            // consumer usually stopped long before.
+            deletedQueues.remove(queue);
+            return;
         }
-        dispatcher.remove(destination);
-        DispatcherQueueMbeans.unregister(queue.getDestination());
-        return DispatcherQueueDeleteResult.deleted(size);
+        consumer.cancel(true);
     }
 
-    void close() {
-        if (closed.compareAndSet(false, true)) {
-            consumers.values().forEach(future -> future.cancel(true));
-            consumers.clear();
-        }
+    @Override
+    void shutdown() {
+        consumers.values().forEach(future -> future.cancel(true));
+        consumers.clear();
+        partitioned.close();
     }
 
     private CompletableFuture<@Nullable Void> consume(Destination destination) {
@@ -123,35 +124,74 @@ final class FanoutDispatchChainHandler implements DispatchChainHandler {
 
         CompletableFuture<@Nullable Void> result = new CompletableFuture<>();
         executor.execute(() -> {
+            boolean stopped = false;
             try {
-                while (!closed.get()
-                        && !Thread.currentThread().isInterrupted()
-                        && !deletedQueues.contains(queue)) {
-                    try {
-                        Message message = queue.dispatch(1, TimeUnit.SECONDS);
-                        if (message == null) {
-                            continue;
-                        }
-                        exporter.export(destination, message);
-                    } catch (InterruptedException e) {
-                        log.error("Interrupted while waiting for message to be delivered", e);
-                        Thread.currentThread().interrupt();
-                        break;
-                    } catch (Exception e) {
-                        log.error("Unexpected error while dispatching message", e);
-                        if (closed.get() || executor.isShutdown()) {
-                            break;
-                        }
-                    }
-                }
-                result.complete(null);
+                stopped = drain(destination, queue);
             } catch (Exception e) {
                 result.completeExceptionally(e);
             } finally {
-                deletedQueues.remove(queue);
+                boolean deleted = deletedQueues.remove(queue);
                 consumers.remove(destination, result);
+                result.complete(null);
+                if (stopped && !deleted && queue.size() > 0 && !isClosed() && !parked(destination, queue)) {
+                    fanout(destination);
+                }
             }
         });
         return result;
     }
+
+    /**
+     * Polls the queue until it is deleted or the handler closes, or until the consumer stops for
+     * lack of subscribers or of a writable subscriber connection, which is reported as {@code true}.
+     */
+    private boolean drain(Destination destination, DispatcherQueue queue) {
+        List<Message> batch = new ArrayList<>(DEFAULT_BATCH_MESSAGES);
+        while (!isClosed()
+                && !Thread.currentThread().isInterrupted()
+                && !deletedQueues.contains(queue)) {
+            try {
+                if (parked(destination, queue)) {
+                    stop(destination, queue, !unsubscribed(destination, queue));
+                    return true;
+                }
+                batch.clear();
+                int drained = queue.drainTo(
+                        batch,
+                        DEFAULT_BATCH_MESSAGES,
+                        DEFAULT_BATCH_BYTES,
+                        1,
+                        TimeUnit.SECONDS
+                );
+                if (drained == 0) {
+                    if (queue.size() == 0 && !exporter.hasSubscribers(destination)) {
+                        stop(destination, queue, false);
+                        return true;
+                    }
+                    continue;
+                }
+                exporter.exportBatch(destination, batch);
+            } catch (InterruptedException e) {
+                log.error("Interrupted while waiting for message to be delivered", e);
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Unexpected error while dispatching message", e);
+                if (isClosed() || executor.isShutdown()) {
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void stop(Destination destination, DispatcherQueue queue, boolean unwritable) {
+        if (unwritable) {
+            queue.metadata().unwritableStopped();
+            log.debug("Stopping fanout consumer without writable subscribers. destination={}", destination.path());
+        } else {
+            queue.metadata().consumerStopped();
+            log.debug("Stopping fanout consumer without subscribers. destination={}", destination.path());
+        }
+    }
 }
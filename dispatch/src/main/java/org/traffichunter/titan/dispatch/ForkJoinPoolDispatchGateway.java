@@ -0,0 +1,98 @@
+/*
+The MIT License
+
+Copyright (c) 2025 traffic-hunter
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in
+all copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+THE SOFTWARE.
+*/
+package org.traffichunter.titan.dispatch;
+
+import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Dispatch gateway that drains ready destinations on a work-stealing {@link ForkJoinPool}.
+ *
+ * <p>Destinations are drained in turns exactly as in the scheduled mode, see
+ * {@link ScheduledFanoutDispatchChainHandler}. The difference is where a turn waits. A destination
+ * with messages left is resubmitted from the worker that drained it, so it lands on that worker's
+ * own deque instead of one shared queue, and workers that run out of turns steal from the others.
+ * A few hot destinations therefore spread over idle workers while cold ones cost no contention on
+ * a shared queue.</p>
+ *
+ * <p>The pool runs in asynchronous mode, so every worker takes its own turns in FIFO order and a
+ * resubmitted destination goes behind the turns already waiting on that worker.</p>
+ *
+ * <p>Routing runs on {@link #newRoutingExecutor()}, not on the pool. A producer waiting for its
+ * queue blocks in a {@link java.util.concurrent.locks.Condition}, which the pool does not treat as
+ * a managed block, so it would not add a worker to replace the blocked one.</p>
+ *
+ * @author yun
+ */
+class ForkJoinPoolDispatchGateway extends AbstractExecutorDispatchGateway {
+
+    public ForkJoinPoolDispatchGateway(DispatchExporter exporter) {
+        this(exporter, Dispatcher.getDefault());
+    }
+
+    public ForkJoinPoolDispatchGateway(DispatchExporter exporter, Dispatcher dispatcher) {
+        this(
+                Runtime.getRuntime().availableProcessors(),
+                ScheduledFanoutDispatchChainHandler.DEFAULT_MAX_MESSAGES_PER_TURN,
+                exporter,
+                dispatcher
+        );
+    }
+
+    public ForkJoinPoolDispatchGateway(
+            int parallelism,
+            int maxMessagesPerTurn,
+            DispatchExporter exporter,
+            Dispatcher dispatcher
+    ) {
+        this(
+                new ForkJoinPool(parallelism, ForkJoinPoolDispatchGateway::newThread, null, true),
+                maxMessagesPerTurn,
+                exporter,
+                dispatcher
+        );
+    }
+
+    private ForkJoinPoolDispatchGateway(
+            ForkJoinPool pool,
+            int maxMessagesPerTurn,
+            DispatchExporter exporter,
+            Dispatcher dispatcher
+    ) {
+        super(
+                pool,
+                newRoutingExecutor(),
+                dispatcher,
+                new ScheduledFanoutDispatchChainHandler(pool, maxMessagesPerTurn, exporter, dispatcher)
+        );
+    }
+
+    private static ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("FanoutWorkStealingThread-" + thread.getPoolIndex());
+        return thread;
+    }
+}
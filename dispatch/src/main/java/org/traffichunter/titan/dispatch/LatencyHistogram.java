@@ -0,0 +1,166 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.util.concurrent.ThreadSafe;
+import org.traffichunter.titan.core.util.management.LatencyResource;
+
+/**
+ * Latency histogram with logarithmic buckets and lock-free recording, read as percentiles over a
+ * fixed interval.
+ *
+ * <p>Latencies are counted in units of {@code 1024} nanoseconds. Every power of two is split into
+ * {@value #SUB_BUCKETS} linear sub-buckets, as HdrHistogram does, so a reported percentile is at
+ * most an eighth above the recorded value, or a microsecond for latencies under eight
+ * microseconds. Latencies over about 68 seconds share the last bucket. Recording is one atomic
+ * add and never allocates.</p>
+ *
+ * <p>Counts only ever grow. {@link #snapshot()} reports the last completed interval of at least
+ * {@value #INTERVAL_SECONDS} seconds, taken as the difference to the counts at its start, and
+ * starts the next interval when the current one is old enough. Every reader therefore sees the
+ * same interval however often it polls, and no reader takes counts away from another. Until the
+ * first interval completes, a snapshot reports everything recorded so far.</p>
+ *
+ * @author yun
+ */
+@ThreadSafe
+final class LatencyHistogram {
+
+    private static final int UNIT_SHIFT = 10;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 25;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + SUB_BUCKETS;
+    static final int INTERVAL_SECONDS = 10;
+    private static final long INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(INTERVAL_SECONDS);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongSupplier nanoClock;
+
+    // guarded by this
+    private final long[] intervalStartCounts = new long[BUCKETS];
+    private long intervalStartNanos;
+    private @Nullable LatencyResource lastInterval;
+
+    LatencyHistogram() {
+        this(System::nanoTime);
+    }
+
+    LatencyHistogram(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.intervalStartNanos = nanoClock.getAsLong();
+    }
+
+    void record(long nanos) {
+        record(nanos, 1);
+    }
+
+    void record(long nanos, int count) {
+        counts.getAndAdd(index(nanos), count);
+    }
+
+    /**
+     * Returns the percentiles of the last completed interval, or of everything recorded so far
+     * before the first interval completed.
+     */
+    synchronized LatencyResource snapshot() {
+        long now = nanoClock.getAsLong();
+        if (now - intervalStartNanos >= INTERVAL_NANOS) {
+            lastInterval = interval(true);
+            intervalStartNanos = now;
+        }
+        return lastInterval != null ? lastInterval : interval(false);
+    }
+
+    /**
+     * Returns the percentiles recorded since the current interval started, moving its start to
+     * the current counts when {@code complete}.
+     */
+    private LatencyResource interval(boolean complete) {
+        long[] window = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.get(i);
+            window[i] = count - intervalStartCounts[i];
+            total += window[i];
+            if (complete) {
+                intervalStartCounts[i] = count;
+            }
+        }
+        if (total == 0) {
+            return LatencyResource.EMPTY;
+        }
+        return new LatencyResource(
+                total,
+                percentile(window, total, 0.5),
+                percentile(window, total, 0.99),
+                percentile(window, total, 0.999)
+        );
+    }
+
+    static int index(long nanos) {
+        long units = Math.max(0L, nanos) >>> UNIT_SHIFT;
+        if (units < SUB_BUCKETS) {
+            return (int) units;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(units);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (units >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the highest latency in nanoseconds that falls into the bucket.
+     */
+    static long highestNanos(int index) {
+        return (lowestUnits(index + 1) << UNIT_SHIFT) - 1;
+    }
+
+    private static long lowestUnits(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    private static long percentile(long[] window, long total, double quantile) {
+        long rank = Math.max(1L, (long) Math.ceil(total * quantile));
+        long seen = 0;
+        for (int i = 0; i < window.length; i++) {
+            seen += window[i];
+            if (seen >= rank) {
+                return highestNanos(i);
+            }
+        }
+        return highestNanos(window.length - 1);
+    }
+}
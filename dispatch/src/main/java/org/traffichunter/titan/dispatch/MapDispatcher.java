@@ -97,6 +97,38 @@ public class MapDispatcher implements Dispatcher {
         return map.computeIfAbsent(destination, key -> DispatcherQueue.create(key, maxPendingBytes));
     }
 
+    @Override
+    public DispatcherQueue getOrPut(final Destination destination, long maxPendingBytes, int partitions) {
+        return map.computeIfAbsent(
+                destination,
+                key -> DispatcherQueue.partitioned(
+                        key,
+                        maxPendingBytes,
+                        DestinationQueueMetadata.defaultResumePendingBytes(maxPendingBytes),
+                        partitions
+                )
+        );
+    }
+
+    @Override
+    public DispatcherQueue getOrPut(
+            final Destination destination,
+            long maxPendingBytes,
+            DispatcherQueueType type,
+            String conflationKey
+    ) {
+        return map.computeIfAbsent(
+                destination,
+                key -> DispatcherQueue.create(
+                        key,
+                        maxPendingBytes,
+                        DestinationQueueMetadata.defaultResumePendingBytes(maxPendingBytes),
+                        type,
+                        conflationKey
+                )
+        );
+    }
+
     @Override
     public List<DispatcherQueue> searchAll(Destination destination) {
         String path = destination.path();
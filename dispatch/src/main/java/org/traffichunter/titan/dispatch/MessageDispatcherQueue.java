@@ -29,11 +29,7 @@ import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
 import org.jspecify.annotations.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.traffichunter.titan.core.message.Message;
 import org.traffichunter.titan.core.util.Destination;
 
@@ -45,18 +41,9 @@ import org.traffichunter.titan.core.util.Destination;
  *
  * @author yungwang-o
  */
-class MessageDispatcherQueue implements DispatcherQueue {
-
-    private static final Logger log = LoggerFactory.getLogger(MessageDispatcherQueue.class);
+class MessageDispatcherQueue extends AbstractDispatcherQueue {
 
     private final BlockingQueue<Message> queue;
-    private final DestinationQueueMetadata metadata;
-    private volatile Destination destination;
-
-    private final ReentrantLock pauseLock = new ReentrantLock();
-    private final Condition pauseCondition = pauseLock.newCondition();
-    private volatile boolean manuallyPaused;
-    private volatile boolean pressurePaused;
 
     /**
      * {@link LinkedBlockingQueue} unbounded queue.
@@ -84,56 +71,40 @@ class MessageDispatcherQueue implements DispatcherQueue {
     }
 
     MessageDispatcherQueue(final Destination destination, DestinationQueueMetadata metadata) {
-        this.metadata = metadata;
+        super(destination, metadata);
         this.queue = new LinkedBlockingQueue<>();
-        this.destination = destination;
     }
 
     @Override
-    public DestinationQueueMetadata metadata() {
-        return metadata;
+    protected boolean doOffer(Message message) {
+        return queue.offer(message);
     }
 
     @Override
-    public Destination route() {
-        return destination;
+    protected Message doTake() throws InterruptedException {
+        return queue.take();
     }
 
     @Override
-    public String getDestination() {
-        return destination.path();
+    protected @Nullable Message doPoll(long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.poll(timeout, unit);
     }
 
     @Override
-    public boolean equalsTo(final Destination key) {
-        return destination.equals(key);
+    protected @Nullable Message doPoll() {
+        return queue.poll();
     }
 
     @Override
-    public @Nullable Message enqueue(final Message message) {
-        if(isPaused()) {
-            log.info("Waiting for queue to be resumed");
-            if (!awaitResume()) {
-                return null;
-            }
-        }
-
-        long messageSize = message.getSize();
-        if (messageSize > metadata.getMaxPendingBytes()) {
-            return null;
-        }
-
-        if (!metadata.tryReserve(messageSize)) {
-            pauseForPressure();
-            return null;
-        }
-
-        if(queue.offer(message)) {
-            return message;
-        }
+    protected boolean doRemove(Message message) {
+        return queue.remove(message);
+    }
 
-        metadata.release(messageSize);
-        return null;
+    @Override
+    protected List<Message> doDrain() {
+        List<Message> removed = new ArrayList<>();
+        queue.drainTo(removed);
+        return removed;
     }
 
     @Override
@@ -156,163 +127,13 @@ class MessageDispatcherQueue implements DispatcherQueue {
         return queue.iterator().next();
     }
 
-    @Override
-    public void pause() {
-        pauseLock.lock();
-        try {
-            manuallyPaused = true;
-            metadata.paused(true);
-            log.info("Pausing queue");
-        } finally {
-            pauseLock.unlock();
-        }
-    }
-
-    @Override
-    public void resume() {
-        pauseLock.lock();
-        try {
-            manuallyPaused = false;
-            updatePauseState();
-        } finally {
-            pauseLock.unlock();
-        }
-    }
-
-    @Override
-    public boolean isPaused() {
-        return manuallyPaused || pressurePaused;
-    }
-
     @Override
     public List<Message> snapshot() {
         return queue.stream().toList();
     }
 
-    @Override
-    public Message dispatch() throws InterruptedException {
-        Message message = queue.take();
-        metadata.release(message.getSize());
-        resumeAfterPressure();
-        return message;
-    }
-
-    @Override
-    public @Nullable Message dispatch(long timeout, TimeUnit unit) throws InterruptedException {
-        Message message = queue.poll(timeout, unit);
-        if (message != null) {
-            metadata.release(message.getSize());
-            resumeAfterPressure();
-        }
-        return message;
-    }
-
-    @Override
-    public void updateRoutingKey(final Destination key) {
-
-        synchronized (this) {
-            this.destination = key;
-            metadata.destination(key.path());
-        }
-    }
-
-    @Override
-    public void remove(Message message) {
-        if(!queue.remove(message)) {
-            throw new IllegalStateException("Message not found");
-        }
-        metadata.release(message.getSize());
-        resumeAfterPressure();
-    }
-
-    @Override
-    public long getPendingBytes() {
-        return metadata.getPendingBytes();
-    }
-
-    @Override
-    public long getMaxPendingBytes() {
-        return metadata.getMaxPendingBytes();
-    }
-
-    @Override
-    public long getResumePendingBytes() {
-        return metadata.getResumePendingBytes();
-    }
-
     @Override
     public int size() {
         return queue.size();
     }
-
-    @Override
-    public int getSize() {
-        return size();
-    }
-
-    @Override
-    public void clear() {
-        List<Message> removed = new ArrayList<>();
-        queue.drainTo(removed);
-        if (removed.isEmpty()) {
-            return;
-        }
-
-        long releasedBytes = removed.stream().mapToLong(Message::getSize).sum();
-        metadata.release(releasedBytes);
-        resumeAfterPressure();
-    }
-
-    private boolean awaitResume() {
-        pauseLock.lock();
-        try {
-            while (isPaused()) {
-                pauseCondition.await();
-            }
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        } finally {
-            pauseLock.unlock();
-        }
-    }
-
-    private void pauseForPressure() {
-        pauseLock.lock();
-        try {
-            if (!pressurePaused) {
-                pressurePaused = true;
-                metadata.paused(true);
-                log.info("Pausing queue due to pending bytes. destination={}", destination.path());
-            }
-        } finally {
-            pauseLock.unlock();
-        }
-    }
-
-    private void resumeAfterPressure() {
-        if (!pressurePaused || !metadata.canResume()) {
-            return;
-        }
-
-        pauseLock.lock();
-        try {
-            if (pressurePaused && metadata.canResume()) {
-                pressurePaused = false;
-                updatePauseState();
-            }
-        } finally {
-            pauseLock.unlock();
-        }
-    }
-
-    private void updatePauseState() {
-        boolean paused = isPaused();
-        metadata.paused(paused);
-        if (!paused) {
-            log.info("Resuming queue. destination={}", destination.path());
-            pauseCondition.signalAll();
-        }
-    }
 }
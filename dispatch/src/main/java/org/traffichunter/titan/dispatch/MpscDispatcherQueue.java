@@ -0,0 +1,170 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.concurrent.MpscChunkedArrayQueue;
+
+/**
+ * FIFO dispatcher queue backed by a lock-free chunked array.
+ *
+ * <p>Producers append with a single atomic increment and never contend on a lock. The lock in
+ * this class is only taken when a consumer has to block because the queue is empty; producers
+ * check the waiter count and signal only while someone is actually waiting, so the enqueue path
+ * stays lock-free under sustained load.</p>
+ *
+ * @author yungwang-o
+ */
+class MpscDispatcherQueue extends AbstractDispatcherQueue {
+
+    private final MpscChunkedArrayQueue<Message> queue = new MpscChunkedArrayQueue<>();
+
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    MpscDispatcherQueue(final Destination destination, final DestinationQueueMetadata metadata) {
+        super(destination, metadata);
+    }
+
+    @Override
+    protected boolean doOffer(Message message) {
+        queue.offer(message);
+        if (waiters.get() > 0) {
+            signalNotEmpty();
+        }
+        return true;
+    }
+
+    @Override
+    protected Message doTake() throws InterruptedException {
+        Message message = queue.poll();
+        if (message != null) {
+            return message;
+        }
+
+        takeLock.lockInterruptibly();
+        waiters.incrementAndGet();
+        try {
+            while ((message = queue.poll()) == null) {
+                notEmpty.await();
+            }
+            return message;
+        } finally {
+            waiters.decrementAndGet();
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    protected @Nullable Message doPoll(long timeout, TimeUnit unit) throws InterruptedException {
+        Message message = queue.poll();
+        if (message != null) {
+            return message;
+        }
+
+        long nanos = unit.toNanos(timeout);
+        takeLock.lockInterruptibly();
+        waiters.incrementAndGet();
+        try {
+            while ((message = queue.poll()) == null) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return message;
+        } finally {
+            waiters.decrementAndGet();
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    protected @Nullable Message doPoll() {
+        return queue.poll();
+    }
+
+    @Override
+    protected boolean doRemove(Message message) {
+        return queue.remove(message);
+    }
+
+    @Override
+    protected List<Message> doDrain() {
+        List<Message> removed = new ArrayList<>();
+        Message message;
+        while ((message = queue.poll()) != null) {
+            removed.add(message);
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean contains(Message message) {
+        return queue.contains(message);
+    }
+
+    @Override
+    public @Nullable Message peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return queue.iterator().hasNext();
+    }
+
+    @Override
+    public Message next() {
+        return queue.iterator().next();
+    }
+
+    @Override
+    public List<Message> snapshot() {
+        return List.copyOf(queue);
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+
+/**
+ * Destination queue split into partitions that can be drained concurrently.
+ *
+ * <p>Each message is hashed into one partition by its {@link DispatcherQueue#PARTITION_KEY_HEADER}
+ * value, falling back to the producer id when the header is absent. Every partition is its own
+ * FIFO, so messages of one key (or of one producer without a key) keep their order as long as a
+ * partition is drained by at most one consumer at a time.</p>
+ *
+ * <p>Byte accounting and pausing are shared across partitions through the single
+ * {@link DestinationQueueMetadata}, so the destination keeps one byte limit regardless of the
+ * partition count. The non-partitioned dispatch methods rotate over partitions and are meant for
+ * inspection and tooling; fanout consumers use the per-partition drain methods.</p>
+ *
+ * @author yun
+ */
+class PartitionedDispatcherQueue extends AbstractDispatcherQueue {
+
+    private final LinkedBlockingQueue<Message>[] partitions;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    PartitionedDispatcherQueue(
+            final Destination destination,
+            final DestinationQueueMetadata metadata,
+            final int partitions
+    ) {
+        super(destination, metadata);
+        if (partitions < 2) {
+            throw new IllegalArgumentException("Partitioned queue requires at least two partitions");
+        }
+        this.partitions = new LinkedBlockingQueue[partitions];
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new LinkedBlockingQueue<>();
+        }
+    }
+
+    /**
+     * Returns the partition a message is stored in.
+     */
+    int partitionOf(Message message) {
+        String key = message.getHeader(PARTITION_KEY_HEADER);
+        int hash = (key != null ? key : message.getProducerId()).hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+    }
+
+    @Override
+    protected boolean doOffer(Message message) {
+        boolean offered = partitions[partitionOf(message)].offer(message);
+        if (offered && waiters.get() > 0) {
+            signalNotEmpty();
+        }
+        return offered;
+    }
+
+    @Override
+    protected Message doTake() throws InterruptedException {
+        Message message = doPoll();
+        if (message != null) {
+            return message;
+        }
+
+        takeLock.lockInterruptibly();
+        waiters.incrementAndGet();
+        try {
+            while ((message = doPoll()) == null) {
+                notEmpty.await();
+            }
+            return message;
+        } finally {
+            waiters.decrementAndGet();
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    protected @Nullable Message doPoll(long timeout, TimeUnit unit) throws InterruptedException {
+        Message message = doPoll();
+        if (message != null) {
+            return message;
+        }
+
+        long nanos = unit.toNanos(timeout);
+        takeLock.lockInterruptibly();
+        waiters.incrementAndGet();
+        try {
+            while ((message = doPoll()) == null) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return message;
+        } finally {
+            waiters.decrementAndGet();
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    protected @Nullable Message doPoll() {
+        int start = cursor.getAndIncrement();
+        for (int i = 0; i < partitions.length; i++) {
+            Message message = partitions[Math.floorMod(start + i, partitions.length)].poll();
+            if (message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected @Nullable Message doPoll(int partition) {
+        return partitions[partition].poll();
+    }
+
+    @Override
+    protected @Nullable Message doPoll(int partition, long timeout, TimeUnit unit) throws InterruptedException {
+        return partitions[partition].poll(timeout, unit);
+    }
+
+    @Override
+    protected boolean doRemove(Message message) {
+        return partitions[partitionOf(message)].remove(message);
+    }
+
+    @Override
+    protected List<Message> sweepHeads(Predicate<Message> expired) {
+        List<Message> removed = new ArrayList<>();
+        for (LinkedBlockingQueue<Message> partition : partitions) {
+            Message head;
+            while ((head = partition.peek()) != null && expired.test(head)) {
+                if (partition.remove(head)) {
+                    removed.add(head);
+                }
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    protected List<Message> doDrain() {
+        List<Message> removed = new ArrayList<>();
+        for (LinkedBlockingQueue<Message> partition : partitions) {
+            partition.drainTo(removed);
+        }
+        return removed;
+    }
+
+    @Override
+    public int partitions() {
+        return partitions.length;
+    }
+
+    @Override
+    public int size(int partition) {
+        checkPartition(partition);
+        return partitions[partition].size();
+    }
+
+    @Override
+    public boolean contains(Message message) {
+        return partitions[partitionOf(message)].contains(message);
+    }
+
+    @Override
+    public @Nullable Message peek() {
+        for (LinkedBlockingQueue<Message> partition : partitions) {
+            Message message = partition.peek();
+            if (message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return size() > 0;
+    }
+
+    @Override
+    public Message next() {
+        Message message = peek();
+        if (message == null) {
+            throw new NoSuchElementException();
+        }
+        return message;
+    }
+
+    @Override
+    public List<Message> snapshot() {
+        List<Message> messages = new ArrayList<>();
+        for (LinkedBlockingQueue<Message> partition : partitions) {
+            messages.addAll(partition);
+        }
+        return List.copyOf(messages);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (LinkedBlockingQueue<Message> partition : partitions) {
+            size += partition.size();
+        }
+        return size;
+    }
+
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+}
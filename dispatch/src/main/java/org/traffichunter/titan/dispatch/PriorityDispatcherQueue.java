@@ -0,0 +1,319 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+
+/**
+ * Destination queue that serves messages from a small, fixed set of priority lanes.
+ *
+ * <p>The {@link DispatcherQueue#PRIORITY_HEADER} value picks the lane: {@code 7}-{@code 9} go to
+ * the high lane, {@code 4}-{@code 6} to the normal lane and {@code 0}-{@code 3} to the low lane.
+ * Messages without the header, or with a value that is not a number, are treated as normal. Each
+ * lane is a FIFO, so order is kept between messages of the same lane only.</p>
+ *
+ * <p>Lanes are drained by weighted round robin. A drain cycle hands out up to
+ * {@link #WEIGHTS} messages per lane, highest lane first, and starts a new cycle once every
+ * non-empty lane has used its share. A high priority message therefore waits behind at most one
+ * cycle's worth of lower lane messages, while the low lane still gets its share under sustained
+ * high priority load. Empty lanes give their share away, so draining never idles while any lane
+ * holds a message.</p>
+ *
+ * @author yun
+ */
+class PriorityDispatcherQueue extends AbstractDispatcherQueue {
+
+    static final int HIGH = 0;
+    static final int NORMAL = 1;
+    static final int LOW = 2;
+
+    /**
+     * Messages served from each lane per drain cycle, indexed by lane.
+     */
+    static final int[] WEIGHTS = {8, 4, 1};
+
+    private final LinkedBlockingQueue<Message>[] lanes;
+    private final AtomicLongArray laneBytes = new AtomicLongArray(WEIGHTS.length);
+
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    // guarded by takeLock
+    private final int[] credits = WEIGHTS.clone();
+
+    @SuppressWarnings("unchecked")
+    PriorityDispatcherQueue(final Destination destination, final DestinationQueueMetadata metadata) {
+        super(destination, metadata);
+        this.lanes = new LinkedBlockingQueue[WEIGHTS.length];
+        for (int i = 0; i < lanes.length; i++) {
+            this.lanes[i] = new LinkedBlockingQueue<>();
+        }
+    }
+
+    /**
+     * Returns the lane a message is stored in.
+     */
+    static int laneOf(Message message) {
+        String raw = message.getHeader(PRIORITY_HEADER);
+        if (raw == null) {
+            return NORMAL;
+        }
+
+        int priority;
+        try {
+            priority = Integer.parseInt(raw.trim());
+        } catch (NumberFormatException e) {
+            return NORMAL;
+        }
+
+        if (priority >= 7) {
+            return HIGH;
+        }
+        return priority >= 4 ? NORMAL : LOW;
+    }
+
+    @Override
+    protected boolean doOffer(Message message) {
+        int lane = laneOf(message);
+        boolean offered = lanes[lane].offer(message);
+        if (offered) {
+            laneBytes.addAndGet(lane, message.getSize());
+            if (waiters.get() > 0) {
+                signalNotEmpty();
+            }
+        }
+        return offered;
+    }
+
+    @Override
+    protected Message doTake() throws InterruptedException {
+        takeLock.lockInterruptibly();
+        waiters.incrementAndGet();
+        try {
+            Message message;
+            while ((message = pollWeighted()) == null) {
+                notEmpty.await();
+            }
+            return message;
+        } finally {
+            waiters.decrementAndGet();
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    protected @Nullable Message doPoll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        takeLock.lockInterruptibly();
+        waiters.incrementAndGet();
+        try {
+            Message message;
+            while ((message = pollWeighted()) == null) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return message;
+        } finally {
+            waiters.decrementAndGet();
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    protected @Nullable Message doPoll() {
+        takeLock.lock();
+        try {
+            return pollWeighted();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    protected boolean doRemove(Message message) {
+        int lane = laneOf(message);
+        boolean removed = lanes[lane].remove(message);
+        if (removed) {
+            laneBytes.addAndGet(lane, -message.getSize());
+        }
+        return removed;
+    }
+
+    @Override
+    protected List<Message> sweepHeads(Predicate<Message> expired) {
+        List<Message> removed = new ArrayList<>();
+        for (LinkedBlockingQueue<Message> lane : lanes) {
+            Message head;
+            while ((head = lane.peek()) != null && expired.test(head)) {
+                if (doRemove(head)) {
+                    removed.add(head);
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Evicts from the lowest lane first so high priority messages are the last to be discarded.
+     */
+    @Override
+    protected List<Message> evictHeads(Predicate<Message> evict) {
+        List<Message> removed = new ArrayList<>();
+        for (int lane = lanes.length - 1; lane >= 0; lane--) {
+            Message head;
+            while ((head = lanes[lane].peek()) != null && evict.test(head)) {
+                if (doRemove(head)) {
+                    removed.add(head);
+                }
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    protected List<Message> doDrain() {
+        List<Message> removed = new ArrayList<>();
+        for (int lane = 0; lane < lanes.length; lane++) {
+            int from = removed.size();
+            lanes[lane].drainTo(removed);
+            long bytes = 0L;
+            for (int i = from; i < removed.size(); i++) {
+                bytes += removed.get(i).getSize();
+            }
+            laneBytes.addAndGet(lane, -bytes);
+        }
+        return removed;
+    }
+
+    @Override
+    public int[] getLaneSizes() {
+        int[] sizes = new int[lanes.length];
+        for (int lane = 0; lane < lanes.length; lane++) {
+            sizes[lane] = lanes[lane].size();
+        }
+        return sizes;
+    }
+
+    @Override
+    public long[] getLanePendingBytes() {
+        long[] bytes = new long[lanes.length];
+        for (int lane = 0; lane < lanes.length; lane++) {
+            bytes[lane] = laneBytes.get(lane);
+        }
+        return bytes;
+    }
+
+    @Override
+    public boolean contains(Message message) {
+        return lanes[laneOf(message)].contains(message);
+    }
+
+    @Override
+    public @Nullable Message peek() {
+        for (LinkedBlockingQueue<Message> lane : lanes) {
+            Message message = lane.peek();
+            if (message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return size() > 0;
+    }
+
+    @Override
+    public Message next() {
+        Message message = peek();
+        if (message == null) {
+            throw new NoSuchElementException();
+        }
+        return message;
+    }
+
+    @Override
+    public List<Message> snapshot() {
+        List<Message> messages = new ArrayList<>();
+        for (LinkedBlockingQueue<Message> lane : lanes) {
+            messages.addAll(lane);
+        }
+        return List.copyOf(messages);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (LinkedBlockingQueue<Message> lane : lanes) {
+            size += lane.size();
+        }
+        return size;
+    }
+
+    /**
+     * Takes the next message of the current drain cycle. Must be called with {@code takeLock} held.
+     */
+    private @Nullable Message pollWeighted() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            for (int lane = 0; lane < lanes.length; lane++) {
+                if (credits[lane] == 0) {
+                    continue;
+                }
+                Message message = lanes[lane].poll();
+                if (message != null) {
+                    credits[lane]--;
+                    laneBytes.addAndGet(lane, -message.getSize());
+                    return message;
+                }
+            }
+            System.arraycopy(WEIGHTS, 0, credits, 0, credits.length);
+        }
+        return null;
+    }
+
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+}
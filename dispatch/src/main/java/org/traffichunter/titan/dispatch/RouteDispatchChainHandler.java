@@ -23,14 +23,36 @@ THE SOFTWARE.
 */
 package org.traffichunter.titan.dispatch;
 
+import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traffichunter.titan.core.message.Message;
 import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
 
 /**
  * Routes an inbound message into memory before later fanout handlers run.
  *
+ * <p>When the destination queue refuses the message, a drop overflow policy ends the traversal
+ * quietly since the queue already counted the discarded message. Every other policy fails the
+ * dispatch with a {@link DispatcherQueueOverflowException} so the protocol handler can answer the
+ * producer as the policy asks.</p>
+ *
+ * <p>Queues with an unsubscribed policy other than {@code deliver} ask the exporter whether the
+ * destination has subscribers first. Without subscribers, {@code drop} discards the message and
+ * {@code buffer} only admits it while the queue holds fewer than its unsubscribed buffer bytes.
+ * Either way a discarded message ends the traversal quietly and is counted on the queue.</p>
+ *
+ * <p>A queue retired by the idle reaper refuses the message without counting it; the handler
+ * then looks the destination up once more and enqueues into the queue that replaces it. The
+ * reaper removes a retired queue from the dispatcher right away, so a queue still retired on the
+ * second lookup fails the dispatch.</p>
+ *
+ * <p>A traversal that {@link CallerRunsDispatchGateway} runs inline never waits for a queue whose
+ * overflow policy blocks. When such a queue cannot admit the message at once, the traversal ends
+ * before any later handler and the gateway continues it from this handler on a thread that may
+ * wait.</p>
+ *
  * @author yun
  */
 final class RouteDispatchChainHandler implements DispatchChainHandler {
@@ -38,9 +60,11 @@ final class RouteDispatchChainHandler implements DispatchChainHandler {
     private static final Logger log = LoggerFactory.getLogger(RouteDispatchChainHandler.class);
 
     private final Dispatcher dispatcher;
+    private final DispatchExporter exporter;
 
-    RouteDispatchChainHandler(Dispatcher dispatcher) {
+    RouteDispatchChainHandler(Dispatcher dispatcher, DispatchExporter exporter) {
         this.dispatcher = dispatcher;
+        this.exporter = exporter;
     }
 
     @Override
@@ -49,12 +73,101 @@ final class RouteDispatchChainHandler implements DispatchChainHandler {
         Destination destination = message.getDestination();
 
         DispatcherQueue dq = dispatcher.getOrPut(destination);
+        Message admitted;
+        for (int lookups = 1; ; lookups++) {
+            if (discardUnsubscribed(exporter, dq, message)) {
+                log.debug("Destination has no subscribers, message was dropped = {}", destination);
+                return chain;
+            }
+            admitted = admit(context, chain, dq, message);
+            if (admitted != null || !dq.isRetired()) {
+                break;
+            }
+            if (lookups == 2) {
+                throw new IllegalStateException("Dispatcher queue was retired: " + destination.path());
+            }
+            dq = dispatcher.getOrPut(destination);
+        }
 
-        if (dq.enqueue(message) == null) {
-            log.warn("Dispatcher queue is full, no message was enqueued = {}", destination);
-            throw new IllegalStateException("Dispatcher queue is full = " + destination);
+        if (admitted == null && deferred(context)) {
+            log.debug("Dispatcher queue cannot admit without waiting, deferring = {}", destination);
+            return chain;
+        }
+        if (admitted == null) {
+            refuse(dq, message);
+            return chain;
         }
 
         return chain.next(context);
     }
+
+    /**
+     * Answers a message the queue did not admit. A drop policy already counted the message, so
+     * it ends quietly; every other policy fails the dispatch.
+     *
+     * @throws DispatcherQueueOverflowException unless the overflow policy drops
+     */
+    static void refuse(DispatcherQueue dq, Message message) {
+        Destination destination = message.getDestination();
+        DispatcherQueueOverflowPolicy policy = dq.metadata().getOverflowPolicy();
+        if (policy.drops()) {
+            log.debug("Dispatcher queue is full, message was dropped = {}", destination);
+            return;
+        }
+        if (policy == DispatcherQueueOverflowPolicy.PAUSE_PRODUCER_READS
+                && message.getSize() > dq.getMaxPendingBytes()) {
+            // the message never fits, so waiting for the queue to resume cannot help
+            policy = DispatcherQueueOverflowPolicy.REJECT_WITH_RECEIPT_ERROR;
+        }
+        log.warn("Dispatcher queue is full, no message was enqueued = {}", destination);
+        throw new DispatcherQueueOverflowException(destination, policy, dq.resumed());
+    }
+
+    /**
+     * Enqueues the message. A traversal running inline on an I/O thread never waits for a queue
+     * whose overflow policy blocks; if the queue cannot admit the message right away, the context
+     * is deferred instead. A message larger than the queue limit is refused at once either way.
+     */
+    private @Nullable Message admit(
+            DispatchContext context,
+            DispatchChain chain,
+            DispatcherQueue dq,
+            Message message
+    ) {
+        if (!(context instanceof CallerRunsDispatchGateway.InlineDispatchContext inline)
+                || !dq.metadata().getOverflowPolicy().blocks()
+                || message.getSize() > dq.getMaxPendingBytes()) {
+            return dq.enqueue(message);
+        }
+        if (dq.tryEnqueue(message)) {
+            return message;
+        }
+        if (!dq.isRetired()) {
+            inline.defer(resumed -> handle(resumed, chain));
+        }
+        return null;
+    }
+
+    private static boolean deferred(DispatchContext context) {
+        return context instanceof CallerRunsDispatchGateway.InlineDispatchContext inline && inline.isDeferred();
+    }
+
+    /**
+     * Applies the queue's unsubscribed policy, counting the message if it is discarded.
+     *
+     * @return whether the message was discarded
+     */
+    static boolean discardUnsubscribed(DispatchExporter exporter, DispatcherQueue dq, Message message) {
+        DestinationQueueMetadata metadata = dq.metadata();
+        DispatcherQueueUnsubscribedPolicy policy = metadata.getUnsubscribedPolicy();
+        if (policy == DispatcherQueueUnsubscribedPolicy.DELIVER || exporter.hasSubscribers(message.getDestination())) {
+            return false;
+        }
+        if (policy == DispatcherQueueUnsubscribedPolicy.BUFFER
+                && dq.getPendingBytes() + dq.getSpilledBytes() + message.getSize() <= metadata.getUnsubscribedBufferBytes()) {
+            return false;
+        }
+        metadata.unsubscribed(1);
+        return true;
+    }
 }
@@ -0,0 +1,93 @@
+/*
+The MIT License
+
+Copyright (c) 2025 traffic-hunter
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in
+all copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+THE SOFTWARE.
+*/
+package org.traffichunter.titan.dispatch;
+
+import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Dispatch gateway that drains ready destinations on a bounded platform pool.
+ *
+ * <p>Unlike the platform and virtual modes, no consumer is pinned to a destination. The number
+ * of destinations is therefore independent from the pool size, and idle destinations hold no
+ * thread at all. See {@link ScheduledFanoutDispatchChainHandler} for the scheduling rules.</p>
+ *
+ * <p>The pool only drains. Routing runs on {@link #newRoutingExecutor()}, so producers waiting for
+ * paused or full queues never occupy the threads whose drain turns would resume those queues, and
+ * a paused destination leaves every other destination draining.</p>
+ *
+ * @author yun
+ */
+class ScheduledDispatchGateway extends AbstractExecutorDispatchGateway {
+
+    public ScheduledDispatchGateway(DispatchExporter exporter) {
+        this(exporter, Dispatcher.getDefault());
+    }
+
+    public ScheduledDispatchGateway(DispatchExporter exporter, Dispatcher dispatcher) {
+        this(
+                Runtime.getRuntime().availableProcessors(),
+                ScheduledFanoutDispatchChainHandler.DEFAULT_MAX_MESSAGES_PER_TURN,
+                exporter,
+                dispatcher
+        );
+    }
+
+    public ScheduledDispatchGateway(
+            int nThreads,
+            int maxMessagesPerTurn,
+            DispatchExporter exporter,
+            Dispatcher dispatcher
+    ) {
+        this(
+                Executors.newFixedThreadPool(nThreads, newThreadFactory()),
+                maxMessagesPerTurn,
+                exporter,
+                dispatcher
+        );
+    }
+
+    private ScheduledDispatchGateway(
+            ExecutorService executor,
+            int maxMessagesPerTurn,
+            DispatchExporter exporter,
+            Dispatcher dispatcher
+    ) {
+        super(
+                executor,
+                newRoutingExecutor(),
+                dispatcher,
+                new ScheduledFanoutDispatchChainHandler(executor, maxMessagesPerTurn, exporter, dispatcher)
+        );
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        return Thread.ofPlatform()
+                .name("FanoutSchedulerThread-", 0)
+                .factory();
+    }
+}
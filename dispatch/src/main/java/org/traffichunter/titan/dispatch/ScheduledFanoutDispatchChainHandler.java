@@ -0,0 +1,216 @@
+/*
+The MIT License
+
+Copyright (c) 2025 traffic-hunter
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in
+all copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+THE SOFTWARE.
+*/
+package org.traffichunter.titan.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Assert;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
+
+/**
+ * Drains destinations with pending messages on a bounded worker pool.
+ *
+ * <p>No thread is bound to a destination. A destination becomes ready when a routed message
+ * reaches this handler and is submitted to the executor at most once at a time. A worker drains up
+ * to {@code maxMessagesPerTurn} messages without blocking, exports them as one batch, and then
+ * gives the thread back. If
+ * messages remain, the destination is resubmitted behind every other ready destination, which
+ * keeps one hot destination from starving the rest.</p>
+ *
+ * <pre>{@code
+ * activate(destination) --CAS idle->scheduled--> executor queue (ready set)
+ *                                                     |
+ *                                                     v
+ *                                  worker: poll up to maxMessagesPerTurn
+ *                                                     |
+ *                                    scheduled -> idle, queue not empty?
+ *                                                     |
+ *                                             yes: resubmit
+ * }</pre>
+ *
+ * <p>A partitioned queue gets one task per partition, each with its own scheduled flag, so
+ * partitions of one hot destination drain on several workers at once while each partition, and
+ * therefore each partition key, is still drained by one worker at a time.</p>
+ *
+ * <p>Idle destinations cost only a map entry. The scheduled flag is cleared before the queue is
+ * re-checked, so a producer that enqueues while a turn is finishing either wins the CAS itself or
+ * is observed by the re-check.</p>
+ *
+ * <p>A turn that finds its destination parked, for lack of subscribers or of a writable
+ * subscriber connection, leaves the queue untouched and does not resubmit it; a new subscription
+ * or a connection that became writable activates the destination again.</p>
+ *
+ * @author yun
+ */
+final class ScheduledFanoutDispatchChainHandler extends AbstractFanoutDispatchChainHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledFanoutDispatchChainHandler.class);
+
+    static final int DEFAULT_MAX_MESSAGES_PER_TURN = 64;
+
+    private final Map<Destination, DrainTask[]> tasks = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int maxMessagesPerTurn;
+
+    ScheduledFanoutDispatchChainHandler(
+            Executor executor,
+            DispatchExporter exporter,
+            Dispatcher dispatcher
+    ) {
+        this(executor, DEFAULT_MAX_MESSAGES_PER_TURN, exporter, dispatcher);
+    }
+
+    ScheduledFanoutDispatchChainHandler(
+            Executor executor,
+            int maxMessagesPerTurn,
+            DispatchExporter exporter,
+            Dispatcher dispatcher
+    ) {
+        super(exporter, dispatcher);
+        Assert.checkArgument(maxMessagesPerTurn > 0, "maxMessagesPerTurn must be greater than 0");
+        this.executor = executor;
+        this.maxMessagesPerTurn = maxMessagesPerTurn;
+    }
+
+    @Override
+    void activate(Destination destination) {
+        checkOpen();
+
+        DispatcherQueue queue = dispatcher.getOrPut(destination);
+        DrainTask[] partitionTasks = tasks.get(destination);
+        if (partitionTasks == null || partitionTasks[0].queue != queue) {
+            partitionTasks = tasks.compute(destination, (key, current) -> {
+                if (current != null && current[0].queue == queue) {
+                    return current;
+                }
+                if (current != null) {
+                    cancel(current);
+                }
+                return newTasks(key, queue);
+            });
+        }
+        if (partitionTasks.length == 1) {
+            partitionTasks[0].schedule();
+            return;
+        }
+        for (DrainTask task : partitionTasks) {
+            if (queue.size(task.partition) > 0) {
+                task.schedule();
+            }
+        }
+    }
+
+    @Override
+    void detach(Destination destination, DispatcherQueue queue) {
+        DrainTask[] partitionTasks = tasks.remove(destination);
+        if (partitionTasks != null) {
+            cancel(partitionTasks);
+        }
+    }
+
+    @Override
+    void shutdown() {
+        tasks.values().forEach(ScheduledFanoutDispatchChainHandler::cancel);
+        tasks.clear();
+    }
+
+    private DrainTask[] newTasks(Destination destination, DispatcherQueue queue) {
+        DrainTask[] partitionTasks = new DrainTask[queue.partitions()];
+        for (int partition = 0; partition < partitionTasks.length; partition++) {
+            partitionTasks[partition] = new DrainTask(destination, queue, partition);
+        }
+        return partitionTasks;
+    }
+
+    private static void cancel(DrainTask[] partitionTasks) {
+        for (DrainTask task : partitionTasks) {
+            task.cancel();
+        }
+    }
+
+    private final class DrainTask implements Runnable {
+
+        private final Destination destination;
+        private final DispatcherQueue queue;
+        private final int partition;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final List<Message> batch = new ArrayList<>();
+        private volatile boolean cancelled;
+
+        private DrainTask(Destination destination, DispatcherQueue queue, int partition) {
+            this.destination = destination;
+            this.queue = queue;
+            this.partition = partition;
+        }
+
+        void schedule() {
+            if (cancelled || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                if (!isClosed()) {
+                    log.warn("Fanout scheduler rejected destination={}", destination.path(), e);
+                }
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void run() {
+            boolean parked = false;
+            try {
+                parked = parked(destination, queue);
+                if (!parked && !cancelled && !isClosed()
+                        && queue.drainTo(partition, batch, maxMessagesPerTurn, DEFAULT_BATCH_BYTES) > 0) {
+                    exporter.exportBatch(destination, batch);
+                }
+            } catch (Exception e) {
+                log.error("Unexpected error while dispatching message. destination={}", destination.path(), e);
+            } finally {
+                batch.clear();
+                scheduled.set(false);
+                // a subscriber may have arrived while the flag was still set
+                if ((!parked || !parked(destination, queue))
+                        && queue.size(partition) > 0 && !cancelled && !isClosed()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
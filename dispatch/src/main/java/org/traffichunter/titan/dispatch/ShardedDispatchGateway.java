@@ -0,0 +1,735 @@
+/*
+The MIT License
+
+Copyright (c) 2025 traffic-hunter
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in
+all copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+THE SOFTWARE.
+*/
+package org.traffichunter.titan.dispatch;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Assert;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.Handler;
+import org.traffichunter.titan.core.util.HandlerRegistration;
+import org.traffichunter.titan.core.util.concurrent.MpscChunkedArrayQueue;
+import org.traffichunter.titan.core.util.management.DispatcherQueueMbeans;
+import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
+import org.traffichunter.titan.dispatch.exporter.ExportFlush;
+
+/**
+ * Dispatch gateway that hashes every destination to one of N shard threads.
+ *
+ * <p>The other gateways let every producer and consumer thread touch destination queues, so
+ * queues, byte accounting and the dispatcher trie are contended. Here a shard is the only thread
+ * that ever admits into or drains its destinations. Producers never touch that state; they hand
+ * each message to the shard through its MPSC inbox, and the shard admits it, drains its ready
+ * destinations in turns of at most {@code maxMessagesPerTurn} messages, and exports each turn as
+ * one batch. Ready and parked destinations are tracked in plain collections of the shard.</p>
+ *
+ * <pre>{@code
+ * producer: sparkDispatch(message) -> optional handlers -> shard[hash(destination)].inbox
+ *                                                                   |
+ * shard thread:  admit inbox tasks -> ready destinations -> exportBatch, turn by turn
+ * }</pre>
+ *
+ * <p>Destination queues come from the {@link Dispatcher}, so queue types, byte limits, time to
+ * live, spilling and the overflow and unsubscribed policies of {@link DestinationQueuePolicy}
+ * apply as in every other mode, and each queue keeps its MBean and latency histograms. The
+ * queues keep their own locks and byte accounting, which only the shard thread takes and so are
+ * never contended. The queue management API creates and deletes queues on their shard and waits
+ * for the outcome.</p>
+ *
+ * <p>Custom chain handlers run on the producer thread before the hand-off. The returned future
+ * completes once the shard admitted the message, or fails with a
+ * {@link DispatcherQueueOverflowException} when the queue refused it. A shard never waits for
+ * room itself. A message that a queue with a blocking overflow policy cannot take yet is held by
+ * the shard, together with every later message for that destination, and admitted in order once
+ * a drain turn or a resume made room; its producer waits on the future meanwhile, as it would
+ * wait in any other mode. Under {@code block-with-timeout} a held message is refused once its
+ * timeout passed.</p>
+ *
+ * <p>A destination whose subscriber connections are all unwritable, or that parks without
+ * subscribers, is left alone until the exporter reports a new subscription or a writable
+ * connection for it. Subscriptions themselves stay with the exporter, which every shard reads.</p>
+ *
+ * @author yun
+ */
+class ShardedDispatchGateway implements DispatchGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedDispatchGateway.class);
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+    private static final long MANAGEMENT_TIMEOUT_SECONDS = 30;
+    private static final int MAX_TASKS_PER_LOOP = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final DispatchExporter exporter;
+    private final Dispatcher dispatcher;
+    private final Shard[] shards;
+    private final int maxMessagesPerTurn;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long idleTimeoutMillis;
+    private volatile List<HandlerRegistration> registrations = List.of();
+    private DispatchHandlerChain handlerChain;
+
+    private ShardedDispatchGateway(
+            int shards,
+            int maxMessagesPerTurn,
+            DispatchExporter exporter,
+            Dispatcher dispatcher
+    ) {
+        Assert.checkArgument(shards > 0, "shards must be greater than 0");
+        Assert.checkArgument(maxMessagesPerTurn > 0, "maxMessagesPerTurn must be greater than 0");
+        this.exporter = exporter;
+        this.dispatcher = dispatcher;
+        this.maxMessagesPerTurn = maxMessagesPerTurn;
+        this.handlerChain = DispatchHandlerChain.chain().add(this::handoff);
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; i++) {
+            this.shards[i] = new Shard(i);
+        }
+    }
+
+    static ShardedDispatchGateway start(DispatchExporter exporter) {
+        return start(exporter, Dispatcher.getDefault());
+    }
+
+    static ShardedDispatchGateway start(DispatchExporter exporter, Dispatcher dispatcher) {
+        return start(
+                Runtime.getRuntime().availableProcessors(),
+                ScheduledFanoutDispatchChainHandler.DEFAULT_MAX_MESSAGES_PER_TURN,
+                exporter,
+                dispatcher
+        );
+    }
+
+    /**
+     * Creates the gateway, then starts its shard threads and listens to the exporter, so neither
+     * sees a gateway that is still being constructed.
+     */
+    static ShardedDispatchGateway start(
+            int shards,
+            int maxMessagesPerTurn,
+            DispatchExporter exporter,
+            Dispatcher dispatcher
+    ) {
+        ShardedDispatchGateway gateway = new ShardedDispatchGateway(shards, maxMessagesPerTurn, exporter, dispatcher);
+        for (Shard shard : gateway.shards) {
+            shard.thread.start();
+        }
+        gateway.registrations = List.of(
+                exporter.subscribeHandler(gateway::resume),
+                exporter.writableHandler(gateway::resume),
+                exporter.flushHandler(gateway::flushed)
+        );
+        return gateway;
+    }
+
+    @Override
+    public DispatchGateway chainHandler(Handler<DispatchHandlerChain> chainHandler) {
+        DispatchHandlerChain chain = DispatchHandlerChain.chain();
+        chainHandler.handle(chain);
+        chain.add(this::handoff);
+        this.handlerChain = chain;
+        return this;
+    }
+
+    @Override
+    public DispatchGateway idleQueueTimeout(Duration idleTimeout) {
+        Assert.checkNotNull(idleTimeout, "idleTimeout");
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<@Nullable Void> sparkDispatch(Message message) {
+        Assert.checkNotNull(message, "message");
+
+        if (closed.get()) {
+            throw new IllegalStateException("DispatchGateway is closed");
+        }
+
+        ShardDispatchContext context = new ShardDispatchContext(message);
+        try {
+            handlerChain.dispatch(context);
+        } catch (Throwable error) {
+            return CompletableFuture.failedFuture(error);
+        }
+        if (!context.handedOff) {
+            // a custom handler ended the traversal before the hand-off
+            context.admitted.complete(null);
+        }
+        return context.admitted;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed.get();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Creates a destination queue through the dispatcher on its shard and waits for it.
+     *
+     * <p>As in the other modes, an existing queue is returned unchanged. The shard drains messages
+     * enqueued into the returned queue directly once it next admits a message for the
+     * destination.</p>
+     */
+    @Override
+    public DispatcherQueue createQueue(Destination destination, long maxPendingBytes) {
+        return createQueue(destination, () -> dispatcher.getOrPut(destination, maxPendingBytes));
+    }
+
+    @Override
+    public DispatcherQueue createQueue(Destination destination, long maxPendingBytes, int partitions) {
+        return createQueue(destination, () -> dispatcher.getOrPut(destination, maxPendingBytes, partitions));
+    }
+
+    @Override
+    public DispatcherQueue createQueue(
+            Destination destination,
+            long maxPendingBytes,
+            DispatcherQueueType type,
+            String conflationKey
+    ) {
+        return createQueue(destination, () -> dispatcher.getOrPut(destination, maxPendingBytes, type, conflationKey));
+    }
+
+    /**
+     * Deletes a destination queue on its shard and waits for the outcome.
+     */
+    @Override
+    public DispatcherQueueDeleteResult deleteQueue(Destination destination, boolean force) {
+        if (closed.get()) {
+            throw new IllegalStateException("DispatchGateway is closed");
+        }
+
+        Shard shard = shardOf(destination);
+        CompletableFuture<DispatcherQueueDeleteResult> result = new CompletableFuture<>();
+        shard.execute(() -> {
+            if (closed.get()) {
+                result.completeExceptionally(new IllegalStateException("DispatchGateway is closed"));
+                return;
+            }
+            result.complete(shard.delete(destination, force));
+        });
+        return await(result);
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            registrations.forEach(HandlerRegistration::remove);
+            for (Shard shard : shards) {
+                LockSupport.unpark(shard.thread);
+            }
+            try {
+                for (Shard shard : shards) {
+                    shard.thread.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_TIMEOUT_SECONDS));
+                    if (shard.thread.isAlive()) {
+                        log.warn("Fanout shard did not terminate cleanly. shard={}", shard.index);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handlerChain.clear();
+        }
+    }
+
+    private DispatcherQueue createQueue(Destination destination, Supplier<DispatcherQueue> factory) {
+        if (closed.get()) {
+            throw new IllegalStateException("DispatchGateway is closed");
+        }
+
+        Shard shard = shardOf(destination);
+        CompletableFuture<DispatcherQueue> result = new CompletableFuture<>();
+        shard.execute(() -> {
+            if (closed.get()) {
+                result.completeExceptionally(new IllegalStateException("DispatchGateway is closed"));
+                return;
+            }
+            try {
+                result.complete(shard.register(destination, factory).queue);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return await(result);
+    }
+
+    /**
+     * Waits a bounded time for a management task, so a shard stuck in an export cannot hang the
+     * caller.
+     */
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get(MANAGEMENT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Fanout shard did not answer within " + MANAGEMENT_TIMEOUT_SECONDS + " seconds", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for fanout shard", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private DispatchChain handoff(DispatchContext context, DispatchChain chain) {
+        ShardDispatchContext shardContext = (ShardDispatchContext) context;
+        Message message = shardContext.getMessage();
+        Shard shard = shardOf(message.getDestination());
+        shardContext.handedOff = true;
+        shard.execute(() -> shard.admit(shardContext));
+        return chain.next(context);
+    }
+
+    /**
+     * Lets the shards owning {@code destination} drain it again. A wildcard subscription may cover
+     * destinations of every shard.
+     */
+    private void resume(Destination destination) {
+        if (closed.get()) {
+            return;
+        }
+        if (!destination.isWildcard()) {
+            Shard shard = shardOf(destination);
+            shard.execute(() -> shard.resume(destination));
+            return;
+        }
+        for (Shard shard : shards) {
+            shard.execute(() -> shard.resume(destination));
+        }
+    }
+
+    /**
+     * Records how long an export took in its destination queue, or only process-wide if the
+     * queue was removed meanwhile.
+     */
+    private void flushed(ExportFlush flush) {
+        DispatcherQueue queue = dispatcher.get(flush.destination());
+        DispatchLatency latency = queue != null ? queue.metadata().latency() : DispatchLatency.global();
+        latency.flushed(flush.latencyNanos(), flush.messages());
+    }
+
+    private Shard shardOf(Destination destination) {
+        int hash = destination.hashCode();
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+
+    /**
+     * Dispatch context that carries the admission outcome to the shard.
+     */
+    private static final class ShardDispatchContext extends DispatchContext {
+
+        private final CompletableFuture<@Nullable Void> admitted = new CompletableFuture<>();
+        private boolean handedOff;
+        private boolean expires;
+        private long deadlineNanos;
+
+        private ShardDispatchContext(Message message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Scheduling state of one destination queue. Only its shard thread reads or writes it.
+     */
+    private static final class ShardQueue {
+
+        private final Destination destination;
+        private final DispatcherQueue queue;
+        private final ArrayDeque<ShardDispatchContext> held = new ArrayDeque<>();
+        private boolean ready;
+        private boolean parked;
+        private boolean holding;
+
+        private ShardQueue(Destination destination, DispatcherQueue queue) {
+            this.destination = destination;
+            this.queue = queue;
+        }
+    }
+
+    private final class Shard implements Runnable {
+
+        private final int index;
+        private final Thread thread;
+        private final MpscChunkedArrayQueue<Runnable> inbox = new MpscChunkedArrayQueue<>();
+        private final Map<Destination, ShardQueue> queues = new HashMap<>();
+        private final ArrayDeque<ShardQueue> ready = new ArrayDeque<>();
+        private final ArrayDeque<ShardQueue> holding = new ArrayDeque<>();
+        private final List<Message> batch = new ArrayList<>();
+        private volatile boolean sleeping;
+        private volatile boolean terminated;
+        private long lastSweepNanos = System.nanoTime();
+
+        private Shard(int index) {
+            this.index = index;
+            this.thread = Thread.ofPlatform()
+                    .name("FanoutShardThread-" + index)
+                    .unstarted(this);
+        }
+
+        void execute(Runnable task) {
+            inbox.offer(task);
+            if (terminated) {
+                // the shard thread is gone, so run what it left behind here; every task sees closed
+                synchronized (this) {
+                    drainTasks();
+                }
+                return;
+            }
+            // pairs with the re-check in idle(), so either the shard sees the task or we wake it
+            if (sleeping) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!closed.get()) {
+                boolean worked = runTasks();
+                worked |= drainReady();
+                worked |= admitHeld();
+                sweep();
+                if (!worked) {
+                    idle();
+                }
+            }
+            // Tasks offered before a producer sees terminated are drained here, later ones by
+            // the producer itself in execute(), so no caller waits on a task nobody runs.
+            synchronized (this) {
+                terminated = true;
+                drainTasks();
+            }
+            for (ShardQueue queue : holding) {
+                failHeld(queue, new IllegalStateException("DispatchGateway is closed"));
+            }
+            holding.clear();
+        }
+
+        private void drainTasks() {
+            while (runTasks()) {
+                // keep going until the inbox is empty
+            }
+        }
+
+        private boolean runTasks() {
+            int tasks = 0;
+            Runnable task;
+            while (tasks < MAX_TASKS_PER_LOOP && (task = inbox.poll()) != null) {
+                tasks++;
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("Unexpected error in fanout shard task. shard={}", index, e);
+                }
+            }
+            return tasks > 0;
+        }
+
+        /**
+         * Gives every destination that was ready at the start one turn.
+         */
+        private boolean drainReady() {
+            int turns = ready.size();
+            for (int i = 0; i < turns; i++) {
+                ShardQueue queue = ready.poll();
+                queue.ready = false;
+                if (parked(queue)) {
+                    queue.parked = true;
+                    continue;
+                }
+                drain(queue);
+                if (queue.queue.size() > 0) {
+                    schedule(queue);
+                }
+            }
+            return turns > 0;
+        }
+
+        private boolean parked(ShardQueue queue) {
+            return !exporter.isWritable(queue.destination)
+                    || (queue.queue.metadata().getUnsubscribedPolicy().parks()
+                            && !exporter.hasSubscribers(queue.destination));
+        }
+
+        private void drain(ShardQueue queue) {
+            try {
+                if (queue.queue.drainTo(batch, maxMessagesPerTurn, AbstractFanoutDispatchChainHandler.DEFAULT_BATCH_BYTES) > 0) {
+                    exporter.exportBatch(queue.destination, batch);
+                }
+            } catch (Exception e) {
+                log.error("Unexpected error while dispatching message. destination={}", queue.destination.path(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+
+        void admit(ShardDispatchContext context) {
+            Message message = context.getMessage();
+            if (closed.get()) {
+                context.admitted.completeExceptionally(new IllegalStateException("DispatchGateway is closed"));
+                return;
+            }
+
+            Destination destination = message.getDestination();
+            ShardQueue queue = register(destination, () -> dispatcher.getOrPut(destination));
+            if (RouteDispatchChainHandler.discardUnsubscribed(exporter, queue.queue, message)) {
+                context.admitted.complete(null);
+                return;
+            }
+            // a message behind held ones waits its turn, so a producer's messages stay in order
+            if (!queue.held.isEmpty() || !offer(queue, context)) {
+                hold(queue, context);
+            }
+        }
+
+        /**
+         * Admits a message without ever waiting for room, since the shard itself makes room, and
+         * completes its future unless it has to be held.
+         *
+         * @return {@code false} if the queue's overflow policy blocks and the message does not fit
+         *         yet
+         */
+        private boolean offer(ShardQueue queue, ShardDispatchContext context) {
+            DispatcherQueue dq = queue.queue;
+            Message message = context.getMessage();
+            try {
+                if (!dq.metadata().getOverflowPolicy().blocks() || message.getSize() > dq.getMaxPendingBytes()) {
+                    if (dq.enqueue(message) == null) {
+                        RouteDispatchChainHandler.refuse(dq, message);
+                    }
+                } else if (!dq.tryEnqueue(message)) {
+                    return false;
+                }
+            } catch (RuntimeException e) {
+                context.admitted.completeExceptionally(e);
+                return true;
+            }
+            context.admitted.complete(null);
+            if (!queue.parked) {
+                schedule(queue);
+            }
+            return true;
+        }
+
+        private void hold(ShardQueue queue, ShardDispatchContext context) {
+            DestinationQueueMetadata metadata = queue.queue.metadata();
+            if (metadata.getOverflowPolicy() == DispatcherQueueOverflowPolicy.BLOCK_WITH_TIMEOUT) {
+                context.expires = true;
+                context.deadlineNanos = System.nanoTime()
+                        + TimeUnit.MILLISECONDS.toNanos(metadata.getOverflowTimeoutMillis());
+            }
+            queue.held.add(context);
+            if (!queue.holding) {
+                queue.holding = true;
+                holding.add(queue);
+            }
+        }
+
+        /**
+         * Admits held messages in order while they fit, and refuses those whose
+         * {@code block-with-timeout} wait ran out.
+         *
+         * @return whether any held message was admitted or refused
+         */
+        private boolean admitHeld() {
+            boolean admitted = false;
+            int queues = holding.size();
+            for (int i = 0; i < queues; i++) {
+                ShardQueue queue = holding.poll();
+                admitted |= admitHeld(queue);
+                if (queue.held.isEmpty()) {
+                    queue.holding = false;
+                } else {
+                    holding.add(queue);
+                }
+            }
+            return admitted;
+        }
+
+        private boolean admitHeld(ShardQueue queue) {
+            boolean admitted = false;
+            long now = System.nanoTime();
+            ShardDispatchContext context;
+            while ((context = queue.held.peek()) != null) {
+                if (!offer(queue, context)) {
+                    if (!context.expires || now - context.deadlineNanos < 0) {
+                        break;
+                    }
+                    queue.queue.metadata().rejected(1);
+                    try {
+                        RouteDispatchChainHandler.refuse(queue.queue, context.getMessage());
+                        context.admitted.complete(null);
+                    } catch (RuntimeException e) {
+                        context.admitted.completeExceptionally(e);
+                    }
+                }
+                queue.held.poll();
+                admitted = true;
+            }
+            return admitted;
+        }
+
+        private void failHeld(ShardQueue queue, RuntimeException error) {
+            ShardDispatchContext context;
+            while ((context = queue.held.poll()) != null) {
+                context.admitted.completeExceptionally(error);
+            }
+        }
+
+        /**
+         * Returns the scheduling state of a destination, creating its queue with {@code factory}
+         * if the shard does not track it yet.
+         */
+        ShardQueue register(Destination destination, Supplier<DispatcherQueue> factory) {
+            ShardQueue queue = queues.get(destination);
+            if (queue == null) {
+                queue = new ShardQueue(destination, factory.get());
+                queues.put(destination, queue);
+            }
+            return queue;
+        }
+
+        void resume(Destination destination) {
+            if (!destination.isWildcard()) {
+                ShardQueue queue = queues.get(destination);
+                if (queue != null) {
+                    resume(queue);
+                }
+                return;
+            }
+            for (ShardQueue queue : queues.values()) {
+                if (destination.matches(queue.destination)) {
+                    resume(queue);
+                }
+            }
+        }
+
+        private void resume(ShardQueue queue) {
+            queue.parked = false;
+            if (queue.queue.size() > 0) {
+                schedule(queue);
+            }
+        }
+
+        DispatcherQueueDeleteResult delete(Destination destination, boolean force) {
+            ShardQueue queue = queues.get(destination);
+            if (queue == null) {
+                return DispatcherQueueDeleteResult.notFound();
+            }
+            int size = queue.queue.size() + queue.held.size();
+            if (size > 0 && !force) {
+                return DispatcherQueueDeleteResult.notEmpty(size);
+            }
+            queues.remove(destination);
+            if (queue.ready) {
+                ready.remove(queue);
+            }
+            if (queue.holding) {
+                holding.remove(queue);
+                failHeld(queue, new IllegalStateException("Dispatcher queue was deleted: " + destination.path()));
+            }
+            remove(queue);
+            return DispatcherQueueDeleteResult.deleted(size);
+        }
+
+        /**
+         * Unregisters a queue the shard stopped tracking and releases what it still holds.
+         */
+        private void remove(ShardQueue queue) {
+            // Unregistered before the trie node goes so a queue recreated right away keeps its MBean.
+            DispatcherQueueMbeans.unregister(queue.queue.getDestination());
+            dispatcher.remove(queue.destination);
+            queue.queue.clear();
+        }
+
+        private void schedule(ShardQueue queue) {
+            if (!queue.ready) {
+                queue.ready = true;
+                ready.add(queue);
+            }
+        }
+
+        /**
+         * Expires messages at the head of every queue and removes empty queues that received
+         * nothing for the idle timeout, at most once per sweep interval.
+         */
+        private void sweep() {
+            long now = System.nanoTime();
+            if (now - lastSweepNanos < SWEEP_INTERVAL_NANOS) {
+                return;
+            }
+            lastSweepNanos = now;
+            long idleTimeout = idleTimeoutMillis;
+            long nowMillis = System.currentTimeMillis();
+            Iterator<ShardQueue> iterator = queues.values().iterator();
+            while (iterator.hasNext()) {
+                ShardQueue queue = iterator.next();
+                queue.queue.expire();
+                if (idleTimeout > 0
+                        && !queue.ready
+                        && !queue.holding
+                        && queue.queue.size() == 0
+                        && nowMillis - queue.queue.metadata().getLastEnqueuedAtMillis() >= idleTimeout) {
+                    iterator.remove();
+                    remove(queue);
+                }
+            }
+        }
+
+        private void idle() {
+            sleeping = true;
+            try {
+                if (inbox.peek() == null && !closed.get()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            } finally {
+                sleeping = false;
+            }
+        }
+    }
+}
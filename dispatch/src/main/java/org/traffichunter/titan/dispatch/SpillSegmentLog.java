@@ -0,0 +1,307 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.file.FileHandle;
+import org.traffichunter.titan.core.util.file.FileHandler;
+
+/**
+ * FIFO log of messages written to memory-mapped segment files.
+ *
+ * <p>Messages are appended to the newest segment and read back from the oldest. A segment that has
+ * been read completely is reset and kept for reuse, up to {@link #MAX_RECYCLED_SEGMENTS}, so a
+ * queue that keeps spilling does not create and map a new file for every segment. Segments beyond
+ * that are closed and deleted.</p>
+ *
+ * <p>The log only bridges memory pressure and is not durable. Existing segment files are deleted
+ * when the log is opened, and nothing is forced to disk.</p>
+ *
+ * <p>The log is not thread-safe. {@link SpillingDispatcherQueue} guards it with its spill lock.</p>
+ *
+ * @author yun
+ */
+final class SpillSegmentLog implements AutoCloseable {
+
+    static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private static final int MAX_RECYCLED_SEGMENTS = 2;
+    private static final String SEGMENT_SUFFIX = ".spill";
+
+    /**
+     * Record length and payload length prefixed to every record.
+     */
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final ArrayDeque<Segment> recycled = new ArrayDeque<>();
+    private long nextSegmentId;
+    private long bytes;
+    private int messages;
+
+    SpillSegmentLog(Path directory, int segmentBytes) {
+        if (segmentBytes <= RECORD_HEADER_BYTES) {
+            throw new IllegalArgumentException("Spill segment size must be greater than " + RECORD_HEADER_BYTES);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        FileHandler.createDirectories(directory);
+        for (Path stale : FileHandler.list(directory)) {
+            if (stale.getFileName().toString().endsWith(SEGMENT_SUFFIX)) {
+                FileHandler.deleteIfExists(stale);
+            }
+        }
+    }
+
+    /**
+     * Appends a message to the tail of the log.
+     *
+     * @return number of bytes written
+     */
+    int append(Message message) {
+        byte[] destination = utf8(message.getDestination().path());
+        byte[] producerId = utf8(message.getProducerId());
+        List<byte[]> headers = new ArrayList<>(message.getHeaders().size() * 2);
+        int length = RECORD_HEADER_BYTES
+                + Long.BYTES + Integer.BYTES + Long.BYTES
+                + Integer.BYTES + destination.length
+                + Integer.BYTES + producerId.length
+                + Integer.BYTES;
+        for (Map.Entry<String, String> header : message.getHeaders().entrySet()) {
+            byte[] name = utf8(header.getKey());
+            byte[] value = utf8(header.getValue());
+            headers.add(name);
+            headers.add(value);
+            length += Integer.BYTES * 2 + name.length + value.length;
+        }
+        byte[] body = message.getBody();
+        length += body.length;
+
+        Segment segment = writableSegment(length);
+        MappedByteBuffer buffer = segment.buffer;
+        int position = segment.writePosition;
+        buffer.putInt(position, length);
+        buffer.putInt(position + Integer.BYTES, body.length);
+        position += RECORD_HEADER_BYTES;
+        buffer.putLong(position, message.getCreatedAt().getEpochSecond());
+        buffer.putInt(position + Long.BYTES, message.getCreatedAt().getNano());
+        buffer.putLong(position + Long.BYTES + Integer.BYTES, message.getExpiresAt());
+        position += Long.BYTES + Integer.BYTES + Long.BYTES;
+        position = putBytes(buffer, position, destination);
+        position = putBytes(buffer, position, producerId);
+        buffer.putInt(position, headers.size() / 2);
+        position += Integer.BYTES;
+        for (byte[] header : headers) {
+            position = putBytes(buffer, position, header);
+        }
+        buffer.put(position, body);
+
+        segment.writePosition += length;
+        bytes += length;
+        messages++;
+        return length;
+    }
+
+    /**
+     * Removes and returns the head message, or {@code null} when the log is empty.
+     */
+    @Nullable Message poll() {
+        Segment head = readableSegment();
+        if (head == null) {
+            return null;
+        }
+        MappedByteBuffer buffer = head.buffer;
+        int position = head.readPosition;
+        int length = buffer.getInt(position);
+        int bodyLength = buffer.getInt(position + Integer.BYTES);
+        position += RECORD_HEADER_BYTES;
+        Instant createdAt = Instant.ofEpochSecond(buffer.getLong(position), buffer.getInt(position + Long.BYTES));
+        long expiresAt = buffer.getLong(position + Long.BYTES + Integer.BYTES);
+        position += Long.BYTES + Integer.BYTES + Long.BYTES;
+        String destination = getString(buffer, position);
+        position += Integer.BYTES + buffer.getInt(position);
+        String producerId = getString(buffer, position);
+        position += Integer.BYTES + buffer.getInt(position);
+        int headerCount = buffer.getInt(position);
+        position += Integer.BYTES;
+        Map<String, String> headers = HashMap.newHashMap(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            String name = getString(buffer, position);
+            position += Integer.BYTES + buffer.getInt(position);
+            String value = getString(buffer, position);
+            position += Integer.BYTES + buffer.getInt(position);
+            headers.put(name, value);
+        }
+        byte[] body = new byte[bodyLength];
+        buffer.get(position, body);
+
+        head.readPosition += length;
+        bytes -= length;
+        messages--;
+        return new Message(Destination.create(destination), createdAt, producerId, body, headers, expiresAt);
+    }
+
+    boolean isEmpty() {
+        return messages == 0;
+    }
+
+    int size() {
+        return messages;
+    }
+
+    /**
+     * Number of record bytes written and not read yet.
+     */
+    long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Discards every message in the log, keeping segments for reuse.
+     */
+    void clear() {
+        while (!segments.isEmpty()) {
+            recycle(segments.pollFirst());
+        }
+        bytes = 0L;
+        messages = 0;
+    }
+
+    /**
+     * Closes and deletes every segment file.
+     */
+    @Override
+    public void close() {
+        clear();
+        while (!recycled.isEmpty()) {
+            recycled.pollFirst().delete();
+        }
+    }
+
+    /**
+     * Returns the head segment positioned on an unread record, recycling segments that have been
+     * read completely, or {@code null} when the log is empty.
+     */
+    private @Nullable Segment readableSegment() {
+        Segment head;
+        while ((head = segments.peekFirst()) != null && head.readPosition == head.writePosition) {
+            if (head == segments.peekLast()) {
+                head.reset();
+                return null;
+            }
+            recycle(segments.pollFirst());
+        }
+        return head;
+    }
+
+    private Segment writableSegment(int length) {
+        Segment tail = segments.peekLast();
+        if (tail != null && tail.capacity() - tail.writePosition >= length) {
+            return tail;
+        }
+        Segment segment = length <= segmentBytes && !recycled.isEmpty()
+                ? recycled.pollFirst()
+                : newSegment(Math.max(length, segmentBytes));
+        segments.addLast(segment);
+        return segment;
+    }
+
+    private Segment newSegment(int capacity) {
+        Path path = directory.resolve(String.format("%020d%s", nextSegmentId++, SEGMENT_SUFFIX));
+        FileHandle handle = FileHandle.newOpen(path);
+        try {
+            return new Segment(handle, handle.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        } catch (RuntimeException e) {
+            handle.close();
+            FileHandler.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    private void recycle(Segment segment) {
+        if (segment.capacity() == segmentBytes && recycled.size() < MAX_RECYCLED_SEGMENTS) {
+            segment.reset();
+            recycled.addLast(segment);
+        } else {
+            segment.delete();
+        }
+    }
+
+    private static int putBytes(MappedByteBuffer buffer, int position, byte[] value) {
+        buffer.putInt(position, value.length);
+        buffer.put(position + Integer.BYTES, value);
+        return position + Integer.BYTES + value.length;
+    }
+
+    private static String getString(MappedByteBuffer buffer, int position) {
+        byte[] value = new byte[buffer.getInt(position)];
+        buffer.get(position + Integer.BYTES, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Segment {
+
+        private final FileHandle handle;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private int readPosition;
+
+        private Segment(FileHandle handle, MappedByteBuffer buffer) {
+            this.handle = handle;
+            this.buffer = buffer;
+        }
+
+        private int capacity() {
+            return buffer.capacity();
+        }
+
+        private void reset() {
+            writePosition = 0;
+            readPosition = 0;
+        }
+
+        private void delete() {
+            handle.close();
+            FileHandler.deleteIfExists(handle.path());
+        }
+    }
+}
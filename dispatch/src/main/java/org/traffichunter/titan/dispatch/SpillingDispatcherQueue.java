@@ -0,0 +1,617 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.file.FileIOException;
+import org.traffichunter.titan.core.util.management.LatencyResource;
+
+/**
+ * Dispatcher queue that moves overflow to disk instead of holding it in memory.
+ *
+ * <p>While the in-memory queue holds fewer than {@code spillThresholdBytes} pending bytes, messages
+ * go straight to it. Past the threshold, new messages are appended to a {@link SpillSegmentLog}
+ * and the queue keeps spilling until the log has been read back completely, so messages of one
+ * producer keep their order. Consumers refill the in-memory queue from the log as they drain it,
+ * never past the threshold, and see one ordered stream.</p>
+ *
+ * <p>Messages on disk do not count towards {@link #getPendingBytes()}, so a spilling queue does not
+ * pause producers and its overflow policy only applies to messages the in-memory queue cannot
+ * take. They are not conflated, evicted or swept for expiry until they are back in memory. A
+ * message read back from disk is a new {@link Message} instance with its own unique id.</p>
+ *
+ * <p>If writing to disk fails, the message goes to the in-memory queue as if the queue were not
+ * spilling.</p>
+ *
+ * @author yun
+ */
+final class SpillingDispatcherQueue implements DispatcherQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(SpillingDispatcherQueue.class);
+
+    /**
+     * Longest time a blocked consumer waits on the in-memory queue before checking the log again.
+     */
+    private static final long REFILL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final AbstractDispatcherQueue delegate;
+    private final long spillThresholdBytes;
+    private final SpillSegmentLog spill;
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private final ByteRateMeter spilledBytes = new ByteRateMeter();
+    private final ByteRateMeter unspilledBytes = new ByteRateMeter();
+
+    /**
+     * Whether new messages must go to the log. Written under {@link #spillLock}.
+     */
+    private volatile boolean spilling;
+
+    /**
+     * Message read back from the log that the in-memory queue could not take yet.
+     */
+    private @Nullable Message readAhead;
+
+    SpillingDispatcherQueue(AbstractDispatcherQueue delegate, long spillThresholdBytes, Path directory) {
+        this(delegate, spillThresholdBytes, directory, SpillSegmentLog.DEFAULT_SEGMENT_BYTES);
+    }
+
+    SpillingDispatcherQueue(
+            AbstractDispatcherQueue delegate,
+            long spillThresholdBytes,
+            Path directory,
+            int segmentBytes
+    ) {
+        if (spillThresholdBytes <= 0L) {
+            throw new IllegalArgumentException("Spill threshold must be greater than zero");
+        }
+        if (delegate.partitions() != 1) {
+            throw new IllegalArgumentException("Partitioned queues cannot spill to disk");
+        }
+        this.delegate = delegate;
+        this.spillThresholdBytes = Math.min(spillThresholdBytes, delegate.getMaxPendingBytes());
+        this.spill = new SpillSegmentLog(
+                directory.resolve(directoryName(delegate.route())),
+                segmentBytes
+        );
+    }
+
+    /**
+     * Names the segment directory of a destination so that no two destinations share it. Path
+     * separators become {@code _}; every character other than letters, digits, {@code -} and
+     * {@code .}, including {@code _} itself, is escaped as {@code %} and four hex digits.
+     */
+    static String directoryName(Destination destination) {
+        String path = destination.path();
+        StringBuilder name = new StringBuilder("titan");
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '/') {
+                name.append('_');
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '.') {
+                name.append(c);
+            } else {
+                name.append('%').append(String.format("%04x", (int) c));
+            }
+        }
+        return name.toString();
+    }
+
+    long spillThresholdBytes() {
+        return spillThresholdBytes;
+    }
+
+    @Override
+    public @Nullable Message enqueue(Message message) {
+        if (!delegate.enterAdmission()) {
+            return null;
+        }
+        try {
+            return admit(message);
+        } finally {
+            delegate.exitAdmission();
+        }
+    }
+
+    /**
+     * Admits the message into memory if it fits under the spill threshold right away. A message
+     * that would go to disk is refused, since spilling has to keep the order of earlier spilled
+     * messages.
+     */
+    @Override
+    public boolean tryEnqueue(Message message) {
+        if (!delegate.enterAdmission()) {
+            return false;
+        }
+        try {
+            return !spilling && fits(message) && delegate.tryEnqueue(message);
+        } finally {
+            delegate.exitAdmission();
+        }
+    }
+
+    /**
+     * Retires the queue only while both memory and disk are empty, so no spill segment file is
+     * created for it afterwards.
+     */
+    @Override
+    public boolean retire() {
+        return delegate.retire(this);
+    }
+
+    @Override
+    public boolean isRetired() {
+        return delegate.isRetired();
+    }
+
+    private @Nullable Message admit(Message message) {
+        if (!spilling && fits(message)) {
+            return delegate.enqueue(message);
+        }
+
+        spillLock.lock();
+        try {
+            if (!spilling && fits(message)) {
+                return delegate.enqueue(message);
+            }
+            spilledBytes.mark(spill.append(message));
+            spilling = true;
+            delegate.metadata().enqueued(System.currentTimeMillis());
+        } catch (FileIOException e) {
+            log.warn("Failed to spill message of {} to disk", delegate.getDestination(), e);
+            return delegate.enqueue(message);
+        } finally {
+            spillLock.unlock();
+        }
+
+        if (delegate.size() == 0) {
+            refill();
+        }
+        return message;
+    }
+
+    @Override
+    public Message dispatch() throws InterruptedException {
+        while (true) {
+            refill();
+            Message message = delegate.dispatch(REFILL_INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+            if (message != null) {
+                return message;
+            }
+        }
+    }
+
+    @Override
+    public @Nullable Message dispatch(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            refill();
+            long remaining = deadline - System.nanoTime();
+            Message message = delegate.dispatch(
+                    Math.max(0L, Math.min(remaining, REFILL_INTERVAL_NANOS)),
+                    TimeUnit.NANOSECONDS
+            );
+            if (message != null || remaining <= REFILL_INTERVAL_NANOS) {
+                return message;
+            }
+        }
+    }
+
+    @Override
+    public @Nullable Message poll() {
+        refill();
+        return delegate.poll();
+    }
+
+    @Override
+    public int drainTo(Collection<? super Message> sink, int maxMessages, long maxBytes) {
+        refill();
+        return delegate.drainTo(sink, maxMessages, maxBytes);
+    }
+
+    @Override
+    public int drainTo(
+            Collection<? super Message> sink,
+            int maxMessages,
+            long maxBytes,
+            long timeout,
+            TimeUnit unit
+    ) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            refill();
+            long remaining = deadline - System.nanoTime();
+            int drained = delegate.drainTo(
+                    sink,
+                    maxMessages,
+                    maxBytes,
+                    Math.max(0L, Math.min(remaining, REFILL_INTERVAL_NANOS)),
+                    TimeUnit.NANOSECONDS
+            );
+            if (drained > 0 || remaining <= REFILL_INTERVAL_NANOS) {
+                return drained;
+            }
+        }
+    }
+
+    @Override
+    public int partitions() {
+        return 1;
+    }
+
+    @Override
+    public int size(int partition) {
+        delegate.checkPartition(partition);
+        return size();
+    }
+
+    @Override
+    public int drainTo(int partition, Collection<? super Message> sink, int maxMessages, long maxBytes) {
+        delegate.checkPartition(partition);
+        return drainTo(sink, maxMessages, maxBytes);
+    }
+
+    @Override
+    public int drainTo(
+            int partition,
+            Collection<? super Message> sink,
+            int maxMessages,
+            long maxBytes,
+            long timeout,
+            TimeUnit unit
+    ) throws InterruptedException {
+        delegate.checkPartition(partition);
+        return drainTo(sink, maxMessages, maxBytes, timeout, unit);
+    }
+
+    @Override
+    public @Nullable Message peek() {
+        refill();
+        return delegate.peek();
+    }
+
+    @Override
+    public boolean hasNext() {
+        refill();
+        return delegate.hasNext();
+    }
+
+    @Override
+    public Message next() {
+        refill();
+        return delegate.next();
+    }
+
+    /**
+     * Returns a snapshot of the messages held in memory. Messages on disk are not included.
+     */
+    @Override
+    public List<Message> snapshot() {
+        return delegate.snapshot();
+    }
+
+    @Override
+    public boolean contains(Message message) {
+        return delegate.contains(message);
+    }
+
+    @Override
+    public void remove(Message message) {
+        delegate.remove(message);
+    }
+
+    @Override
+    public int size() {
+        spillLock.lock();
+        try {
+            return delegate.size() + spill.size() + (readAhead == null ? 0 : 1);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Discards every queued message and deletes the segment files.
+     */
+    @Override
+    public void clear() {
+        spillLock.lock();
+        try {
+            readAhead = null;
+            spill.close();
+            spilling = false;
+        } finally {
+            spillLock.unlock();
+        }
+        delegate.clear();
+    }
+
+    @Override
+    public DestinationQueueMetadata metadata() {
+        return delegate.metadata();
+    }
+
+    @Override
+    public Destination route() {
+        return delegate.route();
+    }
+
+    @Override
+    public boolean equalsTo(Destination key) {
+        return delegate.equalsTo(key);
+    }
+
+    @Override
+    public void updateRoutingKey(Destination key) {
+        delegate.updateRoutingKey(key);
+    }
+
+    @Override
+    public void overflowPolicy(DispatcherQueueOverflowPolicy policy, Duration timeout) {
+        delegate.overflowPolicy(policy, timeout);
+    }
+
+    @Override
+    public CompletableFuture<@Nullable Void> resumed() {
+        return delegate.resumed();
+    }
+
+    @Override
+    public void timeToLive(Duration timeToLive) {
+        delegate.timeToLive(timeToLive);
+    }
+
+    @Override
+    public void unsubscribedPolicy(DispatcherQueueUnsubscribedPolicy policy, long bufferBytes) {
+        delegate.unsubscribedPolicy(policy, bufferBytes);
+    }
+
+    @Override
+    public int expire() {
+        return delegate.expire();
+    }
+
+    @Override
+    public void pause() {
+        delegate.pause();
+    }
+
+    @Override
+    public void resume() {
+        delegate.resume();
+    }
+
+    @Override
+    public boolean isPaused() {
+        return delegate.isPaused();
+    }
+
+    @Override
+    public String getDestination() {
+        return delegate.getDestination();
+    }
+
+    @Override
+    public int getSize() {
+        return size();
+    }
+
+    @Override
+    public long getPendingBytes() {
+        return delegate.getPendingBytes();
+    }
+
+    @Override
+    public long getMaxPendingBytes() {
+        return delegate.getMaxPendingBytes();
+    }
+
+    @Override
+    public long getResumePendingBytes() {
+        return delegate.getResumePendingBytes();
+    }
+
+    @Override
+    public long getTimeToLiveMillis() {
+        return delegate.getTimeToLiveMillis();
+    }
+
+    @Override
+    public long getExpiredMessages() {
+        return delegate.getExpiredMessages();
+    }
+
+    @Override
+    public long getConflatedMessages() {
+        return delegate.getConflatedMessages();
+    }
+
+    @Override
+    public String getOverflowPolicy() {
+        return delegate.getOverflowPolicy();
+    }
+
+    @Override
+    public long getOverflowTimeoutMillis() {
+        return delegate.getOverflowTimeoutMillis();
+    }
+
+    @Override
+    public long getDroppedMessages() {
+        return delegate.getDroppedMessages();
+    }
+
+    @Override
+    public long getEvictedMessages() {
+        return delegate.getEvictedMessages();
+    }
+
+    @Override
+    public long getRejectedMessages() {
+        return delegate.getRejectedMessages();
+    }
+
+    @Override
+    public String getUnsubscribedPolicy() {
+        return delegate.getUnsubscribedPolicy();
+    }
+
+    @Override
+    public long getUnsubscribedBufferBytes() {
+        return delegate.getUnsubscribedBufferBytes();
+    }
+
+    @Override
+    public long getUnsubscribedMessages() {
+        return delegate.getUnsubscribedMessages();
+    }
+
+    @Override
+    public long getConsumerStops() {
+        return delegate.getConsumerStops();
+    }
+
+    @Override
+    public long getUnwritableStops() {
+        return delegate.getUnwritableStops();
+    }
+
+    @Override
+    public long getLastEnqueuedAtMillis() {
+        return delegate.getLastEnqueuedAtMillis();
+    }
+
+    @Override
+    public int[] getLaneSizes() {
+        return delegate.getLaneSizes();
+    }
+
+    @Override
+    public long[] getLanePendingBytes() {
+        return delegate.getLanePendingBytes();
+    }
+
+    @Override
+    public long getSpillThresholdBytes() {
+        return spillThresholdBytes;
+    }
+
+    @Override
+    public int getSpilledMessages() {
+        spillLock.lock();
+        try {
+            return spill.size() + (readAhead == null ? 0 : 1);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    @Override
+    public long getSpilledBytes() {
+        spillLock.lock();
+        try {
+            return spill.bytes();
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    @Override
+    public long getSpillBytesPerSecond() {
+        return spilledBytes.bytesPerSecond();
+    }
+
+    @Override
+    public long getUnspillBytesPerSecond() {
+        return unspilledBytes.bytesPerSecond();
+    }
+
+    @Override
+    public LatencyResource getEnqueueLatency() {
+        return delegate.getEnqueueLatency();
+    }
+
+    @Override
+    public LatencyResource getDispatchLatency() {
+        return delegate.getDispatchLatency();
+    }
+
+    @Override
+    public LatencyResource getFlushLatency() {
+        return delegate.getFlushLatency();
+    }
+
+    private boolean fits(Message message) {
+        return delegate.getPendingBytes() + message.getSize() <= spillThresholdBytes;
+    }
+
+    /**
+     * Moves messages from the log into memory while they fit under the spill threshold, always
+     * moving at least one into an empty queue. Stops spilling once the log is empty.
+     */
+    private void refill() {
+        if (!spilling || delegate.isPaused()) {
+            return;
+        }
+
+        spillLock.lock();
+        try {
+            while (true) {
+                Message next = readAhead;
+                if (next == null) {
+                    long before = spill.bytes();
+                    next = spill.poll();
+                    if (next == null) {
+                        spilling = false;
+                        return;
+                    }
+                    unspilledBytes.mark(before - spill.bytes());
+                }
+                readAhead = null;
+                if (next.getSize() > delegate.getMaxPendingBytes()) {
+                    delegate.enqueue(next);
+                    continue;
+                }
+                if ((delegate.size() > 0 && !fits(next)) || !delegate.tryEnqueue(next)) {
+                    readAhead = next;
+                    return;
+                }
+            }
+        } catch (FileIOException e) {
+            log.warn("Failed to read spilled messages of {} from disk", delegate.getDestination(), e);
+        } finally {
+            spillLock.unlock();
+        }
+    }
+}
@@ -24,8 +24,13 @@ THE SOFTWARE.
 package org.traffichunter.titan.dispatch;
 
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
@@ -38,6 +43,7 @@ import org.traffichunter.titan.core.codec.stomp.StompFrame;
 import org.traffichunter.titan.core.codec.stomp.StompHeaders;
 import org.traffichunter.titan.core.message.Message;
 import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.HandlerRegistration;
 
 import static org.traffichunter.titan.core.codec.stomp.StompFrame.errorFrame;
 
@@ -49,12 +55,33 @@ import static org.traffichunter.titan.core.codec.stomp.StompFrame.errorFrame;
  * type, and delegates routing to {@link DispatchGateway}. It does not write
  * directly to subscribers; the exporter layer owns that protocol-specific
  * delivery step.</p>
+ *
+ * <p>While a message of a connection waits for its queue to resume under
+ * {@code pause-producer-reads}, SEND frames of that connection that were decoded
+ * before reads stopped are held back and dispatched in order after the retried
+ * message. Reads resume only once every retry of the connection completed and no
+ * held back frame is left. If the connection closes meanwhile, its held back
+ * frames are dropped and a pending retry is not dispatched.</p>
  */
 public final class StompSendToFanoutHandler implements StompServerCommandHandler {
 
     private static final Logger log = LoggerFactory.getLogger(StompSendToFanoutHandler.class);
 
+    /**
+     * SEND headers describing the frame itself. Every other header is copied onto the message so
+     * queue policies such as partitioning, priority lanes and conflation can read it.
+     */
+    private static final Set<StompHeaders.Elements> FRAME_HEADERS = EnumSet.of(
+            StompHeaders.Elements.DESTINATION,
+            StompHeaders.Elements.CONTENT_LENGTH,
+            StompHeaders.Elements.CONTENT_TYPE,
+            StompHeaders.Elements.RECEIPT,
+            StompHeaders.Elements.TRANSACTION,
+            StompHeaders.Elements.EXPIRES
+    );
+
     private final DispatchGateway dispatchGateway;
+    private final Map<StompClientChannel, ProducerBacklog> backlogs = new ConcurrentHashMap<>();
 
     public StompSendToFanoutHandler(DispatchGateway dispatchGateway) {
         this.dispatchGateway = dispatchGateway;
@@ -72,26 +99,198 @@ public final class StompSendToFanoutHandler implements StompServerCommandHandler
             return;
         }
 
-        Message message = Message.builder()
-                .destination(Destination.create(destination))
+        Destination routingKey = Destination.intern(destination);
+        if (routingKey.isWildcard()) {
+            log.warn(
+                    "Rejected dispatch to wildcard destination. session={}, destination={}",
+                    connection.session(),
+                    destination
+            );
+            connection.send(errorFrame("Wrong send.", "Wildcard destination cannot be published to."));
+            connection.close();
+            return;
+        }
+
+        Message.MessageBuilder builder = Message.builder()
+                .destination(routingKey)
                 .createdAt(Instant.now())
                 .producerId(connection.session())
-                .body(sf.body())
-                .build();
+                .wrapBody(sf.readOnlyBody());
+        for (Map.Entry<StompHeaders.Elements, String> header : sf.headers().entrySet()) {
+            if (!FRAME_HEADERS.contains(header.getKey())) {
+                builder.header(header.getKey().getName(), header.getValue());
+            }
+        }
+        builder.expiresAt(expiresAt(sf.getHeader(StompHeaders.Elements.EXPIRES)));
+        Message message = builder.build();
 
+        if (!backlogs.isEmpty()
+                && holdBack(connection, () -> dispatch(sf, connection, context, destination, message, false))) {
+            return;
+        }
+        dispatch(sf, connection, context, destination, message, false);
+    }
+
+    /**
+     * Dispatches a message. A {@code retry} of a message that waited for its queue to resume
+     * settles the connection's backlog once its outcome was handled.
+     */
+    private void dispatch(
+            StompFrame sf,
+            StompClientChannel connection,
+            StompServerHandlerContext context,
+            String destination,
+            Message message,
+            boolean retry
+    ) {
         try {
             CompletableFuture<@Nullable Void> dispatchResult = dispatchGateway.sparkDispatch(message);
             dispatchResult.whenComplete((ignored, error) -> {
                 if (error != null) {
-                    handleDispatchFailure(connection, destination, unwrap(error));
-                    return;
+                    handleDispatchFailure(sf, connection, context, destination, message, unwrap(error));
+                } else {
+                    context.receipt(sf, connection);
+                }
+                if (retry) {
+                    settle(connection);
                 }
-
-                context.receipt(sf, connection);
             });
         } catch (Exception e) {
-            handleDispatchFailure(connection, destination, e);
+            handleDispatchFailure(sf, connection, context, destination, message, e);
+            if (retry) {
+                settle(connection);
+            }
+        }
+    }
+
+    /**
+     * Queues a frame behind the pending retries of its connection.
+     *
+     * @return whether the connection has pending retries, so the frame was held back
+     */
+    private boolean holdBack(StompClientChannel connection, Runnable frame) {
+        return backlogs.computeIfPresent(connection, (ignored, backlog) -> {
+            backlog.frames.add(frame);
+            return backlog;
+        }) != null;
+    }
+
+    /**
+     * Stops reading from the connection until the message it could not dispatch was retried.
+     */
+    private void pauseReads(StompClientChannel connection) {
+        ProducerBacklog created = new ProducerBacklog();
+        ProducerBacklog paused = backlogs.compute(connection, (ignored, backlog) -> {
+            ProducerBacklog current = backlog == null ? created : backlog;
+            current.pendingRetries++;
+            return current;
+        });
+        if (paused == created) {
+            connection.channel().internal().setAutoRead(false);
+            created.closed = connection.channel().addCloseHandler(ignored -> discard(connection));
+        }
+    }
+
+    /**
+     * Forgets the backlog of a connection that closed while its reads were paused, dropping the
+     * frames it held back.
+     */
+    private void discard(StompClientChannel connection) {
+        ProducerBacklog backlog = backlogs.remove(connection);
+        if (backlog != null) {
+            log.debug(
+                    "Dropping held back frames of closed producer. session={}, frames={}",
+                    connection.session(),
+                    backlog.frames.size()
+            );
+            backlog.frames.clear();
+        }
+    }
+
+    /**
+     * Completes one retry of the connection. Once none is pending, dispatches the held back frames
+     * in order until one of them has to wait again, and resumes reading when all of them went out.
+     */
+    private void settle(StompClientChannel connection) {
+        backlogs.computeIfPresent(connection, (ignored, backlog) -> {
+            backlog.pendingRetries--;
+            return backlog;
+        });
+        while (true) {
+            Runnable[] next = new Runnable[1];
+            ProducerBacklog[] settled = new ProducerBacklog[1];
+            backlogs.computeIfPresent(connection, (ignored, backlog) -> {
+                if (backlog.pendingRetries > 0) {
+                    return backlog;
+                }
+                next[0] = backlog.frames.poll();
+                if (next[0] == null) {
+                    settled[0] = backlog;
+                    return null;
+                }
+                return backlog;
+            });
+            if (settled[0] != null) {
+                HandlerRegistration closed = settled[0].closed;
+                if (closed != null) {
+                    closed.remove();
+                }
+                connection.channel().internal().setAutoRead(true);
+            }
+            if (next[0] == null) {
+                return;
+            }
+            next[0].run();
+        }
+    }
+
+    /**
+     * Answers a failed dispatch according to the overflow policy of a full destination queue.
+     *
+     * <p>Failures other than an overflow, and the {@code reject-and-close} policy, end the producer
+     * connection with an ERROR frame. Rejecting policies answer with an ERROR frame carrying the
+     * producer's receipt id and keep the connection open. {@code pause-producer-reads} stops reading
+     * from the connection and retries the message once the queue resumes.</p>
+     */
+    private void handleDispatchFailure(
+            StompFrame sf,
+            StompClientChannel connection,
+            StompServerHandlerContext context,
+            String destination,
+            Message message,
+            Throwable error
+    ) {
+        if (!(error instanceof DispatcherQueueOverflowException overflow)
+                || overflow.policy() == DispatcherQueueOverflowPolicy.REJECT_AND_CLOSE) {
+            handleDispatchFailure(connection, destination, error);
+            return;
+        }
+
+        if (overflow.policy() == DispatcherQueueOverflowPolicy.PAUSE_PRODUCER_READS) {
+            log.debug("Pausing producer reads. session={}, destination={}", connection.session(), destination);
+            pauseReads(connection);
+            overflow.resumed().whenComplete((ignored, resumeError) -> {
+                if (connection.channel().isClosed()) {
+                    discard(connection);
+                    return;
+                }
+                dispatch(sf, connection, context, destination, message, true);
+            });
+            return;
         }
+
+        log.warn(
+                "Rejected dispatch to full destination. session={}, destination={}, policy={}",
+                connection.session(),
+                destination,
+                overflow.policy().getName()
+        );
+        StompHeaders headers = StompHeaders.create();
+        String receipt = sf.getHeader(StompHeaders.Elements.RECEIPT);
+        if (receipt != null) {
+            headers.put(StompHeaders.Elements.RECEIPT_ID, receipt);
+        }
+        connection.send(errorFrame(headers, "Destination is full.", "Message was not accepted by " + destination + "."));
     }
 
     private static void handleDispatchFailure(StompClientChannel connection, String destination, Throwable error) {
@@ -105,10 +304,37 @@ public final class StompSendToFanoutHandler implements StompServerCommandHandler
         connection.close();
     }
 
+    /**
+     * Parses the {@code expires} header. Missing, malformed or non-positive values mean the message
+     * does not expire.
+     */
+    static long expiresAt(@Nullable String expires) {
+        if (expires == null) {
+            return 0L;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(expires.trim()));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
     private static Throwable unwrap(Throwable error) {
         if (error instanceof CompletionException completionException && completionException.getCause() != null) {
             return completionException.getCause();
         }
         return error;
     }
+
+    /**
+     * Retries and held back frames of a connection whose reads are paused. Only changed inside
+     * {@link ConcurrentHashMap} updates of its entry, which serialize them, or once the entry was
+     * removed.
+     */
+    private static final class ProducerBacklog {
+
+        private final ArrayDeque<Runnable> frames = new ArrayDeque<>();
+        private int pendingRetries;
+        private volatile @Nullable HandlerRegistration closed;
+    }
 }
@@ -1,5 +1,8 @@
 package org.traffichunter.titan.dispatch;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -10,6 +13,7 @@ import org.traffichunter.titan.bootstrap.Settings;
 import org.traffichunter.titan.core.resilience.flowcontrol.FlowControlConfiguration;
 import org.traffichunter.titan.core.resilience.flowcontrol.MemoryPressureDamper;
 import org.traffichunter.titan.core.spi.*;
+import org.traffichunter.titan.core.util.Destination;
 
 /**
  * SPI launcher that installs fanout behavior into a managed STOMP server.
@@ -39,6 +43,10 @@ public final class StompServerFanoutLauncher implements FanoutLauncher {
     private static final Logger log = LoggerFactory.getLogger(StompServerFanoutLauncher.class);
 
     private static final String OPTION_FANOUT_MODE = "fanout-mode";
+    private static final String OPTION_QUEUE_TYPE = "queue-type";
+    private static final String OPTION_MESSAGE_TTL = "message-ttl";
+    private static final String OPTION_QUEUE_IDLE_TIMEOUT = "queue-idle-timeout";
+    private static final String OPTION_FANOUT_PARALLELISM = "fanout-parallelism";
 
     @Override
     public boolean supports(
@@ -59,6 +67,11 @@ public final class StompServerFanoutLauncher implements FanoutLauncher {
             final ManagedServer managedServer
     ) {
         DispatchMode mode = resolveMode(protocolOptions);
+        int parallelism = resolveParallelism(protocolOptions);
+        DispatcherQueueType queueType = resolveQueueType(protocolOptions);
+        Duration messageTtl = resolveMillis(protocolOptions, OPTION_MESSAGE_TTL);
+        Duration queueIdleTimeout = resolveMillis(protocolOptions, OPTION_QUEUE_IDLE_TIMEOUT);
+        List<DestinationQueuePolicy> policies = resolvePolicies(settings.destinations());
         ManagedServerFanoutAdapter adapter = findAdapter(protocol, transport, protocolOptions, managedServer);
         if (adapter == null) {
             throw new IllegalStateException("No fanout adapter for protocol=" + protocol + ", transport=" + transport);
@@ -78,10 +91,17 @@ public final class StompServerFanoutLauncher implements FanoutLauncher {
                     long resumePendingBytes = flowControl.enabled() && queue.enabled()
                             ? queue.resumePendingBytes()
                             : DestinationQueueMetadata.defaultResumePendingBytes(maxPendingBytes);
-                    DispatchGateway gateway = mode.dispatchGateway(
-                            dispatchExporter,
-                            Dispatcher.getDefault(maxPendingBytes, resumePendingBytes)
+                    Dispatcher dispatcher = Dispatcher.getDefault(
+                            maxPendingBytes,
+                            resumePendingBytes,
+                            queueType,
+                            messageTtl,
+                            policies
                     );
+                    DispatchGateway gateway = parallelism > 0
+                            ? mode.dispatchGateway(dispatchExporter, dispatcher, parallelism)
+                            : mode.dispatchGateway(dispatchExporter, dispatcher);
+                    gateway.idleQueueTimeout(queueIdleTimeout);
                     Settings.HeapFlowControlSettings heap = flowControl.heap();
                     if (flowControl.enabled() && heap.enabled()) {
                         MemoryPressureDamper damper = new MemoryPressureDamper(
@@ -97,7 +117,12 @@ public final class StompServerFanoutLauncher implements FanoutLauncher {
                     return gateway;
                 }
         );
-        log.info("Fanout launcher started fanout mode = {}, fanout server = {}", mode.getName(), managedServer.name());
+        log.info(
+                "Fanout launcher started fanout mode = {}, queue type = {}, fanout server = {}",
+                mode.getName(),
+                queueType.getName(),
+                managedServer.name()
+        );
     }
 
     @Override
@@ -130,4 +155,62 @@ public final class StompServerFanoutLauncher implements FanoutLauncher {
         String normalized = raw.toLowerCase(Locale.ROOT).trim();
         return DispatchMode.resolveMode(normalized);
     }
+
+    private static int resolveParallelism(final Map<String, String> protocolOptions) {
+        String raw = protocolOptions.getOrDefault(OPTION_FANOUT_PARALLELISM, "0").trim();
+        try {
+            int parallelism = Integer.parseInt(raw);
+            if (parallelism < 0) {
+                throw new IllegalArgumentException(OPTION_FANOUT_PARALLELISM + " must not be negative: " + raw);
+            }
+            return parallelism;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(OPTION_FANOUT_PARALLELISM + " must be a number of threads: " + raw, e);
+        }
+    }
+
+    private static List<DestinationQueuePolicy> resolvePolicies(
+            final List<Settings.DestinationSettings> destinations
+    ) {
+        return destinations.stream()
+                .map(destination -> new DestinationQueuePolicy(
+                        Destination.create(destination.pattern()),
+                        destination.queueType().isBlank()
+                                ? null
+                                : DispatcherQueueType.resolveType(destination.queueType().toLowerCase(Locale.ROOT).trim()),
+                        destination.conflationKey(),
+                        DispatcherQueueOverflowPolicy.resolvePolicy(
+                                destination.overflowPolicy().toLowerCase(Locale.ROOT).trim()
+                        ),
+                        Duration.ofMillis(destination.overflowTimeoutMillis()),
+                        destination.spillThresholdBytes(),
+                        destination.spillDirectory().isBlank()
+                                ? DestinationQueuePolicy.DEFAULT_SPILL_DIRECTORY
+                                : Path.of(destination.spillDirectory()),
+                        DispatcherQueueUnsubscribedPolicy.resolvePolicy(
+                                destination.unsubscribedPolicy().toLowerCase(Locale.ROOT).trim()
+                        ),
+                        destination.unsubscribedBufferBytes()
+                ))
+                .toList();
+    }
+
+    private static Duration resolveMillis(final Map<String, String> protocolOptions, final String option) {
+        String raw = protocolOptions.getOrDefault(option, "0").trim();
+        try {
+            long millis = Long.parseLong(raw);
+            if (millis < 0) {
+                throw new IllegalArgumentException(option + " must not be negative: " + raw);
+            }
+            return Duration.ofMillis(millis);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(option + " must be a number of milliseconds: " + raw, e);
+        }
+    }
+
+    private static DispatcherQueueType resolveQueueType(final Map<String, String> protocolOptions) {
+        String raw = protocolOptions.getOrDefault(OPTION_QUEUE_TYPE, "linked");
+        String normalized = raw.toLowerCase(Locale.ROOT).trim();
+        return DispatcherQueueType.resolveType(normalized);
+    }
 }
@@ -29,8 +29,12 @@ import org.traffichunter.titan.bootstrap.GlobalShutdownHook;
 import org.traffichunter.titan.core.spi.ManagedServer;
 import org.traffichunter.titan.core.spi.StompManagedServer;
 import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
+import org.traffichunter.titan.dispatch.exporter.OutboundBudget;
+import org.traffichunter.titan.dispatch.exporter.SharedSubscriptionStrategy;
+import org.traffichunter.titan.dispatch.exporter.SlowConsumerPolicy;
 import org.traffichunter.titan.dispatch.exporter.StompDispatchExporter;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -45,6 +49,12 @@ public final class TitanStompManagedServerFanoutAdapter implements ManagedServer
 
     private static final GlobalShutdownHook SHUTDOWN_HOOK = GlobalShutdownHook.INSTANCE;
 
+    private static final String OPTION_SHARED_PREFIX = "shared-prefix";
+    private static final String OPTION_SHARED_STRATEGY = "shared-strategy";
+    private static final String OPTION_SLOW_CONSUMER_BUDGET_BYTES = "slow-consumer-budget-bytes";
+    private static final String OPTION_SLOW_CONSUMER_POLICY = "slow-consumer-policy";
+    private static final String OPTION_SLOW_CONSUMER_SAMPLE_RATE = "slow-consumer-sample-rate";
+
     @Override
     public boolean supports(
             String protocol,
@@ -66,7 +76,12 @@ public final class TitanStompManagedServerFanoutAdapter implements ManagedServer
     ) {
         StompManagedServer stompManagedServer = (StompManagedServer) managedServer;
         DispatchGateway dispatchGateway = gatewayFactory.apply(
-                new StompDispatchExporter(stompManagedServer.server().connection())
+                new StompDispatchExporter(
+                        stompManagedServer.server().connection(),
+                        protocolOptions.getOrDefault(OPTION_SHARED_PREFIX, "").trim(),
+                        resolveStrategy(protocolOptions),
+                        resolveBudget(protocolOptions)
+                )
         );
         SHUTDOWN_HOOK.addShutdownCallback(() -> {
             try {
@@ -84,4 +99,25 @@ public final class TitanStompManagedServerFanoutAdapter implements ManagedServer
 
         log.info("Fanout adapter installed for server={}", managedServer.name());
     }
+
+    private static SharedSubscriptionStrategy resolveStrategy(final Map<String, String> protocolOptions) {
+        String raw = protocolOptions.getOrDefault(OPTION_SHARED_STRATEGY, "least-loaded");
+        return SharedSubscriptionStrategy.resolveStrategy(raw.toLowerCase(Locale.ROOT).trim());
+    }
+
+    private static OutboundBudget resolveBudget(final Map<String, String> protocolOptions) {
+        long maxPendingBytes = Long.parseLong(
+                protocolOptions.getOrDefault(OPTION_SLOW_CONSUMER_BUDGET_BYTES, "0").trim()
+        );
+        String policy = protocolOptions.getOrDefault(OPTION_SLOW_CONSUMER_POLICY, "drop-newest");
+        int sampleRate = Integer.parseInt(protocolOptions.getOrDefault(
+                OPTION_SLOW_CONSUMER_SAMPLE_RATE,
+                String.valueOf(OutboundBudget.DEFAULT_SAMPLE_RATE)
+        ).trim());
+        return new OutboundBudget(
+                maxPendingBytes,
+                SlowConsumerPolicy.resolvePolicy(policy.toLowerCase(Locale.ROOT).trim()),
+                sampleRate
+        );
+    }
 }
@@ -23,13 +23,14 @@
  */
 package org.traffichunter.titan.dispatch;
 
+import java.time.Duration;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.jspecify.annotations.Nullable;
 import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.ConcurrentTrie;
 import org.traffichunter.titan.core.util.Trie;
-import org.traffichunter.titan.core.util.TrieImpl;
 
 /**
  * Trie-backed dispatcher for path-like destinations.
@@ -37,15 +38,21 @@ import org.traffichunter.titan.core.util.TrieImpl;
  * <p>Destinations are stored by their normalized path. A trie keeps lookup and prefix existence
  * checks aligned with the routing model used by queue creation and fanout consumers.</p>
  *
+ * <p>Lookups of existing destinations, including the hit path of {@link #getOrPut(Destination)},
+ * are lock-free. Only creating or removing a destination serializes on the trie.</p>
+ *
  * @author yungwang-o
  */
 public class TrieDispatcher implements Dispatcher {
 
     private static final Logger log = LoggerFactory.getLogger(TrieDispatcher.class);
 
-    private final Trie<DispatcherQueue> trie = new TrieImpl<>();
+    private final Trie<DispatcherQueue> trie = new ConcurrentTrie<>();
     private final long defaultMaxPendingBytes;
     private final long defaultResumePendingBytes;
+    private final DispatcherQueueType queueType;
+    private final Duration defaultTimeToLive;
+    private final List<DestinationQueuePolicy> policies;
 
     public TrieDispatcher() {
         this(DispatcherQueue.DEFAULT_MAX_PENDING_BYTES);
@@ -59,9 +66,32 @@ public class TrieDispatcher implements Dispatcher {
     }
 
     public TrieDispatcher(long defaultMaxPendingBytes, long defaultResumePendingBytes) {
+        this(defaultMaxPendingBytes, defaultResumePendingBytes, DispatcherQueueType.LINKED, Duration.ZERO, List.of());
+    }
+
+    /**
+     * Creates a registry whose implicitly created queues take their storage type from the first
+     * matching {@link DestinationQueuePolicy}, falling back to {@code queueType}. Every new queue
+     * also takes the overflow policy of its matching destination policy, and spills to disk when
+     * that policy sets a spill threshold and the queue is not partitioned. Messages without their
+     * own expiry time expire after {@code defaultTimeToLive}, {@link Duration#ZERO} for never.
+     */
+    public TrieDispatcher(
+            long defaultMaxPendingBytes,
+            long defaultResumePendingBytes,
+            DispatcherQueueType queueType,
+            Duration defaultTimeToLive,
+            List<DestinationQueuePolicy> policies
+    ) {
         DestinationQueueMetadata.validateThresholds(defaultMaxPendingBytes, defaultResumePendingBytes);
+        if (defaultTimeToLive.isNegative()) {
+            throw new IllegalArgumentException("Default time to live must not be negative");
+        }
         this.defaultMaxPendingBytes = defaultMaxPendingBytes;
         this.defaultResumePendingBytes = defaultResumePendingBytes;
+        this.queueType = queueType;
+        this.defaultTimeToLive = defaultTimeToLive;
+        this.policies = List.copyOf(policies);
     }
 
     @Override
@@ -72,11 +102,8 @@ public class TrieDispatcher implements Dispatcher {
     @Override
     public DispatcherQueue getOrPut(final Destination destination) {
         return trie.computeIfAbsent(destination.path(), path -> {
-            DispatcherQueue queue = DispatcherQueue.create(
-                    destination,
-                    defaultMaxPendingBytes,
-                    defaultResumePendingBytes
-            );
+            DispatcherQueue queue = newQueue(destination, defaultMaxPendingBytes, defaultResumePendingBytes);
+            queue = configure(queue, destination);
             log.info("Created new dispatcher for path {}", path);
             return queue;
         });
@@ -85,12 +112,57 @@ public class TrieDispatcher implements Dispatcher {
     @Override
     public DispatcherQueue getOrPut(final Destination destination, long maxPendingBytes) {
         return trie.computeIfAbsent(destination.path(), path -> {
-            DispatcherQueue queue = DispatcherQueue.create(destination, maxPendingBytes);
+            DispatcherQueue queue = newQueue(
+                    destination,
+                    maxPendingBytes,
+                    DestinationQueueMetadata.defaultResumePendingBytes(maxPendingBytes)
+            );
+            queue = configure(queue, destination);
             log.info("Created new dispatcher for path {}", path);
             return queue;
         });
     }
 
+    @Override
+    public DispatcherQueue getOrPut(final Destination destination, long maxPendingBytes, int partitions) {
+        return trie.computeIfAbsent(destination.path(), path -> {
+            long resumePendingBytes = DestinationQueueMetadata.defaultResumePendingBytes(maxPendingBytes);
+            DispatcherQueue queue = partitions == 1
+                    ? DispatcherQueue.create(
+                            destination,
+                            maxPendingBytes,
+                            resumePendingBytes,
+                            queueType,
+                            DispatcherQueue.CONFLATION_KEY_HEADER
+                    )
+                    : DispatcherQueue.partitioned(destination, maxPendingBytes, resumePendingBytes, partitions);
+            queue = configure(queue, destination);
+            log.info("Created new dispatcher for path {} with {} partitions", path, partitions);
+            return queue;
+        });
+    }
+
+    @Override
+    public DispatcherQueue getOrPut(
+            final Destination destination,
+            long maxPendingBytes,
+            DispatcherQueueType type,
+            String conflationKey
+    ) {
+        return trie.computeIfAbsent(destination.path(), path -> {
+            DispatcherQueue queue = DispatcherQueue.create(
+                    destination,
+                    maxPendingBytes,
+                    DestinationQueueMetadata.defaultResumePendingBytes(maxPendingBytes),
+                    type,
+                    conflationKey
+            );
+            queue = configure(queue, destination);
+            log.info("Created new {} dispatcher for path {}", type.getName(), path);
+            return queue;
+        });
+    }
+
     @Override
     public List<DispatcherQueue> searchAll(Destination destination) {
         String path = destination.path();
@@ -114,4 +186,41 @@ public class TrieDispatcher implements Dispatcher {
     public void remove(Destination destination) {
         trie.remove(destination.path());
     }
+
+    private DispatcherQueue newQueue(Destination destination, long maxPendingBytes, long resumePendingBytes) {
+        DestinationQueuePolicy policy = DestinationQueuePolicy.find(policies, destination);
+        DispatcherQueueType type = policy == null ? null : policy.type();
+        return DispatcherQueue.create(
+                destination,
+                maxPendingBytes,
+                resumePendingBytes,
+                type == null ? queueType : type,
+                policy == null ? DispatcherQueue.CONFLATION_KEY_HEADER : policy.conflationKey()
+        );
+    }
+
+    /**
+     * Applies the default time to live and the overflow policy of the first matching destination
+     * policy to a new queue, whatever way it was created, and wraps it in a spill tier when the
+     * policy asks for one.
+     *
+     * @return the queue to register for the destination
+     */
+    private DispatcherQueue configure(DispatcherQueue queue, Destination destination) {
+        queue.timeToLive(defaultTimeToLive);
+        DestinationQueuePolicy policy = DestinationQueuePolicy.find(policies, destination);
+        if (policy == null) {
+            return queue;
+        }
+        queue.overflowPolicy(policy.overflowPolicy(), policy.overflowTimeout());
+        queue.unsubscribedPolicy(policy.unsubscribedPolicy(), policy.unsubscribedBufferBytes());
+        if (!policy.spills()) {
+            return queue;
+        }
+        if (queue.partitions() > 1) {
+            log.warn("Partitioned queue {} does not spill to disk", destination.path());
+            return queue;
+        }
+        return DispatcherQueue.spilling(queue, policy.spillThresholdBytes(), policy.spillDirectory());
+    }
 }
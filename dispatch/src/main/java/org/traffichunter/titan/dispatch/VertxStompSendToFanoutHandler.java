@@ -37,6 +37,8 @@ import org.traffichunter.titan.core.message.Message;
 import org.traffichunter.titan.core.util.Destination;
 
 import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
@@ -47,6 +49,18 @@ public final class VertxStompSendToFanoutHandler implements Handler<ServerFrame>
 
     private static final Logger log = LoggerFactory.getLogger(VertxStompSendToFanoutHandler.class);
 
+    /**
+     * SEND headers describing the frame itself. Every other header is copied onto the message.
+     */
+    private static final Set<String> FRAME_HEADERS = Set.of(
+            Frame.DESTINATION,
+            Frame.CONTENT_LENGTH,
+            Frame.CONTENT_TYPE,
+            Frame.RECEIPT,
+            Frame.TRANSACTION,
+            DispatcherQueue.EXPIRES_HEADER
+    );
+
     private final DispatchGateway dispatchGateway;
 
     public VertxStompSendToFanoutHandler(DispatchGateway dispatchGateway) {
@@ -74,12 +88,18 @@ public final class VertxStompSendToFanoutHandler implements Handler<ServerFrame>
         }
 
         io.vertx.core.buffer.Buffer body = frame.getBody();
-        Message message = Message.builder()
-                .destination(Destination.create(destination))
+        Message.MessageBuilder builder = Message.builder()
+                .destination(Destination.intern(destination))
                 .createdAt(Instant.now())
                 .producerId(serverFrame.connection().session())
-                .body(body == null ? new byte[]{} : body.getBytes())
-                .build();
+                .wrapBody(body == null ? new byte[]{} : body.getBytes());
+        for (Map.Entry<String, String> header : frame.getHeaders().entrySet()) {
+            if (!FRAME_HEADERS.contains(header.getKey())) {
+                builder.header(header.getKey(), header.getValue());
+            }
+        }
+        builder.expiresAt(StompSendToFanoutHandler.expiresAt(frame.getHeader(DispatcherQueue.EXPIRES_HEADER)));
+        Message message = builder.build();
 
         try {
             CompletableFuture<@Nullable Void> dispatchResult = dispatchGateway.sparkDispatch(message);
@@ -98,7 +118,35 @@ public final class VertxStompSendToFanoutHandler implements Handler<ServerFrame>
         }
     }
 
+    /**
+     * Answers a failed dispatch according to the overflow policy of a full destination queue.
+     *
+     * <p>Vert.x connections cannot stop reading, so {@code pause-producer-reads} is answered like
+     * {@code reject-with-receipt-error}: an ERROR frame carrying the producer's receipt id on a
+     * connection that stays open.</p>
+     */
     private static void handleDispatchFailure(StompServerConnection serverConnection, Frame frame, String destination, Throwable error) {
+        if (error instanceof DispatcherQueueOverflowException overflow
+                && overflow.policy() != DispatcherQueueOverflowPolicy.REJECT_AND_CLOSE) {
+            log.warn(
+                    "Rejected Vert.x dispatch to full destination. session={}, destination={}, policy={}",
+                    serverConnection.session(),
+                    destination,
+                    overflow.policy().getName()
+            );
+            Headers headers = Headers.create();
+            String receipt = frame.getHeader(Frame.RECEIPT);
+            if (receipt != null) {
+                headers.add(Frame.RECEIPT_ID, receipt);
+            }
+            serverConnection.write(Frames.createErrorFrame(
+                    "Destination is full.",
+                    headers,
+                    "Message was not accepted by " + destination + "."
+            ));
+            return;
+        }
+
         log.error(
                 "Failed to dispatch Vert.x message. session={}, destination={}",
                 serverConnection.session(),
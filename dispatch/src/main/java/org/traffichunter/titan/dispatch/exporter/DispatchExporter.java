@@ -24,8 +24,12 @@ THE SOFTWARE.
 package org.traffichunter.titan.dispatch.exporter;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.ArrayList;
+import java.util.List;
 import org.traffichunter.titan.core.message.Message;
 import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.Handler;
+import org.traffichunter.titan.core.util.HandlerRegistration;
 import org.traffichunter.titan.core.util.buffer.Buffer;
 import org.traffichunter.titan.core.util.inet.Frame;
 import org.traffichunter.titan.dispatch.AggregationResult;
@@ -42,6 +46,69 @@ public interface DispatchExporter {
 
     String name();
 
+    /**
+     * Returns whether anyone currently receives messages published to {@code destination}.
+     *
+     * <p>Queues whose unsubscribed policy is not {@code deliver} ask before admitting a message,
+     * and fanout consumers ask before draining. The default reports every destination as
+     * subscribed, which keeps exporters without a subscription index draining as before.</p>
+     */
+    default boolean hasSubscribers(Destination destination) {
+        return true;
+    }
+
+    /**
+     * Registers a handler invoked with the destination, possibly a wildcard pattern, of every new
+     * subscription. Handlers accumulate until their registration is removed.
+     *
+     * <p>Fanout uses it to restart consumers that stopped while nobody subscribed. The handler may
+     * run on an event loop and must not block. Exporters that cannot observe subscriptions ignore
+     * it, and stopped consumers then restart with the next published message.</p>
+     */
+    @CanIgnoreReturnValue
+    default HandlerRegistration subscribeHandler(Handler<Destination> handler) {
+        return () -> { };
+    }
+
+    /**
+     * Returns whether a message published to {@code destination} can be written now, which is
+     * the case unless every subscriber's connection is past its outbound high watermark.
+     *
+     * <p>Fanout consumers ask before draining and leave the backlog in the destination queue,
+     * where flow control accounts for it, instead of piling it onto full sockets. The default
+     * reports every destination as writable.</p>
+     */
+    default boolean isWritable(Destination destination) {
+        return true;
+    }
+
+    /**
+     * Registers a handler invoked with each destination, possibly a wildcard pattern, whose
+     * subscriber connection became writable again. Handlers accumulate until their registration
+     * is removed.
+     *
+     * <p>Fanout uses it to restart consumers parked by {@link #isWritable(Destination)}. The
+     * handler runs on an event loop and must not block. Exporters that never report a destination
+     * as non-writable ignore it.</p>
+     */
+    @CanIgnoreReturnValue
+    default HandlerRegistration writableHandler(Handler<Destination> handler) {
+        return () -> { };
+    }
+
+    /**
+     * Registers a handler invoked each time the frames of one export were written to a
+     * subscriber socket. Handlers accumulate until their registration is removed.
+     *
+     * <p>Fanout uses it to measure how long drained messages take to reach the socket. The
+     * handler runs on an event loop and must not block. Exporters that cannot observe their
+     * writes ignore it, and that latency is then not reported.</p>
+     */
+    @CanIgnoreReturnValue
+    default HandlerRegistration flushHandler(Handler<ExportFlush> handler) {
+        return () -> { };
+    }
+
     @CanIgnoreReturnValue
     default AggregationResult export(Destination destination, Frame<?, ?> payload) {
         Buffer buffer = payload.toBuffer();
@@ -52,9 +119,13 @@ public interface DispatchExporter {
         }
     }
 
+    /**
+     * Exports a message by lending its body to {@link #export(Destination, Buffer)} in place,
+     * without copying it.
+     */
     @CanIgnoreReturnValue
     default AggregationResult export(Destination destination, Message payload) {
-        Buffer buffer = Buffer.heap().alloc(payload.getBody());
+        Buffer buffer = Buffer.wrap(payload.getBody());
         try {
             return export(destination, buffer);
         } finally {
@@ -62,6 +133,22 @@ public interface DispatchExporter {
         }
     }
 
+    /**
+     * Exports messages drained from one destination queue in a single call.
+     *
+     * <p>The default exports each message on its own. Implementations that can write several
+     * payloads to a consumer and flush once should override this method. The list is borrowed
+     * and may be reused by the caller after this invocation returns.</p>
+     */
+    @CanIgnoreReturnValue
+    default AggregationResult exportBatch(Destination destination, List<Message> payloads) {
+        List<AggregationResult> results = new ArrayList<>(payloads.size());
+        for (Message payload : payloads) {
+            results.add(export(destination, payload));
+        }
+        return AggregationResult.combine(List.of(destination), results);
+    }
+
     /**
      * Exports a borrowed payload buffer.
      *
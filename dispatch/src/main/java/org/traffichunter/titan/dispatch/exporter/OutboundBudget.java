@@ -0,0 +1,66 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch.exporter;
+
+/**
+ * Outbound bytes a subscription may have written but not yet sent before the exporter treats it
+ * as a slow consumer.
+ *
+ * <p>The budget is compared with the subscription's own pending write bytes, so a slow
+ * subscription does not make the others on its connection slow, and is checked before the
+ * subscription is handed a message or batch. A subscription over budget is handled by
+ * {@link #policy()}; one back under budget is served normally again.</p>
+ *
+ * @param maxPendingBytes pending write bytes past which a subscription is slow, {@code 0} for no budget
+ * @param policy what happens to messages for a slow subscription
+ * @param sampleRate for {@link SlowConsumerPolicy#SAMPLE}, one message out of this many is sent
+ */
+public record OutboundBudget(long maxPendingBytes, SlowConsumerPolicy policy, int sampleRate) {
+
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+
+    private static final OutboundBudget UNLIMITED =
+            new OutboundBudget(0, SlowConsumerPolicy.DROP_NEWEST, DEFAULT_SAMPLE_RATE);
+
+    public OutboundBudget {
+        if (maxPendingBytes < 0) {
+            throw new IllegalArgumentException("Max pending bytes must not be negative");
+        }
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("Sample rate must be greater than zero");
+        }
+    }
+
+    public static OutboundBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    public boolean isLimited() {
+        return maxPendingBytes > 0;
+    }
+
+    public boolean isExceeded(long pendingBytes) {
+        return maxPendingBytes > 0 && pendingBytes > maxPendingBytes;
+    }
+}
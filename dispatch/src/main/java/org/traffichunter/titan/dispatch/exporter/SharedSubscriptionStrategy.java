@@ -0,0 +1,59 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch.exporter;
+
+/**
+ * How a shared subscription group picks the member that receives a message.
+ */
+public enum SharedSubscriptionStrategy {
+
+    /**
+     * Picks the member whose connection has the fewest outbound bytes waiting to be written,
+     * rotating the starting member so ties spread evenly.
+     */
+    LEAST_LOADED("least-loaded"),
+    /**
+     * Picks members in turn.
+     */
+    ROUND_ROBIN("round-robin"),
+    ;
+
+    private final String name;
+
+    SharedSubscriptionStrategy(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static SharedSubscriptionStrategy resolveStrategy(String strategyName) {
+        return switch (strategyName) {
+            case "least-loaded" -> SharedSubscriptionStrategy.LEAST_LOADED;
+            case "round-robin" -> SharedSubscriptionStrategy.ROUND_ROBIN;
+            default -> throw new IllegalStateException("Unexpected value: " + strategyName);
+        };
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch.exporter;
+
+/**
+ * What the exporter does with a message for a subscription whose connection is over its
+ * {@link OutboundBudget}.
+ */
+public enum SlowConsumerPolicy {
+
+    /**
+     * Sends an ERROR frame and closes the connection.
+     */
+    DISCONNECT("disconnect"),
+    /**
+     * Discards the message for that subscription.
+     */
+    DROP_NEWEST("drop-newest"),
+    /**
+     * Holds only the latest message for that subscription and sends it once the connection is
+     * writable again.
+     */
+    CONFLATE("conflate"),
+    /**
+     * Sends one message out of every {@link OutboundBudget#sampleRate()} and discards the rest.
+     */
+    SAMPLE("sample"),
+    ;
+
+    private final String name;
+
+    SlowConsumerPolicy(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static SlowConsumerPolicy resolvePolicy(String policyName) {
+        return switch (policyName) {
+            case "disconnect" -> SlowConsumerPolicy.DISCONNECT;
+            case "drop-newest" -> SlowConsumerPolicy.DROP_NEWEST;
+            case "conflate" -> SlowConsumerPolicy.CONFLATE;
+            case "sample" -> SlowConsumerPolicy.SAMPLE;
+            default -> throw new IllegalStateException("Unexpected value: " + policyName);
+        };
+    }
+}
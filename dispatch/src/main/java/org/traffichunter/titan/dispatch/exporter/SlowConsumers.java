@@ -0,0 +1,231 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.dispatch.exporter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.codec.stomp.StompServerSubscription;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.management.SlowConsumerMbean;
+import org.traffichunter.titan.core.util.management.SlowConsumerMbeans;
+import org.traffichunter.titan.core.util.management.SlowConsumerResource;
+
+/**
+ * Process-wide record of subscriptions whose connections are over their {@link OutboundBudget}.
+ *
+ * <p>A subscription is tracked from the first message the exporter withholds from it until it
+ * is served under budget again or ends, so the map only holds consumers that are slow right
+ * now. Policy actions are counted both per subscription and process-wide, and
+ * the tracker registers itself as the {@link SlowConsumerMbean} on first use.</p>
+ *
+ * @author yun
+ */
+final class SlowConsumers implements SlowConsumerMbean {
+
+    static final int TOP_CONSUMERS = 10;
+
+    private final ConcurrentMap<StompServerSubscription, SlowConsumer> consumers = new ConcurrentHashMap<>();
+    private final LongAdder disconnects = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder conflatedMessages = new LongAdder();
+    private final LongAdder sampledMessages = new LongAdder();
+
+    static SlowConsumers shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Returns the state of a subscription over budget, tracking it from now on if needed.
+     */
+    SlowConsumer slow(StompServerSubscription subscription) {
+        return consumers.computeIfAbsent(subscription, SlowConsumer::new);
+    }
+
+    /**
+     * Stops tracking a subscription that is under budget again. A message still held for it is
+     * superseded by the newer ones about to be sent and counts as conflated.
+     */
+    void recovered(StompServerSubscription subscription) {
+        SlowConsumer consumer = consumers.isEmpty() ? null : consumers.remove(subscription);
+        if (consumer != null && consumer.take() != null) {
+            consumer.actions.increment();
+            conflatedMessages.increment();
+        }
+    }
+
+    /**
+     * Stops tracking a subscription that ended, dropping any message still held for it.
+     */
+    void forget(StompServerSubscription subscription) {
+        if (!consumers.isEmpty()) {
+            consumers.remove(subscription);
+        }
+    }
+
+    /**
+     * Returns the state of a tracked subscription, or {@code null} if it is not slow.
+     */
+    @Nullable SlowConsumer get(StompServerSubscription subscription) {
+        return consumers.isEmpty() ? null : consumers.get(subscription);
+    }
+
+    /**
+     * Marks the connection of a slow subscription for closing. Only the first caller gets
+     * {@code true} and should close it; the subscription stays tracked until the close lands.
+     */
+    boolean disconnect(SlowConsumer consumer) {
+        if (!consumer.disconnected.compareAndSet(false, true)) {
+            return false;
+        }
+        consumer.actions.increment();
+        disconnects.increment();
+        return true;
+    }
+
+    void dropped(SlowConsumer consumer, int messages) {
+        consumer.actions.add(messages);
+        droppedMessages.add(messages);
+    }
+
+    void sampled(SlowConsumer consumer, int messages) {
+        consumer.actions.add(messages);
+        sampledMessages.add(messages);
+    }
+
+    /**
+     * Holds {@code body} as the latest message of a slow subscription, counting {@code replaced}
+     * older messages plus the one it was holding as conflated.
+     */
+    void conflate(SlowConsumer consumer, Destination destination, byte[] body, int replaced) {
+        Held previous = consumer.held.getAndSet(new Held(destination, body));
+        int conflated = previous == null ? replaced : replaced + 1;
+        consumer.actions.add(conflated);
+        conflatedMessages.add(conflated);
+    }
+
+    @Override
+    public int getSlowConsumers() {
+        prune();
+        return consumers.size();
+    }
+
+    @Override
+    public long getDisconnects() {
+        return disconnects.sum();
+    }
+
+    @Override
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    @Override
+    public long getConflatedMessages() {
+        return conflatedMessages.sum();
+    }
+
+    @Override
+    public long getSampledMessages() {
+        return sampledMessages.sum();
+    }
+
+    @Override
+    public List<SlowConsumerResource> getTopSlowConsumers() {
+        prune();
+        return consumers.values().stream()
+                .map(SlowConsumer::resource)
+                .sorted(Comparator.comparingLong(SlowConsumerResource::pendingBytes).reversed())
+                .limit(TOP_CONSUMERS)
+                .toList();
+    }
+
+    /**
+     * Forgets subscriptions whose connection closed, which never report back under budget.
+     */
+    private void prune() {
+        consumers.values().removeIf(consumer -> consumer.subscription.getConnection().channel().isClosed());
+    }
+
+    /**
+     * Tracked state of one subscription over budget.
+     */
+    static final class SlowConsumer {
+
+        private final StompServerSubscription subscription;
+        private final AtomicLong sequence = new AtomicLong();
+        private final AtomicReference<@Nullable Held> held = new AtomicReference<>();
+        private final AtomicBoolean disconnected = new AtomicBoolean();
+        private final LongAdder actions = new LongAdder();
+
+        private SlowConsumer(StompServerSubscription subscription) {
+            this.subscription = subscription;
+        }
+
+        /**
+         * Whether the next message passes a one-in-{@code rate} sample.
+         */
+        boolean sample(int rate) {
+            return sequence.getAndIncrement() % rate == 0;
+        }
+
+        /**
+         * Removes and returns the message held by the conflate policy.
+         */
+        @Nullable Held take() {
+            return held.getAndSet(null);
+        }
+
+        private SlowConsumerResource resource() {
+            return new SlowConsumerResource(
+                    subscription.getConnection().session(),
+                    subscription.id(),
+                    subscription.destination().path(),
+                    subscription.pendingWriteBytes(),
+                    actions.sum()
+            );
+        }
+    }
+
+    /**
+     * Latest message withheld from a slow subscription under the conflate policy.
+     */
+    record Held(Destination destination, byte[] body) {
+    }
+
+    private static final class Shared {
+
+        private static final SlowConsumers INSTANCE = new SlowConsumers();
+
+        static {
+            SlowConsumerMbeans.register(INSTANCE);
+        }
+    }
+}
@@ -23,18 +23,30 @@ THE SOFTWARE.
 */
 package org.traffichunter.titan.dispatch.exporter;
 
-import org.traffichunter.titan.core.codec.stomp.StompCommand;
+import org.traffichunter.titan.core.codec.stomp.EncodedMessageFrame;
 import org.traffichunter.titan.core.codec.stomp.StompFrame;
-import org.traffichunter.titan.core.codec.stomp.StompHeaders;
+import org.traffichunter.titan.core.channel.stomp.StompClientChannel;
 import org.traffichunter.titan.core.channel.stomp.StompServerChannel;
 import org.traffichunter.titan.core.codec.stomp.StompServerSubscription;
+import org.traffichunter.titan.core.codec.stomp.StompServerSubscriptions;
+import org.jspecify.annotations.Nullable;
+import org.traffichunter.titan.core.message.Message;
 import org.traffichunter.titan.core.util.concurrent.Promise;
 import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.Handler;
+import org.traffichunter.titan.core.util.HandlerRegistration;
 import org.traffichunter.titan.core.util.IdGenerator;
 import org.traffichunter.titan.core.util.buffer.Buffer;
 import org.traffichunter.titan.dispatch.AggregationResult;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Dispatch exporter for STOMP subscriptions.
@@ -45,16 +57,88 @@ import java.util.List;
  * client session, which lets a single STOMP connection multiplex multiple
  * subscriptions correctly.</p>
  *
- * <p>Each outgoing frame receives a copied payload buffer because the same
- * logical message can be written to many clients. Sharing one buffer instance
- * across those writes would couple independent channel write lifecycles.</p>
+ * <p>Subscriptions that belong to a shared group compete instead: each message
+ * goes to one member of every group, picked by the exporter's
+ * {@link SharedSubscriptionStrategy}. A subscription joins a group through its
+ * {@code shared-group} header, or implicitly when its destination starts with
+ * the exporter's shared prefix, in which case everyone subscribed to the same
+ * destination forms one group. The split of a destination's subscriptions
+ * into fanout subscriptions and groups is cached against the subscription
+ * list it was computed from, so it is redone only after subscriptions change.</p>
+ *
+ * <p>A destination counts as writable while at least one subscriber connection
+ * is below its outbound high watermark. While a writable handler is registered,
+ * each subscription, existing or new, adds a writability handler to its
+ * connection that reports the subscription's destination once the connection
+ * drains, so fanout can resume it, and removes it again when the subscription
+ * ends or the last writable handler is removed.</p>
+ *
+ * <p>An {@link OutboundBudget} caps the bytes a subscription may have written
+ * but not yet sent by its connection. Before a subscription is handed messages
+ * its pending bytes are checked against the budget, and a subscription over it
+ * is handled by the budget's {@link SlowConsumerPolicy} instead, so one slow
+ * subscriber cannot hold memory or delay the others. A shared group passes
+ * over members that are over budget while another member is not. Withheld
+ * messages count as failed deliveries. A message held by the conflate policy
+ * is sent once a send of that subscription completes under budget again, or
+ * once the connection drains, and is dropped when the subscription ends.</p>
+ *
+ * <p>Each message is encoded once per export into an {@link EncodedMessageFrame}:
+ * the destination header, body and frame terminator live in one pooled buffer,
+ * and every subscription is written a small prefix with its own
+ * {@code subscription} and {@code message-id} headers followed by a retained
+ * slice of that buffer. The body is not copied per subscriber, and each write
+ * holds its own reference, so channel write lifecycles stay independent.</p>
  */
 public class StompDispatchExporter implements DispatchExporter {
 
+    private static final int MAX_CACHED_ROUTES = 8192;
+
     private final StompServerChannel serverConnection;
+    private final String sharedPrefix;
+    private final SharedSubscriptionStrategy strategy;
+    private final OutboundBudget budget;
+    private final SlowConsumers slowConsumers = SlowConsumers.shared();
+    private final ConcurrentMap<Destination, Route> routes = new ConcurrentHashMap<>();
+    private final List<Handler<Destination>> writableHandlers = new CopyOnWriteArrayList<>();
+    private final List<Handler<ExportFlush>> flushHandlers = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<StompServerSubscription, HandlerRegistration> watched = new ConcurrentHashMap<>();
+    private @Nullable HandlerRegistration watching;
 
     public StompDispatchExporter(StompServerChannel serverConnection) {
+        this(serverConnection, "", SharedSubscriptionStrategy.LEAST_LOADED);
+    }
+
+    /**
+     * @param sharedPrefix destination prefix whose subscribers share delivery, empty for none
+     * @param strategy how groups pick the member that receives a message
+     */
+    public StompDispatchExporter(
+            StompServerChannel serverConnection,
+            String sharedPrefix,
+            SharedSubscriptionStrategy strategy
+    ) {
+        this(serverConnection, sharedPrefix, strategy, OutboundBudget.unlimited());
+    }
+
+    /**
+     * @param sharedPrefix destination prefix whose subscribers share delivery, empty for none
+     * @param strategy how groups pick the member that receives a message
+     * @param budget pending bytes each subscription may have before it is a slow consumer
+     */
+    public StompDispatchExporter(
+            StompServerChannel serverConnection,
+            String sharedPrefix,
+            SharedSubscriptionStrategy strategy,
+            OutboundBudget budget
+    ) {
         this.serverConnection = serverConnection;
+        this.sharedPrefix = sharedPrefix;
+        this.strategy = strategy;
+        this.budget = budget;
+        if (budget.isLimited()) {
+            serverConnection.subscriptions().unregisterHandler(slowConsumers::forget);
+        }
     }
 
     @Override
@@ -62,32 +146,430 @@ public class StompDispatchExporter implements DispatchExporter {
         return "stomp";
     }
 
+    @Override
+    public boolean hasSubscribers(Destination destination) {
+        return !serverConnection.subscriptions().findByDestination(destination).isEmpty();
+    }
+
+    @Override
+    public HandlerRegistration subscribeHandler(Handler<Destination> handler) {
+        return serverConnection.subscriptions().registerHandler(subscription -> handler.handle(subscription.destination()));
+    }
+
+    @Override
+    public boolean isWritable(Destination destination) {
+        List<StompServerSubscription> subscriptions = serverConnection.subscriptions().findByDestination(destination);
+        if (subscriptions.isEmpty()) {
+            return true;
+        }
+        for (StompServerSubscription subscription : subscriptions) {
+            if (subscription.getConnection().channel().isWritable()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public HandlerRegistration flushHandler(Handler<ExportFlush> handler) {
+        flushHandlers.add(handler);
+        return () -> flushHandlers.remove(handler);
+    }
+
+    /**
+     * Adds a writable handler. The first one starts watching the connections of current and future
+     * subscriptions, and removing the last one stops watching them.
+     */
+    @Override
+    public synchronized HandlerRegistration writableHandler(Handler<Destination> handler) {
+        writableHandlers.add(handler);
+        if (watching == null) {
+            StompServerSubscriptions subscriptions = serverConnection.subscriptions();
+            HandlerRegistration registered = subscriptions.registerHandler(this::watch);
+            HandlerRegistration unregistered = subscriptions.unregisterHandler(this::unwatch);
+            for (StompServerSubscription subscription : subscriptions.values()) {
+                watch(subscription);
+                // it may have ended before it was watched, after its unregister handler ran
+                if (subscriptions.find(subscription.getConnection(), subscription.id()) != subscription) {
+                    unwatch(subscription);
+                }
+            }
+            watching = () -> {
+                registered.remove();
+                unregistered.remove();
+            };
+        }
+        return () -> removeWritableHandler(handler);
+    }
+
+    private synchronized void removeWritableHandler(Handler<Destination> handler) {
+        if (!writableHandlers.remove(handler) || !writableHandlers.isEmpty() || watching == null) {
+            return;
+        }
+        watching.remove();
+        watching = null;
+        watched.keySet().forEach(this::unwatch);
+    }
+
+    private void watch(StompServerSubscription subscription) {
+        watched.computeIfAbsent(
+                subscription,
+                ignored -> subscription.getConnection().channel().addWritabilityHandler(channel -> {
+                    if (!channel.isWritable()) {
+                        return;
+                    }
+                    flushHeld(subscription);
+                    writableHandlers.forEach(handler -> handler.handle(subscription.destination()));
+                })
+        );
+    }
+
+    private void unwatch(StompServerSubscription subscription) {
+        HandlerRegistration registration = watched.remove(subscription);
+        if (registration != null) {
+            registration.remove();
+        }
+    }
+
     @Override
     public AggregationResult export(Destination destination, Buffer message) {
-        List<StompServerSubscription> subscriptions =
-                serverConnection.subscriptions().findByDestination(destination);
+        Route route = route(destination);
+
+        AggregationResult result = AggregationResult.create(
+                List.of(destination),
+                route.fanout().size() + route.groups().size()
+        );
+
+        if (route.fanout().isEmpty() && route.groups().isEmpty()) {
+            return result;
+        }
+
+        EncodedMessageFrame frame = EncodedMessageFrame.encode(destination.path(), message);
+        try {
+            List<EncodedMessageFrame> frames = List.of(frame);
+            route.fanout().forEach(subscription -> send(destination, subscription, frames, 0L, result));
+            for (SharedGroup group : route.groups()) {
+                send(destination, group.members().get(group.select(strategy, budget, null)), frames, 0L, result);
+            }
+        } finally {
+            frame.release();
+        }
+
+        return result;
+    }
+
+    /**
+     * Exports the message body in place rather than through a temporary buffer.
+     */
+    @Override
+    public AggregationResult export(Destination destination, Message message) {
+        return exportBatch(destination, List.of(message));
+    }
+
+    /**
+     * Writes every message of the batch to each fanout subscription and spreads the batch across
+     * the members of each shared group, flushing each connection once.
+     */
+    @Override
+    public AggregationResult exportBatch(Destination destination, List<Message> messages) {
+        Route route = route(destination);
 
         AggregationResult result = AggregationResult.create(
                 List.of(destination),
-                subscriptions.size()
+                (route.fanout().size() + route.groups().size()) * messages.size()
         );
+        if (messages.isEmpty() || route.fanout().isEmpty() && route.groups().isEmpty()) {
+            return result;
+        }
 
-        subscriptions.forEach(subscription -> {
-            StompFrame frame = StompFrame.create(StompHeaders.create(), StompCommand.MESSAGE, message.getBytes());
-            frame.addHeader(StompHeaders.Elements.DESTINATION, destination.path());
-            frame.addHeader(StompHeaders.Elements.SUBSCRIPTION, subscription.id());
-            frame.addHeader(StompHeaders.Elements.MESSAGE_ID, IdGenerator.uuid());
+        // The batch was drained at once, so its first message stands for the dispatch time of all.
+        long dispatchedNanos = messages.getFirst().getDispatchedNanos();
+        List<EncodedMessageFrame> frames = new ArrayList<>(messages.size());
+        try {
+            for (Message message : messages) {
+                frames.add(EncodedMessageFrame.encode(destination.path(), message.getBody()));
+            }
+            route.fanout().forEach(subscription -> send(destination, subscription, frames, dispatchedNanos, result));
 
-            Promise<StompFrame> sendPromise = subscription.getConnection().send(frame);
+            for (SharedGroup group : route.groups()) {
+                List<StompServerSubscription> members = group.members();
+                long[] assigned = new long[members.size()];
+                List<List<EncodedMessageFrame>> assignedFrames = new ArrayList<>(members.size());
+                for (int i = 0; i < members.size(); i++) {
+                    assignedFrames.add(new ArrayList<>());
+                }
+                for (int i = 0; i < messages.size(); i++) {
+                    int member = group.select(strategy, budget, assigned);
+                    assigned[member] += messages.get(i).getSize();
+                    assignedFrames.get(member).add(frames.get(i));
+                }
+                for (int i = 0; i < members.size(); i++) {
+                    if (!assignedFrames.get(i).isEmpty()) {
+                        send(destination, members.get(i), assignedFrames.get(i), dispatchedNanos, result);
+                    }
+                }
+            }
+        } finally {
+            frames.forEach(EncodedMessageFrame::release);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the fanout subscriptions and shared groups of a destination, reusing the cached split
+     * while its subscription list is unchanged.
+     */
+    private Route route(Destination destination) {
+        List<StompServerSubscription> subscriptions =
+                serverConnection.subscriptions().findByDestination(destination);
+        Route cached = routes.get(destination);
+        if (cached != null && cached.subscriptions() == subscriptions) {
+            return cached;
+        }
+
+        Route route = split(subscriptions);
+        if (routes.size() >= MAX_CACHED_ROUTES) {
+            routes.clear();
+        }
+        routes.put(destination, route);
+        return route;
+    }
+
+    private Route split(List<StompServerSubscription> subscriptions) {
+        List<StompServerSubscription> fanout = new ArrayList<>(subscriptions.size());
+        Map<String, List<StompServerSubscription>> groups = new LinkedHashMap<>();
+        for (StompServerSubscription subscription : subscriptions) {
+            String group = sharedGroup(subscription);
+            if (group == null) {
+                fanout.add(subscription);
+            } else {
+                groups.computeIfAbsent(group, ignored -> new ArrayList<>()).add(subscription);
+            }
+        }
+        if (groups.isEmpty()) {
+            return new Route(subscriptions, subscriptions, List.of());
+        }
+        return new Route(
+                subscriptions,
+                List.copyOf(fanout),
+                groups.values().stream().map(members -> new SharedGroup(List.copyOf(members))).toList()
+        );
+    }
+
+    private @Nullable String sharedGroup(StompServerSubscription subscription) {
+        String group = subscription.getSharedGroup();
+        if (group != null) {
+            return group;
+        }
+        String path = subscription.destination().path();
+        return !sharedPrefix.isEmpty() && path.startsWith(sharedPrefix) ? path : null;
+    }
+
+    /**
+     * Sends the frames the budget admits to a subscription, flushing the connection once. Once the
+     * last frame is written, the flush handler is told, unless the frames were not drained from a
+     * queue and {@code dispatchedNanos} is {@code 0}.
+     */
+    private void send(
+            Destination destination,
+            StompServerSubscription subscription,
+            List<EncodedMessageFrame> frames,
+            long dispatchedNanos,
+            AggregationResult result
+    ) {
+        List<EncodedMessageFrame> admitted = admit(destination, subscription, frames, result);
+        if (admitted.isEmpty()) {
+            return;
+        }
+        if (admitted.size() == 1) {
+            Buffer encoded = admitted.getFirst().retainFrame(subscription.id(), IdGenerator.nextId());
+            int bytes = encoded.length();
+            subscription.addPendingWriteBytes(bytes);
+            Promise<Void> sendPromise = subscription.getConnection().sendEncoded(encoded);
             sendPromise.addListener(sendFuture -> {
+                sent(subscription, bytes);
                 if (sendFuture.isSuccess()) {
                     result.success();
+                    flushed(destination, dispatchedNanos, 1);
                 } else {
                     result.fail();
                 }
             });
-        });
+            return;
+        }
 
-        return result;
+        List<Buffer> encoded = new ArrayList<>(admitted.size());
+        int[] bytes = new int[admitted.size()];
+        long totalBytes = 0L;
+        for (int i = 0; i < admitted.size(); i++) {
+            Buffer frame = admitted.get(i).retainFrame(subscription.id(), IdGenerator.nextId());
+            encoded.add(frame);
+            bytes[i] = frame.length();
+            totalBytes += bytes[i];
+        }
+        subscription.addPendingWriteBytes(totalBytes);
+        List<Promise<Void>> sendPromises = subscription.getConnection().sendEncoded(encoded);
+        for (int i = 0; i < sendPromises.size(); i++) {
+            boolean last = i == sendPromises.size() - 1;
+            int frameBytes = bytes[i];
+            sendPromises.get(i).addListener(sendFuture -> {
+                sent(subscription, frameBytes);
+                if (sendFuture.isSuccess()) {
+                    result.success();
+                    if (last) {
+                        flushed(destination, dispatchedNanos, encoded.size());
+                    }
+                } else {
+                    result.fail();
+                }
+            });
+        }
+    }
+
+    /**
+     * Takes the bytes of a finished send off a subscription's pending count, and sends the message
+     * the conflate policy held for it once that brings the subscription back under budget.
+     */
+    private void sent(StompServerSubscription subscription, int bytes) {
+        subscription.addPendingWriteBytes(-bytes);
+        if (budget.isLimited() && !budget.isExceeded(subscription.pendingWriteBytes())) {
+            flushHeld(subscription);
+        }
+    }
+
+    private void flushed(Destination destination, long dispatchedNanos, int messages) {
+        if (dispatchedNanos != 0L) {
+            ExportFlush flush = new ExportFlush(destination, System.nanoTime() - dispatchedNanos, messages);
+            flushHandlers.forEach(handler -> handler.handle(flush));
+        }
+    }
+
+    /**
+     * Returns the frames that may be sent to a subscription now. If the subscription is over the
+     * outbound budget, the slow-consumer policy decides what happens to them and every frame it
+     * withholds is counted as a failed delivery.
+     */
+    private List<EncodedMessageFrame> admit(
+            Destination destination,
+            StompServerSubscription subscription,
+            List<EncodedMessageFrame> frames,
+            AggregationResult result
+    ) {
+        if (!budget.isLimited()) {
+            return frames;
+        }
+        StompClientChannel connection = subscription.getConnection();
+        if (!budget.isExceeded(subscription.pendingWriteBytes())) {
+            slowConsumers.recovered(subscription);
+            return frames;
+        }
+
+        SlowConsumers.SlowConsumer consumer = slowConsumers.slow(subscription);
+        List<EncodedMessageFrame> admitted = List.of();
+        switch (budget.policy()) {
+            case DISCONNECT -> {
+                if (slowConsumers.disconnect(consumer)) {
+                    connection.send(StompFrame.errorFrame(
+                            "Slow consumer",
+                            "Pending outbound bytes exceeded " + budget.maxPendingBytes()
+                    ));
+                    connection.close();
+                }
+            }
+            case DROP_NEWEST -> slowConsumers.dropped(consumer, frames.size());
+            case CONFLATE -> slowConsumers.conflate(consumer, destination, frames.getLast().body(), frames.size() - 1);
+            case SAMPLE -> {
+                admitted = new ArrayList<>(frames.size() / budget.sampleRate() + 1);
+                for (EncodedMessageFrame frame : frames) {
+                    if (consumer.sample(budget.sampleRate())) {
+                        admitted.add(frame);
+                    }
+                }
+                if (admitted.size() < frames.size()) {
+                    slowConsumers.sampled(consumer, frames.size() - admitted.size());
+                }
+            }
+        }
+
+        for (int i = admitted.size(); i < frames.size(); i++) {
+            result.fail();
+        }
+        return admitted;
+    }
+
+    /**
+     * Sends the message the conflate policy held for a subscription that drained.
+     */
+    private void flushHeld(StompServerSubscription subscription) {
+        SlowConsumers.SlowConsumer consumer = slowConsumers.get(subscription);
+        if (consumer == null) {
+            return;
+        }
+        SlowConsumers.Held held = consumer.take();
+        if (held == null) {
+            return;
+        }
+        EncodedMessageFrame frame = EncodedMessageFrame.encode(held.destination().path(), held.body());
+        try {
+            Buffer encoded = frame.retainFrame(subscription.id(), IdGenerator.nextId());
+            int bytes = encoded.length();
+            subscription.addPendingWriteBytes(bytes);
+            subscription.getConnection().sendEncoded(encoded)
+                    .addListener(sendFuture -> sent(subscription, bytes));
+        } finally {
+            frame.release();
+        }
+    }
+
+    /**
+     * Fanout subscriptions and shared groups split from one subscription list.
+     */
+    private record Route(
+            List<StompServerSubscription> subscriptions,
+            List<StompServerSubscription> fanout,
+            List<SharedGroup> groups
+    ) {
+    }
+
+    private record SharedGroup(List<StompServerSubscription> members, AtomicInteger cursor) {
+
+        private SharedGroup(List<StompServerSubscription> members) {
+            this(members, new AtomicInteger());
+        }
+
+        /**
+         * Returns the index of the member that receives the next message, passing over members
+         * over {@code budget} unless every member is. {@code assigned} holds bytes already given
+         * to each member in the current batch, or is {@code null}.
+         */
+        private int select(SharedSubscriptionStrategy strategy, OutboundBudget budget, long @Nullable [] assigned) {
+            int size = members.size();
+            int start = Math.floorMod(cursor.getAndIncrement(), size);
+            if (size == 1) {
+                return start;
+            }
+
+            int selected = -1;
+            long lowest = Long.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                int member = (start + i) % size;
+                StompServerSubscription subscription = members.get(member);
+                long assignedBytes = assigned == null ? 0L : assigned[member];
+                if (budget.isExceeded(subscription.pendingWriteBytes() + assignedBytes)) {
+                    continue;
+                }
+                if (strategy == SharedSubscriptionStrategy.ROUND_ROBIN) {
+                    return member;
+                }
+                long load = subscription.getConnection().channel().pendingWriteBytes() + assignedBytes;
+                if (load < lowest) {
+                    lowest = load;
+                    selected = member;
+                }
+            }
+            // every member is over budget, so the slow-consumer policy of the next one applies
+            return selected == -1 ? start : selected;
+        }
     }
 }
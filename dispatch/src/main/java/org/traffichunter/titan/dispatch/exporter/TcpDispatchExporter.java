@@ -24,6 +24,7 @@ THE SOFTWARE.
 package org.traffichunter.titan.dispatch.exporter;
 
 import org.traffichunter.titan.core.channel.NetChannel;
+import org.traffichunter.titan.core.message.Message;
 import org.traffichunter.titan.core.transport.InetServer;
 import org.traffichunter.titan.core.util.Assert;
 import org.traffichunter.titan.core.util.Destination;
@@ -67,12 +68,12 @@ public class TcpDispatchExporter implements DispatchExporter {
             }
 
             attempted++;
-            Buffer copiedPayload = payload.copy();
+            Buffer retainedPayload = payload.retainSlice();
             try {
-                channel.writeAndFlush(copiedPayload);
+                channel.writeAndFlush(retainedPayload);
                 succeeded++;
             } catch (Exception e) {
-                copiedPayload.release();
+                retainedPayload.release();
                 failed++;
             }
         }
@@ -84,4 +85,49 @@ public class TcpDispatchExporter implements DispatchExporter {
                 failed
         );
     }
+
+    /**
+     * Writes every message of the batch to each active channel and flushes each channel once.
+     */
+    @Override
+    public AggregationResult exportBatch(Destination destination, List<Message> messages) {
+        Assert.checkState(inetServer.isStarted(), "Cannot send an unstarted inet server");
+
+        if (messages.isEmpty()) {
+            return AggregationResult.completed(List.of(destination), 0, 0, 0);
+        }
+
+        int attempted = 0;
+        int succeeded = 0;
+        int failed = 0;
+        int last = messages.size() - 1;
+        for (NetChannel channel : inetServer.childChannel().stream().toList()) {
+            if (!channel.isActive() || channel.isClosed()) {
+                continue;
+            }
+
+            for (int i = 0; i <= last; i++) {
+                attempted++;
+                Buffer payload = Buffer.wrap(messages.get(i).getBody());
+                try {
+                    if (i == last) {
+                        channel.writeAndFlush(payload);
+                    } else {
+                        channel.write(payload);
+                    }
+                    succeeded++;
+                } catch (Exception e) {
+                    payload.release();
+                    failed++;
+                }
+            }
+        }
+
+        return AggregationResult.completed(
+                List.of(destination),
+                attempted,
+                succeeded,
+                failed
+        );
+    }
 }
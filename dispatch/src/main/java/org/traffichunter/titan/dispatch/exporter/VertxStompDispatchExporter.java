@@ -50,6 +50,13 @@ public final class VertxStompDispatchExporter implements DispatchExporter {
         return "vertx-stomp";
     }
 
+    @Override
+    public boolean hasSubscribers(Destination destination) {
+        io.vertx.ext.stomp.Destination stompDestination = server.stompHandler()
+                .getDestination(destination.path());
+        return stompDestination != null && stompDestination.numberOfSubscriptions() > 0;
+    }
+
     @Override
     public AggregationResult export(Destination destination, Buffer payload) {
         Assert.checkState(server.isListening(), "Vert.x STOMP server is not listening");
@@ -70,7 +77,7 @@ public final class VertxStompDispatchExporter implements DispatchExporter {
                     .setDestination(destination.path())
                     .setBody(io.vertx.core.buffer.Buffer.buffer(payload.getBytes()));
             frame.addHeader(Frame.DESTINATION, destination.path());
-            frame.addHeader(Frame.MESSAGE_ID, IdGenerator.uuid());
+            frame.addHeader(Frame.MESSAGE_ID, IdGenerator.nextId());
             frame.addHeader(Frame.CONTENT_LENGTH, Integer.toString(payload.length()));
             stompDestination.dispatch(null, frame);
             succeeded = attempted;
@@ -17,7 +17,7 @@
  * DispatcherQueue per Destination
  *        |
  *        v
- * FanoutDispatchChainHandler consumer task
+ * fanout handler (per-destination consumer or ready-set scheduler)
  *        |
  *        v
  * DispatchExporter (STOMP, TCP, ...)
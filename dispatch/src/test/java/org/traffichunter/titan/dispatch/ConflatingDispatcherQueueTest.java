@@ -0,0 +1,134 @@
+package org.traffichunter.titan.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+
+class ConflatingDispatcherQueueTest {
+
+    @Test
+    void create_selects_conflating_queue() {
+        DispatcherQueue queue = DispatcherQueue.create(
+                Destination.create("/prices/create"),
+                1024,
+                512,
+                DispatcherQueueType.CONFLATING,
+                "symbol"
+        );
+
+        assertThat(queue).isInstanceOf(ConflatingDispatcherQueue.class);
+        assertThat(((ConflatingDispatcherQueue) queue).keyHeader()).isEqualTo("symbol");
+        assertThat(DispatcherQueueType.resolveType("conflating")).isEqualTo(DispatcherQueueType.CONFLATING);
+    }
+
+    @Test
+    void blank_key_header_is_rejected() {
+        assertThatThrownBy(() -> queue("/prices/blank", " "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void same_key_replaces_pending_message_in_place() throws Exception {
+        ConflatingDispatcherQueue queue = queue("/prices/replace", "symbol");
+        queue.enqueue(message("/prices/replace", "AAA", "1"));
+        queue.enqueue(message("/prices/replace", "BBB", "22"));
+        Message latest = message("/prices/replace", "AAA", "333");
+        queue.enqueue(latest);
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.getPendingBytes()).isEqualTo(5);
+        assertThat(queue.getConflatedMessages()).isEqualTo(1);
+
+        assertThat(queue.dispatch()).isSameAs(latest);
+        assertThat(body(queue.dispatch())).isEqualTo("22");
+        assertThat(queue.getPendingBytes()).isZero();
+    }
+
+    @Test
+    void full_queue_admits_replacement_against_size_difference() {
+        ConflatingDispatcherQueue queue = new ConflatingDispatcherQueue(
+                Destination.create("/prices/full"),
+                new DestinationQueueMetadata("/prices/full", Instant.now(), 4),
+                "symbol"
+        );
+        queue.enqueue(message("/prices/full", "AAA", "12"));
+        queue.enqueue(message("/prices/full", "BBB", "34"));
+        assertThat(queue.enqueue(message("/prices/full", "CCC", "5"))).isNull();
+
+        Message latest = message("/prices/full", "AAA", "56");
+        assertThat(queue.enqueue(latest)).isSameAs(latest);
+        assertThat(queue.tryEnqueue(message("/prices/full", "BBB", "7"))).isTrue();
+        assertThat(queue.enqueue(message("/prices/full", "AAA", "789"))).isNull();
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.getPendingBytes()).isEqualTo(3);
+        assertThat(queue.getConflatedMessages()).isEqualTo(2);
+        assertThat(queue.dispatch()).isSameAs(latest);
+    }
+
+    @Test
+    void messages_without_key_are_not_conflated() throws Exception {
+        ConflatingDispatcherQueue queue = queue("/prices/keyless", "symbol");
+        queue.enqueue(message("/prices/keyless", null, "a"));
+        queue.enqueue(message("/prices/keyless", null, "b"));
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.getConflatedMessages()).isZero();
+        assertThat(body(queue.dispatch())).isEqualTo("a");
+        assertThat(body(queue.dispatch())).isEqualTo("b");
+    }
+
+    @Test
+    void dispatcher_applies_first_matching_destination_policy() {
+        TrieDispatcher dispatcher = new TrieDispatcher(
+                1024,
+                512,
+                DispatcherQueueType.LINKED,
+                Duration.ZERO,
+                List.of(new DestinationQueuePolicy(
+                        Destination.create("/prices/**"),
+                        DispatcherQueueType.CONFLATING,
+                        "symbol"
+                ))
+        );
+
+        DispatcherQueue matched = dispatcher.getOrPut(Destination.create("/prices/fx/eur"));
+        DispatcherQueue other = dispatcher.getOrPut(Destination.create("/orders/new"));
+
+        assertThat(matched).isInstanceOf(ConflatingDispatcherQueue.class);
+        assertThat(((ConflatingDispatcherQueue) matched).keyHeader()).isEqualTo("symbol");
+        assertThat(other).isNotInstanceOf(ConflatingDispatcherQueue.class);
+    }
+
+    private static ConflatingDispatcherQueue queue(String destination, String keyHeader) {
+        return new ConflatingDispatcherQueue(
+                Destination.create(destination),
+                new DestinationQueueMetadata(destination, Instant.now(), Long.MAX_VALUE),
+                keyHeader
+        );
+    }
+
+    private static Message message(String destination, @Nullable String key, String body) {
+        Message.MessageBuilder builder = Message.builder()
+                .destination(Destination.create(destination))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .body(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            builder.header("symbol", key);
+        }
+        return builder.build();
+    }
+
+    private static String body(Message message) {
+        return new String(message.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -1,7 +1,9 @@
 package org.traffichunter.titan.dispatch;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,10 +11,13 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 import org.traffichunter.titan.core.message.Message;
 import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.Handler;
+import org.traffichunter.titan.core.util.HandlerRegistration;
 import org.traffichunter.titan.core.util.buffer.Buffer;
 import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
 
@@ -41,7 +46,7 @@ class DispatchChainHandlerChainTest {
         Message message = message("/queue/route");
         TrieDispatcher dispatcher = new TrieDispatcher();
         DispatchHandlerChain chain = new DispatchHandlerChain(List.of(
-                new RouteDispatchChainHandler(dispatcher),
+                new RouteDispatchChainHandler(dispatcher, subscribedExporter(true)),
                 (context, chainContext) -> {
                     DispatcherQueue queue = dispatcher.get(message.getDestination());
                     assertThat(queue).isNotNull();
@@ -54,6 +59,207 @@ class DispatchChainHandlerChainTest {
         chain.sparkDispatch(new DispatchContext(message)).join();
     }
 
+    @Test
+    void route_handler_fails_with_overflow_policy_when_queue_rejects() {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        DispatcherQueue queue = dispatcher.getOrPut(Destination.create("/queue/route-reject"), 4);
+        queue.overflowPolicy(DispatcherQueueOverflowPolicy.REJECT_WITH_RECEIPT_ERROR, Duration.ZERO);
+        queue.enqueue(message("/queue/route-reject"));
+        DispatchHandlerChain chain = new DispatchHandlerChain(List.of(new RouteDispatchChainHandler(dispatcher, subscribedExporter(true))));
+
+        assertThatThrownBy(() -> chain.dispatch(new DispatchContext(message("/queue/route-reject"))))
+                .isInstanceOfSatisfying(DispatcherQueueOverflowException.class, error ->
+                        assertThat(error.policy()).isEqualTo(DispatcherQueueOverflowPolicy.REJECT_WITH_RECEIPT_ERROR));
+    }
+
+    @Test
+    void route_handler_stops_quietly_when_queue_drops_message() {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        DispatcherQueue queue = dispatcher.getOrPut(Destination.create("/queue/route-drop"), 4);
+        queue.overflowPolicy(DispatcherQueueOverflowPolicy.DROP_NEWEST, Duration.ZERO);
+        queue.enqueue(message("/queue/route-drop"));
+        List<String> calls = new ArrayList<>();
+        DispatchHandlerChain chain = new DispatchHandlerChain(List.of(
+                new RouteDispatchChainHandler(dispatcher, subscribedExporter(true)),
+                (context, chainContext) -> {
+                    calls.add("next");
+                    return chainContext.next(context);
+                }
+        ));
+
+        chain.dispatch(new DispatchContext(message("/queue/route-drop")));
+
+        assertThat(calls).isEmpty();
+        assertThat(queue.getDroppedMessages()).isEqualTo(1);
+    }
+
+    @Test
+    void route_handler_drops_unsubscribed_message_without_creating_backlog() {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        DispatcherQueue queue = dispatcher.getOrPut(Destination.create("/user/alice/unsubscribed-drop"));
+        queue.unsubscribedPolicy(DispatcherQueueUnsubscribedPolicy.DROP, 0L);
+        List<String> calls = new ArrayList<>();
+        DispatchHandlerChain chain = new DispatchHandlerChain(List.of(
+                new RouteDispatchChainHandler(dispatcher, subscribedExporter(false)),
+                (context, chainContext) -> {
+                    calls.add("next");
+                    return chainContext.next(context);
+                }
+        ));
+
+        chain.dispatch(new DispatchContext(message("/user/alice/unsubscribed-drop")));
+
+        assertThat(calls).isEmpty();
+        assertThat(queue.size()).isZero();
+        assertThat(queue.getUnsubscribedMessages()).isEqualTo(1);
+    }
+
+    @Test
+    void route_handler_buffers_unsubscribed_messages_up_to_limit() {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        DispatcherQueue queue = dispatcher.getOrPut(Destination.create("/user/bob/unsubscribed-buffer"));
+        queue.unsubscribedPolicy(DispatcherQueueUnsubscribedPolicy.BUFFER, 10L);
+        DispatchHandlerChain chain = new DispatchHandlerChain(List.of(
+                new RouteDispatchChainHandler(dispatcher, subscribedExporter(false))
+        ));
+
+        for (int i = 0; i < 4; i++) {
+            chain.dispatch(new DispatchContext(message("/user/bob/unsubscribed-buffer")));
+        }
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.getUnsubscribedMessages()).isEqualTo(2);
+    }
+
+    @Test
+    void route_handler_admits_unsubscribed_message_under_deliver_policy() {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        DispatchHandlerChain chain = new DispatchHandlerChain(List.of(
+                new RouteDispatchChainHandler(dispatcher, subscribedExporter(false))
+        ));
+
+        chain.dispatch(new DispatchContext(message("/queue/unsubscribed-deliver")));
+
+        DispatcherQueue queue = dispatcher.get(Destination.create("/queue/unsubscribed-deliver"));
+        assertThat(queue).isNotNull();
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.getUnsubscribedMessages()).isZero();
+    }
+
+    @Test
+    void fanout_handler_parks_unsubscribed_destination_until_subscribe() throws Exception {
+        Message message = message("/user/carol/parked");
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        DispatcherQueue queue = dispatcher.getOrPut(message.getDestination());
+        queue.unsubscribedPolicy(DispatcherQueueUnsubscribedPolicy.BUFFER, 1024L);
+        queue.enqueue(message);
+        AtomicBoolean subscribed = new AtomicBoolean();
+        AtomicReference<Handler<Destination>> subscribe = new AtomicReference<>();
+        CountDownLatch exported = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            FanoutDispatchChainHandler handler = new FanoutDispatchChainHandler(
+                    executor,
+                    new DispatchExporter() {
+                        @Override
+                        public String name() {
+                            return "test";
+                        }
+
+                        @Override
+                        public boolean hasSubscribers(Destination destination) {
+                            return subscribed.get();
+                        }
+
+                        @Override
+                        public HandlerRegistration subscribeHandler(Handler<Destination> handler) {
+                            subscribe.set(handler);
+                            return () -> { };
+                        }
+
+                        @Override
+                        public AggregationResult export(Destination destination, Buffer payload) {
+                            exported.countDown();
+                            return AggregationResult.completed(List.of(destination), 1, 1, 0);
+                        }
+                    },
+                    dispatcher
+            );
+            handler.start();
+
+            try {
+                handler.fanout(message.getDestination()).get(1, TimeUnit.SECONDS);
+                assertThat(queue.size()).isEqualTo(1);
+                assertThat(queue.getConsumerStops()).isEqualTo(1);
+
+                subscribed.set(true);
+                subscribe.get().handle(Destination.create("/user/*/parked"));
+
+                assertThat(exported.await(1, TimeUnit.SECONDS)).isTrue();
+            } finally {
+                handler.close();
+            }
+        }
+    }
+
+    @Test
+    void fanout_handler_parks_destination_until_subscriber_becomes_writable() throws Exception {
+        Message message = message("/queue/unwritable");
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        DispatcherQueue queue = dispatcher.getOrPut(message.getDestination());
+        queue.enqueue(message);
+        AtomicBoolean writable = new AtomicBoolean();
+        AtomicReference<Handler<Destination>> resume = new AtomicReference<>();
+        AtomicBoolean unregistered = new AtomicBoolean();
+        CountDownLatch exported = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            FanoutDispatchChainHandler handler = new FanoutDispatchChainHandler(
+                    executor,
+                    new DispatchExporter() {
+                        @Override
+                        public String name() {
+                            return "test";
+                        }
+
+                        @Override
+                        public boolean isWritable(Destination destination) {
+                            return writable.get();
+                        }
+
+                        @Override
+                        public HandlerRegistration writableHandler(Handler<Destination> handler) {
+                            resume.set(handler);
+                            return () -> unregistered.set(true);
+                        }
+
+                        @Override
+                        public AggregationResult export(Destination destination, Buffer payload) {
+                            exported.countDown();
+                            return AggregationResult.completed(List.of(destination), 1, 1, 0);
+                        }
+                    },
+                    dispatcher
+            );
+            handler.start();
+
+            try {
+                handler.fanout(message.getDestination()).get(1, TimeUnit.SECONDS);
+                assertThat(queue.size()).isEqualTo(1);
+                assertThat(queue.getUnwritableStops()).isEqualTo(1);
+                assertThat(queue.getConsumerStops()).isZero();
+
+                writable.set(true);
+                resume.get().handle(message.getDestination());
+
+                assertThat(exported.await(1, TimeUnit.SECONDS)).isTrue();
+            } finally {
+                handler.close();
+            }
+        }
+        assertThat(unregistered).isTrue();
+    }
+
     @Test
     void dispatch_handler_fans_out_message_destination() throws Exception {
         Message message = message("/queue/fanout");
@@ -78,6 +284,78 @@ class DispatchChainHandlerChainTest {
         }
     }
 
+    @Test
+    void fanout_handler_drains_partitioned_queue_without_holding_a_thread_per_partition() throws Exception {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        dispatcher.getOrPut(Destination.create("/queue/partitioned"), DispatcherQueue.DEFAULT_MAX_PENDING_BYTES, 4);
+        CountDownLatch exported = new CountDownLatch(2);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            FanoutDispatchChainHandler handler = new FanoutDispatchChainHandler(
+                    executor,
+                    countingExporter(exported),
+                    dispatcher
+            );
+            DispatchHandlerChain chain = new DispatchHandlerChain(List.of(
+                    new RouteDispatchChainHandler(dispatcher, subscribedExporter(true)),
+                    handler
+            ));
+
+            try {
+                chain.sparkDispatch(new DispatchContext(message("/queue/partitioned"))).join();
+                chain.sparkDispatch(new DispatchContext(message("/queue/plain"))).join();
+                assertThat(exported.await(1, TimeUnit.SECONDS)).isTrue();
+            } finally {
+                handler.close();
+            }
+        }
+    }
+
+    @Test
+    void scheduled_handler_drains_more_destinations_than_workers() throws Exception {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        int destinations = 32;
+        CountDownLatch exported = new CountDownLatch(destinations * 2);
+
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            ScheduledFanoutDispatchChainHandler handler = new ScheduledFanoutDispatchChainHandler(
+                    executor,
+                    1,
+                    countingExporter(exported),
+                    dispatcher
+            );
+            DispatchHandlerChain chain = new DispatchHandlerChain(List.of(
+                    new RouteDispatchChainHandler(dispatcher, subscribedExporter(true)),
+                    handler
+            ));
+
+            try {
+                for (int i = 0; i < destinations; i++) {
+                    chain.sparkDispatch(new DispatchContext(message("/queue/scheduled/" + i))).join();
+                    chain.sparkDispatch(new DispatchContext(message("/queue/scheduled/" + i))).join();
+                }
+                assertThat(exported.await(1, TimeUnit.SECONDS)).isTrue();
+            } finally {
+                handler.close();
+            }
+        }
+    }
+
+    @Test
+    void work_stealing_gateway_drains_more_destinations_than_workers() throws Exception {
+        int destinations = 32;
+        CountDownLatch exported = new CountDownLatch(destinations * 2);
+
+        try (DispatchGateway gateway = DispatchMode.resolveMode("work-stealing")
+                .dispatchGateway(countingExporter(exported), new TrieDispatcher(), 2)) {
+            for (int i = 0; i < destinations; i++) {
+                gateway.sparkDispatch(message("/queue/work-stealing/" + i)).join();
+                gateway.sparkDispatch(message("/queue/work-stealing/" + i)).join();
+            }
+            assertThat(exported.await(1, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
     @Test
     void chain_runs_handlers_on_supplied_executor() {
         try (var executor = Executors.newSingleThreadExecutor()) {
@@ -114,6 +392,40 @@ class DispatchChainHandlerChainTest {
         };
     }
 
+    private static DispatchExporter subscribedExporter(boolean subscribed) {
+        return new DispatchExporter() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public boolean hasSubscribers(Destination destination) {
+                return subscribed;
+            }
+
+            @Override
+            public AggregationResult export(Destination destination, Buffer payload) {
+                return AggregationResult.completed(List.of(destination), 0, 0, 0);
+            }
+        };
+    }
+
+    private static DispatchExporter countingExporter(CountDownLatch exported) {
+        return new DispatchExporter() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public AggregationResult export(Destination destination, Buffer payload) {
+                exported.countDown();
+                return AggregationResult.completed(List.of(destination), 0, 0, 0);
+            }
+        };
+    }
+
     private static Message message(String destination) {
         return Message.builder()
                 .destination(Destination.create(destination))
@@ -2,14 +2,23 @@ package org.traffichunter.titan.dispatch;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 import org.traffichunter.titan.core.message.Message;
 import org.traffichunter.titan.core.util.Destination;
 import org.traffichunter.titan.core.util.buffer.Buffer;
+import org.traffichunter.titan.core.util.management.DispatcherQueueMbeans;
 import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
 
 class DispatchGatewayQueueManagementTest {
@@ -56,6 +65,95 @@ class DispatchGatewayQueueManagementTest {
         gateway.close();
     }
 
+    @Test
+    void reap_removes_idle_empty_queue_with_trie_node_and_mbean() {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        FanoutDispatchChainHandler handler = new FanoutDispatchChainHandler(executor, noopExporter(), dispatcher);
+        Destination destination = Destination.create("/queue/reap-idle/session-1");
+        DispatcherQueue queue = dispatcher.getOrPut(destination);
+        long idleSince = queue.metadata().getLastEnqueuedAtMillis();
+
+        assertThat(handler.reap(queue, idleSince + 999, 1000)).isFalse();
+        assertThat(handler.reap(queue, idleSince + 1000, 1000)).isTrue();
+
+        assertThat(dispatcher.get(destination)).isNull();
+        assertThat(dispatcher.searchAll(Destination.create("/queue/reap-idle/*"))).isEmpty();
+        assertThat(ManagementFactory.getPlatformMBeanServer()
+                .isRegistered(DispatcherQueueMbeans.objectName(destination.path()))).isFalse();
+        assertThat(handler.reap(queue, idleSince + 1000, 1000)).isFalse();
+
+        handler.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void reap_keeps_queue_with_pending_messages() {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        FanoutDispatchChainHandler handler = new FanoutDispatchChainHandler(executor, noopExporter(), dispatcher);
+        Destination destination = Destination.create("/queue/reap-pending");
+        DispatcherQueue queue = dispatcher.getOrPut(destination);
+        queue.enqueue(message(destination));
+
+        assertThat(handler.reap(queue, Long.MAX_VALUE, 1)).isFalse();
+        assertThat(dispatcher.get(destination)).isSameAs(queue);
+
+        handler.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void reaped_queue_refuses_late_producer_without_counting_it() {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        FanoutDispatchChainHandler handler = new FanoutDispatchChainHandler(executor, noopExporter(), dispatcher);
+        Destination destination = Destination.create("/queue/reap-late");
+        DispatcherQueue queue = dispatcher.getOrPut(destination);
+
+        assertThat(handler.reap(queue, Long.MAX_VALUE, 1)).isTrue();
+
+        assertThat(queue.isRetired()).isTrue();
+        assertThat(queue.enqueue(message(destination))).isNull();
+        assertThat(queue.getRejectedMessages()).isZero();
+        assertThat(queue.getDroppedMessages()).isZero();
+
+        DispatcherQueue fresh = dispatcher.getOrPut(destination);
+        assertThat(fresh).isNotSameAs(queue);
+        assertThat(fresh.enqueue(message(destination))).isNotNull();
+        assertThat(fresh.retire()).isFalse();
+
+        handler.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void gateway_reaps_idle_queue_and_recreates_it_on_next_message() throws Exception {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        ThreadPoolExecutorDispatchGateway gateway = new ThreadPoolExecutorDispatchGateway(
+                noopExporter(),
+                dispatcher
+        );
+        gateway.idleQueueTimeout(Duration.ofMillis(1));
+        long reapedBefore = DispatcherQueueSweeper.metrics().getReapedQueues();
+        Destination destination = Destination.create("/queue/reap-gateway/session-2");
+
+        gateway.sparkDispatch(message(destination)).get();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.get(destination) != null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(dispatcher.get(destination)).isNull();
+        assertThat(DispatcherQueueSweeper.metrics().getReapedQueues()).isGreaterThan(reapedBefore);
+
+        gateway.sparkDispatch(message(destination)).get();
+
+        assertThat(dispatcher.get(destination)).isNotNull();
+
+        gateway.close();
+    }
+
     @Test
     void spark_dispatch_runs_custom_handler_between_route_and_fanout() throws Exception {
         TrieDispatcher dispatcher = new TrieDispatcher();
@@ -76,6 +174,165 @@ class DispatchGatewayQueueManagementTest {
         gateway.close();
     }
 
+    @Test
+    void scheduled_gateway_drains_while_more_producers_than_threads_wait_on_paused_queue() throws Exception {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        CountDownLatch exported = new CountDownLatch(1);
+        ScheduledDispatchGateway gateway = new ScheduledDispatchGateway(
+                1,
+                ScheduledFanoutDispatchChainHandler.DEFAULT_MAX_MESSAGES_PER_TURN,
+                countingExporter(exported),
+                dispatcher
+        );
+        Destination paused = Destination.create("/queue/scheduled-paused");
+        Destination other = Destination.create("/queue/scheduled-other");
+        DispatcherQueue queue = gateway.createQueue(paused, 1024);
+        queue.pause();
+
+        List<CompletableFuture<?>> waiting = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            waiting.add(gateway.sparkDispatch(message(paused)));
+        }
+        gateway.sparkDispatch(message(other)).get(1, TimeUnit.SECONDS);
+
+        assertThat(exported.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(waiting).noneMatch(CompletableFuture::isDone);
+        queue.resume();
+        CompletableFuture.allOf(waiting.toArray(CompletableFuture[]::new)).get(1, TimeUnit.SECONDS);
+
+        gateway.close();
+    }
+
+    @Test
+    void work_stealing_gateway_drains_while_more_producers_than_workers_wait_on_paused_queue() throws Exception {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        CountDownLatch exported = new CountDownLatch(1);
+        ForkJoinPoolDispatchGateway gateway = new ForkJoinPoolDispatchGateway(
+                1,
+                ScheduledFanoutDispatchChainHandler.DEFAULT_MAX_MESSAGES_PER_TURN,
+                countingExporter(exported),
+                dispatcher
+        );
+        Destination paused = Destination.create("/queue/work-stealing-paused");
+        DispatcherQueue queue = gateway.createQueue(paused, 1024);
+        queue.pause();
+
+        List<CompletableFuture<?>> waiting = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            waiting.add(gateway.sparkDispatch(message(paused)));
+        }
+        gateway.sparkDispatch(message(Destination.create("/queue/work-stealing-other"))).get(1, TimeUnit.SECONDS);
+
+        assertThat(exported.await(1, TimeUnit.SECONDS)).isTrue();
+        queue.resume();
+        CompletableFuture.allOf(waiting.toArray(CompletableFuture[]::new)).get(1, TimeUnit.SECONDS);
+
+        gateway.close();
+    }
+
+    @Test
+    void caller_runs_gateway_routes_on_calling_thread_and_returns_completed_future() throws Exception {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        CallerRunsDispatchGateway gateway = new CallerRunsDispatchGateway(noopExporter(), dispatcher);
+        AtomicReference<Thread> handlerThread = new AtomicReference<>();
+        gateway.chainHandler(chain -> chain.add((context, chainContext) -> {
+            handlerThread.set(Thread.currentThread());
+            return chainContext.next(context);
+        }));
+        Destination destination = Destination.create("/queue/caller-runs");
+
+        CompletableFuture<?> first = gateway.sparkDispatch(message(destination));
+        CompletableFuture<?> second = gateway.sparkDispatch(message(destination));
+
+        assertThat(first).isCompleted();
+        assertThat(second).isSameAs(first);
+        assertThat(handlerThread).hasValue(Thread.currentThread());
+        assertThat(dispatcher.get(destination)).isNotNull();
+
+        gateway.close();
+    }
+
+    @Test
+    void caller_runs_gateway_reports_rejected_admission_as_failed_future() {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        CallerRunsDispatchGateway gateway = new CallerRunsDispatchGateway(noopExporter(), dispatcher);
+        Destination destination = Destination.create("/queue/caller-runs-oversized");
+        gateway.createQueue(destination, 1);
+
+        CompletableFuture<?> result = gateway.sparkDispatch(message(destination));
+
+        assertThat(result).isCompletedExceptionally();
+
+        gateway.close();
+    }
+
+    @Test
+    void caller_runs_gateway_hands_paused_destination_to_executor() throws Exception {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        CallerRunsDispatchGateway gateway = new CallerRunsDispatchGateway(noopExporter(), dispatcher);
+        Destination destination = Destination.create("/queue/caller-runs-paused");
+        DispatcherQueue queue = gateway.createQueue(destination, 1024);
+        queue.pause();
+
+        CompletableFuture<?> result = gateway.sparkDispatch(message(destination));
+
+        assertThat(result).isNotDone();
+        queue.resume();
+        result.get(1, TimeUnit.SECONDS);
+        assertThat(result).isCompleted();
+
+        gateway.close();
+    }
+
+    @Test
+    void caller_runs_gateway_keeps_later_messages_behind_deferred_one() throws Exception {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        CallerRunsDispatchGateway gateway = new CallerRunsDispatchGateway(noopExporter(), dispatcher);
+        AtomicInteger beforeRoute = new AtomicInteger();
+        gateway.chainHandler(chain -> chain.addFirst((context, chainContext) -> {
+            beforeRoute.incrementAndGet();
+            return chainContext.next(context);
+        }));
+        Destination paused = Destination.create("/queue/caller-runs-deferred");
+        Destination open = Destination.create("/queue/caller-runs-behind");
+        DispatcherQueue queue = gateway.createQueue(paused, 1024);
+        queue.pause();
+
+        CompletableFuture<?> first = gateway.sparkDispatch(message(paused));
+        CompletableFuture<?> second = gateway.sparkDispatch(message(open));
+
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+        assertThat(dispatcher.get(open)).isNull();
+        queue.resume();
+        CompletableFuture.allOf(first, second).get(1, TimeUnit.SECONDS);
+        assertThat(dispatcher.get(open)).isNotNull();
+        assertThat(beforeRoute).hasValue(2);
+
+        gateway.close();
+    }
+
+    @Test
+    void caller_runs_gateway_never_blocks_calling_thread_on_full_queue() throws Exception {
+        TrieDispatcher dispatcher = new TrieDispatcher();
+        CallerRunsDispatchGateway gateway = new CallerRunsDispatchGateway(noopExporter(), dispatcher);
+        Destination destination = Destination.create("/queue/caller-runs-full");
+        DispatcherQueue queue = gateway.createQueue(destination, 6);
+        queue.overflowPolicy(DispatcherQueueOverflowPolicy.BLOCK_WITH_TIMEOUT, Duration.ofSeconds(5));
+        queue.enqueue(message(destination));
+
+        long started = System.nanoTime();
+        CompletableFuture<?> result = gateway.sparkDispatch(message(destination));
+
+        assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(result).isNotDone();
+        queue.poll();
+        result.get(1, TimeUnit.SECONDS);
+        assertThat(result).isCompleted();
+
+        gateway.close();
+    }
+
     private static DispatchExporter noopExporter() {
         return new DispatchExporter() {
             @Override
@@ -90,6 +347,21 @@ class DispatchGatewayQueueManagementTest {
         };
     }
 
+    private static DispatchExporter countingExporter(CountDownLatch exported) {
+        return new DispatchExporter() {
+            @Override
+            public String name() {
+                return "counting";
+            }
+
+            @Override
+            public AggregationResult export(Destination destination, Buffer payload) {
+                exported.countDown();
+                return AggregationResult.completed(List.of(destination), 1, 1, 0);
+            }
+        };
+    }
+
     private static Message message(Destination destination) {
         return Message.builder()
                 .destination(destination)
@@ -55,6 +55,19 @@ class DispatcherQueueManagementTest {
         assertThat(dispatcher.get(destination)).isSameAs(queue);
     }
 
+    @Test
+    void map_dispatcher_creates_queue_of_requested_type() {
+        Dispatcher dispatcher = new MapDispatcher(1);
+        Destination destination = Destination.create("/queue/map-typed");
+
+        DispatcherQueue queue = dispatcher.getOrPut(destination, 32, DispatcherQueueType.MPSC, "symbol");
+
+        assertThat(queue).isInstanceOf(MpscDispatcherQueue.class);
+        assertThat(dispatcher.getOrPut(destination, 64, DispatcherQueueType.PRIORITY, "symbol")).isSameAs(queue);
+
+        DispatcherQueueMbeans.unregister(destination.path());
+    }
+
     @Test
     void trie_dispatcher_returns_created_queue_with_requested_byte_limit() {
         Dispatcher dispatcher = new TrieDispatcher();
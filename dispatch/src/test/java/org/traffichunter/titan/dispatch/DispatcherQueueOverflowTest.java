@@ -0,0 +1,193 @@
+package org.traffichunter.titan.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+
+class DispatcherQueueOverflowTest {
+
+    @Test
+    void drop_oldest_evicts_head_to_admit_new_message() {
+        DispatcherQueue queue = fullQueue("/queue/overflow-drop-oldest", DispatcherQueueType.LINKED,
+                DispatcherQueueOverflowPolicy.DROP_OLDEST);
+
+        Message newest = message("/queue/overflow-drop-oldest", "cccc");
+
+        assertThat(queue.enqueue(newest)).isSameAs(newest);
+        assertThat(bodies(queue)).containsExactly("bbbb", "cccc");
+        assertThat(queue.getEvictedMessages()).isEqualTo(1);
+        assertThat(queue.getDroppedMessages()).isZero();
+        assertThat(queue.getPendingBytes()).isZero();
+    }
+
+    @Test
+    void drop_oldest_evicts_low_priority_lane_first() {
+        DispatcherQueue queue = DispatcherQueue.create(
+                Destination.create("/queue/overflow-priority"),
+                10,
+                5,
+                DispatcherQueueType.PRIORITY,
+                DispatcherQueue.CONFLATION_KEY_HEADER
+        );
+        queue.overflowPolicy(DispatcherQueueOverflowPolicy.DROP_OLDEST, Duration.ZERO);
+        queue.enqueue(message("/queue/overflow-priority", "high", "9"));
+        queue.enqueue(message("/queue/overflow-priority", "low!", "0"));
+
+        queue.enqueue(message("/queue/overflow-priority", "norm", "5"));
+
+        assertThat(bodies(queue)).containsExactly("high", "norm");
+    }
+
+    @Test
+    void drop_oldest_evicts_head_on_mpsc() {
+        DispatcherQueue queue = fullQueue("/queue/overflow-mpsc", DispatcherQueueType.MPSC,
+                DispatcherQueueOverflowPolicy.DROP_OLDEST);
+        Message newest = message("/queue/overflow-mpsc", "cccc");
+
+        assertThat(queue.enqueue(newest)).isSameAs(newest);
+        assertThat(bodies(queue)).containsExactly("bbbb", "cccc");
+        assertThat(queue.getEvictedMessages()).isEqualTo(1);
+        assertThat(queue.getDroppedMessages()).isZero();
+    }
+
+    @Test
+    void drop_newest_discards_message_without_pausing() {
+        DispatcherQueue queue = fullQueue("/queue/overflow-drop-newest", DispatcherQueueType.LINKED,
+                DispatcherQueueOverflowPolicy.DROP_NEWEST);
+
+        assertThat(queue.enqueue(message("/queue/overflow-drop-newest", "cccc"))).isNull();
+        assertThat(queue.getDroppedMessages()).isEqualTo(1);
+        assertThat(queue.isPaused()).isFalse();
+        assertThat(queue.size()).isEqualTo(2);
+    }
+
+    @Test
+    void block_with_timeout_rejects_after_timeout() {
+        DispatcherQueue queue = fullQueue("/queue/overflow-block", DispatcherQueueType.LINKED,
+                DispatcherQueueOverflowPolicy.BLOCK_WITH_TIMEOUT);
+        queue.overflowPolicy(DispatcherQueueOverflowPolicy.BLOCK_WITH_TIMEOUT, Duration.ofMillis(50));
+
+        long started = System.nanoTime();
+        assertThat(queue.enqueue(message("/queue/overflow-block", "cccc"))).isNull();
+
+        assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(queue.getRejectedMessages()).isEqualTo(1);
+        assertThat(queue.isPaused()).isTrue();
+    }
+
+    @Test
+    void block_with_timeout_admits_once_consumer_makes_room() throws Exception {
+        DispatcherQueue queue = fullQueue("/queue/overflow-block-admit", DispatcherQueueType.LINKED,
+                DispatcherQueueOverflowPolicy.BLOCK_WITH_TIMEOUT);
+        queue.overflowPolicy(DispatcherQueueOverflowPolicy.BLOCK_WITH_TIMEOUT, Duration.ofSeconds(5));
+        Thread consumer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                queue.poll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+
+        Message newest = message("/queue/overflow-block-admit", "cccc");
+
+        assertThat(queue.enqueue(newest)).isSameAs(newest);
+        consumer.join();
+    }
+
+    @Test
+    void reject_with_receipt_error_refuses_without_waiting_and_resumed_completes_later() throws Exception {
+        DispatcherQueue queue = fullQueue("/queue/overflow-reject", DispatcherQueueType.LINKED,
+                DispatcherQueueOverflowPolicy.REJECT_WITH_RECEIPT_ERROR);
+
+        assertThat(queue.enqueue(message("/queue/overflow-reject", "cccc"))).isNull();
+        assertThat(queue.getRejectedMessages()).isEqualTo(1);
+
+        CompletableFuture<@Nullable Void> resumed = queue.resumed();
+        assertThat(resumed).isNotDone();
+        assertThat(queue.enqueue(message("/queue/overflow-reject", "c"))).isNull();
+
+        queue.poll();
+        resumed.get(1, TimeUnit.SECONDS);
+        assertThat(queue.isPaused()).isFalse();
+    }
+
+    @Test
+    void refused_message_does_not_count_as_enqueued() throws Exception {
+        DispatcherQueue queue = fullQueue("/queue/overflow-idle", DispatcherQueueType.LINKED,
+                DispatcherQueueOverflowPolicy.REJECT_WITH_RECEIPT_ERROR);
+        long enqueuedAt = queue.metadata().getLastEnqueuedAtMillis();
+        Thread.sleep(5);
+
+        assertThat(queue.enqueue(message("/queue/overflow-idle", "cccc"))).isNull();
+        assertThat(queue.tryEnqueue(message("/queue/overflow-idle", "dddd"))).isFalse();
+
+        assertThat(queue.metadata().getLastEnqueuedAtMillis()).isEqualTo(enqueuedAt);
+    }
+
+    @Test
+    void resolve_policy_maps_configured_names() {
+        for (DispatcherQueueOverflowPolicy policy : DispatcherQueueOverflowPolicy.values()) {
+            assertThat(DispatcherQueueOverflowPolicy.resolvePolicy(policy.getName())).isEqualTo(policy);
+        }
+        assertThatThrownBy(() -> DispatcherQueueOverflowPolicy.resolvePolicy("spill"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static DispatcherQueue fullQueue(
+            String destination,
+            DispatcherQueueType type,
+            DispatcherQueueOverflowPolicy policy
+    ) {
+        DispatcherQueue queue = DispatcherQueue.create(
+                Destination.create(destination),
+                10,
+                5,
+                type,
+                DispatcherQueue.CONFLATION_KEY_HEADER
+        );
+        queue.overflowPolicy(policy, Duration.ZERO);
+        queue.enqueue(message(destination, "aaaa"));
+        queue.enqueue(message(destination, "bbbb"));
+        return queue;
+    }
+
+    private static List<String> bodies(DispatcherQueue queue) {
+        List<Message> drained = new ArrayList<>();
+        queue.drainTo(drained, 16, Long.MAX_VALUE);
+        return drained.stream()
+                .map(message -> new String(message.getBody(), StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private static Message message(String destination, String body) {
+        return Message.builder()
+                .destination(Destination.create(destination))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static Message message(String destination, String body, String priority) {
+        return Message.builder()
+                .destination(Destination.create(destination))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .header(DispatcherQueue.PRIORITY_HEADER, priority)
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
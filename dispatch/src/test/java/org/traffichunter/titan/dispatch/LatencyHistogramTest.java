@@ -0,0 +1,83 @@
+package org.traffichunter.titan.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.management.LatencyResource;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentiles_stay_within_an_eighth_of_recorded_latency() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(100 * i));
+        }
+
+        LatencyResource latency = histogram.snapshot();
+
+        assertThat(latency.count()).isEqualTo(1000);
+        assertThat(latency.p50Nanos()).isBetween(50_000_000L, 50_000_000L + 50_000_000L / 8);
+        assertThat(latency.p99Nanos()).isBetween(99_000_000L, 99_000_000L + 99_000_000L / 8);
+        assertThat(latency.p999Nanos()).isBetween(99_900_000L, 99_900_000L + 99_900_000L / 8);
+    }
+
+    @Test
+    void every_read_sees_the_last_completed_interval() {
+        AtomicLong now = new AtomicLong();
+        LatencyHistogram histogram = new LatencyHistogram(now::get);
+        histogram.record(5_000, 3);
+
+        assertThat(histogram.snapshot().count()).isEqualTo(3);
+        assertThat(histogram.snapshot().count()).isEqualTo(3);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(LatencyHistogram.INTERVAL_SECONDS));
+        histogram.record(5_000, 2);
+        assertThat(histogram.snapshot().count()).isEqualTo(5);
+        histogram.record(5_000, 4);
+        assertThat(histogram.snapshot().count()).isEqualTo(5);
+        assertThat(histogram.snapshot().count()).isEqualTo(5);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(LatencyHistogram.INTERVAL_SECONDS));
+        assertThat(histogram.snapshot().count()).isEqualTo(4);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(LatencyHistogram.INTERVAL_SECONDS));
+        assertThat(histogram.snapshot()).isEqualTo(LatencyResource.EMPTY);
+    }
+
+    @Test
+    void buckets_are_contiguous_and_clamp_outliers() {
+        for (long nanos = 0; nanos < TimeUnit.SECONDS.toNanos(1); nanos = nanos * 5 / 4 + 1024) {
+            int index = LatencyHistogram.index(nanos);
+            assertThat(LatencyHistogram.highestNanos(index)).isGreaterThanOrEqualTo(nanos);
+            assertThat(index == 0 || LatencyHistogram.highestNanos(index - 1) < nanos).isTrue();
+        }
+        assertThat(LatencyHistogram.index(-1)).isZero();
+        assertThat(LatencyHistogram.index(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKETS - 1);
+    }
+
+    @Test
+    void queue_records_enqueue_and_dispatch_latency() {
+        DispatcherQueue queue = DispatcherQueue.create(Destination.create("/queue/latency"), 1024);
+        Message message = Message.builder()
+                .destination(Destination.create("/queue/latency"))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .body(new byte[]{1})
+                .build();
+
+        queue.enqueue(message);
+        queue.poll();
+
+        assertThat(message.getEnqueuedNanos()).isGreaterThanOrEqualTo(message.getCreatedNanos());
+        assertThat(message.getDispatchedNanos()).isGreaterThanOrEqualTo(message.getEnqueuedNanos());
+        assertThat(queue.getEnqueueLatency().count()).isEqualTo(1);
+        assertThat(queue.getDispatchLatency().count()).isEqualTo(1);
+        assertThat(queue.getFlushLatency()).isEqualTo(LatencyResource.EMPTY);
+    }
+}
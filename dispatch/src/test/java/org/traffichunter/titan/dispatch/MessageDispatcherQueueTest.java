@@ -244,6 +244,122 @@ class MessageDispatcherQueueTest {
         assertThat(queue.dispatch(1, TimeUnit.SECONDS)).isSameAs(second);
     }
 
+    @Test
+    void drainTo_stops_at_message_and_byte_limits() {
+        MessageDispatcherQueue queue = new MessageDispatcherQueue(Destination.create("/queue/drain"), 100);
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue(message("/queue/drain"));
+        }
+        List<Message> batch = new java.util.ArrayList<>();
+
+        assertThat(queue.drainTo(batch, 2, Long.MAX_VALUE)).isEqualTo(2);
+        assertThat(queue.getPendingBytes()).isEqualTo(12);
+
+        batch.clear();
+        assertThat(queue.drainTo(batch, 10, 5)).isEqualTo(2);
+        assertThat(batch).hasSize(2);
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.getPendingBytes()).isEqualTo(4);
+    }
+
+    @Test
+    void drainTo_releases_batch_bytes_and_resumes_queue() throws Exception {
+        Destination destination = Destination.create("/queue/drain-resume");
+        DestinationQueueMetadata metadata = new DestinationQueueMetadata(
+                destination.path(),
+                Instant.now(),
+                8
+        );
+        MessageDispatcherQueue queue = new MessageDispatcherQueue(destination, metadata);
+        Message first = message("/queue/drain-resume");
+        Message second = message("/queue/drain-resume");
+
+        queue.enqueue(first);
+        queue.enqueue(second);
+        assertThat(queue.enqueue(message("/queue/drain-resume"))).isNull();
+        assertThat(queue.isPaused()).isTrue();
+
+        List<Message> batch = new java.util.ArrayList<>();
+        assertThat(queue.drainTo(batch, 16, Long.MAX_VALUE, 1, TimeUnit.SECONDS)).isEqualTo(2);
+
+        assertThat(batch).containsExactly(first, second);
+        assertThat(metadata.getPendingBytes()).isZero();
+        assertThat(queue.isPaused()).isFalse();
+        assertThat(queue.drainTo(batch, 16, Long.MAX_VALUE, 10, TimeUnit.MILLISECONDS)).isZero();
+    }
+
+    @Test
+    void dispatch_skips_expired_messages_and_counts_them() throws Exception {
+        MessageDispatcherQueue queue = new MessageDispatcherQueue(Destination.create("/queue/expired-dispatch"));
+        Message live = message("/queue/expired-dispatch");
+        queue.enqueue(expiredMessage("/queue/expired-dispatch"));
+        queue.enqueue(live);
+
+        assertThat(queue.dispatch(10, TimeUnit.MILLISECONDS)).isSameAs(live);
+        assertThat(queue.getExpiredMessages()).isEqualTo(1);
+        assertThat(queue.getPendingBytes()).isZero();
+    }
+
+    @Test
+    void expire_sweeps_head_and_lifts_pressure_pause() {
+        Destination destination = Destination.create("/queue/expired-sweep");
+        DestinationQueueMetadata metadata = new DestinationQueueMetadata(
+                destination.path(),
+                Instant.now(),
+                8,
+                4
+        );
+        MessageDispatcherQueue queue = new MessageDispatcherQueue(destination, metadata);
+        queue.enqueue(expiredMessage("/queue/expired-sweep"));
+        queue.enqueue(message("/queue/expired-sweep"));
+        assertThat(queue.enqueue(message("/queue/expired-sweep"))).isNull();
+        assertThat(queue.isPaused()).isTrue();
+
+        assertThat(queue.expire()).isEqualTo(1);
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(metadata.getPendingBytes()).isEqualTo(4);
+        assertThat(metadata.getExpiredMessages()).isEqualTo(1);
+        assertThat(queue.isPaused()).isFalse();
+    }
+
+    @Test
+    void default_time_to_live_applies_to_messages_without_expiry() throws Exception {
+        MessageDispatcherQueue queue = new MessageDispatcherQueue(Destination.create("/queue/expired-ttl"));
+        queue.timeToLive(java.time.Duration.ofMillis(1));
+        queue.enqueue(Message.builder()
+                .destination(Destination.create("/queue/expired-ttl"))
+                .createdAt(Instant.now().minusSeconds(1))
+                .producerId("test")
+                .body("test".getBytes(java.nio.charset.StandardCharsets.UTF_8))
+                .build());
+        Message explicit = Message.builder()
+                .destination(Destination.create("/queue/expired-ttl"))
+                .createdAt(Instant.now().minusSeconds(1))
+                .producerId("test")
+                .body("test".getBytes(java.nio.charset.StandardCharsets.UTF_8))
+                .expiresAt(System.currentTimeMillis() + 60_000)
+                .build();
+        queue.enqueue(explicit);
+
+        List<Message> batch = new java.util.ArrayList<>();
+        assertThat(queue.drainTo(batch, 16, Long.MAX_VALUE)).isEqualTo(1);
+
+        assertThat(batch).containsExactly(explicit);
+        assertThat(queue.getExpiredMessages()).isEqualTo(1);
+        assertThat(queue.getPendingBytes()).isZero();
+    }
+
+    private static Message expiredMessage(String destination) {
+        return Message.builder()
+                .destination(Destination.create(destination))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .body("test".getBytes(java.nio.charset.StandardCharsets.UTF_8))
+                .expiresAt(System.currentTimeMillis() - 1)
+                .build();
+    }
+
     private static Message message(String destination) {
         return Message.builder()
                 .destination(Destination.create(destination))
@@ -0,0 +1,165 @@
+package org.traffichunter.titan.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+
+class MpscDispatcherQueueTest {
+
+    @Test
+    void create_selects_mpsc_queue_type() {
+        DispatcherQueue queue = DispatcherQueue.create(
+                Destination.create("/queue/mpsc-create"),
+                16,
+                8,
+                DispatcherQueueType.MPSC,
+                DispatcherQueue.CONFLATION_KEY_HEADER
+        );
+
+        assertThat(queue).isInstanceOf(MpscDispatcherQueue.class);
+        assertThat(queue.getMaxPendingBytes()).isEqualTo(16);
+        assertThat(queue.getResumePendingBytes()).isEqualTo(8);
+    }
+
+    @Test
+    void queue_pauses_on_pressure_and_resumes_after_release() throws Exception {
+        Destination destination = Destination.create("/queue/mpsc-pressure");
+        DestinationQueueMetadata metadata = new DestinationQueueMetadata(
+                destination.path(),
+                Instant.now(),
+                8
+        );
+        MpscDispatcherQueue queue = new MpscDispatcherQueue(destination, metadata);
+        Message first = message("/queue/mpsc-pressure");
+        Message second = message("/queue/mpsc-pressure");
+        Message rejected = message("/queue/mpsc-pressure");
+
+        assertThat(queue.enqueue(first)).isSameAs(first);
+        assertThat(queue.enqueue(second)).isSameAs(second);
+        assertThat(queue.enqueue(rejected)).isNull();
+        assertThat(metadata.getPendingBytes()).isEqualTo(8);
+        assertThat(queue.isPaused()).isTrue();
+
+        assertThat(queue.dispatch(1, TimeUnit.SECONDS)).isSameAs(first);
+        assertThat(metadata.getPendingBytes()).isEqualTo(4);
+        assertThat(queue.isPaused()).isFalse();
+
+        queue.clear();
+
+        assertThat(queue.size()).isZero();
+        assertThat(metadata.getPendingBytes()).isZero();
+    }
+
+    @Test
+    void blocked_dispatch_wakes_up_when_message_arrives() throws Exception {
+        MpscDispatcherQueue queue = queue("/queue/mpsc-wakeup", 1024);
+        AtomicReference<Message> received = new AtomicReference<>();
+        CountDownLatch waiting = new CountDownLatch(1);
+
+        Thread consumer = Thread.ofPlatform().start(() -> {
+            try {
+                waiting.countDown();
+                received.set(queue.dispatch());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(waiting.await(1, TimeUnit.SECONDS)).isTrue();
+
+        Message message = message("/queue/mpsc-wakeup");
+        queue.enqueue(message);
+        consumer.join(TimeUnit.SECONDS.toMillis(1));
+
+        assertThat(consumer.isAlive()).isFalse();
+        assertThat(received.get()).isSameAs(message);
+        assertThat(queue.getPendingBytes()).isZero();
+    }
+
+    @Test
+    void dispatch_with_timeout_returns_null_when_empty() throws Exception {
+        MpscDispatcherQueue queue = queue("/queue/mpsc-timeout", 1024);
+
+        assertThat(queue.dispatch(10, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void concurrent_producers_release_every_reserved_byte() throws Exception {
+        MpscDispatcherQueue queue = queue("/queue/mpsc-concurrent", Long.MAX_VALUE);
+        int producers = 16;
+        int perProducer = 1_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = IntStream.range(0, producers)
+                .mapToObj(index -> Thread.ofPlatform().unstarted(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < perProducer; i++) {
+                            queue.enqueue(message("/queue/mpsc-concurrent"));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }))
+                .toList();
+
+        threads.forEach(Thread::start);
+        start.countDown();
+
+        int received = 0;
+        while (received < producers * perProducer) {
+            Message message = queue.dispatch(1, TimeUnit.SECONDS);
+            assertThat(message).isNotNull();
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+        }
+
+        assertThat(queue.size()).isZero();
+        assertThat(queue.getPendingBytes()).isZero();
+    }
+
+    @Test
+    void expire_sweeps_head_from_another_thread() {
+        MpscDispatcherQueue queue = queue("/queue/mpsc-expire", 1024);
+        Message live = message("/queue/mpsc-expire");
+        queue.enqueue(Message.builder()
+                .destination(Destination.create("/queue/mpsc-expire"))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .body("test".getBytes(StandardCharsets.UTF_8))
+                .expiresAt(System.currentTimeMillis() - 1)
+                .build());
+        queue.enqueue(live);
+
+        assertThat(queue.expire()).isEqualTo(1);
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.getPendingBytes()).isEqualTo(4);
+        assertThat(queue.peek()).isSameAs(live);
+    }
+
+    private static MpscDispatcherQueue queue(String destination, long maxPendingBytes) {
+        return new MpscDispatcherQueue(
+                Destination.create(destination),
+                new DestinationQueueMetadata(destination, Instant.now(), maxPendingBytes)
+        );
+    }
+
+    private static Message message(String destination) {
+        return Message.builder()
+                .destination(Destination.create(destination))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .body("test".getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
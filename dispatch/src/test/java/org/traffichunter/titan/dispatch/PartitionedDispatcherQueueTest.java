@@ -0,0 +1,136 @@
+package org.traffichunter.titan.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+
+class PartitionedDispatcherQueueTest {
+
+    @Test
+    void create_selects_partitioned_queue_for_more_than_one_partition() {
+        DispatcherQueue queue = DispatcherQueue.partitioned(
+                Destination.create("/queue/partitioned-create"),
+                1024,
+                512,
+                4
+        );
+
+        assertThat(queue).isInstanceOf(PartitionedDispatcherQueue.class);
+        assertThat(queue.partitions()).isEqualTo(4);
+        assertThat(queue.getPartitions()).isEqualTo(4);
+    }
+
+    @Test
+    void create_with_single_partition_returns_plain_queue() {
+        DispatcherQueue queue = DispatcherQueue.partitioned(
+                Destination.create("/queue/partitioned-single"),
+                1024,
+                512,
+                1
+        );
+
+        assertThat(queue).isNotInstanceOf(PartitionedDispatcherQueue.class);
+        assertThat(queue.partitions()).isEqualTo(1);
+    }
+
+    @Test
+    void create_rejects_non_positive_partitions() {
+        assertThatThrownBy(() -> DispatcherQueue.partitioned(
+                Destination.create("/queue/partitioned-invalid"),
+                1024,
+                512,
+                0
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void same_key_messages_stay_in_one_partition_in_order() throws Exception {
+        PartitionedDispatcherQueue queue = queue("/queue/partitioned-order", 4);
+        List<Message> sent = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Message message = message("/queue/partitioned-order", "order-42");
+            sent.add(message);
+            queue.enqueue(message);
+        }
+
+        int partition = queue.partitionOf(sent.getFirst());
+        assertThat(queue.size(partition)).isEqualTo(10);
+
+        List<Message> drained = new ArrayList<>();
+        queue.drainTo(partition, drained, 64, Long.MAX_VALUE);
+
+        assertThat(drained).containsExactlyElementsOf(sent);
+        assertThat(queue.size()).isZero();
+        assertThat(queue.getPendingBytes()).isZero();
+    }
+
+    @Test
+    void messages_without_key_fall_back_to_producer_id() {
+        PartitionedDispatcherQueue queue = queue("/queue/partitioned-producer", 8);
+        Message first = Message.builder()
+                .destination(Destination.create("/queue/partitioned-producer"))
+                .createdAt(Instant.now())
+                .producerId("producer-a")
+                .body("a".getBytes(StandardCharsets.UTF_8))
+                .build();
+        Message second = Message.builder()
+                .destination(Destination.create("/queue/partitioned-producer"))
+                .createdAt(Instant.now())
+                .producerId("producer-a")
+                .body("b".getBytes(StandardCharsets.UTF_8))
+                .build();
+
+        assertThat(queue.partitionOf(first)).isEqualTo(queue.partitionOf(second));
+    }
+
+    @Test
+    void aggregate_dispatch_visits_every_partition() throws Exception {
+        PartitionedDispatcherQueue queue = queue("/queue/partitioned-aggregate", 4);
+        for (int i = 0; i < 32; i++) {
+            queue.enqueue(message("/queue/partitioned-aggregate", "key-" + i));
+        }
+
+        int received = 0;
+        while (queue.dispatch(10, TimeUnit.MILLISECONDS) != null) {
+            received++;
+        }
+
+        assertThat(received).isEqualTo(32);
+        assertThat(queue.getPendingBytes()).isZero();
+    }
+
+    @Test
+    void partition_out_of_range_is_rejected() {
+        PartitionedDispatcherQueue queue = queue("/queue/partitioned-range", 2);
+
+        assertThatThrownBy(() -> queue.size(2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> queue.drainTo(-1, new ArrayList<>(), 1, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PartitionedDispatcherQueue queue(String destination, int partitions) {
+        return new PartitionedDispatcherQueue(
+                Destination.create(destination),
+                new DestinationQueueMetadata(destination, Instant.now(), Long.MAX_VALUE),
+                partitions
+        );
+    }
+
+    private static Message message(String destination, String key) {
+        return Message.builder()
+                .destination(Destination.create(destination))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .header(DispatcherQueue.PARTITION_KEY_HEADER, key)
+                .body("test".getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package org.traffichunter.titan.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+
+class PriorityDispatcherQueueTest {
+
+    @Test
+    void create_selects_priority_queue_type() {
+        DispatcherQueue queue = DispatcherQueue.create(
+                Destination.create("/queue/priority-create"),
+                16,
+                8,
+                DispatcherQueueType.PRIORITY,
+                DispatcherQueue.CONFLATION_KEY_HEADER
+        );
+
+        assertThat(queue).isInstanceOf(PriorityDispatcherQueue.class);
+        assertThat(DispatcherQueueType.resolveType("priority")).isEqualTo(DispatcherQueueType.PRIORITY);
+    }
+
+    @Test
+    void priority_header_selects_lane() {
+        assertThat(PriorityDispatcherQueue.laneOf(message("9"))).isEqualTo(PriorityDispatcherQueue.HIGH);
+        assertThat(PriorityDispatcherQueue.laneOf(message("7"))).isEqualTo(PriorityDispatcherQueue.HIGH);
+        assertThat(PriorityDispatcherQueue.laneOf(message("4"))).isEqualTo(PriorityDispatcherQueue.NORMAL);
+        assertThat(PriorityDispatcherQueue.laneOf(message(null))).isEqualTo(PriorityDispatcherQueue.NORMAL);
+        assertThat(PriorityDispatcherQueue.laneOf(message("urgent"))).isEqualTo(PriorityDispatcherQueue.NORMAL);
+        assertThat(PriorityDispatcherQueue.laneOf(message("0"))).isEqualTo(PriorityDispatcherQueue.LOW);
+    }
+
+    @Test
+    void backlogged_lanes_are_drained_by_weight() throws Exception {
+        PriorityDispatcherQueue queue = queue("/queue/priority-weights");
+        for (int i = 0; i < 20; i++) {
+            queue.enqueue(message("1"));
+            queue.enqueue(message("5"));
+            queue.enqueue(message("9"));
+        }
+
+        List<Integer> lanes = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            lanes.add(PriorityDispatcherQueue.laneOf(queue.dispatch(10, TimeUnit.MILLISECONDS)));
+        }
+
+        assertThat(lanes).containsExactly(0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2);
+    }
+
+    @Test
+    void low_lane_is_drained_when_higher_lanes_are_empty() throws Exception {
+        PriorityDispatcherQueue queue = queue("/queue/priority-idle");
+        Message low = message("0");
+        queue.enqueue(low);
+
+        assertThat(queue.dispatch(10, TimeUnit.MILLISECONDS)).isSameAs(low);
+        assertThat(queue.dispatch(10, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void lane_depth_and_bytes_follow_enqueue_and_dispatch() throws Exception {
+        PriorityDispatcherQueue queue = queue("/queue/priority-bytes");
+        queue.enqueue(message("9"));
+        queue.enqueue(message("0"));
+        queue.enqueue(message("0"));
+
+        assertThat(queue.getLaneSizes()).containsExactly(1, 0, 2);
+        assertThat(queue.getLanePendingBytes()).containsExactly(4L, 0L, 8L);
+
+        queue.dispatch(10, TimeUnit.MILLISECONDS);
+        assertThat(queue.getLaneSizes()).containsExactly(0, 0, 2);
+        assertThat(queue.getLanePendingBytes()).containsExactly(0L, 0L, 8L);
+
+        queue.clear();
+        assertThat(queue.getLanePendingBytes()).containsExactly(0L, 0L, 0L);
+        assertThat(queue.getPendingBytes()).isZero();
+    }
+
+    private static PriorityDispatcherQueue queue(String destination) {
+        return new PriorityDispatcherQueue(
+                Destination.create(destination),
+                new DestinationQueueMetadata(destination, Instant.now(), Long.MAX_VALUE)
+        );
+    }
+
+    private static Message message(@Nullable String priority) {
+        Message.MessageBuilder builder = Message.builder()
+                .destination(Destination.create("/queue/priority"))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .body("test".getBytes(StandardCharsets.UTF_8));
+        if (priority != null) {
+            builder.header(DispatcherQueue.PRIORITY_HEADER, priority);
+        }
+        return builder.build();
+    }
+}
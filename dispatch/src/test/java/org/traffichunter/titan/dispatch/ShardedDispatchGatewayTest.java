@@ -0,0 +1,221 @@
+package org.traffichunter.titan.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.Handler;
+import org.traffichunter.titan.core.util.HandlerRegistration;
+import org.traffichunter.titan.core.util.buffer.Buffer;
+import org.traffichunter.titan.dispatch.exporter.DispatchExporter;
+
+class ShardedDispatchGatewayTest {
+
+    @Test
+    void keeps_per_destination_order_across_concurrent_producers() throws Exception {
+        int producers = 8;
+        int messages = 500;
+        Map<Destination, List<String>> exported = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(producers * messages);
+
+        try (DispatchGateway gateway = ShardedDispatchGateway.start(3, 16,
+                     recordingExporter(exported, done, new AtomicBoolean(true), new AtomicReference<>()),
+                     new TrieDispatcher(Long.MAX_VALUE));
+             ExecutorService executor = Executors.newFixedThreadPool(producers)) {
+            for (int producer = 0; producer < producers; producer++) {
+                String destination = "/queue/sharded/" + producer;
+                executor.submit(() -> {
+                    for (int i = 0; i < messages; i++) {
+                        gateway.sparkDispatch(message(destination, String.valueOf(i))).join();
+                    }
+                });
+            }
+
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(exported).hasSize(producers);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < messages; i++) {
+            expected.add(String.valueOf(i));
+        }
+        exported.values().forEach(bodies -> assertThat(bodies).containsExactlyElementsOf(expected));
+    }
+
+    @Test
+    void rejects_message_larger_than_max_pending_bytes() throws Exception {
+        try (DispatchGateway gateway = ShardedDispatchGateway.start(1, 16,
+                recordingExporter(new ConcurrentHashMap<>(), new CountDownLatch(1), new AtomicBoolean(false), new AtomicReference<>()),
+                new TrieDispatcher(4))) {
+            assertThatThrownBy(() -> gateway.sparkDispatch(message("/queue/sharded-full", "abcde")).join())
+                    .isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(DispatcherQueueOverflowException.class);
+        }
+    }
+
+    @Test
+    void holds_message_until_a_drain_makes_room() throws Exception {
+        Map<Destination, List<String>> exported = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(3);
+        AtomicBoolean writable = new AtomicBoolean(false);
+        AtomicReference<@Nullable Handler<Destination>> writableHandler = new AtomicReference<>();
+        Destination destination = Destination.create("/queue/sharded-held");
+
+        try (DispatchGateway gateway = ShardedDispatchGateway.start(1, 16,
+                recordingExporter(exported, done, writable, writableHandler),
+                new TrieDispatcher(4))) {
+            gateway.sparkDispatch(message(destination.path(), "abcd")).join();
+            CompletableFuture<@Nullable Void> second = gateway.sparkDispatch(message(destination.path(), "efgh"));
+            CompletableFuture<@Nullable Void> third = gateway.sparkDispatch(message(destination.path(), "i"));
+            Thread.sleep(100);
+            assertThat(second).isNotDone();
+            assertThat(third).isNotDone();
+
+            writable.set(true);
+            writableHandler.get().handle(destination);
+
+            assertThat(second).succeedsWithin(1, TimeUnit.SECONDS);
+            assertThat(third).succeedsWithin(1, TimeUnit.SECONDS);
+            assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(exported.get(destination)).containsExactly("abcd", "efgh", "i");
+        }
+    }
+
+    @Test
+    void drains_parked_destination_once_subscriber_becomes_writable() throws Exception {
+        Map<Destination, List<String>> exported = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(2);
+        AtomicBoolean writable = new AtomicBoolean(false);
+        AtomicReference<@Nullable Handler<Destination>> writableHandler = new AtomicReference<>();
+        Destination destination = Destination.create("/queue/sharded-parked");
+
+        try (DispatchGateway gateway = ShardedDispatchGateway.start(2, 16,
+                recordingExporter(exported, done, writable, writableHandler),
+                new TrieDispatcher(Long.MAX_VALUE))) {
+            gateway.sparkDispatch(message(destination.path(), "a")).join();
+            gateway.sparkDispatch(message(destination.path(), "b")).join();
+            assertThat(done.await(100, TimeUnit.MILLISECONDS)).isFalse();
+
+            writable.set(true);
+            writableHandler.get().handle(Destination.create("/queue/*"));
+
+            assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+            assertThat(exported.get(destination)).containsExactly("a", "b");
+        }
+    }
+
+    @Test
+    void creates_and_deletes_queue_on_its_shard() throws Exception {
+        try (DispatchGateway gateway = ShardedDispatchGateway.start(2, 16,
+                recordingExporter(new ConcurrentHashMap<>(), new CountDownLatch(1), new AtomicBoolean(false), new AtomicReference<>()),
+                new TrieDispatcher(Long.MAX_VALUE))) {
+            Destination destination = Destination.create("/queue/sharded-delete");
+            gateway.sparkDispatch(message(destination.path(), "a")).join();
+
+            assertThat(gateway.deleteQueue(destination, false)).isEqualTo(DispatcherQueueDeleteResult.notEmpty(1));
+            assertThat(gateway.deleteQueue(destination, true)).isEqualTo(DispatcherQueueDeleteResult.deleted(1));
+            assertThat(gateway.deleteQueue(destination, false)).isEqualTo(DispatcherQueueDeleteResult.notFound());
+
+            DispatcherQueue queue = gateway.createQueue(destination, 1024);
+            assertThat(queue.getMaxPendingBytes()).isEqualTo(1024);
+            assertThat(gateway.createQueue(destination, 2048)).isSameAs(queue);
+        }
+    }
+
+    @Test
+    void completes_every_admission_racing_with_close() throws Exception {
+        DispatchGateway gateway = ShardedDispatchGateway.start(2, 16,
+                recordingExporter(new ConcurrentHashMap<>(), new CountDownLatch(1), new AtomicBoolean(false), new AtomicReference<>()),
+                new TrieDispatcher(Long.MAX_VALUE));
+        List<CompletableFuture<@Nullable Void>> admitted = new ArrayList<>();
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            executor.submit(() -> {
+                while (gateway.isOpen()) {
+                    try {
+                        admitted.add(gateway.sparkDispatch(message("/queue/sharded-close", "a")));
+                    } catch (IllegalStateException closed) {
+                        return;
+                    }
+                }
+            });
+            Thread.sleep(20);
+            gateway.close();
+        }
+
+        for (CompletableFuture<@Nullable Void> future : admitted) {
+            assertThat(future.handle((ignored, error) -> true)).succeedsWithin(1, TimeUnit.SECONDS);
+        }
+        assertThatThrownBy(() -> gateway.deleteQueue(Destination.create("/queue/sharded-close"), true))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static DispatchExporter recordingExporter(
+            Map<Destination, List<String>> exported,
+            CountDownLatch done,
+            AtomicBoolean writable,
+            AtomicReference<@Nullable Handler<Destination>> writableHandler
+    ) {
+        return new DispatchExporter() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public boolean isWritable(Destination destination) {
+                return writable.get();
+            }
+
+            @Override
+            public HandlerRegistration writableHandler(Handler<Destination> handler) {
+                writableHandler.set(handler);
+                return () -> writableHandler.set(null);
+            }
+
+            @Override
+            public AggregationResult export(Destination destination, Buffer payload) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public AggregationResult exportBatch(Destination destination, List<Message> messages) {
+                List<String> bodies = exported.computeIfAbsent(
+                        destination,
+                        ignored -> Collections.synchronizedList(new ArrayList<>())
+                );
+                for (Message message : messages) {
+                    bodies.add(new String(message.getBody(), StandardCharsets.UTF_8));
+                    done.countDown();
+                }
+                return AggregationResult.completed(List.of(destination), messages.size(), messages.size(), 0);
+            }
+        };
+    }
+
+    private static Message message(String destination, String body) {
+        return Message.builder()
+                .destination(Destination.create(destination))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package org.traffichunter.titan.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.traffichunter.titan.core.message.Message;
+import org.traffichunter.titan.core.util.Destination;
+
+class SpillingDispatcherQueueTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void messages_past_threshold_spill_and_drain_in_order() {
+        DispatcherQueue queue = queue("/queue/spill-order", 256);
+        for (int i = 0; i < 50; i++) {
+            queue.enqueue(message("/queue/spill-order", "%04d".formatted(i)));
+        }
+
+        assertThat(queue.size()).isEqualTo(50);
+        assertThat(queue.getPendingBytes()).isEqualTo(8);
+        assertThat(queue.getSpilledMessages()).isEqualTo(48);
+        assertThat(queue.getSpilledBytes()).isPositive();
+
+        List<String> bodies = drainAll(queue);
+
+        assertThat(bodies).hasSize(50);
+        for (int i = 0; i < bodies.size(); i++) {
+            assertThat(bodies.get(i)).isEqualTo("%04d".formatted(i));
+        }
+        assertThat(queue.size()).isZero();
+        assertThat(queue.getSpilledBytes()).isZero();
+    }
+
+    @Test
+    void spilled_messages_keep_headers_and_expiry() {
+        DispatcherQueue queue = queue("/queue/spill-headers", 1024);
+        queue.enqueue(message("/queue/spill-headers", "aaaa"));
+        queue.enqueue(message("/queue/spill-headers", "bbbb"));
+        Message spilled = Message.builder()
+                .destination(Destination.create("/queue/spill-headers"))
+                .createdAt(Instant.ofEpochSecond(1_700_000_000L, 42))
+                .producerId("producer")
+                .header("symbol", "EUR")
+                .expiresAt(Long.MAX_VALUE)
+                .body("cccc".getBytes(StandardCharsets.UTF_8))
+                .build();
+        queue.enqueue(spilled);
+
+        queue.poll();
+        queue.poll();
+        Message restored = queue.poll();
+
+        assertThat(restored).isNotNull();
+        assertThat(restored.getDestination()).isEqualTo(spilled.getDestination());
+        assertThat(restored.getCreatedAt()).isEqualTo(spilled.getCreatedAt());
+        assertThat(restored.getProducerId()).isEqualTo("producer");
+        assertThat(restored.getHeaders()).isEqualTo(spilled.getHeaders());
+        assertThat(restored.getExpiresAt()).isEqualTo(Long.MAX_VALUE);
+        assertThat(restored.getBody()).isEqualTo(spilled.getBody());
+    }
+
+    @Test
+    void read_segments_are_recycled() throws Exception {
+        DispatcherQueue queue = queue("/queue/spill-recycle", 256);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 20; i++) {
+                queue.enqueue(message("/queue/spill-recycle", "%04d".formatted(i)));
+            }
+            drainAll(queue);
+        }
+
+        try (Stream<Path> segments = Files.list(directory.resolve("titan_queue_spill-recycle"))) {
+            assertThat(segments.count()).isLessThanOrEqualTo(3);
+        }
+    }
+
+    @Test
+    void blocked_consumer_receives_spilled_messages() throws Exception {
+        DispatcherQueue queue = queue("/queue/spill-blocking", 1024);
+        CompletableFuture<Integer> consumed = CompletableFuture.supplyAsync(() -> {
+            int received = 0;
+            try {
+                while (received < 200) {
+                    queue.dispatch();
+                    received++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return received;
+        });
+
+        for (int i = 0; i < 200; i++) {
+            queue.enqueue(message("/queue/spill-blocking", "abcd"));
+        }
+
+        assertThat(consumed.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+    }
+
+    @Test
+    void clear_discards_spilled_messages() {
+        DispatcherQueue queue = queue("/queue/spill-clear", 256);
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue(message("/queue/spill-clear", "abcd"));
+        }
+
+        queue.clear();
+
+        assertThat(queue.size()).isZero();
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    void destinations_differing_only_in_separators_spill_to_separate_directories() {
+        DispatcherQueue nested = queue("/queue/a/b", 256);
+        DispatcherQueue flat = queue("/queue/a_b", 256);
+        for (int i = 0; i < 10; i++) {
+            nested.enqueue(message("/queue/a/b", "n%03d".formatted(i)));
+            flat.enqueue(message("/queue/a_b", "f%03d".formatted(i)));
+        }
+
+        assertThat(SpillingDispatcherQueue.directoryName(Destination.create("/queue/a/b")))
+                .isNotEqualTo(SpillingDispatcherQueue.directoryName(Destination.create("/queue/a_b")));
+        assertThat(drainAll(nested)).allMatch(body -> body.startsWith("n")).hasSize(10);
+        assertThat(drainAll(flat)).allMatch(body -> body.startsWith("f")).hasSize(10);
+    }
+
+    @Test
+    void partitioned_queue_is_rejected() {
+        DispatcherQueue partitioned = DispatcherQueue.partitioned(
+                Destination.create("/queue/spill-partitioned"), 1024, 512, 2);
+
+        assertThatThrownBy(() -> DispatcherQueue.spilling(partitioned, 8, directory))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void dispatcher_wraps_queues_of_spilling_policy() {
+        TrieDispatcher dispatcher = new TrieDispatcher(
+                1024,
+                512,
+                DispatcherQueueType.LINKED,
+                Duration.ZERO,
+                List.of(new DestinationQueuePolicy(
+                        Destination.create("/queue/spill/**"),
+                        null,
+                        DispatcherQueue.CONFLATION_KEY_HEADER,
+                        DispatcherQueueOverflowPolicy.REJECT_AND_CLOSE,
+                        Duration.ZERO,
+                        8,
+                        directory,
+                        DispatcherQueueUnsubscribedPolicy.DELIVER,
+                        0L
+                ))
+        );
+
+        DispatcherQueue matched = dispatcher.getOrPut(Destination.create("/queue/spill/a"));
+        DispatcherQueue other = dispatcher.getOrPut(Destination.create("/queue/other"));
+
+        assertThat(matched).isInstanceOf(SpillingDispatcherQueue.class);
+        assertThat(matched.getSpillThresholdBytes()).isEqualTo(8);
+        assertThat(other).isNotInstanceOf(SpillingDispatcherQueue.class);
+    }
+
+    private DispatcherQueue queue(String destination, int segmentBytes) {
+        DispatcherQueue delegate = DispatcherQueue.create(Destination.create(destination), 1024, 512);
+        return new SpillingDispatcherQueue((AbstractDispatcherQueue) delegate, 8, directory, segmentBytes);
+    }
+
+    private static List<String> drainAll(DispatcherQueue queue) {
+        List<Message> drained = new ArrayList<>();
+        while (queue.drainTo(drained, 3, Long.MAX_VALUE) > 0) {
+            // keep draining until the spill is read back
+        }
+        return drained.stream()
+                .map(message -> new String(message.getBody(), StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private static Message message(String destination, String body) {
+        return Message.builder()
+                .destination(Destination.create(destination))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+}
@@ -24,11 +24,14 @@ THE SOFTWARE.
 package org.traffichunter.titan.dispatch.exporter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,8 +40,10 @@ import io.vertx.ext.stomp.Frame;
 import io.vertx.ext.stomp.StompServer;
 import io.vertx.ext.stomp.StompServerHandler;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
+import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -49,6 +54,7 @@ import org.traffichunter.titan.core.channel.NetChannel;
 import org.traffichunter.titan.core.channel.NetServerChannel;
 import org.traffichunter.titan.core.channel.stomp.StompClientChannel;
 import org.traffichunter.titan.core.channel.stomp.StompServerChannel;
+import org.traffichunter.titan.core.codec.stomp.StompCommand;
 import org.traffichunter.titan.core.codec.stomp.StompFrame;
 import org.traffichunter.titan.core.codec.stomp.StompServerSubscription;
 import org.traffichunter.titan.core.codec.stomp.StompServerSubscriptions;
@@ -56,6 +62,8 @@ import org.traffichunter.titan.core.util.concurrent.Promise;
 import org.traffichunter.titan.core.message.Message;
 import org.traffichunter.titan.core.transport.InetServer;
 import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.Handler;
+import org.traffichunter.titan.core.util.HandlerRegistration;
 import org.traffichunter.titan.core.util.buffer.Buffer;
 import org.traffichunter.titan.core.channel.ChannelRegistry;
 import org.traffichunter.titan.dispatch.AggregationResult;
@@ -140,15 +148,15 @@ class DispatchExporterTest {
 
         StompClientChannel successConn = mock(StompClientChannel.class);
         when(successConn.session()).thenReturn("session-1");
-        Promise<StompFrame> successPromise = Promise.newPromise(loop);
-        successPromise.success(StompFrame.PING);
-        when(successConn.send(any(StompFrame.class))).thenReturn(successPromise);
+        Promise<Void> successPromise = Promise.newPromise(loop);
+        successPromise.success();
+        when(successConn.sendEncoded(any(Buffer.class))).thenReturn(successPromise);
 
         StompClientChannel failedConn = mock(StompClientChannel.class);
         when(failedConn.session()).thenReturn("session-2");
-        Promise<StompFrame> failedPromise = Promise.newPromise(loop);
+        Promise<Void> failedPromise = Promise.newPromise(loop);
         failedPromise.fail(new IllegalStateException("send failed"));
-        when(failedConn.send(any(StompFrame.class))).thenReturn(failedPromise);
+        when(failedConn.sendEncoded(any(Buffer.class))).thenReturn(failedPromise);
 
         subscriptions.register(StompServerSubscription.builder()
                 .destination(destination)
@@ -172,6 +180,473 @@ class DispatchExporterTest {
         assertThat(result.failed()).isEqualTo(1);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void stompFanoutExporter_sends_batch_in_one_call_per_subscription() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/batch");
+
+        StompClientChannel connection = mock(StompClientChannel.class);
+        when(connection.session()).thenReturn("session-1");
+        Promise<Void> first = Promise.newPromise(loop);
+        first.success();
+        Promise<Void> second = Promise.newPromise(loop);
+        second.success();
+        when(connection.sendEncoded(any(List.class))).thenReturn(List.of(first, second));
+
+        subscriptions.register(StompServerSubscription.builder()
+                .destination(destination)
+                .id("sub-1")
+                .ackMode(StompFrame.AckMode.AUTO)
+                .connection(connection)
+                .build());
+
+        StompDispatchExporter exporter = new StompDispatchExporter(serverConnection);
+        AggregationResult result = exporter.exportBatch(
+                destination,
+                List.of(message(destination, "one"), message(destination, "two"))
+        );
+
+        ArgumentCaptor<List<Buffer>> framesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(connection).sendEncoded(framesCaptor.capture());
+        verify(connection, never()).sendEncoded(any(Buffer.class));
+        List<Buffer> frames = framesCaptor.getValue();
+
+        assertThat(frames).hasSize(2);
+        assertThat(frames).allSatisfy(frame -> {
+            assertThat(frame.toString()).startsWith("MESSAGE\r\n");
+            assertThat(frame.toString()).contains("\r\nsubscription:sub-1\r\n", "\r\ndestination:/topic/batch\r\n");
+        });
+        assertThat(body(frames.get(0))).isEqualTo("one");
+        assertThat(body(frames.get(1))).isEqualTo("two");
+        assertThat(result.totalAttempted()).isEqualTo(2);
+        assertThat(result.succeeded()).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stompExporter_reports_flush_once_drained_batch_is_written() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/flush");
+
+        StompClientChannel connection = mock(StompClientChannel.class);
+        when(connection.session()).thenReturn("session-1");
+        when(connection.sendEncoded(any(List.class))).thenAnswer(invocation -> succeeded(loop, invocation.getArgument(0)));
+
+        subscriptions.register(StompServerSubscription.builder()
+                .destination(destination)
+                .id("sub-1")
+                .ackMode(StompFrame.AckMode.AUTO)
+                .connection(connection)
+                .build());
+
+        Message first = message(destination, "one");
+        Message second = message(destination, "two");
+        first.markDispatched(System.nanoTime());
+        second.markDispatched(first.getDispatchedNanos());
+
+        List<ExportFlush> flushes = new ArrayList<>();
+        StompDispatchExporter exporter = new StompDispatchExporter(serverConnection);
+        exporter.flushHandler(flushes::add);
+        exporter.exportBatch(destination, List.of(first, second));
+
+        assertThat(flushes).singleElement().satisfies(flush -> {
+            assertThat(flush.destination()).isEqualTo(destination);
+            assertThat(flush.messages()).isEqualTo(2);
+            assertThat(flush.latencyNanos()).isNotNegative();
+        });
+    }
+
+    @Test
+    void stompExporter_delivers_to_least_loaded_member_of_shared_group() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/jobs");
+        StompClientChannel busy = sharedConnection("session-1", loop, 4096);
+        StompClientChannel idle = sharedConnection("session-2", loop, 0);
+        StompClientChannel listener = connection("session-3", loop);
+        subscriptions.register(subscription(destination, "busy", busy, "workers"));
+        subscriptions.register(subscription(destination, "idle", idle, "workers"));
+        subscriptions.register(subscription(destination, "listener", listener, null));
+
+        StompDispatchExporter exporter = new StompDispatchExporter(serverConnection);
+        AggregationResult result = exporter.export(destination, Buffer.heap().alloc("job".getBytes()));
+
+        verify(busy, never()).sendEncoded(any(Buffer.class));
+        verify(idle).sendEncoded(any(Buffer.class));
+        verify(listener).sendEncoded(any(Buffer.class));
+        assertThat(result.totalAttempted()).isEqualTo(2);
+        assertThat(result.succeeded()).isEqualTo(2);
+    }
+
+    @Test
+    void stompExporter_rotates_shared_prefix_subscribers_round_robin() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/queue/jobs");
+        StompClientChannel first = connection("session-1", loop);
+        StompClientChannel second = connection("session-2", loop);
+        subscriptions.register(subscription(destination, "sub-1", first, null));
+        subscriptions.register(subscription(destination, "sub-2", second, null));
+
+        StompDispatchExporter exporter = new StompDispatchExporter(
+                serverConnection,
+                "/queue/",
+                SharedSubscriptionStrategy.ROUND_ROBIN
+        );
+        for (int i = 0; i < 4; i++) {
+            exporter.export(destination, Buffer.heap().alloc("job".getBytes()));
+        }
+
+        verify(first, times(2)).sendEncoded(any(Buffer.class));
+        verify(second, times(2)).sendEncoded(any(Buffer.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stompExporter_spreads_batch_across_shared_group() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/batch-jobs");
+        StompClientChannel first = sharedConnection("session-1", loop, 0);
+        StompClientChannel second = sharedConnection("session-2", loop, 0);
+        when(first.sendEncoded(any(List.class))).thenAnswer(invocation -> succeeded(loop, invocation.getArgument(0)));
+        when(second.sendEncoded(any(List.class))).thenAnswer(invocation -> succeeded(loop, invocation.getArgument(0)));
+        subscriptions.register(subscription(destination, "sub-1", first, "workers"));
+        subscriptions.register(subscription(destination, "sub-2", second, "workers"));
+
+        StompDispatchExporter exporter = new StompDispatchExporter(serverConnection);
+        AggregationResult result = exporter.exportBatch(
+                destination,
+                List.of(
+                        message(destination, "a"),
+                        message(destination, "b"),
+                        message(destination, "c"),
+                        message(destination, "d")
+                )
+        );
+
+        ArgumentCaptor<List<Buffer>> firstFrames = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Buffer>> secondFrames = ArgumentCaptor.forClass(List.class);
+        verify(first).sendEncoded(firstFrames.capture());
+        verify(second).sendEncoded(secondFrames.capture());
+        assertThat(firstFrames.getValue()).hasSize(2);
+        assertThat(secondFrames.getValue()).hasSize(2);
+        assertThat(result.totalAttempted()).isEqualTo(4);
+        assertThat(result.succeeded()).isEqualTo(4);
+    }
+
+    @Test
+    void stompExporter_drops_messages_for_subscription_over_budget() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/slow-drop");
+        StompClientChannel slow = sharedConnection("session-1", loop, 0);
+        StompClientChannel fast = sharedConnection("session-2", loop, 0);
+        subscriptions.register(slow(subscription(destination, "slow", slow, null)));
+        subscriptions.register(subscription(destination, "fast", fast, null));
+        long dropped = SlowConsumers.shared().getDroppedMessages();
+
+        StompDispatchExporter exporter = budgetedExporter(SlowConsumerPolicy.DROP_NEWEST, 1);
+        AggregationResult result = exporter.export(destination, Buffer.heap().alloc("tick".getBytes()));
+
+        verify(slow, never()).sendEncoded(any(Buffer.class));
+        verify(fast).sendEncoded(any(Buffer.class));
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(SlowConsumers.shared().getDroppedMessages() - dropped).isEqualTo(1);
+    }
+
+    @Test
+    void stompExporter_budgets_each_subscription_of_a_shared_connection() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination slowDestination = Destination.create("/topic/slow-own");
+        Destination fastDestination = Destination.create("/topic/fast-own");
+        StompClientChannel connection = sharedConnection("session-1", loop, 4096);
+        subscriptions.register(slow(subscription(slowDestination, "slow", connection, null)));
+        subscriptions.register(subscription(fastDestination, "fast", connection, null));
+
+        StompDispatchExporter exporter = budgetedExporter(SlowConsumerPolicy.DROP_NEWEST, 1);
+        AggregationResult slowResult = exporter.export(slowDestination, Buffer.heap().alloc("tick".getBytes()));
+        AggregationResult fastResult = exporter.export(fastDestination, Buffer.heap().alloc("tick".getBytes()));
+
+        verify(connection, times(1)).sendEncoded(any(Buffer.class));
+        assertThat(slowResult.failed()).isEqualTo(1);
+        assertThat(fastResult.succeeded()).isEqualTo(1);
+    }
+
+    @Test
+    void stompExporter_skips_shared_group_member_over_budget() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/slow-group");
+        StompClientChannel slow = sharedConnection("session-1", loop, 0);
+        StompClientChannel fast = sharedConnection("session-2", loop, 0);
+        subscriptions.register(slow(subscription(destination, "slow", slow, "workers")));
+        subscriptions.register(subscription(destination, "fast", fast, "workers"));
+
+        StompDispatchExporter exporter = new StompDispatchExporter(
+                serverConnection,
+                "",
+                SharedSubscriptionStrategy.ROUND_ROBIN,
+                new OutboundBudget(1024, SlowConsumerPolicy.DROP_NEWEST, 1)
+        );
+        for (int i = 0; i < 4; i++) {
+            assertThat(exporter.export(destination, Buffer.heap().alloc("job".getBytes())).succeeded()).isEqualTo(1);
+        }
+
+        verify(slow, never()).sendEncoded(any(Buffer.class));
+        verify(fast, times(4)).sendEncoded(any(Buffer.class));
+    }
+
+    @Test
+    void stompExporter_disconnects_subscription_over_budget_once() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/slow-disconnect");
+        StompClientChannel slow = sharedConnection("session-1", loop, 0);
+        subscriptions.register(slow(subscription(destination, "slow", slow, null)));
+
+        StompDispatchExporter exporter = budgetedExporter(SlowConsumerPolicy.DISCONNECT, 1);
+        exporter.export(destination, Buffer.heap().alloc("tick".getBytes()));
+        exporter.export(destination, Buffer.heap().alloc("tock".getBytes()));
+
+        ArgumentCaptor<StompFrame> frame = ArgumentCaptor.forClass(StompFrame.class);
+        verify(slow).send(frame.capture());
+        verify(slow).close();
+        assertThat(frame.getValue().getCommand()).isEqualTo(StompCommand.ERROR);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stompExporter_sends_conflated_message_once_connection_drains() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/slow-conflate");
+        StompClientChannel slow = sharedConnection("session-1", loop, 0);
+        StompDispatchExporter exporter = budgetedExporter(SlowConsumerPolicy.CONFLATE, 1);
+        List<Destination> resumed = new ArrayList<>();
+        exporter.writableHandler(resumed::add);
+        subscriptions.register(slow(subscription(destination, "slow", slow, null)));
+
+        AggregationResult result = exporter.exportBatch(
+                destination,
+                List.of(message(destination, "a"), message(destination, "b"), message(destination, "c"))
+        );
+
+        verify(slow, never()).sendEncoded(any(List.class));
+        assertThat(result.failed()).isEqualTo(3);
+
+        ArgumentCaptor<Handler<NetChannel>> writability = ArgumentCaptor.forClass(Handler.class);
+        verify(slow.channel()).addWritabilityHandler(writability.capture());
+        when(slow.channel().isWritable()).thenReturn(true);
+        writability.getValue().handle(slow.channel());
+
+        ArgumentCaptor<Buffer> frame = ArgumentCaptor.forClass(Buffer.class);
+        verify(slow).sendEncoded(frame.capture());
+        assertThat(body(frame.getValue())).isEqualTo("c");
+        assertThat(resumed).containsExactly(destination);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stompExporter_sends_conflated_message_once_subscription_is_under_budget() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/quiet-conflate");
+        StompClientChannel connection = sharedConnection("session-1", loop, 0);
+        Promise<Void> written = Promise.newPromise(loop);
+        when(connection.sendEncoded(any(Buffer.class))).thenReturn(written);
+        subscriptions.register(subscription(destination, "quiet", connection, null));
+
+        StompDispatchExporter exporter = budgetedExporter(SlowConsumerPolicy.CONFLATE, 1);
+        exporter.export(destination, Buffer.heap().alloc(new byte[2048]));
+        AggregationResult held = exporter.exportBatch(
+                destination,
+                List.of(message(destination, "a"), message(destination, "b"))
+        );
+        assertThat(held.failed()).isEqualTo(2);
+
+        written.success();
+
+        ArgumentCaptor<Buffer> frames = ArgumentCaptor.forClass(Buffer.class);
+        verify(connection, times(2)).sendEncoded(frames.capture());
+        verify(connection, never()).sendEncoded(any(List.class));
+        assertThat(body(frames.getAllValues().get(1))).isEqualTo("b");
+    }
+
+    @Test
+    void stompExporter_forgets_slow_consumer_when_subscription_ends() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/slow-unsubscribed");
+        StompClientChannel slow = sharedConnection("session-1", loop, 0);
+        StompServerSubscription subscription = slow(subscription(destination, "slow", slow, null));
+        subscriptions.register(subscription);
+
+        StompDispatchExporter exporter = budgetedExporter(SlowConsumerPolicy.CONFLATE, 1);
+        exporter.export(destination, Buffer.heap().alloc("tick".getBytes()));
+        assertThat(SlowConsumers.shared().get(subscription)).isNotNull();
+
+        subscriptions.unregister(slow, "slow");
+
+        assertThat(SlowConsumers.shared().get(subscription)).isNull();
+    }
+
+    @Test
+    void stompExporter_removes_writability_handler_when_subscription_ends() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/unsubscribed");
+        StompClientChannel connection = sharedConnection("session-1", loop, 0);
+        HandlerRegistration registration = mock(HandlerRegistration.class);
+        when(connection.channel().addWritabilityHandler(any())).thenReturn(registration);
+        StompDispatchExporter exporter = new StompDispatchExporter(serverConnection);
+        HandlerRegistration writable = exporter.writableHandler(ignored -> { });
+        subscriptions.register(subscription(destination, "sub-1", connection, null));
+
+        subscriptions.unregister(connection, "sub-1");
+        writable.remove();
+
+        verify(connection.channel()).addWritabilityHandler(any());
+        verify(registration).remove();
+    }
+
+    @Test
+    void stompExporter_watches_existing_subscriptions_until_writable_handler_is_removed() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/watched");
+        StompClientChannel existing = sharedConnection("session-1", loop, 0);
+        StompClientChannel later = sharedConnection("session-2", loop, 0);
+        HandlerRegistration registration = mock(HandlerRegistration.class);
+        when(existing.channel().addWritabilityHandler(any())).thenReturn(registration);
+        subscriptions.register(subscription(destination, "sub-1", existing, null));
+
+        StompDispatchExporter exporter = new StompDispatchExporter(serverConnection);
+        HandlerRegistration writable = exporter.writableHandler(ignored -> { });
+        verify(existing.channel()).addWritabilityHandler(any());
+
+        writable.remove();
+        verify(registration).remove();
+
+        subscriptions.register(subscription(destination, "sub-2", later, null));
+        verify(later.channel(), never()).addWritabilityHandler(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stompExporter_samples_batch_for_subscription_over_budget() {
+        IOEventLoop loop = immediateEventLoop();
+
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        when(serverConnection.subscriptions()).thenReturn(subscriptions);
+
+        Destination destination = Destination.create("/topic/slow-sample");
+        StompClientChannel slow = sharedConnection("session-1", loop, 0);
+        when(slow.sendEncoded(any(List.class))).thenAnswer(invocation -> succeeded(loop, invocation.getArgument(0)));
+        subscriptions.register(slow(subscription(destination, "slow", slow, null)));
+
+        StompDispatchExporter exporter = budgetedExporter(SlowConsumerPolicy.SAMPLE, 2);
+        AggregationResult result = exporter.exportBatch(
+                destination,
+                List.of(
+                        message(destination, "a"),
+                        message(destination, "b"),
+                        message(destination, "c"),
+                        message(destination, "d")
+                )
+        );
+
+        ArgumentCaptor<List<Buffer>> frames = ArgumentCaptor.forClass(List.class);
+        verify(slow).sendEncoded(frames.capture());
+        assertThat(frames.getValue()).extracting(DispatchExporterTest::body).containsExactly("a", "c");
+        assertThat(result.succeeded()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(2);
+    }
+
+    @Test
+    void resolve_slow_consumer_policy_maps_configured_names() {
+        for (SlowConsumerPolicy policy : SlowConsumerPolicy.values()) {
+            assertThat(SlowConsumerPolicy.resolvePolicy(policy.getName())).isEqualTo(policy);
+        }
+        assertThatThrownBy(() -> SlowConsumerPolicy.resolvePolicy("block"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void default_batch_export_combines_single_exports() {
+        Destination destination = Destination.create("/topic/default-batch");
+        List<String> exported = new ArrayList<>();
+        DispatchExporter exporter = new DispatchExporter() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public AggregationResult export(Destination destination, Buffer payload) {
+                exported.add(new String(payload.getBytes()));
+                return AggregationResult.completed(List.of(destination), 1, 1, 0);
+            }
+        };
+
+        AggregationResult result = exporter.exportBatch(
+                destination,
+                List.of(message(destination, "a"), message(destination, "b"), message(destination, "c"))
+        );
+
+        assertThat(exported).containsExactly("a", "b", "c");
+        assertThat(result.totalAttempted()).isEqualTo(3);
+        assertThat(result.succeeded()).isEqualTo(3);
+        assertThat(result.isSuccess()).isTrue();
+    }
+
     @Test
     void vertxStompDispatchExporter_dispatches_message_frame_to_subscribers() {
         Destination destination = Destination.create("/topic/orders");
@@ -245,10 +720,89 @@ class DispatchExporterTest {
         assertThat(result.failed()).isEqualTo(1);
     }
 
+    private StompDispatchExporter budgetedExporter(SlowConsumerPolicy policy, int sampleRate) {
+        return new StompDispatchExporter(
+                serverConnection,
+                "",
+                SharedSubscriptionStrategy.LEAST_LOADED,
+                new OutboundBudget(1024, policy, sampleRate)
+        );
+    }
+
+    private static StompClientChannel connection(String session, IOEventLoop loop) {
+        StompClientChannel connection = mock(StompClientChannel.class);
+        lenient().when(connection.session()).thenReturn(session);
+        Promise<StompFrame> sent = Promise.newPromise(loop);
+        sent.success(StompFrame.PING);
+        lenient().when(connection.send(any(StompFrame.class))).thenReturn(sent);
+        Promise<Void> written = Promise.newPromise(loop);
+        written.success();
+        lenient().when(connection.sendEncoded(any(Buffer.class))).thenReturn(written);
+        return connection;
+    }
+
+    private static StompClientChannel sharedConnection(String session, IOEventLoop loop, int pendingWriteBytes) {
+        StompClientChannel connection = connection(session, loop);
+        NetChannel channel = mock(NetChannel.class);
+        lenient().when(channel.pendingWriteBytes()).thenReturn(pendingWriteBytes);
+        lenient().when(connection.channel()).thenReturn(channel);
+        return connection;
+    }
+
+    /**
+     * Marks a subscription as holding more unsent bytes than the test budget of 1024.
+     */
+    private static StompServerSubscription slow(StompServerSubscription subscription) {
+        subscription.addPendingWriteBytes(4096);
+        return subscription;
+    }
+
+    private static StompServerSubscription subscription(
+            Destination destination,
+            String id,
+            StompClientChannel connection,
+            @Nullable String sharedGroup
+    ) {
+        return StompServerSubscription.builder()
+                .destination(destination)
+                .id(id)
+                .ackMode(StompFrame.AckMode.AUTO)
+                .connection(connection)
+                .sharedGroup(sharedGroup)
+                .build();
+    }
+
+    private static List<Promise<Void>> succeeded(IOEventLoop loop, List<Buffer> frames) {
+        List<Promise<Void>> promises = new ArrayList<>(frames.size());
+        for (Buffer ignored : frames) {
+            Promise<Void> promise = Promise.newPromise(loop);
+            promise.success();
+            promises.add(promise);
+        }
+        return promises;
+    }
+
+    /**
+     * Returns the body of an encoded MESSAGE frame, between the blank line and the NUL terminator.
+     */
+    private static String body(Buffer frame) {
+        String encoded = frame.toString();
+        return encoded.substring(encoded.indexOf("\r\n\r\n") + 4, encoded.length() - 1);
+    }
+
     private static IOEventLoop immediateEventLoop() {
         IOEventLoop loop = mock(IOEventLoop.class);
         lenient().when(loop.inEventLoop(any(Thread.class))).thenReturn(true);
         lenient().when(loop.inEventLoop()).thenReturn(true);
         return loop;
     }
+
+    private static Message message(Destination destination, String body) {
+        return Message.builder()
+                .destination(destination)
+                .createdAt(Instant.now())
+                .producerId("producer")
+                .body(body.getBytes(java.nio.charset.StandardCharsets.UTF_8))
+                .build();
+    }
 }
@@ -4,8 +4,11 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import org.traffichunter.titan.monitor.jmx.channel.JmxChannelWriteBufferCollector;
+import org.traffichunter.titan.monitor.jmx.consumer.JmxSlowConsumerCollector;
 import org.traffichunter.titan.monitor.jmx.cpu.JmxCpuMbeanCollector;
+import org.traffichunter.titan.monitor.jmx.destination.JmxDestinationCacheCollector;
 import org.traffichunter.titan.monitor.jmx.heap.JmxHeapMbeanCollector;
+import org.traffichunter.titan.monitor.jmx.latency.JmxDispatchLatencyCollector;
 import org.traffichunter.titan.monitor.jmx.queue.JmxDispatcherQueueCollector;
 import org.traffichunter.titan.monitor.jmx.thread.JmxThreadMbeanCollector;
 import org.traffichunter.titan.monitor.model.JvmSnapshot;
@@ -21,6 +24,9 @@ public final class MonitoringSnapshotService {
     private final JmxHeapMbeanCollector heapCollector;
     private final JmxThreadMbeanCollector threadCollector;
     private final JmxChannelWriteBufferCollector channelWriteCollector;
+    private final JmxDestinationCacheCollector destinationCacheCollector;
+    private final JmxSlowConsumerCollector slowConsumerCollector;
+    private final JmxDispatchLatencyCollector latencyCollector;
     private final JmxDispatcherQueueCollector queueCollector;
 
     public MonitoringSnapshotService(String version) {
@@ -32,6 +38,9 @@ public final class MonitoringSnapshotService {
                 new JmxHeapMbeanCollector(),
                 new JmxThreadMbeanCollector(),
                 new JmxChannelWriteBufferCollector(),
+                new JmxDestinationCacheCollector(),
+                new JmxSlowConsumerCollector(),
+                new JmxDispatchLatencyCollector(),
                 new JmxDispatcherQueueCollector()
         );
     }
@@ -66,6 +75,84 @@ public final class MonitoringSnapshotService {
             JmxThreadMbeanCollector threadCollector,
             JmxChannelWriteBufferCollector channelWriteCollector,
             JmxDispatcherQueueCollector queueCollector
+    ) {
+        this(
+                clock,
+                startedAt,
+                version,
+                cpuCollector,
+                heapCollector,
+                threadCollector,
+                channelWriteCollector,
+                new JmxDestinationCacheCollector(),
+                queueCollector
+        );
+    }
+
+    public MonitoringSnapshotService(
+            Clock clock,
+            Instant startedAt,
+            String version,
+            JmxCpuMbeanCollector cpuCollector,
+            JmxHeapMbeanCollector heapCollector,
+            JmxThreadMbeanCollector threadCollector,
+            JmxChannelWriteBufferCollector channelWriteCollector,
+            JmxDestinationCacheCollector destinationCacheCollector,
+            JmxDispatcherQueueCollector queueCollector
+    ) {
+        this(
+                clock,
+                startedAt,
+                version,
+                cpuCollector,
+                heapCollector,
+                threadCollector,
+                channelWriteCollector,
+                destinationCacheCollector,
+                new JmxSlowConsumerCollector(),
+                queueCollector
+        );
+    }
+
+    public MonitoringSnapshotService(
+            Clock clock,
+            Instant startedAt,
+            String version,
+            JmxCpuMbeanCollector cpuCollector,
+            JmxHeapMbeanCollector heapCollector,
+            JmxThreadMbeanCollector threadCollector,
+            JmxChannelWriteBufferCollector channelWriteCollector,
+            JmxDestinationCacheCollector destinationCacheCollector,
+            JmxSlowConsumerCollector slowConsumerCollector,
+            JmxDispatcherQueueCollector queueCollector
+    ) {
+        this(
+                clock,
+                startedAt,
+                version,
+                cpuCollector,
+                heapCollector,
+                threadCollector,
+                channelWriteCollector,
+                destinationCacheCollector,
+                slowConsumerCollector,
+                new JmxDispatchLatencyCollector(),
+                queueCollector
+        );
+    }
+
+    public MonitoringSnapshotService(
+            Clock clock,
+            Instant startedAt,
+            String version,
+            JmxCpuMbeanCollector cpuCollector,
+            JmxHeapMbeanCollector heapCollector,
+            JmxThreadMbeanCollector threadCollector,
+            JmxChannelWriteBufferCollector channelWriteCollector,
+            JmxDestinationCacheCollector destinationCacheCollector,
+            JmxSlowConsumerCollector slowConsumerCollector,
+            JmxDispatchLatencyCollector latencyCollector,
+            JmxDispatcherQueueCollector queueCollector
     ) {
         this.clock = clock;
         this.startedAt = startedAt;
@@ -74,6 +161,9 @@ public final class MonitoringSnapshotService {
         this.heapCollector = heapCollector;
         this.threadCollector = threadCollector;
         this.channelWriteCollector = channelWriteCollector;
+        this.destinationCacheCollector = destinationCacheCollector;
+        this.slowConsumerCollector = slowConsumerCollector;
+        this.latencyCollector = latencyCollector;
         this.queueCollector = queueCollector;
     }
 
@@ -92,6 +182,9 @@ public final class MonitoringSnapshotService {
                         threadCollector.collect()
                 ),
                 channelWriteCollector.collect(),
+                destinationCacheCollector.collect(),
+                slowConsumerCollector.collect(),
+                latencyCollector.collect(),
                 queueCollector.collect()
         );
     }
@@ -4,6 +4,10 @@ import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 import org.jspecify.annotations.Nullable;
 import org.traffichunter.titan.core.codec.json.Json;
@@ -12,8 +16,13 @@ import org.traffichunter.titan.dispatch.DispatcherQueue;
 import org.traffichunter.titan.dispatch.DispatcherQueueDeleteResult;
 import org.traffichunter.titan.dispatch.DispatcherQueueManager;
 import org.traffichunter.titan.dispatch.DispatcherQueueManagers;
+import org.traffichunter.titan.dispatch.DispatcherQueueOverflowPolicy;
+import org.traffichunter.titan.dispatch.DispatcherQueueType;
 import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.management.LatencyResource;
 import org.traffichunter.titan.monitor.MonitoringSnapshotService;
+import org.traffichunter.titan.monitor.model.LatencySnapshot;
+import org.traffichunter.titan.monitor.model.QueueLaneSnapshot;
 import org.traffichunter.titan.monitor.model.QueueSnapshot;
 
 /**
@@ -54,6 +63,18 @@ public final class MonitoringQueueServlet extends HttpServlet {
      *
      * <p>Creation is idempotent. If the destination is already registered, the
      * existing queue is returned.</p>
+     *
+     * <p>The optional {@code partitions} parameter splits the queue into that many
+     * partitions drained in parallel; it defaults to {@code 1}. The optional
+     * {@code ttlMillis} parameter sets the default time to live of messages
+     * without their own {@code expires} header, and also applies to a queue
+     * that already exists. The optional {@code type} parameter picks the queue
+     * storage, such as {@code conflating}, and {@code conflationKey} names the
+     * header a conflating queue keys on. A type cannot be combined with more
+     * than one partition. The optional {@code overflowPolicy} parameter, such
+     * as {@code drop-oldest}, sets what the queue does with messages it cannot
+     * admit, and {@code overflowTimeoutMillis} bounds the wait of
+     * {@code block-with-timeout}; both also apply to an existing queue.</p>
      */
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
@@ -73,8 +94,57 @@ public final class MonitoringQueueServlet extends HttpServlet {
         if (maxPendingBytes <= 0) {
             return;
         }
+        int partitions = partitions(request, response);
+        if (partitions <= 0) {
+            return;
+        }
+        long ttlMillis = ttlMillis(request, response);
+        if (ttlMillis < -1) {
+            return;
+        }
+        long overflowTimeoutMillis = overflowTimeoutMillis(request, response);
+        if (overflowTimeoutMillis < -1) {
+            return;
+        }
+        String rawOverflowPolicy = request.getParameter("overflowPolicy");
+        @Nullable DispatcherQueueOverflowPolicy overflowPolicy = null;
+        if (rawOverflowPolicy != null && !rawOverflowPolicy.isBlank()) {
+            try {
+                overflowPolicy = DispatcherQueueOverflowPolicy.resolvePolicy(rawOverflowPolicy.toLowerCase(Locale.ROOT).trim());
+            } catch (IllegalStateException e) {
+                writeJson(response, HttpServletResponse.SC_BAD_REQUEST, new ErrorResponse("unknown overflow policy: " + rawOverflowPolicy));
+                return;
+            }
+        }
+        String rawType = request.getParameter("type");
+        @Nullable DispatcherQueueType type = null;
+        if (rawType != null && !rawType.isBlank()) {
+            try {
+                type = DispatcherQueueType.resolveType(rawType.toLowerCase(Locale.ROOT).trim());
+            } catch (IllegalStateException e) {
+                writeJson(response, HttpServletResponse.SC_BAD_REQUEST, new ErrorResponse("unknown queue type: " + rawType));
+                return;
+            }
+            if (partitions > 1) {
+                writeJson(response, HttpServletResponse.SC_BAD_REQUEST, new ErrorResponse("type cannot be combined with partitions"));
+                return;
+            }
+        }
 
-        DispatcherQueue queue = manager.createQueue(destination, maxPendingBytes);
+        DispatcherQueue queue = type == null
+                ? manager.createQueue(destination, maxPendingBytes, partitions)
+                : manager.createQueue(destination, maxPendingBytes, type, conflationKey(request));
+        if (ttlMillis >= 0) {
+            queue.timeToLive(Duration.ofMillis(ttlMillis));
+        }
+        if (overflowPolicy != null || overflowTimeoutMillis >= 0) {
+            queue.overflowPolicy(
+                    overflowPolicy == null ? queue.metadata().getOverflowPolicy() : overflowPolicy,
+                    Duration.ofMillis(overflowTimeoutMillis >= 0
+                            ? overflowTimeoutMillis
+                            : queue.metadata().getOverflowTimeoutMillis())
+            );
+        }
         writeJson(response, HttpServletResponse.SC_OK, snapshot(queue));
     }
 
@@ -161,6 +231,65 @@ public final class MonitoringQueueServlet extends HttpServlet {
         return -1;
     }
 
+    private int partitions(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String raw = request.getParameter("partitions");
+        if (raw == null || raw.isBlank()) {
+            return 1;
+        }
+        try {
+            int partitions = Integer.parseInt(raw);
+            if (partitions > 0) {
+                return partitions;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        writeJson(response, HttpServletResponse.SC_BAD_REQUEST, new ErrorResponse("partitions must be greater than zero"));
+        return -1;
+    }
+
+    /**
+     * Returns the requested time to live, {@code -1} when absent, or {@code -2} after writing an error.
+     */
+    private long ttlMillis(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String raw = request.getParameter("ttlMillis");
+        if (raw == null || raw.isBlank()) {
+            return -1;
+        }
+        try {
+            long ttlMillis = Long.parseLong(raw);
+            if (ttlMillis >= 0) {
+                return ttlMillis;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        writeJson(response, HttpServletResponse.SC_BAD_REQUEST, new ErrorResponse("ttlMillis must not be negative"));
+        return -2;
+    }
+
+    /**
+     * Returns the requested overflow timeout, {@code -1} when absent, or {@code -2} after writing an error.
+     */
+    private long overflowTimeoutMillis(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String raw = request.getParameter("overflowTimeoutMillis");
+        if (raw == null || raw.isBlank()) {
+            return -1;
+        }
+        try {
+            long overflowTimeoutMillis = Long.parseLong(raw);
+            if (overflowTimeoutMillis >= 0) {
+                return overflowTimeoutMillis;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        writeJson(response, HttpServletResponse.SC_BAD_REQUEST, new ErrorResponse("overflowTimeoutMillis must not be negative"));
+        return -2;
+    }
+
+    private static String conflationKey(HttpServletRequest request) {
+        String raw = request.getParameter("conflationKey");
+        return raw == null || raw.isBlank() ? DispatcherQueue.CONFLATION_KEY_HEADER : raw;
+    }
+
     private static boolean force(HttpServletRequest request) {
         return Boolean.parseBoolean(request.getParameter("force"));
     }
@@ -172,10 +301,33 @@ public final class MonitoringQueueServlet extends HttpServlet {
                 queue.getPendingBytes(),
                 queue.getMaxPendingBytes(),
                 queue.getResumePendingBytes(),
-                queue.isPaused()
+                queue.isPaused(),
+                queue.partitions(),
+                lanes(queue.getLaneSizes(), queue.getLanePendingBytes()),
+                queue.getTimeToLiveMillis(),
+                queue.getExpiredMessages(),
+                queue.getSpilledMessages(),
+                queue.getSpilledBytes(),
+                queue.getSpillBytesPerSecond(),
+                queue.getUnspillBytesPerSecond(),
+                latency(queue.getEnqueueLatency()),
+                latency(queue.getDispatchLatency()),
+                latency(queue.getFlushLatency())
         );
     }
 
+    private static LatencySnapshot latency(LatencyResource resource) {
+        return new LatencySnapshot(resource.count(), resource.p50Nanos(), resource.p99Nanos(), resource.p999Nanos());
+    }
+
+    private static List<QueueLaneSnapshot> lanes(int[] sizes, long[] pendingBytes) {
+        List<QueueLaneSnapshot> lanes = new ArrayList<>(sizes.length);
+        for (int lane = 0; lane < Math.min(sizes.length, pendingBytes.length); lane++) {
+            lanes.add(new QueueLaneSnapshot(lane, sizes[lane], pendingBytes[lane]));
+        }
+        return lanes;
+    }
+
     private static void writeJson(HttpServletResponse response, int status, Object body) throws IOException {
         String json = Json.serialize(body);
         if (json == null) {
@@ -0,0 +1,50 @@
+package org.traffichunter.titan.monitor.jmx.consumer;
+
+import javax.management.MBeanServerConnection;
+import org.traffichunter.titan.core.util.management.ResourceDetector;
+import org.traffichunter.titan.core.util.management.SlowConsumerResourceDetector;
+import org.traffichunter.titan.core.util.management.SlowConsumersResource;
+import org.traffichunter.titan.monitor.model.SlowConsumerSnapshot;
+import org.traffichunter.titan.monitor.model.SlowConsumersSnapshot;
+
+/**
+ * Converts slow consumer measurements into monitor snapshots.
+ *
+ * @author yun
+ */
+public final class JmxSlowConsumerCollector {
+
+    private final ResourceDetector<SlowConsumersResource> resourceDetector;
+
+    public JmxSlowConsumerCollector() {
+        this(new SlowConsumerResourceDetector());
+    }
+
+    public JmxSlowConsumerCollector(MBeanServerConnection server) {
+        this(new SlowConsumerResourceDetector(server));
+    }
+
+    public JmxSlowConsumerCollector(ResourceDetector<SlowConsumersResource> resourceDetector) {
+        this.resourceDetector = resourceDetector;
+    }
+
+    public SlowConsumersSnapshot collect() {
+        SlowConsumersResource resource = resourceDetector.detect();
+        return new SlowConsumersSnapshot(
+                resource.slowConsumers(),
+                resource.disconnects(),
+                resource.droppedMessages(),
+                resource.conflatedMessages(),
+                resource.sampledMessages(),
+                resource.topConsumers().stream()
+                        .map(consumer -> new SlowConsumerSnapshot(
+                                consumer.session(),
+                                consumer.subscription(),
+                                consumer.destination(),
+                                consumer.pendingBytes(),
+                                consumer.actions()
+                        ))
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * JMX collector for slow consumer tracking.
+ */
+@NullMarked
+package org.traffichunter.titan.monitor.jmx.consumer;
+
+import org.jspecify.annotations.NullMarked;
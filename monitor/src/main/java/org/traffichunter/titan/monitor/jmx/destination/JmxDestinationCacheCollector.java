@@ -0,0 +1,41 @@
+package org.traffichunter.titan.monitor.jmx.destination;
+
+import javax.management.MBeanServerConnection;
+import org.traffichunter.titan.core.util.management.DestinationCacheResource;
+import org.traffichunter.titan.core.util.management.DestinationCacheResourceDetector;
+import org.traffichunter.titan.core.util.management.ResourceDetector;
+import org.traffichunter.titan.monitor.model.DestinationCacheSnapshot;
+
+/**
+ * Converts destination interning cache measurements into monitor snapshots.
+ *
+ * @author yun
+ */
+public final class JmxDestinationCacheCollector {
+
+    private final ResourceDetector<DestinationCacheResource> resourceDetector;
+
+    public JmxDestinationCacheCollector() {
+        this(new DestinationCacheResourceDetector());
+    }
+
+    public JmxDestinationCacheCollector(MBeanServerConnection server) {
+        this(new DestinationCacheResourceDetector(server));
+    }
+
+    public JmxDestinationCacheCollector(ResourceDetector<DestinationCacheResource> resourceDetector) {
+        this.resourceDetector = resourceDetector;
+    }
+
+    public DestinationCacheSnapshot collect() {
+        DestinationCacheResource resource = resourceDetector.detect();
+        return new DestinationCacheSnapshot(
+                resource.size(),
+                resource.capacity(),
+                resource.hits(),
+                resource.misses(),
+                resource.evictions(),
+                resource.hitRate()
+        );
+    }
+}
@@ -0,0 +1,7 @@
+/**
+ * JMX collector for destination interning cache usage.
+ */
+@NullMarked
+package org.traffichunter.titan.monitor.jmx.destination;
+
+import org.jspecify.annotations.NullMarked;
@@ -0,0 +1,44 @@
+package org.traffichunter.titan.monitor.jmx.latency;
+
+import javax.management.MBeanServerConnection;
+import org.traffichunter.titan.core.util.management.DispatchLatencyResource;
+import org.traffichunter.titan.core.util.management.DispatchLatencyResourceDetector;
+import org.traffichunter.titan.core.util.management.LatencyResource;
+import org.traffichunter.titan.core.util.management.ResourceDetector;
+import org.traffichunter.titan.monitor.model.DispatchLatencySnapshot;
+import org.traffichunter.titan.monitor.model.LatencySnapshot;
+
+/**
+ * Converts process-wide dispatch latency measurements into monitor snapshots.
+ *
+ * @author yun
+ */
+public final class JmxDispatchLatencyCollector {
+
+    private final ResourceDetector<DispatchLatencyResource> resourceDetector;
+
+    public JmxDispatchLatencyCollector() {
+        this(new DispatchLatencyResourceDetector());
+    }
+
+    public JmxDispatchLatencyCollector(MBeanServerConnection server) {
+        this(new DispatchLatencyResourceDetector(server));
+    }
+
+    public JmxDispatchLatencyCollector(ResourceDetector<DispatchLatencyResource> resourceDetector) {
+        this.resourceDetector = resourceDetector;
+    }
+
+    public DispatchLatencySnapshot collect() {
+        DispatchLatencyResource resource = resourceDetector.detect();
+        return new DispatchLatencySnapshot(
+                latency(resource.enqueueLatency()),
+                latency(resource.dispatchLatency()),
+                latency(resource.flushLatency())
+        );
+    }
+
+    private static LatencySnapshot latency(LatencyResource resource) {
+        return new LatencySnapshot(resource.count(), resource.p50Nanos(), resource.p99Nanos(), resource.p999Nanos());
+    }
+}
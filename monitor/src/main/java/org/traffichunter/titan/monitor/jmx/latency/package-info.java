@@ -0,0 +1,7 @@
+/**
+ * JMX collector for dispatch pipeline latency.
+ */
+@NullMarked
+package org.traffichunter.titan.monitor.jmx.latency;
+
+import org.jspecify.annotations.NullMarked;
@@ -2,9 +2,12 @@ package org.traffichunter.titan.monitor.jmx.queue;
 
 import java.util.List;
 import javax.management.MBeanServerConnection;
+import org.traffichunter.titan.core.util.management.LatencyResource;
 import org.traffichunter.titan.core.util.management.QueueResource;
 import org.traffichunter.titan.core.util.management.QueueResourceDetector;
 import org.traffichunter.titan.core.util.management.ResourceDetector;
+import org.traffichunter.titan.monitor.model.LatencySnapshot;
+import org.traffichunter.titan.monitor.model.QueueLaneSnapshot;
 import org.traffichunter.titan.monitor.model.QueueSnapshot;
 
 public final class JmxDispatcherQueueCollector {
@@ -31,8 +34,25 @@ public final class JmxDispatcherQueueCollector {
                         queue.pendingBytes(),
                         queue.maxPendingBytes(),
                         queue.resumePendingBytes(),
-                        queue.paused()
+                        queue.paused(),
+                        queue.partitions(),
+                        queue.lanes().stream()
+                                .map(lane -> new QueueLaneSnapshot(lane.lane(), lane.size(), lane.pendingBytes()))
+                                .toList(),
+                        queue.timeToLiveMillis(),
+                        queue.expiredMessages(),
+                        queue.spilledMessages(),
+                        queue.spilledBytes(),
+                        queue.spillBytesPerSecond(),
+                        queue.unspillBytesPerSecond(),
+                        latency(queue.enqueueLatency()),
+                        latency(queue.dispatchLatency()),
+                        latency(queue.flushLatency())
                 ))
                 .toList();
     }
+
+    private static LatencySnapshot latency(LatencyResource resource) {
+        return new LatencySnapshot(resource.count(), resource.p50Nanos(), resource.p99Nanos(), resource.p999Nanos());
+    }
 }
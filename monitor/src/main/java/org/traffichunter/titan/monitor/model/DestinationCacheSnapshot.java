@@ -0,0 +1,22 @@
+package org.traffichunter.titan.monitor.model;
+
+/**
+ * Destination interning cache usage at the time a monitoring snapshot is collected.
+ *
+ * @param size number of cached destinations
+ * @param capacity maximum number of cached destinations
+ * @param hits lookups served from the cache since startup
+ * @param misses lookups that validated a new routing key since startup
+ * @param evictions entries evicted since startup
+ * @param hitRate fraction of lookups served from the cache
+ * @author yun
+ */
+public record DestinationCacheSnapshot(
+        int size,
+        int capacity,
+        long hits,
+        long misses,
+        long evictions,
+        double hitRate
+) {
+}
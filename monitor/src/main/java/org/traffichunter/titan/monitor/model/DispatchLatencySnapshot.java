@@ -0,0 +1,19 @@
+package org.traffichunter.titan.monitor.model;
+
+/**
+ * Process-wide dispatch pipeline latency over the last latency interval.
+ *
+ * @param enqueueLatency decode to queue admission
+ * @param dispatchLatency queue admission to drain
+ * @param flushLatency drain to subscriber socket write
+ * @author yun
+ */
+public record DispatchLatencySnapshot(
+        LatencySnapshot enqueueLatency,
+        LatencySnapshot dispatchLatency,
+        LatencySnapshot flushLatency
+) {
+
+    public static final DispatchLatencySnapshot EMPTY =
+            new DispatchLatencySnapshot(LatencySnapshot.EMPTY, LatencySnapshot.EMPTY, LatencySnapshot.EMPTY);
+}
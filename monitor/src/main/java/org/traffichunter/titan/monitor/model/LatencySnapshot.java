@@ -0,0 +1,15 @@
+package org.traffichunter.titan.monitor.model;
+
+/**
+ * Latency percentiles of one dispatch pipeline stage over the last latency interval.
+ *
+ * @param count latencies recorded in the window
+ * @param p50Nanos median latency in nanoseconds, {@code 0} if nothing was recorded
+ * @param p99Nanos 99th percentile latency in nanoseconds
+ * @param p999Nanos 99.9th percentile latency in nanoseconds
+ * @author yun
+ */
+public record LatencySnapshot(long count, long p50Nanos, long p99Nanos, long p999Nanos) {
+
+    public static final LatencySnapshot EMPTY = new LatencySnapshot(0L, 0L, 0L, 0L);
+}
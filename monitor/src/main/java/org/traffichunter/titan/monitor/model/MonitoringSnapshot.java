@@ -6,9 +6,42 @@ public record MonitoringSnapshot(
         ServerSnapshot server,
         JvmSnapshot jvm,
         ChannelWriteSnapshot channelWrites,
+        DestinationCacheSnapshot destinationCache,
+        SlowConsumersSnapshot slowConsumers,
+        DispatchLatencySnapshot latency,
         List<QueueSnapshot> queues
 ) {
 
+    public MonitoringSnapshot(
+            ServerSnapshot server,
+            JvmSnapshot jvm,
+            ChannelWriteSnapshot channelWrites,
+            DestinationCacheSnapshot destinationCache,
+            SlowConsumersSnapshot slowConsumers,
+            List<QueueSnapshot> queues
+    ) {
+        this(server, jvm, channelWrites, destinationCache, slowConsumers, DispatchLatencySnapshot.EMPTY, queues);
+    }
+
+    public MonitoringSnapshot(
+            ServerSnapshot server,
+            JvmSnapshot jvm,
+            ChannelWriteSnapshot channelWrites,
+            DestinationCacheSnapshot destinationCache,
+            List<QueueSnapshot> queues
+    ) {
+        this(server, jvm, channelWrites, destinationCache, new SlowConsumersSnapshot(0, 0, 0, 0, 0, List.of()), queues);
+    }
+
+    public MonitoringSnapshot(
+            ServerSnapshot server,
+            JvmSnapshot jvm,
+            ChannelWriteSnapshot channelWrites,
+            List<QueueSnapshot> queues
+    ) {
+        this(server, jvm, channelWrites, new DestinationCacheSnapshot(0, 0, 0, 0, 0, 0.0), queues);
+    }
+
     public MonitoringSnapshot(ServerSnapshot server, JvmSnapshot jvm, List<QueueSnapshot> queues) {
         this(server, jvm, new ChannelWriteSnapshot(0, 0, 0), queues);
     }
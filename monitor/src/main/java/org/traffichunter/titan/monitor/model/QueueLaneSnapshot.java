@@ -0,0 +1,8 @@
+package org.traffichunter.titan.monitor.model;
+
+public record QueueLaneSnapshot(
+        int lane,
+        int size,
+        long pendingBytes
+) {
+}
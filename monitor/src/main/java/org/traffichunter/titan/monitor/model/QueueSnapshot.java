@@ -1,11 +1,57 @@
 package org.traffichunter.titan.monitor.model;
 
+import java.util.List;
+
 public record QueueSnapshot(
         String destination,
         int size,
         long pendingBytes,
         long maxPendingBytes,
         long resumePendingBytes,
-        boolean paused
+        boolean paused,
+        int partitions,
+        List<QueueLaneSnapshot> lanes,
+        long timeToLiveMillis,
+        long expiredMessages,
+        int spilledMessages,
+        long spilledBytes,
+        long spillBytesPerSecond,
+        long unspillBytesPerSecond,
+        LatencySnapshot enqueueLatency,
+        LatencySnapshot dispatchLatency,
+        LatencySnapshot flushLatency
 ) {
+
+    public QueueSnapshot {
+        lanes = List.copyOf(lanes);
+    }
+
+    public QueueSnapshot(
+            String destination,
+            int size,
+            long pendingBytes,
+            long maxPendingBytes,
+            long resumePendingBytes,
+            boolean paused
+    ) {
+        this(
+                destination,
+                size,
+                pendingBytes,
+                maxPendingBytes,
+                resumePendingBytes,
+                paused,
+                1,
+                List.of(),
+                0L,
+                0L,
+                0,
+                0L,
+                0L,
+                0L,
+                LatencySnapshot.EMPTY,
+                LatencySnapshot.EMPTY,
+                LatencySnapshot.EMPTY
+        );
+    }
 }
@@ -0,0 +1,20 @@
+package org.traffichunter.titan.monitor.model;
+
+/**
+ * One subscription over its outbound budget at the time a monitoring snapshot is collected.
+ *
+ * @param session STOMP session of the subscriber connection
+ * @param subscription subscription id within that session
+ * @param destination subscribed destination
+ * @param pendingBytes bytes queued on the subscriber connection and not yet written
+ * @param actions messages dropped, conflated or skipped, plus disconnects, for this subscription
+ * @author yun
+ */
+public record SlowConsumerSnapshot(
+        String session,
+        String subscription,
+        String destination,
+        long pendingBytes,
+        long actions
+) {
+}
@@ -0,0 +1,24 @@
+package org.traffichunter.titan.monitor.model;
+
+import java.util.List;
+
+/**
+ * Slow consumer tracking at the time a monitoring snapshot is collected.
+ *
+ * @param slowConsumers subscriptions currently over their outbound budget
+ * @param disconnects connections closed by the disconnect policy since startup
+ * @param droppedMessages messages discarded by the drop-newest policy since startup
+ * @param conflatedMessages held messages replaced by the conflate policy since startup
+ * @param sampledMessages messages skipped by the sample policy since startup
+ * @param topConsumers slow subscriptions with the most pending write bytes
+ * @author yun
+ */
+public record SlowConsumersSnapshot(
+        int slowConsumers,
+        long disconnects,
+        long droppedMessages,
+        long conflatedMessages,
+        long sampledMessages,
+        List<SlowConsumerSnapshot> topConsumers
+) {
+}
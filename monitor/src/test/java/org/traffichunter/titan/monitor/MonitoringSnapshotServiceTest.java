@@ -38,6 +38,9 @@ class MonitoringSnapshotServiceTest {
         assertThat(snapshot.jvm()).isNotNull();
         assertThat(snapshot.channelWrites().pendingBytes()).isEqualTo(128);
         assertThat(snapshot.queues()).isNotNull();
-        assertThat(json).contains("\"server\"", "\"jvm\"", "\"channelWrites\"", "\"queues\"");
+        assertThat(snapshot.destinationCache()).isNotNull();
+        assertThat(snapshot.slowConsumers()).isNotNull();
+        assertThat(snapshot.latency()).isNotNull();
+        assertThat(json).contains("\"server\"", "\"jvm\"", "\"channelWrites\"", "\"destinationCache\"", "\"slowConsumers\"", "\"latency\"", "\"queues\"");
     }
 }
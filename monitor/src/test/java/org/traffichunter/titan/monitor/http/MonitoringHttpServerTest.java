@@ -326,6 +326,21 @@ class MonitoringHttpServerTest {
             return dispatcher.getOrPut(destination, maxPendingBytes);
         }
 
+        @Override
+        public DispatcherQueue createQueue(Destination destination, long maxPendingBytes, int partitions) {
+            return dispatcher.getOrPut(destination, maxPendingBytes, partitions);
+        }
+
+        @Override
+        public DispatcherQueue createQueue(
+                Destination destination,
+                long maxPendingBytes,
+                DispatcherQueueType type,
+                String conflationKey
+        ) {
+            return dispatcher.getOrPut(destination, maxPendingBytes, type, conflationKey);
+        }
+
         @Override
         public DispatcherQueueDeleteResult deleteQueue(Destination destination, boolean force) {
             DispatcherQueue queue = dispatcher.get(destination);
@@ -0,0 +1,31 @@
+package org.traffichunter.titan.monitor.jmx.consumer;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.util.management.SlowConsumerResource;
+import org.traffichunter.titan.core.util.management.SlowConsumersResource;
+import org.traffichunter.titan.monitor.model.SlowConsumerSnapshot;
+import org.traffichunter.titan.monitor.model.SlowConsumersSnapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author yun
+ */
+class JmxSlowConsumerCollectorTest {
+
+    @Test
+    void collect_slow_consumer_snapshot_with_top_consumers() {
+        JmxSlowConsumerCollector collector = new JmxSlowConsumerCollector(
+                () -> new SlowConsumersResource(1, 2, 30, 4, 50, List.of(
+                        new SlowConsumerResource("session-1", "sub-0", "/prices/eur", 65536, 84)
+                ))
+        );
+
+        SlowConsumersSnapshot snapshot = collector.collect();
+
+        assertThat(snapshot).isEqualTo(new SlowConsumersSnapshot(1, 2, 30, 4, 50, List.of(
+                new SlowConsumerSnapshot("session-1", "sub-0", "/prices/eur", 65536, 84)
+        )));
+    }
+}
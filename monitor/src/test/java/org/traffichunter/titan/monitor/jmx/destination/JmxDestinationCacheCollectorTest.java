@@ -0,0 +1,24 @@
+package org.traffichunter.titan.monitor.jmx.destination;
+
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.util.management.DestinationCacheResource;
+import org.traffichunter.titan.monitor.model.DestinationCacheSnapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author yun
+ */
+class JmxDestinationCacheCollectorTest {
+
+    @Test
+    void collect_destination_cache_snapshot_with_hit_rate() {
+        JmxDestinationCacheCollector collector = new JmxDestinationCacheCollector(
+                () -> new DestinationCacheResource(3, 4096, 9, 3, 1)
+        );
+
+        DestinationCacheSnapshot snapshot = collector.collect();
+
+        assertThat(snapshot).isEqualTo(new DestinationCacheSnapshot(3, 4096, 9, 3, 1, 0.75));
+    }
+}
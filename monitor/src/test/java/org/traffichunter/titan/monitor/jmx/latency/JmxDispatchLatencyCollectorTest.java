@@ -0,0 +1,34 @@
+package org.traffichunter.titan.monitor.jmx.latency;
+
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.util.management.DispatchLatencyResource;
+import org.traffichunter.titan.core.util.management.LatencyResource;
+import org.traffichunter.titan.monitor.model.DispatchLatencySnapshot;
+import org.traffichunter.titan.monitor.model.LatencySnapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author yun
+ */
+class JmxDispatchLatencyCollectorTest {
+
+    @Test
+    void collect_dispatch_latency_snapshot_per_stage() {
+        JmxDispatchLatencyCollector collector = new JmxDispatchLatencyCollector(
+                () -> new DispatchLatencyResource(
+                        new LatencyResource(10, 2047, 8191, 16383),
+                        new LatencyResource(9, 1023, 4095, 4095),
+                        LatencyResource.EMPTY
+                )
+        );
+
+        DispatchLatencySnapshot snapshot = collector.collect();
+
+        assertThat(snapshot).isEqualTo(new DispatchLatencySnapshot(
+                new LatencySnapshot(10, 2047, 8191, 16383),
+                new LatencySnapshot(9, 1023, 4095, 4095),
+                LatencySnapshot.EMPTY
+        ));
+    }
+}
@@ -30,6 +30,33 @@ class JmxDispatcherQueueCollectorTest {
 
         List<QueueSnapshot> queues = new JmxDispatcherQueueCollector(server).collect();
 
-        assertThat(queues).containsExactly(new QueueSnapshot("/queue/orders", 1, 5, 10, 8, true));
+        assertThat(queues)
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("enqueueLatency")
+                .containsExactly(new QueueSnapshot("/queue/orders", 1, 5, 10, 8, true));
+        assertThat(queues.getFirst().enqueueLatency().count()).isEqualTo(1);
+    }
+
+    @Test
+    void repeated_reads_see_the_same_latency() {
+        MBeanServer server = MBeanServerFactory.createMBeanServer();
+        DispatcherQueue queue = DispatcherQueue.create(Destination.create("/queue/latency"), 10);
+        queue.enqueue(Message.builder()
+                .destination(Destination.create("/queue/latency"))
+                .createdAt(Instant.now())
+                .producerId("test")
+                .body("hello".getBytes(java.nio.charset.StandardCharsets.UTF_8))
+                .build());
+        queue.poll();
+        DispatcherQueueMbeans.register(server, queue);
+        JmxDispatcherQueueCollector collector = new JmxDispatcherQueueCollector(server);
+
+        QueueSnapshot first = collector.collect().getFirst();
+        QueueSnapshot second = collector.collect().getFirst();
+
+        assertThat(first.enqueueLatency().count()).isEqualTo(1);
+        assertThat(first.dispatchLatency().count()).isEqualTo(1);
+        assertThat(first.dispatchLatency().p999Nanos()).isGreaterThanOrEqualTo(first.dispatchLatency().p50Nanos());
+        assertThat(second.enqueueLatency()).isEqualTo(first.enqueueLatency());
+        assertThat(second.dispatchLatency()).isEqualTo(first.dispatchLatency());
     }
 }
@@ -137,6 +137,26 @@ public interface StompClientChannel extends StompChannel {
     @CanIgnoreReturnValue
     Promise<StompFrame> send(String destination, StompFrame body);
 
+    /**
+     * Writes the frames in order and flushes the transport once after the last frame.
+     */
+    @CanIgnoreReturnValue
+    List<Promise<StompFrame>> send(List<StompFrame> frames);
+
+    /**
+     * Writes a frame that is already encoded, such as one from
+     * {@link EncodedMessageFrame#retainFrame(String, String)}, taking over the buffer reference.
+     */
+    @CanIgnoreReturnValue
+    Promise<Void> sendEncoded(Buffer frame);
+
+    /**
+     * Writes the encoded frames in order and flushes the transport once after the last frame,
+     * taking over every buffer reference.
+     */
+    @CanIgnoreReturnValue
+    List<Promise<Void>> sendEncoded(List<Buffer> frames);
+
     @CanIgnoreReturnValue
     Promise<StompFrame> subscribe(String destination);
 
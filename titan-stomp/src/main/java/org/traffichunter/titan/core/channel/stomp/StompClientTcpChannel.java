@@ -26,6 +26,7 @@ package org.traffichunter.titan.core.channel.stomp;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -138,7 +139,7 @@ public class StompClientTcpChannel implements StompClientChannel {
     @Override
     public Promise<StompFrame> disconnect() {
         StompFrame frame = create(StompHeaders.create(), StompCommand.DISCONNECT);
-        frame.addHeader(Elements.RECEIPT, IdGenerator.uuid());
+        frame.addHeader(Elements.RECEIPT, IdGenerator.nextId());
         return disconnect(frame);
     }
 
@@ -244,6 +245,53 @@ public class StompClientTcpChannel implements StompClientChannel {
         return framePromise;
     }
 
+    @Override
+    public List<Promise<StompFrame>> send(List<StompFrame> frames) {
+        List<Promise<StompFrame>> framePromises = new ArrayList<>(frames.size());
+        for (int i = 0; i < frames.size(); i++) {
+            framePromises.add(Promise.newPromise(eventLoop()));
+        }
+        if (frames.isEmpty()) {
+            return framePromises;
+        }
+
+        if (eventLoop().inEventLoop()) {
+            sendAll(frames, framePromises);
+        } else {
+            eventLoop().execute(() -> sendAll(frames, framePromises));
+        }
+        return framePromises;
+    }
+
+    @Override
+    public Promise<Void> sendEncoded(Buffer frame) {
+        Promise<Void> writePromise = Promise.newPromise(eventLoop());
+        if (eventLoop().inEventLoop()) {
+            sendEncoded(frame, writePromise, true);
+        } else {
+            eventLoop().execute(() -> sendEncoded(frame, writePromise, true));
+        }
+        return writePromise;
+    }
+
+    @Override
+    public List<Promise<Void>> sendEncoded(List<Buffer> frames) {
+        List<Promise<Void>> writePromises = new ArrayList<>(frames.size());
+        for (int i = 0; i < frames.size(); i++) {
+            writePromises.add(Promise.newPromise(eventLoop()));
+        }
+        if (frames.isEmpty()) {
+            return writePromises;
+        }
+
+        if (eventLoop().inEventLoop()) {
+            sendAllEncoded(frames, writePromises);
+        } else {
+            eventLoop().execute(() -> sendAllEncoded(frames, writePromises));
+        }
+        return writePromises;
+    }
+
     @Override
     public Promise<StompFrame> send(String destination, Buffer body) {
         return send(destination, body, StompHeaders.create());
@@ -424,19 +472,63 @@ public class StompClientTcpChannel implements StompClientChannel {
         notifyClosed();
     }
 
+    private void sendAll(List<StompFrame> frames, List<Promise<StompFrame>> framePromises) {
+        int last = frames.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            send(frames.get(i), framePromises.get(i), i == last);
+        }
+    }
+
+    private void sendAllEncoded(List<Buffer> frames, List<Promise<Void>> writePromises) {
+        int last = frames.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            sendEncoded(frames.get(i), writePromises.get(i), i == last);
+        }
+    }
+
+    private void sendEncoded(Buffer frame, Completable<Void> writePromise, boolean flush) {
+        if (!netChannel.isActive() || !netChannel.isConnected()) {
+            frame.release();
+            close();
+            writePromise.fail(new StompNetChannelException("Channel is closed"));
+            return;
+        }
+
+        try {
+            Promise<Void> write = flush ? netChannel.writeAndFlush(frame) : netChannel.write(frame);
+            write.onFailure(error -> {
+                log.error("Failed to write encoded STOMP frame. session={}", sessionId, error);
+                exceptionHandler.handle(error);
+                close();
+                writePromise.fail(new StompNetChannelException("Failed to write STOMP frame", error));
+            });
+            write.onSuccess(ignored -> writePromise.success());
+        } catch (Exception e) {
+            log.error("Failed to write encoded STOMP frame. session={}", sessionId, e);
+            exceptionHandler.handle(e);
+            close();
+            writePromise.fail(new StompNetChannelException("Failed to write STOMP frame", e));
+        }
+    }
+
     private void send(StompFrame frame, Completable<StompFrame> receiptPromise) {
         if (!eventLoop().inEventLoop()) {
             eventLoop().execute(() -> send(frame, receiptPromise));
             return;
         }
 
+        send(frame, receiptPromise, true);
+    }
+
+    private void send(StompFrame frame, Completable<StompFrame> receiptPromise, boolean flush) {
+
         if (!netChannel.isActive() || !netChannel.isConnected()) {
             close();
             receiptPromise.fail(new StompNetChannelException("Channel is closed"));
             return;
         }
 
-        byte[] body = frame.body();
+        byte[] body = frame.readOnlyBody();
         if (body.length > 0 && !frame.getHeaders().containsKey(Elements.CONTENT_LENGTH)) {
             frame.addHeader(Elements.CONTENT_LENGTH, String.valueOf(body.length));
         }
@@ -455,7 +547,8 @@ public class StompClientTcpChannel implements StompClientChannel {
         }
 
         try {
-            Promise<Void> write = netChannel.writeAndFlush(frame.toBuffer());
+            Buffer buffer = frame.toBuffer();
+            Promise<Void> write = flush ? netChannel.writeAndFlush(buffer) : netChannel.write(buffer);
             write.onFailure(error -> {
                 if (receiptId != null && !receiptId.isBlank()) {
                     receiptMap.remove(receiptId);
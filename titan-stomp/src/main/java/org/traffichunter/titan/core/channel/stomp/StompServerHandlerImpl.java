@@ -271,13 +271,14 @@ public final class StompServerHandlerImpl implements StompServerHandler {
                     return;
                 }
 
-                final Destination dest = Destination.create(destination);
+                final Destination dest = Destination.intern(destination);
                 boolean registered = context.serverConnection().subscriptions().register(
                         StompServerSubscription.builder()
                                 .id(id)
                                 .ackMode(ack)
                                 .destination(dest)
                                 .connection(sc)
+                                .sharedGroup(sf.getHeader(StompHeaders.Elements.SHARED_GROUP))
                                 .build()
                 );
                 if (!registered) {
@@ -358,7 +359,18 @@ public final class StompServerHandlerImpl implements StompServerHandler {
                     return;
                 }
 
-                Destination dest = Destination.create(destination);
+                Destination dest = Destination.intern(destination);
+                if (dest.isWildcard()) {
+                    log.warn(
+                            "Failed to send to wildcard destination. session={}, destination={}",
+                            sc.session(),
+                            destination
+                    );
+                    sc.send(errorFrame("Wrong send.", "Wildcard destination cannot be published to."));
+                    sc.close();
+                    return;
+                }
+
                 var subscriptions = context.serverConnection().subscriptions().findByDestination(dest);
                 if (subscriptions.isEmpty()) {
                     if (context.option().sendErrorOnNoSubscriptions()) {
@@ -377,10 +389,10 @@ public final class StompServerHandlerImpl implements StompServerHandler {
                 int success = 0;
                 for (StompServerSubscription subscription : subscriptions) {
                     try {
-                        StompFrame messageFrame = create(StompHeaders.create(), StompCommand.MESSAGE, sf.body());
+                        StompFrame messageFrame = StompFrame.wrap(StompHeaders.create(), StompCommand.MESSAGE, sf.readOnlyBody());
                         messageFrame.addHeader(StompHeaders.Elements.DESTINATION, destination);
                         messageFrame.addHeader(StompHeaders.Elements.SUBSCRIPTION, subscription.id());
-                        messageFrame.addHeader(StompHeaders.Elements.MESSAGE_ID, IdGenerator.uuid());
+                        messageFrame.addHeader(StompHeaders.Elements.MESSAGE_ID, IdGenerator.nextId());
 
                         String contentType = sf.getHeader(StompHeaders.Elements.CONTENT_TYPE);
                         if (contentType != null) {
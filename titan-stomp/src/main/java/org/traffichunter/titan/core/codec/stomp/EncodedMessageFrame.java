@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2025 traffic-hunter
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.traffichunter.titan.core.codec.stomp;
+
+import org.traffichunter.titan.core.codec.stomp.StompHeaders.Elements;
+import org.traffichunter.titan.core.util.buffer.Buffer;
+
+/**
+ * A STOMP {@code MESSAGE} frame encoded once and written to many subscriptions.
+ *
+ * <p>Fanout writes the same message to every matching subscription, and only the
+ * {@code subscription} and {@code message-id} headers differ between the copies. This frame
+ * encodes everything else once: the {@code destination} and {@code content-length} headers go into
+ * a small pooled buffer, and the body is referenced in place, wrapped from the message's array or
+ * retained from the caller's buffer, followed by the NUL terminator. Nothing copies the body.
+ * {@link #retainFrame(String, String)} returns a per-subscription header prefix followed by a
+ * retained slice of that shared part, so writing a message to N subscriptions encodes N prefixes
+ * rather than N frames, and the socket sends prefix, headers and body in one gathering write.</p>
+ *
+ * <p>The frame owns one reference to the shared part, dropped by {@link #release()}. Every
+ * buffer returned by {@code retainFrame} holds its own reference, so the shared bytes, and the
+ * body they point at, stay alive until the last subscriber write of them completes.</p>
+ *
+ * @author yun
+ */
+public final class EncodedMessageFrame {
+
+    private static final String CRLF = StompDelimiter.CR.getString() + StompDelimiter.LF.getString();
+    private static final byte[] TERMINATOR = {StompDelimiter.NUL.getHex()};
+
+    private final Buffer shared;
+    private final int bodyOffset;
+    private final int bodyLength;
+
+    private EncodedMessageFrame(final Buffer shared, final int bodyOffset, final int bodyLength) {
+        this.shared = shared;
+        this.bodyOffset = bodyOffset;
+        this.bodyLength = bodyLength;
+    }
+
+    /**
+     * Encodes a frame around {@code body} without copying it. The array must not be modified
+     * while any frame written from this one is pending.
+     */
+    public static EncodedMessageFrame encode(final String destination, final byte[] body) {
+        return encode(destination, Buffer.wrap(body), body.length);
+    }
+
+    /**
+     * Encodes a frame around the readable bytes of {@code body} by retaining them. The caller
+     * keeps its own reference.
+     */
+    public static EncodedMessageFrame encode(final String destination, final Buffer body) {
+        return encode(destination, body.retainSlice(), body.length());
+    }
+
+    private static EncodedMessageFrame encode(final String destination, final Buffer body, final int bodyLength) {
+        Buffer headers = Buffer.heap().alloc(sharedHeaders(destination, bodyLength));
+        int bodyOffset = headers.length();
+        return new EncodedMessageFrame(
+                Buffer.heap().composite(headers, body, Buffer.wrap(TERMINATOR)),
+                bodyOffset,
+                bodyLength
+        );
+    }
+
+    /**
+     * Returns the complete frame for one subscription. The caller owns the returned buffer and
+     * normally hands it to a channel write, which releases it.
+     */
+    public Buffer retainFrame(final String subscription, final String messageId) {
+        String prefix = StompCommand.MESSAGE.name() + CRLF
+                + Elements.SUBSCRIPTION.getName() + ":" + StompHeaders.encode(subscription, StompCommand.MESSAGE) + CRLF
+                + Elements.MESSAGE_ID.getName() + ":" + StompHeaders.encode(messageId, StompCommand.MESSAGE) + CRLF;
+        return Buffer.heap().composite(Buffer.heap().alloc(prefix), shared.retainSlice());
+    }
+
+    /**
+     * Returns a copy of the message body.
+     */
+    public byte[] body() {
+        return bodyLength == 0 ? new byte[0] : shared.getBytes(bodyOffset, bodyLength);
+    }
+
+    /**
+     * Returns the number of shared bytes every frame written from this one carries.
+     */
+    public int length() {
+        return shared.length();
+    }
+
+    public void release() {
+        shared.release();
+    }
+
+    private static String sharedHeaders(final String destination, final int bodyLength) {
+        StringBuilder sb = new StringBuilder(64 + destination.length());
+        sb.append(Elements.DESTINATION.getName()).append(':')
+                .append(StompHeaders.encode(destination, StompCommand.MESSAGE)).append(CRLF);
+        if (bodyLength > 0) {
+            sb.append(Elements.CONTENT_LENGTH.getName()).append(':').append(bodyLength).append(CRLF);
+        }
+        return sb.append(CRLF).toString();
+    }
+}
@@ -155,7 +155,7 @@ public class StompChannelDecoder extends ChannelDecoder {
                     return StompFrame.ERR_STOMP_FRAME;
                 }
 
-                return StompFrame.create(headers, stompCommand, body);
+                return StompFrame.wrap(headers, stompCommand, body);
             } finally {
                 stompFrame.release();
                 frames.forEach(Buffer::release);
@@ -68,9 +68,13 @@ public final class StompFrame implements Frame<Elements, String>, StompFrames {
     }
 
     private StompFrame(final StompHeaders headers, final StompCommand command, final byte [] body) {
+        this(headers, command, body, true);
+    }
+
+    private StompFrame(final StompHeaders headers, final StompCommand command, final byte[] body, final boolean copyBody) {
         this.headers = headers;
         this.command = command;
-        this.body = body.clone();
+        this.body = copyBody ? body.clone() : body;
     }
 
     private StompFrame(final StompHeaders headers, final StompCommand command, final Buffer body) {
@@ -112,6 +116,17 @@ public final class StompFrame implements Frame<Elements, String>, StompFrames {
         return new StompFrame(headers, command, body);
     }
 
+    /**
+     * Creates a frame that uses {@code body} in place instead of copying it. The caller hands the
+     * array over and must not modify it afterwards.
+     */
+    public static StompFrame wrap(final StompHeaders headers,
+                                  final StompCommand command,
+                                  final byte[] body) {
+
+        return new StompFrame(headers, command, body, false);
+    }
+
     @Override
     public StompCommand command() {
         return command;
@@ -127,6 +142,15 @@ public final class StompFrame implements Frame<Elements, String>, StompFrames {
         return body.clone();
     }
 
+    /**
+     * Returns the frame body without copying it. The array is shared with this frame and must not
+     * be modified; pass it on only to consumers that keep it read-only, such as
+     * {@link #wrap(StompHeaders, StompCommand, byte[])}.
+     */
+    public byte[] readOnlyBody() {
+        return body;
+    }
+
     /**
      * Returns an independently owned copy of the frame body.
      *
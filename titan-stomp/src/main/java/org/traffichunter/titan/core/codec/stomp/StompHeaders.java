@@ -207,6 +207,11 @@ public final class StompHeaders extends Headers<StompHeaders.Elements, String, S
         MESSAGE("message"),
         CONTENT_LENGTH("content-length"),
         CONTENT_TYPE("content-type"),
+        PARTITION_KEY("partition-key"),
+        PRIORITY("priority"),
+        EXPIRES("expires"),
+        CONFLATION_KEY("conflation-key"),
+        SHARED_GROUP("shared-group"),
         ;
 
         private final String name;
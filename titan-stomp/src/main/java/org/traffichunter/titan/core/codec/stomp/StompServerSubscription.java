@@ -23,27 +23,51 @@ THE SOFTWARE.
 */
 package org.traffichunter.titan.core.codec.stomp;
 
+import java.util.concurrent.atomic.AtomicLong;
+import org.jspecify.annotations.Nullable;
 import org.traffichunter.titan.core.channel.Subscription;
 import org.traffichunter.titan.core.channel.stomp.StompClientChannel;
 import org.traffichunter.titan.core.util.Destination;
 
 /**
+ * Subscription of one STOMP client session.
+ *
+ * <p>A subscription that names a shared group competes with the other members of that group
+ * instead of receiving every message: each message published to the destination is delivered to
+ * one member of the group.</p>
+ *
+ * <p>The subscription also counts the bytes written to it that its connection has not sent yet,
+ * so writers can tell a slow subscription from the others sharing its connection.</p>
+ *
  * @author yun
  */
 public class StompServerSubscription extends Subscription implements StompSubscription {
 
     private final String ackMode;
     private final StompClientChannel connection;
+    private final @Nullable String sharedGroup;
+    private final AtomicLong pendingWriteBytes = new AtomicLong();
 
     public StompServerSubscription(
             Destination destination,
             String id,
             String ackMode,
             StompClientChannel connection
+    ) {
+        this(destination, id, ackMode, connection, null);
+    }
+
+    public StompServerSubscription(
+            Destination destination,
+            String id,
+            String ackMode,
+            StompClientChannel connection,
+            @Nullable String sharedGroup
     ) {
         super(destination, id);
         this.ackMode = ackMode;
         this.connection = connection;
+        this.sharedGroup = sharedGroup == null || sharedGroup.isBlank() ? null : sharedGroup;
     }
 
     public static StompServerSubscriptionBuilder builder() {
@@ -58,6 +82,29 @@ public class StompServerSubscription extends Subscription implements StompSubscr
         return connection;
     }
 
+    /**
+     * Returns the shared group this subscription competes in, or {@code null} when it receives
+     * every message.
+     */
+    public @Nullable String getSharedGroup() {
+        return sharedGroup;
+    }
+
+    /**
+     * Returns the bytes written to this subscription that its connection has not sent yet.
+     */
+    public long pendingWriteBytes() {
+        return pendingWriteBytes.get();
+    }
+
+    /**
+     * Adjusts the pending write bytes: positive when a frame is written, negative once the
+     * connection sent or failed it.
+     */
+    public void addPendingWriteBytes(long bytes) {
+        pendingWriteBytes.addAndGet(bytes);
+    }
+
     @Override
     public String id() {
         return getId();
@@ -74,6 +121,7 @@ public class StompServerSubscription extends Subscription implements StompSubscr
         private String id;
         private String ackMode;
         private StompClientChannel connection;
+        private @Nullable String sharedGroup;
 
         private StompServerSubscriptionBuilder() {
         }
@@ -98,8 +146,13 @@ public class StompServerSubscription extends Subscription implements StompSubscr
             return this;
         }
 
+        public StompServerSubscriptionBuilder sharedGroup(@Nullable String sharedGroup) {
+            this.sharedGroup = sharedGroup;
+            return this;
+        }
+
         public StompServerSubscription build() {
-            return new StompServerSubscription(destination, id, ackMode, connection);
+            return new StompServerSubscription(destination, id, ackMode, connection, sharedGroup);
         }
     }
 }
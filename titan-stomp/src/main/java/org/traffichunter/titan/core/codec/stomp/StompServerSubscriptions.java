@@ -23,29 +23,106 @@ THE SOFTWARE.
 */
 package org.traffichunter.titan.core.codec.stomp;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import org.jspecify.annotations.Nullable;
 import org.traffichunter.titan.core.channel.stomp.StompClientChannel;
 import org.traffichunter.titan.core.util.Destination;
+import org.traffichunter.titan.core.util.Handler;
+import org.traffichunter.titan.core.util.HandlerRegistration;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Server-side subscription registry scoped by STOMP session.
  *
+ * <p>Besides the per-session map, the registry keeps a secondary index from
+ * destination to an immutable list of its subscriptions. Every mutation runs
+ * inside {@link ConcurrentMap#compute} on that destination's index entry, so
+ * the session map and the index change together and the published list is
+ * replaced copy-on-write. {@link #findByDestination(Destination)} therefore
+ * returns the current list without scanning sessions or allocating, which
+ * matters because fanout calls it for every delivered message.</p>
+ *
+ * <p>Subscriptions to a wildcard pattern ({@code *} or a trailing {@code **})
+ * are also kept in a {@link StompSubscriptionTopicTree}. A lookup for a
+ * concrete destination merges its exact subscriptions with the tree's
+ * matches and caches the result per destination. Cache entries remember the
+ * exact list they were built from and the wildcard generation, so any
+ * subscribe or unsubscribe that affects the destination invalidates them
+ * without readers taking a lock.</p>
+ *
+ * <p>Handlers added with {@link #registerHandler(Handler)} are told about
+ * every new subscription once it is visible to lookups, and handlers added
+ * with {@link #unregisterHandler(Handler)} about every removed subscription
+ * once lookups no longer return it, on the thread that changed it.</p>
+ *
  * @author yun
  */
 public final class StompServerSubscriptions {
 
+    private static final int MAX_CACHED_MATCHES = 8192;
+
     private final ConcurrentMap<String, ConcurrentMap<String, StompServerSubscription>> subscriptions =
             new ConcurrentHashMap<>();
+    private final ConcurrentMap<Destination, List<StompServerSubscription>> byDestination =
+            new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final StompSubscriptionTopicTree wildcards = new StompSubscriptionTopicTree();
+    private final ReentrantLock wildcardLock = new ReentrantLock();
+    private final AtomicInteger wildcardSize = new AtomicInteger();
+    private final AtomicLong wildcardGeneration = new AtomicLong();
+    private final ConcurrentMap<Destination, CachedMatch> matches = new ConcurrentHashMap<>();
+    private final List<Handler<StompServerSubscription>> registerHandlers = new CopyOnWriteArrayList<>();
+    private final List<Handler<StompServerSubscription>> unregisterHandlers = new CopyOnWriteArrayList<>();
 
     public boolean register(StompServerSubscription subscription) {
         String sessionId = subscription.getConnection().session();
-        return subscriptions
-                .computeIfAbsent(sessionId, ignored -> new ConcurrentHashMap<>())
-                .putIfAbsent(subscription.id(), subscription) == null;
+        boolean[] registered = new boolean[1];
+        byDestination.compute(subscription.destination(), (destination, current) -> {
+            registered[0] = subscriptions
+                    .computeIfAbsent(sessionId, ignored -> new ConcurrentHashMap<>())
+                    .putIfAbsent(subscription.id(), subscription) == null;
+            if (!registered[0]) {
+                return current;
+            }
+            size.incrementAndGet();
+            if (destination.isWildcard()) {
+                updateWildcards(subscription, true);
+            }
+            return added(current, subscription);
+        });
+        if (registered[0]) {
+            registerHandlers.forEach(handler -> handler.handle(subscription));
+        }
+        return registered[0];
+    }
+
+    /**
+     * Adds a handler invoked with each newly registered subscription. The handler runs on the
+     * registering thread, usually an event loop, and must not block.
+     */
+    @CanIgnoreReturnValue
+    public HandlerRegistration registerHandler(Handler<StompServerSubscription> handler) {
+        registerHandlers.add(handler);
+        return () -> registerHandlers.remove(handler);
+    }
+
+    /**
+     * Adds a handler invoked with each subscription removed by {@link #unregister} or
+     * {@link #unregisterAll}. The handler runs on the unregistering thread and must not block.
+     */
+    @CanIgnoreReturnValue
+    public HandlerRegistration unregisterHandler(Handler<StompServerSubscription> handler) {
+        unregisterHandlers.add(handler);
+        return () -> unregisterHandlers.remove(handler);
     }
 
     public @Nullable StompServerSubscription unregister(StompClientChannel connection, String subscriptionId) {
@@ -55,10 +132,17 @@ public final class StompServerSubscriptions {
             return null;
         }
 
-        StompServerSubscription removed = sessionSubscriptions.remove(subscriptionId);
+        StompServerSubscription candidate = sessionSubscriptions.get(subscriptionId);
+        if (candidate == null) {
+            return null;
+        }
+        StompServerSubscription removed = deindex(sessionSubscriptions, candidate) ? candidate : null;
         if (sessionSubscriptions.isEmpty()) {
             subscriptions.remove(connection.session(), sessionSubscriptions);
         }
+        if (removed != null) {
+            unregisterHandlers.forEach(handler -> handler.handle(removed));
+        }
         return removed;
     }
 
@@ -67,7 +151,14 @@ public final class StompServerSubscriptions {
         if (removed == null) {
             return List.of();
         }
-        return List.copyOf(removed.values());
+        List<StompServerSubscription> unregistered = new ArrayList<>(removed.size());
+        for (StompServerSubscription subscription : removed.values()) {
+            if (deindex(removed, subscription)) {
+                unregistered.add(subscription);
+                unregisterHandlers.forEach(handler -> handler.handle(subscription));
+            }
+        }
+        return List.copyOf(unregistered);
     }
 
     public @Nullable StompServerSubscription find(StompClientChannel connection, String subscriptionId) {
@@ -79,14 +170,51 @@ public final class StompServerSubscriptions {
         return sessionSubscriptions.get(subscriptionId);
     }
 
+    /**
+     * Returns a snapshot of the subscriptions registered by {@code connection}.
+     */
+    public List<StompServerSubscription> findByConnection(StompClientChannel connection) {
+        ConcurrentMap<String, StompServerSubscription> sessionSubscriptions =
+                subscriptions.get(connection.session());
+        if (sessionSubscriptions == null) {
+            return List.of();
+        }
+        return List.copyOf(sessionSubscriptions.values());
+    }
+
     public List<StompServerSubscription> findByDestination() {
         return values();
     }
 
+    /**
+     * Returns the subscriptions that receive messages published to {@code destination}:
+     * those registered for exactly that destination followed by every matching
+     * wildcard subscription.
+     *
+     * <p>The returned list is an immutable snapshot shared with other callers;
+     * later registrations publish a new list instead of modifying it. Looking up
+     * a pattern itself returns only the subscriptions registered for that pattern.</p>
+     */
     public List<StompServerSubscription> findByDestination(Destination destination) {
-        return values().stream()
-                .filter(subscription -> subscription.destination().equals(destination))
-                .toList();
+        List<StompServerSubscription> exact = byDestination.getOrDefault(destination, List.of());
+        if (wildcardSize.get() == 0 || destination.isWildcard()) {
+            return exact;
+        }
+
+        long generation = wildcardGeneration.get();
+        CachedMatch cached = matches.get(destination);
+        if (cached != null && cached.exact == exact && cached.generation == generation) {
+            return cached.subscriptions;
+        }
+
+        List<StompServerSubscription> found = new ArrayList<>(exact);
+        wildcards.match(destination, found);
+        List<StompServerSubscription> subscriptions = List.copyOf(found);
+        if (matches.size() >= MAX_CACHED_MATCHES) {
+            matches.clear();
+        }
+        matches.put(destination, new CachedMatch(exact, generation, subscriptions));
+        return subscriptions;
     }
 
     public List<StompServerSubscription> values() {
@@ -96,8 +224,81 @@ public final class StompServerSubscriptions {
     }
 
     public int size() {
-        return subscriptions.values().stream()
-                .mapToInt(ConcurrentMap::size)
-                .sum();
+        return size.get();
+    }
+
+    private boolean deindex(
+            ConcurrentMap<String, StompServerSubscription> sessionSubscriptions,
+            StompServerSubscription subscription
+    ) {
+        boolean[] removed = new boolean[1];
+        byDestination.compute(subscription.destination(), (destination, current) -> {
+            if (current == null || !current.contains(subscription)) {
+                return current;
+            }
+            // unregisterAll already detached the session map; unregister removes the entry here.
+            sessionSubscriptions.remove(subscription.id(), subscription);
+            removed[0] = true;
+            size.decrementAndGet();
+            if (destination.isWildcard()) {
+                updateWildcards(subscription, false);
+            }
+            return removed(current, subscription);
+        });
+        return removed[0];
+    }
+
+    private void updateWildcards(StompServerSubscription subscription, boolean add) {
+        wildcardLock.lock();
+        try {
+            if (add) {
+                wildcards.add(subscription);
+                wildcardSize.incrementAndGet();
+            } else {
+                wildcards.remove(subscription);
+                wildcardSize.decrementAndGet();
+            }
+            // bump after the tree changed so a lookup that read the old generation never caches the new tree
+            wildcardGeneration.incrementAndGet();
+            matches.clear();
+        } finally {
+            wildcardLock.unlock();
+        }
+    }
+
+    private static List<StompServerSubscription> added(
+            @Nullable List<StompServerSubscription> current,
+            StompServerSubscription subscription
+    ) {
+        if (current == null) {
+            return List.of(subscription);
+        }
+        StompServerSubscription[] next = current.toArray(new StompServerSubscription[current.size() + 1]);
+        next[current.size()] = subscription;
+        return List.of(next);
+    }
+
+    private static @Nullable List<StompServerSubscription> removed(
+            List<StompServerSubscription> current,
+            StompServerSubscription subscription
+    ) {
+        if (current.size() == 1) {
+            return null;
+        }
+        StompServerSubscription[] next = new StompServerSubscription[current.size() - 1];
+        int index = 0;
+        for (StompServerSubscription existing : current) {
+            if (existing != subscription) {
+                next[index++] = existing;
+            }
+        }
+        return List.of(next);
+    }
+
+    private record CachedMatch(
+            List<StompServerSubscription> exact,
+            long generation,
+            List<StompServerSubscription> subscriptions
+    ) {
     }
 }
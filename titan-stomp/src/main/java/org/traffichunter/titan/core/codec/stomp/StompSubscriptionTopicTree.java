@@ -0,0 +1,152 @@
+/*
+The MIT License
+
+Copyright (c) 2025 traffic-hunter
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in
+all copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+THE SOFTWARE.
+*/
+package org.traffichunter.titan.core.codec.stomp;
+
+import org.traffichunter.titan.core.util.Destination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Topic tree of wildcard subscriptions, one node per pattern segment.
+ *
+ * <p>A {@code *} segment is stored as an ordinary child named {@code "*"}; a
+ * trailing {@code **} attaches the subscription to the node of the preceding
+ * segment. Matching a published destination walks at most two children per
+ * level, the literal segment and {@code "*"}, so its cost grows with the
+ * destination depth rather than with the number of patterns.</p>
+ *
+ * <p>Lookups do not lock and read immutable subscription lists. Mutations are
+ * serialized by the owning {@link StompServerSubscriptions}.</p>
+ *
+ * @author yun
+ */
+final class StompSubscriptionTopicTree {
+
+    private final Node root = new Node();
+
+    void add(StompServerSubscription subscription) {
+        List<String> segments = subscription.destination().segments();
+        Node node = root;
+        int depth = patternDepth(segments);
+        for (int i = 0; i < depth; i++) {
+            node = node.children.computeIfAbsent(segments.get(i), ignored -> new Node());
+        }
+        if (depth < segments.size()) {
+            node.multiLevel = added(node.multiLevel, subscription);
+        } else {
+            node.terminal = added(node.terminal, subscription);
+        }
+    }
+
+    void remove(StompServerSubscription subscription) {
+        List<String> segments = subscription.destination().segments();
+        int depth = patternDepth(segments);
+        Node[] path = new Node[depth + 1];
+        path[0] = root;
+        for (int i = 0; i < depth; i++) {
+            Node child = path[i].children.get(segments.get(i));
+            if (child == null) {
+                return;
+            }
+            path[i + 1] = child;
+        }
+
+        Node node = path[depth];
+        if (depth < segments.size()) {
+            node.multiLevel = removed(node.multiLevel, subscription);
+        } else {
+            node.terminal = removed(node.terminal, subscription);
+        }
+        for (int i = depth; i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].children.remove(segments.get(i - 1), path[i]);
+        }
+    }
+
+    /**
+     * Appends every pattern subscription matching the concrete {@code destination} to {@code sink}.
+     */
+    void match(Destination destination, List<StompServerSubscription> sink) {
+        match(root, destination.segments(), 0, sink);
+    }
+
+    private static void match(
+            Node node,
+            List<String> segments,
+            int index,
+            List<StompServerSubscription> sink
+    ) {
+        if (index == segments.size()) {
+            sink.addAll(node.terminal);
+            return;
+        }
+        sink.addAll(node.multiLevel);
+
+        Node literal = node.children.get(segments.get(index));
+        if (literal != null) {
+            match(literal, segments, index + 1, sink);
+        }
+        Node single = node.children.get(Destination.SINGLE_LEVEL_WILDCARD);
+        if (single != null) {
+            match(single, segments, index + 1, sink);
+        }
+    }
+
+    private static int patternDepth(List<String> segments) {
+        int last = segments.size() - 1;
+        return Destination.MULTI_LEVEL_WILDCARD.equals(segments.get(last)) ? last : segments.size();
+    }
+
+    private static List<StompServerSubscription> added(
+            List<StompServerSubscription> current,
+            StompServerSubscription subscription
+    ) {
+        List<StompServerSubscription> next = new ArrayList<>(current.size() + 1);
+        next.addAll(current);
+        next.add(subscription);
+        return List.copyOf(next);
+    }
+
+    private static List<StompServerSubscription> removed(
+            List<StompServerSubscription> current,
+            StompServerSubscription subscription
+    ) {
+        List<StompServerSubscription> next = new ArrayList<>(current);
+        next.remove(subscription);
+        return List.copyOf(next);
+    }
+
+    private static final class Node {
+
+        private final ConcurrentMap<String, Node> children = new ConcurrentHashMap<>();
+        private volatile List<StompServerSubscription> terminal = List.of();
+        private volatile List<StompServerSubscription> multiLevel = List.of();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && terminal.isEmpty() && multiLevel.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.traffichunter.titan.core.codec.stomp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator.ReplaceUnderscores;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.codec.stomp.StompHeaders.Elements;
+import org.traffichunter.titan.core.util.buffer.Buffer;
+
+/**
+ * @author yun
+ */
+@DisplayNameGeneration(ReplaceUnderscores.class)
+class EncodedMessageFrameTest {
+
+    @Test
+    void retained_frame_parses_like_a_message_frame() {
+        EncodedMessageFrame encoded = EncodedMessageFrame.encode("/topic/orders", "payload".getBytes(StandardCharsets.UTF_8));
+        Buffer frame = encoded.retainFrame("sub-1", "message-1");
+
+        StompFrame parsed = StompFrame.doParse(frame.toString(), StompHeaders.create());
+
+        assertEquals(StompCommand.MESSAGE, parsed.getCommand());
+        assertEquals("sub-1", parsed.getHeader(Elements.SUBSCRIPTION));
+        assertEquals("message-1", parsed.getHeader(Elements.MESSAGE_ID));
+        assertEquals("/topic/orders", parsed.getHeader(Elements.DESTINATION));
+        assertEquals("7", parsed.getHeader(Elements.CONTENT_LENGTH));
+        assertArrayEquals("payload".getBytes(StandardCharsets.UTF_8), parsed.body());
+
+        frame.release();
+        encoded.release();
+    }
+
+    @Test
+    void frames_share_encoded_body_until_last_release() {
+        Buffer body = Buffer.heap().alloc("payload");
+        EncodedMessageFrame encoded = EncodedMessageFrame.encode("/topic/orders", body);
+        body.release();
+        Buffer first = encoded.retainFrame("sub-1", "message-1");
+        Buffer second = encoded.retainFrame("sub-2", "message-2");
+
+        encoded.release();
+        first.release();
+
+        assertTrue(second.toString().contains("subscription:sub-2"));
+        assertTrue(second.toString().endsWith("payload\u0000"));
+        second.release();
+        assertEquals(0, second.byteBuf().refCnt());
+    }
+
+    @Test
+    void empty_body_has_no_content_length() {
+        EncodedMessageFrame encoded = EncodedMessageFrame.encode("/topic/empty", new byte[0]);
+        Buffer frame = encoded.retainFrame("sub-1", "message-1");
+
+        assertFalse(frame.toString().contains("content-length"));
+        assertArrayEquals(new byte[0], encoded.body());
+
+        frame.release();
+        encoded.release();
+    }
+
+    @Test
+    void subscription_header_is_escaped() {
+        EncodedMessageFrame encoded = EncodedMessageFrame.encode("/topic/orders", new byte[] {1});
+        Buffer frame = encoded.retainFrame("a:b", "message-1");
+
+        assertTrue(frame.toString().contains("subscription:a\\cb\r\n"));
+
+        frame.release();
+        encoded.release();
+    }
+}
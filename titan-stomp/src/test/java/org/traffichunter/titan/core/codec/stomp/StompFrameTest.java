@@ -57,6 +57,17 @@ class StompFrameTest {
         assertArrayEquals("body".getBytes(StandardCharsets.UTF_8), frame.body());
     }
 
+    @Test
+    void wrap_shares_body_without_copy() {
+        byte[] body = "body".getBytes(StandardCharsets.UTF_8);
+
+        StompFrame frame = StompFrame.wrap(StompHeaders.create(), StompCommand.MESSAGE, body);
+
+        assertSame(body, frame.readOnlyBody());
+        assertNotSame(body, frame.body());
+        assertArrayEquals(body, frame.body());
+    }
+
     private static StompFrame getStompFrame() {
         StompHeaders headers = new StompHeaders(new HashMap<>(), "titan", "v1.1.0");
         headers.put(Elements.HOST, "localhost:8080");
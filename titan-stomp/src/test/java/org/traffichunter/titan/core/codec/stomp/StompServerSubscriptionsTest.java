@@ -0,0 +1,162 @@
+package org.traffichunter.titan.core.codec.stomp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.traffichunter.titan.core.channel.stomp.StompClientChannel;
+import org.traffichunter.titan.core.util.Destination;
+
+/**
+ * @author yun
+ */
+class StompServerSubscriptionsTest {
+
+    private final Destination orders = Destination.create("/topic/orders");
+    private final Destination prices = Destination.create("/topic/prices");
+
+    @Test
+    void findByDestination_returns_only_matching_subscriptions() {
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        StompClientChannel first = connection("session-1");
+        StompClientChannel second = connection("session-2");
+
+        StompServerSubscription a = subscription(orders, "sub-1", first);
+        StompServerSubscription b = subscription(orders, "sub-1", second);
+        StompServerSubscription c = subscription(prices, "sub-2", first);
+        subscriptions.register(a);
+        subscriptions.register(b);
+        subscriptions.register(c);
+
+        assertThat(subscriptions.findByDestination(orders)).containsExactlyInAnyOrder(a, b);
+        assertThat(subscriptions.findByDestination(prices)).containsExactly(c);
+        assertThat(subscriptions.findByDestination(Destination.create("/topic/none"))).isEmpty();
+        assertThat(subscriptions.size()).isEqualTo(3);
+    }
+
+    @Test
+    void duplicate_subscription_id_is_not_indexed_twice() {
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        StompClientChannel connection = connection("session-1");
+
+        assertThat(subscriptions.register(subscription(orders, "sub-1", connection))).isTrue();
+        assertThat(subscriptions.register(subscription(prices, "sub-1", connection))).isFalse();
+
+        assertThat(subscriptions.findByDestination(orders)).hasSize(1);
+        assertThat(subscriptions.findByDestination(prices)).isEmpty();
+        assertThat(subscriptions.size()).isEqualTo(1);
+    }
+
+    @Test
+    void unregister_removes_subscription_from_destination_index() {
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        StompClientChannel connection = connection("session-1");
+        StompServerSubscription kept = subscription(orders, "sub-1", connection);
+        StompServerSubscription dropped = subscription(orders, "sub-2", connection);
+        subscriptions.register(kept);
+        subscriptions.register(dropped);
+        List<StompServerSubscription> before = subscriptions.findByDestination(orders);
+
+        assertThat(subscriptions.unregister(connection, "sub-2")).isSameAs(dropped);
+        assertThat(subscriptions.unregister(connection, "sub-2")).isNull();
+
+        assertThat(subscriptions.findByDestination(orders)).containsExactly(kept);
+        assertThat(before).containsExactly(kept, dropped);
+        assertThat(subscriptions.size()).isEqualTo(1);
+    }
+
+    @Test
+    void unregisterAll_removes_every_subscription_of_the_session() {
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        StompClientChannel closing = connection("session-1");
+        StompClientChannel remaining = connection("session-2");
+        subscriptions.register(subscription(orders, "sub-1", closing));
+        subscriptions.register(subscription(prices, "sub-2", closing));
+        StompServerSubscription other = subscription(orders, "sub-1", remaining);
+        subscriptions.register(other);
+
+        assertThat(subscriptions.unregisterAll(closing)).hasSize(2);
+
+        assertThat(subscriptions.findByDestination(orders)).containsExactly(other);
+        assertThat(subscriptions.findByDestination(prices)).isEmpty();
+        assertThat(subscriptions.find(closing, "sub-1")).isNull();
+        assertThat(subscriptions.size()).isEqualTo(1);
+    }
+
+    @Test
+    void findByDestination_returns_the_same_list_until_the_destination_changes() {
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        StompClientChannel connection = connection("session-1");
+        subscriptions.register(subscription(orders, "sub-1", connection));
+
+        List<StompServerSubscription> first = subscriptions.findByDestination(orders);
+        subscriptions.register(subscription(prices, "sub-2", connection));
+
+        assertThat(subscriptions.findByDestination(orders)).isSameAs(first);
+    }
+
+    @Test
+    void wildcard_subscriptions_match_published_destinations() {
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        StompClientChannel connection = connection("session-1");
+        StompServerSubscription exact = subscription(Destination.create("/telemetry/device42"), "sub-1", connection);
+        StompServerSubscription singleLevel = subscription(Destination.create("/telemetry/*"), "sub-2", connection);
+        StompServerSubscription multiLevel = subscription(Destination.create("/telemetry/**"), "sub-3", connection);
+        StompServerSubscription inner = subscription(Destination.create("/*/device42/battery"), "sub-4", connection);
+        subscriptions.register(exact);
+        subscriptions.register(singleLevel);
+        subscriptions.register(multiLevel);
+        subscriptions.register(inner);
+
+        assertThat(subscriptions.findByDestination(Destination.create("/telemetry/device42")))
+                .containsExactlyInAnyOrder(exact, singleLevel, multiLevel);
+        assertThat(subscriptions.findByDestination(Destination.create("/telemetry/device42/battery")))
+                .containsExactlyInAnyOrder(multiLevel, inner);
+        assertThat(subscriptions.findByDestination(Destination.create("/telemetry"))).isEmpty();
+        assertThat(subscriptions.findByDestination(Destination.create("/telemetry/*"))).containsExactly(singleLevel);
+    }
+
+    @Test
+    void wildcard_match_cache_is_invalidated_on_subscribe_and_unsubscribe() {
+        StompServerSubscriptions subscriptions = new StompServerSubscriptions();
+        StompClientChannel connection = connection("session-1");
+        Destination device = Destination.create("/telemetry/device42");
+        StompServerSubscription pattern = subscription(Destination.create("/telemetry/*"), "sub-1", connection);
+        subscriptions.register(pattern);
+
+        List<StompServerSubscription> cached = subscriptions.findByDestination(device);
+        assertThat(subscriptions.findByDestination(device)).isSameAs(cached);
+
+        StompServerSubscription exact = subscription(device, "sub-2", connection);
+        subscriptions.register(exact);
+        assertThat(subscriptions.findByDestination(device)).containsExactly(exact, pattern);
+
+        subscriptions.unregister(connection, "sub-1");
+        assertThat(subscriptions.findByDestination(device)).containsExactly(exact);
+
+        subscriptions.unregisterAll(connection);
+        assertThat(subscriptions.findByDestination(device)).isEmpty();
+        assertThat(subscriptions.size()).isZero();
+    }
+
+    private static StompClientChannel connection(String session) {
+        StompClientChannel connection = mock(StompClientChannel.class);
+        when(connection.session()).thenReturn(session);
+        return connection;
+    }
+
+    private static StompServerSubscription subscription(
+            Destination destination,
+            String id,
+            StompClientChannel connection
+    ) {
+        return StompServerSubscription.builder()
+                .destination(destination)
+                .id(id)
+                .ackMode(StompFrame.AckMode.AUTO)
+                .connection(connection)
+                .build();
+    }
+}